@@ -1,11 +1,13 @@
 package de.umwelt_campus.javawp;
 import java.awt.EventQueue;
 
+import de.umwelt_campus.javawp.cli.CommandLineRunner;
 import de.umwelt_campus.javawp.gui.GUI;
 import de.umwelt_campus.javawp.processor.Processor;
 
 /**
  * Startet das GUI mit einem neuen Prozessor Objekt.
+ * Mit Argumenten wird stattdessen der CommandLineRunner ohne GUI gestartet.
  * @author Mathis Ströhlein
  * @author Lukas Müller
  * @author Michael Weber
@@ -13,9 +15,14 @@ import de.umwelt_campus.javawp.processor.Processor;
 public class Main {
 	/**
 	 * Main Methode
-	 * @param args Standardargument
+	 * @param args Standardargument (Argumente für den CommandLineRunner)
 	 */
 	public static void main(String[] args) {
+		if(args.length > 0) {
+			CommandLineRunner.main(args);
+			return;
+		}
+
 		EventQueue.invokeLater(new Runnable() {
 			public void run() {
 				try {
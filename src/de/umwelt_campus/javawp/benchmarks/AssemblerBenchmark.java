@@ -0,0 +1,49 @@
+package de.umwelt_campus.javawp.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.umwelt_campus.javawp.integers.INT16;
+import de.umwelt_campus.javawp.processor.components.Assembler;
+import de.umwelt_campus.javawp.processor.components.Memory;
+import de.umwelt_campus.javawp.processor.components.registers.StatusRegister;
+
+/**
+ * Durchsatz des Assemblers für generierte große Programme (Programme pro Sekunde).
+ * @author Mathis Ströhlein
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AssemblerBenchmark {
+	@Param({"1000", "20000"})
+	public int lines;
+
+	private Assembler assembler;
+	private String source;
+
+	@Setup
+	public void setUp() {
+		this.assembler = new Assembler(new Memory(new StatusRegister()), new INT16(0x0600));
+		this.source = Programs.generate(this.lines);
+	}
+
+	@Benchmark
+	public int assemble() {
+		return this.assembler.assemble(this.source);
+	}
+}
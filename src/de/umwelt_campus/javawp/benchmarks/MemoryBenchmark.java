@@ -0,0 +1,55 @@
+package de.umwelt_campus.javawp.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.umwelt_campus.javawp.processor.Processor;
+import de.umwelt_campus.javawp.processor.RunResult;
+
+/**
+ * Speicherzugriffe pro Adressierungsart: 8 LDA Befehle in der Adressierungsart und ein JMP zurück.
+ * @author Mathis Ströhlein
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MemoryBenchmark {
+	private static final int LOADS = 8;
+
+	@Param({"#$10", "$10", "$10,x", "$0300", "$0300,x", "$0300,y", "($20,x)", "($20),y"})
+	public String operand;
+
+	private Processor processor;
+
+	@Setup
+	public void setUp() {
+		StringBuilder source = new StringBuilder("loop: ");
+		for(int i = 0; i < LOADS; i++)
+			source.append("lda ").append(this.operand).append('\n');
+		source.append("jmp loop");
+
+		this.processor = new Processor();
+		this.processor.assemble(source.toString());
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(LOADS + 1)
+	public RunResult load() {
+		return this.processor.run(LOADS + 1);
+	}
+}
@@ -0,0 +1,61 @@
+package de.umwelt_campus.javawp.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.umwelt_campus.javawp.processor.ExecutionEngine;
+import de.umwelt_campus.javawp.processor.Processor;
+import de.umwelt_campus.javawp.processor.RunResult;
+
+/**
+ * Durchsatz des Interpreters in Befehlen pro Sekunde, einzeln protokolliert (executeNext) und ohne Protokoll (run).
+ * run wird zusätzlich mit übersetzten Blöcken gemessen (executeNext interpretiert immer).
+ * @author Mathis Ströhlein
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProcessorBenchmark {
+	private static final int BATCH_SIZE = 1000;
+
+	@Param({"copy", "multiply", "sort"})
+	public String program;
+
+	@Param({"INTERPRETER", "BLOCK_COMPILER"})
+	public ExecutionEngine engine;
+
+	private Processor processor;
+
+	@Setup
+	public void setUp() {
+		this.processor = new Processor();
+		this.processor.setExecutionEngine(this.engine);
+		this.processor.assemble(Programs.get(this.program));
+	}
+
+	@Benchmark
+	public void executeNext() {
+		this.processor.executeNext();
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(BATCH_SIZE)
+	public RunResult run() {
+		return this.processor.run(BATCH_SIZE);
+	}
+}
@@ -0,0 +1,119 @@
+package de.umwelt_campus.javawp.benchmarks;
+
+/**
+ * Repräsentative Programme für die Benchmarks. Alle Programme laufen endlos (ohne BRK).
+ * @author Mathis Ströhlein
+ */
+final class Programs {
+	/**
+	 * Kopiert 256 Bytes von $0300 nach $0400.
+	 */
+	static final String COPY =
+			  "start: ldx #0\n"
+			+ "copy: lda $0300,x\n"
+			+ "sta $0400,x\n"
+			+ "inx\n"
+			+ "bne copy\n"
+			+ "jmp start";
+
+	/**
+	 * Multipliziert $10 mit sich selbst (Shift and Add) und speichert das 16-bit Produkt in $12/$13.
+	 */
+	static final String MULTIPLY =
+			  "start: inc $10\n"
+			+ "lda $10\n"
+			+ "sta $11\n" // Multiplikator
+			+ "sta $15\n" // Multiplikand Low Byte
+			+ "lda #0\n"
+			+ "sta $12\n"
+			+ "sta $13\n"
+			+ "sta $14\n" // Multiplikand High Byte
+			+ "ldx #8\n"
+			+ "loop: lsr $11\n"
+			+ "bcc skip\n"
+			+ "clc\n"
+			+ "lda $12\n"
+			+ "adc $15\n"
+			+ "sta $12\n"
+			+ "lda $13\n"
+			+ "adc $14\n"
+			+ "sta $13\n"
+			+ "skip: asl $15\n"
+			+ "rol $14\n"
+			+ "dex\n"
+			+ "bne loop\n"
+			+ "jmp start";
+
+	/**
+	 * Füllt 32 Bytes ab $0300 absteigend und sortiert sie mit Bubble Sort aufsteigend.
+	 */
+	static final String SORT =
+			  "start: ldx #31\n"
+			+ "fill: txa\n"
+			+ "eor #$ff\n"
+			+ "sta $0300,x\n"
+			+ "dex\n"
+			+ "bpl fill\n"
+			+ "sort: ldy #0\n" // Getauscht Flag
+			+ "ldx #0\n"
+			+ "pass: lda $0300,x\n"
+			+ "cmp $0301,x\n"
+			+ "bcc next\n"
+			+ "beq next\n"
+			+ "pha\n"
+			+ "lda $0301,x\n"
+			+ "sta $0300,x\n"
+			+ "pla\n"
+			+ "sta $0301,x\n"
+			+ "ldy #1\n"
+			+ "next: inx\n"
+			+ "cpx #31\n"
+			+ "bne pass\n"
+			+ "cpy #0\n"
+			+ "bne sort\n"
+			+ "jmp start";
+
+	private Programs() {
+	}
+
+	/**
+	 * Gibt das Programm mit dem angegebenen Namen zurück.
+	 * @param name copy, multiply oder sort
+	 * @return Befehlscode
+	 * @throws IllegalArgumentException Falls es kein Programm mit dem Namen gibt
+	 */
+	static String get(String name) throws IllegalArgumentException {
+		switch(name) {
+			case "copy":
+				return COPY;
+			case "multiply":
+				return MULTIPLY;
+			case "sort":
+				return SORT;
+			default:
+				throw new IllegalArgumentException("Unbekanntes Programm \"" + name + "\".");
+		}
+	}
+
+	/**
+	 * Erzeugt einen großen Befehlscode mit Labels, Sprüngen und den gängigen Adressierungsarten.
+	 * @param lines Anzahl der Zeilen (Vielfaches von 8)
+	 * @return Befehlscode
+	 */
+	static String generate(int lines) {
+		int blocks = lines / 8;
+		StringBuilder source = new StringBuilder();
+		for(int block = 0; block < blocks; block++) {
+			// 8 Zeilen mit 17 Bytes
+			source.append("l").append(block).append(": lda #$10\n");
+			source.append("sta $20\n");
+			source.append("ldx $0300,y\n");
+			source.append("adc ($20),y\n");
+			source.append("inx\n");
+			source.append("cpx #$40\n");
+			source.append("bne l").append(block).append('\n');
+			source.append("jmp l").append(block + 1 < blocks ? block + 1 : 0).append('\n');
+		}
+		return source.toString();
+	}
+}
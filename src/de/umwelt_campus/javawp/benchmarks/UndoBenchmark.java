@@ -0,0 +1,53 @@
+package de.umwelt_campus.javawp.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.umwelt_campus.javawp.processor.Processor;
+
+/**
+ * Kosten von undo(): Schritte werden ausgeführt und anschließend alle wieder zurückgesetzt.
+ * Ein Vorgang entspricht einem executeNext() und einem undo(), der Vergleich mit ProcessorBenchmark.executeNext zeigt den Anteil von undo().
+ * @author Mathis Ströhlein
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UndoBenchmark {
+	private static final int STEPS = 100;
+
+	@Param({"copy", "multiply", "sort"})
+	public String program;
+
+	private Processor processor;
+
+	@Setup
+	public void setUp() {
+		this.processor = new Processor();
+		this.processor.assemble(Programs.get(this.program));
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(STEPS)
+	public void executeAndUndo() {
+		for(int i = 0; i < STEPS; i++)
+			this.processor.executeNext();
+		for(int i = 0; i < STEPS; i++)
+			this.processor.undo();
+	}
+}
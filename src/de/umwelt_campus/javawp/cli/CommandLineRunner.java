@@ -0,0 +1,292 @@
+package de.umwelt_campus.javawp.cli;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import de.umwelt_campus.javawp.integers.INT16;
+import de.umwelt_campus.javawp.processor.ExecutionEngine;
+import de.umwelt_campus.javawp.processor.Processor;
+import de.umwelt_campus.javawp.processor.RunResult;
+import de.umwelt_campus.javawp.processor.StopCondition;
+import de.umwelt_campus.javawp.processor.StopReason;
+
+/**
+ * Assembliert und führt ein Programm ohne GUI aus und gibt Register, einen Speicherbereich und Laufzeitwerte aus.
+ * Aufruf: CommandLineRunner [Optionen] [Datei | -] (ohne Datei oder mit - wird von der Standardeingabe gelesen).
+ * Rückgabewerte: 0 bei Erfolg, 1 bei falschen Argumenten oder Assemblier-Fehlern, 2 bei einem Opcode ohne Befehl.
+ * @author Mathis Ströhlein
+ */
+public class CommandLineRunner {
+	public static final long DEFAULT_MAX_INSTRUCTIONS = 100000000L;
+
+	private static final String USAGE =
+			  "Aufruf: CommandLineRunner [Optionen] [Datei | -]\n"
+			+ "  -n, --max-instructions <Anzahl>  Maximale Anzahl an Befehlen (Standard: " + DEFAULT_MAX_INSTRUCTIONS + ")\n"
+			+ "  -c, --max-cycles <Anzahl>        Maximale Anzahl an Taktzyklen\n"
+			+ "  -m, --memory <Start>:<Ende>      Speicherbereich ausgeben (z.B. $0200:$02FF oder 0x200:0x2FF)\n"
+			+ "  -f, --format text|json           Ausgabeformat (Standard: text)\n"
+			+ "  -e, --engine interpreter|compiler  Ausführung (Standard: interpreter, compiler übersetzt häufige Blöcke)\n"
+			+ "  -h, --help                       Diese Hilfe ausgeben\n";
+
+	private long maxInstructions = DEFAULT_MAX_INSTRUCTIONS;
+	private long maxCycles = -1; // -1: keine Grenze
+	private int memoryStart = -1; // -1: kein Speicherbereich
+	private int memoryEnd = -1;
+	private boolean json = false;
+	private ExecutionEngine executionEngine = ExecutionEngine.INTERPRETER;
+	private String sourceFile = null; // null: Standardeingabe
+
+	/**
+	 * Main Methode für den Aufruf ohne GUI.
+	 * @param args Optionen und Quelldatei
+	 */
+	public static void main(String[] args) {
+		System.exit(new CommandLineRunner().run(args, System.in, System.out, System.err));
+	}
+
+	/**
+	 * Wertet die Argumente aus, assembliert das Programm, führt es aus und gibt das Ergebnis aus.
+	 * @param args Optionen und Quelldatei
+	 * @param in Standardeingabe (falls keine Datei angegeben ist)
+	 * @param out Ausgabe für das Ergebnis
+	 * @param err Ausgabe für Fehlermeldungen
+	 * @return Rückgabewert für das Betriebssystem
+	 */
+	public int run(String[] args, InputStream in, PrintStream out, PrintStream err) {
+		try {
+			if(!this.parseArguments(args)) {
+				out.print(USAGE);
+				return 0;
+			}
+		} catch(IllegalArgumentException e) {
+			err.println("Fehler: " + e.getMessage());
+			err.print(USAGE);
+			return 1;
+		}
+
+		// Quelle zeilenweise assemblieren, ohne sie komplett einzulesen
+		Processor processor = new Processor();
+		processor.setExecutionEngine(this.executionEngine);
+		try(Reader reader = this.sourceFile == null
+				? new InputStreamReader(in, StandardCharsets.UTF_8)
+				: Files.newBufferedReader(Path.of(this.sourceFile), StandardCharsets.UTF_8)) {
+			processor.assemble(reader);
+		} catch(IOException e) {
+			err.println("Fehler: Die Datei \"" + this.sourceFile + "\" konnte nicht gelesen werden.");
+			return 1;
+		} catch(IllegalArgumentException e) {
+			// Alle Assembler Fehler sind IllegalArgumentExceptions mit vorgefertigter Nachricht
+			err.println(e.getMessage());
+			return 1;
+		}
+
+		StopCondition stopCondition = this.maxCycles < 0 ? null : StopCondition.cycleLimit(this.maxCycles);
+		long startTime = System.nanoTime();
+		RunResult result = processor.runUntil(stopCondition, this.maxInstructions);
+		long nanoseconds = System.nanoTime() - startTime;
+
+		if(this.json)
+			out.println(this.formatJson(processor, result, nanoseconds));
+		else
+			out.print(this.formatText(processor, result, nanoseconds));
+
+		return result.getStopReason() == StopReason.UNKNOWN_OPCODE ? 2 : 0;
+	}
+
+	/**
+	 * Wertet die Argumente aus.
+	 * @param args Optionen und Quelldatei
+	 * @return false, falls nur die Hilfe ausgegeben werden soll
+	 * @throws IllegalArgumentException Falls ein Argument ungültig ist
+	 */
+	private boolean parseArguments(String[] args) throws IllegalArgumentException {
+		for(int i = 0; i < args.length; i++) {
+			String arg = args[i];
+			switch(arg) {
+				case "-h":
+				case "--help":
+					return false;
+				case "-n":
+				case "--max-instructions":
+					this.maxInstructions = parseCount(arg, valueOf(args, ++i, arg));
+					break;
+				case "-c":
+				case "--max-cycles":
+					this.maxCycles = parseCount(arg, valueOf(args, ++i, arg));
+					break;
+				case "-m":
+				case "--memory":
+					String range = valueOf(args, ++i, arg);
+					int separator = range.indexOf(':');
+					if(separator < 0)
+						throw new IllegalArgumentException("Der Speicherbereich \"" + range + "\" muss die Form <Start>:<Ende> haben.");
+					this.memoryStart = parseAddress(range.substring(0, separator));
+					this.memoryEnd = parseAddress(range.substring(separator + 1));
+					if(this.memoryEnd < this.memoryStart)
+						throw new IllegalArgumentException("Das Ende des Speicherbereichs \"" + range + "\" liegt vor dem Start.");
+					break;
+				case "-f":
+				case "--format":
+					String format = valueOf(args, ++i, arg);
+					if(!format.equals("text") && !format.equals("json"))
+						throw new IllegalArgumentException("Unbekanntes Ausgabeformat \"" + format + "\".");
+					this.json = format.equals("json");
+					break;
+				case "-e":
+				case "--engine":
+					String engine = valueOf(args, ++i, arg);
+					if(!engine.equals("interpreter") && !engine.equals("compiler"))
+						throw new IllegalArgumentException("Unbekannte Ausführung \"" + engine + "\".");
+					this.executionEngine = engine.equals("compiler") ? ExecutionEngine.BLOCK_COMPILER : ExecutionEngine.INTERPRETER;
+					break;
+				default:
+					if(arg.startsWith("-") && !arg.equals("-"))
+						throw new IllegalArgumentException("Unbekannte Option \"" + arg + "\".");
+					if(this.sourceFile != null)
+						throw new IllegalArgumentException("Es kann nur eine Quelldatei angegeben werden.");
+					this.sourceFile = arg.equals("-") ? null : arg;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Gibt den Wert einer Option zurück.
+	 * @param args Argumente
+	 * @param index Index des Werts
+	 * @param option Name der Option
+	 * @return Wert der Option
+	 * @throws IllegalArgumentException Falls der Wert fehlt
+	 */
+	private static String valueOf(String[] args, int index, String option) throws IllegalArgumentException {
+		if(index >= args.length)
+			throw new IllegalArgumentException("Die Option \"" + option + "\" braucht einen Wert.");
+		return args[index];
+	}
+
+	/**
+	 * Interpretiert eine nicht negative Anzahl.
+	 * @param option Name der Option
+	 * @param value Wert der Option
+	 * @return Anzahl
+	 * @throws IllegalArgumentException Falls der Wert keine nicht negative Zahl ist
+	 */
+	private static long parseCount(String option, String value) throws IllegalArgumentException {
+		try {
+			long count = Long.parseLong(value);
+			if(count >= 0)
+				return count;
+		} catch(NumberFormatException e) {
+			// Fehlermeldung unten
+		}
+		throw new IllegalArgumentException("Die Option \"" + option + "\" erwartet eine nicht negative Zahl, nicht \"" + value + "\".");
+	}
+
+	/**
+	 * Interpretiert eine Speicheradresse ($: Hex, 0x: Hex, %: Binär, sonst: Dezimal).
+	 * @param value Adresse als String
+	 * @return Speicheradresse (0 bis 65535)
+	 * @throws IllegalArgumentException Falls der String keine gültige Adresse ist
+	 */
+	private static int parseAddress(String value) throws IllegalArgumentException {
+		try {
+			int address;
+			if(value.startsWith("0x") || value.startsWith("0X"))
+				address = Integer.parseInt(value.substring(2), 16);
+			else
+				address = new INT16(value).getUnsignedValue();
+			if(address >= 0 && address <= 0xFFFF)
+				return address;
+		} catch(NumberFormatException e) {
+			// Fehlermeldung unten
+		}
+		throw new IllegalArgumentException("Ungültige Speicheradresse \"" + value + "\".");
+	}
+
+	/**
+	 * Gibt das Ergebnis als Text aus.
+	 * @param processor Prozessor nach dem Lauf
+	 * @param result Ergebnis des Laufs
+	 * @param nanoseconds Laufzeit in Nanosekunden
+	 * @return Text
+	 */
+	private String formatText(Processor processor, RunResult result, long nanoseconds) {
+		StringBuilder text = new StringBuilder();
+		text.append("Abbruchgrund: ").append(result.getStopReason()).append('\n');
+		text.append("Befehle: ").append(result.getInstructionCount()).append('\n');
+		text.append("Taktzyklen: ").append(result.getCycles()).append('\n');
+		text.append(String.format("Laufzeit: %.3f ms%n", nanoseconds / 1e6));
+		text.append(String.format("Befehle/s: %.0f%n", perSecond(result.getInstructionCount(), nanoseconds)));
+		text.append(String.format("Taktzyklen/s: %.0f (%.2f MHz)%n", perSecond(result.getCycles(), nanoseconds), perSecond(result.getCycles(), nanoseconds) / 1e6));
+		text.append(String.format("PC=$%04X A=$%s X=$%s Y=$%s SP=$%s SR=%s%n",
+				result.getProgramCounter(),
+				processor.getAccumulatorData().getHexString(),
+				processor.getIndexRegisterXData().getHexString(),
+				processor.getIndexRegisterYData().getHexString(),
+				processor.getStackPointerData().getHexString(),
+				processor.getStatusRegisterData().getBinaryString()));
+
+		if(this.memoryStart >= 0) {
+			// 16 Bytes pro Zeile
+			for(int address = this.memoryStart; address <= this.memoryEnd; address++) {
+				if(address == this.memoryStart || address % 16 == 0)
+					text.append(address == this.memoryStart ? "" : "\n").append(String.format("%04X:", address));
+				text.append(String.format(" %02X", processor.getMemory().read(address)));
+			}
+			text.append('\n');
+		}
+
+		return text.toString();
+	}
+
+	/**
+	 * Gibt das Ergebnis als JSON Objekt aus.
+	 * @param processor Prozessor nach dem Lauf
+	 * @param result Ergebnis des Laufs
+	 * @param nanoseconds Laufzeit in Nanosekunden
+	 * @return JSON Objekt in einer Zeile
+	 */
+	private String formatJson(Processor processor, RunResult result, long nanoseconds) {
+		StringBuilder json = new StringBuilder("{");
+		json.append("\"stopReason\":\"").append(result.getStopReason()).append('"');
+		json.append(",\"instructions\":").append(result.getInstructionCount());
+		json.append(",\"cycles\":").append(result.getCycles());
+		json.append(",\"nanoseconds\":").append(nanoseconds);
+		json.append(",\"instructionsPerSecond\":").append((long) perSecond(result.getInstructionCount(), nanoseconds));
+		json.append(",\"cyclesPerSecond\":").append((long) perSecond(result.getCycles(), nanoseconds));
+		json.append(",\"registers\":{");
+		json.append("\"pc\":").append(result.getProgramCounter());
+		json.append(",\"a\":").append(processor.getAccumulatorData().getUnsignedValue());
+		json.append(",\"x\":").append(processor.getIndexRegisterXData().getUnsignedValue());
+		json.append(",\"y\":").append(processor.getIndexRegisterYData().getUnsignedValue());
+		json.append(",\"sp\":").append(processor.getStackPointerData().getUnsignedValue());
+		json.append(",\"sr\":").append(processor.getStatusRegisterData().getUnsignedValue());
+		json.append('}');
+
+		if(this.memoryStart >= 0) {
+			json.append(",\"memory\":{\"start\":").append(this.memoryStart).append(",\"bytes\":[");
+			for(int address = this.memoryStart; address <= this.memoryEnd; address++)
+				json.append(address == this.memoryStart ? "" : ",").append(processor.getMemory().read(address));
+			json.append("]}");
+		}
+
+		return json.append('}').toString();
+	}
+
+	/**
+	 * Rechnet eine Anzahl in eine Rate pro Sekunde um.
+	 * @param count Anzahl
+	 * @param nanoseconds Laufzeit in Nanosekunden
+	 * @return Anzahl pro Sekunde (0 bei Laufzeit 0)
+	 */
+	private static double perSecond(long count, long nanoseconds) {
+		return nanoseconds <= 0 ? 0 : count * 1e9 / nanoseconds;
+	}
+}
@@ -0,0 +1,134 @@
+package de.umwelt_campus.javawp.gui;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+
+import de.umwelt_campus.javawp.integers.INT16;
+import de.umwelt_campus.javawp.processor.components.AssembledImage;
+import de.umwelt_campus.javawp.processor.components.IncrementalAssembler;
+
+/**
+ * Assembliert den Befehlscode während der Eingabe im Hintergrund. Nach der letzten Änderung wird eine kurze Zeit gewartet,
+ * dann wird der Befehlscode außerhalb des Event Dispatch Threads in ein Abbild assembliert. Das Ergebnis (Anzahl der Bytes
+ * oder Fehler) wird im Event Dispatch Thread gemeldet. Das Abbild wird erst auf Anforderung in den Speicher geladen (siehe getImage).
+ * @author Mathis Ströhlein
+ */
+public class BackgroundAssembler {
+	private final IncrementalAssembler assembler;
+	private final Supplier<String> source;
+	private final Consumer<String> status;
+	private final Timer delayTimer;
+	private final ExecutorService executor;
+
+	private long generation; // Wird bei jeder Änderung erhöht, veraltete Ergebnisse werden nicht gemeldet
+	private String stagedSource; // Befehlscode des zuletzt assemblierten Abbilds
+	private AssembledImage stagedImage; // null, falls der Befehlscode Fehler hat
+
+	/**
+	 * Erstellt einen Hintergrund-Assembler.
+	 * @param startAddress Startadresse
+	 * @param delay Wartezeit nach der letzten Änderung in Millisekunden
+	 * @param source Liefert den aktuellen Befehlscode (wird im Event Dispatch Thread aufgerufen)
+	 * @param status Erhält die Meldung nach dem Assemblieren (wird im Event Dispatch Thread aufgerufen)
+	 */
+	public BackgroundAssembler(INT16 startAddress, int delay, Supplier<String> source, Consumer<String> status) {
+		this.assembler = new IncrementalAssembler(startAddress);
+		this.source = source;
+		this.status = status;
+
+		this.delayTimer = new Timer(delay, e -> this.submit());
+		this.delayTimer.setRepeats(false);
+		this.executor = Executors.newSingleThreadExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "Assembler");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * Meldet eine Änderung des Befehlscodes. Assembliert wird erst, wenn für die Wartezeit keine weitere Änderung folgt.
+	 */
+	public void changed() {
+		synchronized(this) {
+			this.generation++;
+		}
+		this.delayTimer.restart();
+	}
+
+	/**
+	 * Übergibt den aktuellen Befehlscode an den Hintergrund-Thread.
+	 */
+	private void submit() {
+		String mnemonicsString = this.source.get();
+		long generation;
+		synchronized(this) {
+			generation = this.generation;
+		}
+
+		this.executor.execute(() -> {
+			String message;
+			try {
+				message = "Info: Erfolgreich " + this.assemble(mnemonicsString).getLength() + " bytes assembliert.";
+			} catch(IllegalArgumentException e) {
+				message = e.getMessage();
+			}
+
+			String result = message;
+			SwingUtilities.invokeLater(() -> {
+				if(this.isCurrent(generation))
+					this.status.accept(result);
+			});
+		});
+	}
+
+	/**
+	 * Gibt das Abbild zum Befehlscode zurück. Wurde der Befehlscode bereits im Hintergrund assembliert,
+	 * wird das vorbereitete Abbild verwendet, sonst wird sofort assembliert.
+	 * @param mnemonicsString Befehlscode
+	 * @return Abbild
+	 * @throws IllegalArgumentException Fehler im Befehlscode (siehe Assembler)
+	 */
+	public AssembledImage getImage(String mnemonicsString) {
+		synchronized(this) {
+			if(this.stagedImage != null && mnemonicsString.equals(this.stagedSource))
+				return this.stagedImage;
+		}
+		return this.assemble(mnemonicsString);
+	}
+
+	/**
+	 * Assembliert den Befehlscode und merkt sich das Abbild.
+	 * @param mnemonicsString Befehlscode
+	 * @return Abbild
+	 * @throws IllegalArgumentException Fehler im Befehlscode (siehe Assembler)
+	 */
+	private AssembledImage assemble(String mnemonicsString) {
+		// Der inkrementelle Assembler wird nur von einem Thread gleichzeitig verwendet
+		synchronized(this.assembler) {
+			AssembledImage image = null;
+			try {
+				image = this.assembler.assemble(mnemonicsString);
+				return image;
+			} finally {
+				synchronized(this) {
+					this.stagedSource = mnemonicsString;
+					this.stagedImage = image;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Prüft, ob seit dem Assemblieren keine Änderung mehr gemeldet wurde.
+	 * @param generation Stand beim Übergeben des Befehlscodes
+	 * @return Wahrheitswert, ob das Ergebnis aktuell ist
+	 */
+	private synchronized boolean isCurrent(long generation) {
+		return this.generation == generation;
+	}
+}
@@ -0,0 +1,87 @@
+package de.umwelt_campus.javawp.gui;
+
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+
+import de.umwelt_campus.javawp.processor.components.Memory;
+
+/**
+ * Bildschirm mit 32 x 32 Pixeln und 16 Farben, der auf den Speicher von $0200 bis $05FF abgebildet ist
+ * (ein Byte pro Pixel zeilenweise, die unteren 4 Bit wählen die Farbe).
+ * Schreibzugriffe werden über die Markierungen des Speichers erkannt (siehe Memory.nextDirty), der Prozessor ruft also
+ * pro Schreibzugriff nichts zusätzlich auf. Bei update() werden nur veränderte Pixel direkt in das Pixel Array des Bildes geschrieben.
+ * @author Mathis Ströhlein
+ */
+public final class Display {
+	public static final int START_ADDRESS = 0x0200;
+	public static final int WIDTH = 32;
+	public static final int HEIGHT = 32;
+	public static final int END_ADDRESS = START_ADDRESS + WIDTH * HEIGHT; // Erste Adresse nach dem Bildschirm
+
+	// Schwarz, Weiß, Rot, Cyan, Lila, Grün, Blau, Gelb, Orange, Braun, Hellrot, Dunkelgrau, Grau, Hellgrün, Hellblau, Hellgrau
+	private static final int[] palette = {
+			0x000000, 0xFFFFFF, 0x880000, 0xAAFFEE, 0xCC44CC, 0x00CC55, 0x0000AA, 0xEEEE77,
+			0xDD8855, 0x664400, 0xFF7777, 0x333333, 0x777777, 0xAAFF66, 0x0088FF, 0xBBBBBB
+	};
+
+	private final Memory memory;
+	private final BufferedImage image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+	private final int[] pixels = ((DataBufferInt) this.image.getRaster().getDataBuffer()).getData();
+	private boolean isLoaded = false; // Beim ersten update() wird der ganze Bereich gelesen
+
+	/**
+	 * Erstellt einen Bildschirm für den Speicher.
+	 * @param memory Speicher
+	 */
+	public Display(Memory memory) {
+		this.memory = memory;
+	}
+
+	/**
+	 * Gibt das Bild mit einem Pixel pro Speicherzelle zurück (wird von update() verändert).
+	 * @return Bild mit 32 x 32 Pixeln
+	 */
+	public BufferedImage getImage() {
+		return this.image;
+	}
+
+	/**
+	 * Überträgt die seit dem letzten Memory.clearDirty() veränderten Speicherzellen in das Bild.
+	 * Muss vor Memory.clearDirty() aufgerufen werden.
+	 * @return Bereich der veränderten Pixel oder null, falls sich kein Pixel verändert hat
+	 */
+	public Rectangle update() {
+		int minX = WIDTH;
+		int minY = HEIGHT;
+		int maxX = -1;
+		int maxY = -1;
+		int address = this.isLoaded ? this.memory.nextDirty(START_ADDRESS) : START_ADDRESS;
+		while(address >= 0 && address < END_ADDRESS) {
+			int index = address - START_ADDRESS;
+			int color = palette[this.memory.read(address) & 0x0F];
+			if(this.pixels[index] != color || !this.isLoaded) {
+				this.pixels[index] = color;
+				int x = index % WIDTH;
+				int y = index / WIDTH;
+				minX = Math.min(minX, x);
+				maxX = Math.max(maxX, x);
+				minY = Math.min(minY, y);
+				maxY = Math.max(maxY, y);
+			}
+			address = this.isLoaded ? this.memory.nextDirty(address + 1) : address + 1;
+		}
+		this.isLoaded = true;
+
+		return maxX < 0 ? null : new Rectangle(minX, minY, maxX - minX + 1, maxY - minY + 1);
+	}
+
+	/**
+	 * Gibt die Farbe eines Speicherwerts zurück.
+	 * @param value Speicherwert (die unteren 4 Bit wählen die Farbe)
+	 * @return RGB Wert
+	 */
+	public static int getColor(int value) {
+		return palette[value & 0x0F];
+	}
+}
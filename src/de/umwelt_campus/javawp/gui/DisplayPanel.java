@@ -0,0 +1,46 @@
+package de.umwelt_campus.javawp.gui;
+
+import java.awt.Dimension;
+import java.awt.Graphics;
+import java.awt.Rectangle;
+
+import javax.swing.JComponent;
+
+/**
+ * Zeigt den Bildschirm des Speichers vergrößert an. Neu gezeichnet wird nur der Bereich der veränderten Pixel und nur,
+ * wenn die Oberfläche aktualisiert wird (feste Bildrate, siehe GUI.refresh), nicht bei jedem Schreibzugriff.
+ * @author Mathis Ströhlein
+ */
+public class DisplayPanel extends JComponent {
+	private static final long serialVersionUID = 1L;
+
+	private final Display display;
+	private final int scale; // Bildschirmpunkte pro Pixel
+
+	/**
+	 * Erstellt die Anzeige.
+	 * @param display Bildschirm
+	 * @param scale Bildschirmpunkte pro Pixel
+	 */
+	public DisplayPanel(Display display, int scale) {
+		this.display = display;
+		this.scale = scale;
+		this.setPreferredSize(new Dimension(Display.WIDTH * scale, Display.HEIGHT * scale));
+		this.setOpaque(true);
+	}
+
+	/**
+	 * Überträgt die veränderten Speicherzellen in das Bild und zeichnet ihren Bereich neu.
+	 * Muss aufgerufen werden, während der Prozessor angehalten ist, und vor Memory.clearDirty().
+	 */
+	public void update() {
+		Rectangle dirty = this.display.update();
+		if(dirty != null)
+			this.repaint(dirty.x * this.scale, dirty.y * this.scale, dirty.width * this.scale, dirty.height * this.scale);
+	}
+
+	@Override
+	protected void paintComponent(Graphics graphics) {
+		graphics.drawImage(this.display.getImage(), 0, 0, Display.WIDTH * this.scale, Display.HEIGHT * this.scale, null);
+	}
+}
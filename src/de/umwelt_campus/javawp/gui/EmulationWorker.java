@@ -0,0 +1,210 @@
+package de.umwelt_campus.javawp.gui;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import javax.swing.SwingUtilities;
+
+import de.umwelt_campus.javawp.processor.Processor;
+
+/**
+ * Führt den Prozessor in einem eigenen Thread aus, unabhängig von der Aktualisierung der Oberfläche.
+ * Start, Stopp und Einzelschritt werden über eine Warteschlange an den Thread übergeben. Zwischen zwei Befehlen
+ * (bei voller Geschwindigkeit zwischen zwei Blöcken von Befehlen) wird eine Sperre freigegeben, unter der die
+ * Oberfläche einen konsistenten Zustand lesen oder den Prozessor verändern kann (siehe runLocked).
+ * Jeder Befehl wird protokolliert, sodass undo() auch nach der fortlaufenden Ausführung möglich ist.
+ * @author Mathis Ströhlein
+ */
+public class EmulationWorker {
+	private static final int BATCH_SIZE = 10000; // Befehle pro Sperre bei voller Geschwindigkeit
+
+	private final Processor processor;
+	private final Consumer<RuntimeException> stopped;
+	private final BlockingQueue<Command> commands = new LinkedBlockingQueue<Command>();
+	private final Object lock = new Object();
+	private final Thread thread;
+
+	private volatile boolean running;
+	private volatile long version; // Wird nach jeder Ausführung erhöht
+
+	/**
+	 * Erstellt den Thread und startet ihn (zunächst angehalten).
+	 * @param processor Prozessor
+	 * @param stopped Erhält nach einem Einzelschritt oder beim Anhalten (durch stop(), BRK, einen Opcode ohne Befehl oder
+	 * einen unerwarteten Fehler) die Exception bzw. null (wird im Event Dispatch Thread aufgerufen, nachdem der Thread angehalten hat)
+	 */
+	public EmulationWorker(Processor processor, Consumer<RuntimeException> stopped) {
+		this.processor = processor;
+		this.stopped = stopped;
+
+		this.thread = new Thread(this::work, "Emulator");
+		this.thread.setDaemon(true);
+		this.thread.start();
+	}
+
+	/**
+	 * Startet die fortlaufende Ausführung.
+	 * @param delay Wartezeit zwischen zwei Befehlen in Millisekunden (0: volle Geschwindigkeit)
+	 */
+	public void start(int delay) {
+		this.running = true;
+		this.commands.add(new Command(Command.START, delay));
+	}
+
+	/**
+	 * Hält die fortlaufende Ausführung nach dem aktuellen Befehl an.
+	 */
+	public void stop() {
+		this.running = false;
+		this.commands.add(new Command(Command.STOP, 0));
+	}
+
+	/**
+	 * Führt einen einzelnen Befehl aus (mit Protokoll für undo()).
+	 */
+	public void step() {
+		this.commands.add(new Command(Command.STEP, 0));
+	}
+
+	/**
+	 * Gibt zurück, ob die fortlaufende Ausführung gestartet ist.
+	 * @return Wahrheitswert, ob gestartet
+	 */
+	public boolean isRunning() {
+		return this.running;
+	}
+
+	/**
+	 * Gibt einen Zähler zurück, der nach jeder Ausführung erhöht wird. Bei unverändertem Wert muss die Oberfläche nicht aktualisiert werden.
+	 * @return Stand der Ausführung
+	 */
+	public long getVersion() {
+		return this.version;
+	}
+
+	/**
+	 * Führt eine Aktion aus, während der Prozessor zwischen zwei Befehlen angehalten ist.
+	 * So liest die Oberfläche einen konsistenten Zustand und verändert den Prozessor nicht während eines Befehls.
+	 * @param action Aktion
+	 */
+	public void runLocked(Runnable action) {
+		synchronized(this.lock) {
+			action.run();
+		}
+	}
+
+	/**
+	 * Arbeitet die Befehle aus der Warteschlange ab und führt den Prozessor aus, solange er gestartet ist.
+	 */
+	private void work() {
+		boolean running = false;
+		int delay = 0;
+		while(true) {
+			Command command;
+			try {
+				if(!running)
+					command = this.commands.take();
+				else if(delay > 0)
+					command = this.commands.poll(delay, TimeUnit.MILLISECONDS); // Wartezeit, Befehle werden sofort angenommen
+				else
+					command = this.commands.poll();
+			} catch(InterruptedException e) {
+				return;
+			}
+
+			if(command != null) {
+				switch(command.type) {
+					case Command.START:
+						running = true;
+						delay = command.delay;
+						break;
+					case Command.STOP:
+						running = false;
+						this.finish(null, true);
+						break;
+					case Command.STEP:
+						if(!running)
+							this.finish(this.executeNext(), false);
+						break;
+				}
+				continue;
+			}
+
+			RuntimeException exception = delay > 0 ? this.executeNext() : this.runBatch();
+			if(exception != null) {
+				running = false;
+				this.finish(exception, true);
+			} else
+				this.version++;
+		}
+	}
+
+	/**
+	 * Führt einen Befehl mit Protokoll für undo() aus.
+	 * Auch unerwartete Fehler werden zurückgegeben, damit der Thread weiterläuft und die Oberfläche sie anzeigt.
+	 * @return Exception des Prozessors oder null
+	 */
+	private RuntimeException executeNext() {
+		synchronized(this.lock) {
+			try {
+				this.processor.executeNext();
+				return null;
+			} catch(RuntimeException e) {
+				return e;
+			}
+		}
+	}
+
+	/**
+	 * Führt einen Block von Befehlen mit Protokoll für undo() aus.
+	 * Nicht Processor.run(), da dieses das Protokoll leert und "Vorherige Zeile" danach nicht mehr möglich wäre.
+	 * @return Exception des Prozessors (auch unerwartete Fehler, siehe executeNext) oder null
+	 */
+	private RuntimeException runBatch() {
+		synchronized(this.lock) {
+			try {
+				for(int i = 0; i < BATCH_SIZE; i++)
+					this.processor.executeNext();
+				return null;
+			} catch(RuntimeException e) {
+				return e;
+			}
+		}
+	}
+
+	/**
+	 * Meldet das Ende eines Einzelschritts oder der fortlaufenden Ausführung im Event Dispatch Thread.
+	 * @param exception Exception des Prozessors oder null
+	 * @param stopped Wahrheitswert, ob die fortlaufende Ausführung angehalten wurde
+	 */
+	private void finish(RuntimeException exception, boolean stopped) {
+		if(stopped)
+			this.running = false;
+		this.version++;
+		SwingUtilities.invokeLater(() -> this.stopped.accept(exception));
+	}
+
+	/**
+	 * Befehl an den Thread.
+	 */
+	private static final class Command {
+		private static final int START = 0;
+		private static final int STOP = 1;
+		private static final int STEP = 2;
+
+		private final int type;
+		private final int delay;
+
+		/**
+		 * Erstellt einen Befehl.
+		 * @param type START, STOP oder STEP
+		 * @param delay Wartezeit zwischen zwei Befehlen (nur bei START)
+		 */
+		private Command(int type, int delay) {
+			this.type = type;
+			this.delay = delay;
+		}
+	}
+}
@@ -2,19 +2,23 @@ package de.umwelt_campus.javawp.gui;
 
 import de.umwelt_campus.javawp.exceptions.InterruptException;
 import de.umwelt_campus.javawp.exceptions.UnknownOpcodeException;
+import de.umwelt_campus.javawp.integers.INT16;
 import de.umwelt_campus.javawp.integers.INT8;
 import de.umwelt_campus.javawp.processor.Processor;
+import de.umwelt_campus.javawp.processor.components.AssembledImage;
+import de.umwelt_campus.javawp.processor.components.SourceMap;
 
 import javax.swing.JFrame;
 import javax.swing.JPanel;
 import javax.swing.border.EmptyBorder;
 import javax.swing.JTable;
 import javax.swing.JScrollPane;
-import javax.swing.table.DefaultTableModel;
 import javax.swing.JButton;
+import javax.swing.JCheckBox;
 import javax.swing.JTextField;
 import javax.swing.JLabel;
 import java.awt.Color;
+import java.awt.Dimension;
 import java.awt.Font;
 import java.awt.Insets;
 import javax.swing.border.LineBorder;
@@ -26,6 +30,8 @@ import javax.swing.event.DocumentEvent;
 import javax.swing.event.DocumentListener;
 import javax.swing.event.*;
 import javax.swing.Timer;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.DefaultHighlighter;
 
 /**
  * Die Grafische Benutzeroberfläche des MOS 6502 Emulator.
@@ -34,12 +40,16 @@ import javax.swing.Timer;
 public class GUI extends JFrame {
 
 	private static final long serialVersionUID = 1L;
+	private static final int REFRESH_INTERVAL = 25; // Millisekunden zwischen zwei Aktualisierungen (40 Hz)
+	private static final DefaultHighlighter.DefaultHighlightPainter currentLinePainter = new DefaultHighlighter.DefaultHighlightPainter(new Color(255, 240, 160));
 	private JPanel contentPane;
 	private JScrollPane memoryScrollPane;
 	private JTable memoryTable;
-	private JScrollPane addressNumberScrollPane;
+	private MemoryTableModel memoryModel;
+	private DisplayPanel displayPanel;
 	private JTable addressNumberTable;
-	private JTextField currentPageTextField;
+	private JTextField jumpToAddressTextField;
+	private JCheckBox followProgramCounterCheckBox;
 	private JTextField intervalTextField;
 	private JTextArea codeTextArea;
 	private JLabel accumulatorLabel;
@@ -62,21 +72,23 @@ public class GUI extends JFrame {
 	private JLabel interruptDisableLabel;
 	private JLabel zeroLabel;
 	private JLabel carryLabel;
-	private JButton nextPageButton;
-	private JButton prevPageButton;
-	private JButton nextNextPageButton;
-	private JButton prevPrevPageButton;
 	private JButton assembleButton;
-	private JLabel currentPageLabel;
 	private JButton runButton;
 	
 	private Processor processor;
+	private BackgroundAssembler assembler;
+	private SourceMap sourceMap; // Zuordnung des geladenen Programms, null nach Änderungen am Code
+	private Object currentLineHighlight;
+	private int currentLine = 0;
 	
-	private  Timer timer;
+	private EmulationWorker emulation; // Führt den Prozessor in einem eigenen Thread aus
+	private Timer refreshTimer; // Aktualisiert die Anzeige mit fester Bildrate
+	private long shownVersion = -1; // Stand der Ausführung, der zuletzt angezeigt wurde
 	private int speed = 0;
 	
 	private int base = 11;
-	private int pageNumber = 0;
+	private int memoryColumnsBase = -1; // Darstellung, für die die Spaltenbreiten gesetzt sind
+	private int followedAddress = -1; // Zuletzt angezeigte Adresse des Befehlszählers, -1: neu anzeigen
 
 	/**
 	 * Erstellt eine Grafische Benutzeroberfläche, die die Darstellung der Register,
@@ -88,91 +100,71 @@ public class GUI extends JFrame {
 	 */
 	public GUI(Processor processor) {
 		this.processor = processor;
+		this.assembler = new BackgroundAssembler(processor.getStartAddress(), 300, () -> this.codeTextArea.getText(), this::updateErrorLabel);
+		this.emulation = new EmulationWorker(processor, this::emulationStopped); // Der Prozessor läuft in einem eigenen Thread
 		
 		
 		setResizable(false);
 		setTitle("MOS 6502 Emulator");
 		setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
-		setBounds(100, 100, 1024, 665);
+		setBounds(100, 100, 1614, 665);
 		this.contentPane = new JPanel();
 		this.contentPane.setBorder(new EmptyBorder(5, 5, 5, 5));
 		setContentPane(this.contentPane);
 		
 		
+		//Der gesamte Speicher als Hexdump, die Tabelle zeichnet nur die sichtbaren Zeilen
 		this.memoryScrollPane = new JScrollPane();
-		this.memoryScrollPane.setBounds(94, 44, 179, 392);
+		this.memoryScrollPane.setBounds(27, 44, 580, 470);
 		
+		//Liest die Werte direkt aus dem Speicher, Eingaben werden in den Speicher geschrieben und auf Richtigkeit überprüft
+		this.memoryModel = new MemoryTableModel(this.processor.getMemory(), action -> this.emulation.runLocked(action), this::updateErrorLabel);
 		this.memoryTable = new JTable();
-		this.memoryTable.setModel(new DefaultTableModel(
-			new Object[256][1],
-			new String[] {
-				"Gespeicherter Wert"
-			}
-		));
+		this.memoryTable.setModel(this.memoryModel);
+		this.memoryTable.setAutoResizeMode(JTable.AUTO_RESIZE_OFF);
+		this.memoryTable.setCellSelectionEnabled(true);
+		this.memoryTable.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
+		this.memoryTable.getTableHeader().setReorderingAllowed(false);
 		this.memoryScrollPane.setViewportView(memoryTable);
-
-		this.addressNumberScrollPane = new JScrollPane();
-		this.addressNumberScrollPane.setBounds(27, 44, 67, 392);
 		
+		//Die Adressen stehen als Zeilenkopf neben den Werten und scrollen mit
 		this.addressNumberTable = new JTable();
 		this.addressNumberTable.setEnabled(false);
-		this.addressNumberTable.setModel(new DefaultTableModel(
-			new Object[256][1],
-			new String[] {
-				"#"
-			}
-		));
-		this.addressNumberScrollPane.setViewportView(this.addressNumberTable);
-		
-		//Beide Tabellen nutzen den selben Scroller
-		this.memoryScrollPane.setVerticalScrollBar(this.addressNumberScrollPane.getVerticalScrollBar());
-		
-		//http://www.java2s.com/Code/Java/Swing-JFC/PagingorpagableJTableTableModelforlargedataset.htm
-		this.nextPageButton = new JButton(">");
-		this.nextPageButton.setBounds(150, 446, 50, 21);
-		this.nextPageButton.setToolTipText("Spring eine Seite nach vorne.");
-		
-		this.prevPageButton = new JButton("<");
-		this.prevPageButton.setBounds(99, 446, 50, 21);
-		this.prevPageButton.setToolTipText("Spring eine Seite zurück.");
-		this.prevPageButton.setEnabled(false);
+		this.addressNumberTable.setModel(this.memoryModel.getAddressModel());
+		this.addressNumberTable.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
+		this.addressNumberTable.setPreferredScrollableViewportSize(new Dimension(45, 0));
+		this.memoryScrollPane.setRowHeaderView(this.addressNumberTable);
+		this.memoryScrollPane.setCorner(JScrollPane.UPPER_LEFT_CORNER, this.addressNumberTable.getTableHeader());
 		
-		this.nextNextPageButton = new JButton(">>");
-		this.nextNextPageButton.setBounds(201, 446, 50, 21);
-		this.nextNextPageButton.setToolTipText("Spring 5 Seiten nach vorne.");
+		JLabel jumpToAddressLabel = new JLabel("Springe zu Adresse");
+		jumpToAddressLabel.setBounds(27, 522, 120, 21);
 		
-		this.prevPrevPageButton = new JButton("<<");
-		this.prevPrevPageButton.setBounds(48, 446, 50, 21);
-		this.prevPrevPageButton.setToolTipText("Spring 5 Seiten zurück.");
-		this.prevPrevPageButton.setEnabled(false);
+		this.jumpToAddressTextField = new JTextField();
+		this.jumpToAddressTextField.setBounds(150, 522, 70, 21);
+		this.jumpToAddressTextField.setHorizontalAlignment(SwingConstants.CENTER);
+		this.jumpToAddressTextField.setColumns(10);
+		this.jumpToAddressTextField.setToolTipText("<html>Adresse in der eingestellten Darstellung oder mit Präfix ($: Hex, %: Binär).</html>");
 		
-		this.currentPageTextField = new JTextField();
-		this.currentPageTextField.setBounds(171, 496, 61, 21);
-		this.currentPageTextField.setHorizontalAlignment(SwingConstants.CENTER);
-		this.currentPageTextField.setColumns(10);
+		this.followProgramCounterCheckBox = new JCheckBox("Befehlszähler folgen");
+		this.followProgramCounterCheckBox.setBounds(240, 522, 180, 21);
+		this.followProgramCounterCheckBox.setToolTipText("Zeigt immer die Speicherzelle an, auf die der Befehlszähler zeigt.");
 		
 		JLabel memoryLabel = new JLabel("Datenspeicher");
 		memoryLabel.setBounds(27, 14, 121, 30);
 		
-		JLabel jumpToPageLabel = new JLabel("Springe zu Seite");
-		jumpToPageLabel.setBounds(48, 496, 113, 21);
+		//Bildschirm mit 32 x 32 Pixeln im Speicher von $0200 bis $05FF
+		this.displayPanel = new DisplayPanel(new Display(this.processor.getMemory()), 8);
+		this.displayPanel.setBounds(1303, 44, 256, 256);
 		
-		JLabel currentPageLabelText = new JLabel("Aktuelle Seite");
-		currentPageLabelText.setBounds(48, 469, 90, 21);
-		
-		this.currentPageLabel = new JLabel(String.valueOf(this.pageNumber));
-		this.currentPageLabel.setBounds(171, 469, 61, 21);
-		this.currentPageLabel.setHorizontalAlignment(SwingConstants.CENTER);
-		this.currentPageLabel.setBorder(new LineBorder(new Color(0, 0, 0)));
-		this.currentPageLabel.setOpaque(true);
-		this.currentPageLabel.setBackground(new Color(255, 255, 255));
+		JLabel displayLabel = new JLabel("Bildschirm ($0200 - $05FF)");
+		displayLabel.setBounds(1303, 14, 256, 30);
 		
 		
 		JLabel codeLabel = new JLabel("Code Eingabe");
-		codeLabel.setBounds(341, 204, 113, 30);
+		codeLabel.setBounds(651, 204, 113, 30);
 		
 		JScrollPane codeScrollPane = new JScrollPane();
-		codeScrollPane.setBounds(341, 234, 370, 333);
+		codeScrollPane.setBounds(651, 234, 370, 333);
 		
 		this.codeTextArea = new JTextArea();
 		codeScrollPane.setViewportView(this.codeTextArea);
@@ -180,28 +172,28 @@ public class GUI extends JFrame {
 		this.codeTextArea.setFont(new Font("Consolas", Font.PLAIN, 13));
 		
 		this.programCounterLabel = new JLabel();
-		this.programCounterLabel.setBounds(364, 55, 156, 30);
+		this.programCounterLabel.setBounds(674, 55, 156, 30);
 		this.programCounterLabel.setOpaque(true);
 		this.programCounterLabel.setHorizontalAlignment(SwingConstants.CENTER);
 		this.programCounterLabel.setBorder(new LineBorder(new Color(0, 0, 0)));
 		this.programCounterLabel.setBackground(new Color(255, 255, 255));
 		
 		this.accumulatorLabel = new JLabel();
-		this.accumulatorLabel.setBounds(530, 55, 156, 30);
+		this.accumulatorLabel.setBounds(840, 55, 156, 30);
 		this.accumulatorLabel.setHorizontalAlignment(SwingConstants.CENTER);
 		this.accumulatorLabel.setOpaque(true);
 		this.accumulatorLabel.setBackground(new Color(255, 255, 255));
 		this.accumulatorLabel.setBorder(new LineBorder(new Color(0, 0, 0)));
 				
 		this.indexregisterXLabel = new JLabel();
-		this.indexregisterXLabel.setBounds(364, 95, 156, 30);
+		this.indexregisterXLabel.setBounds(674, 95, 156, 30);
 		this.indexregisterXLabel.setBorder(new LineBorder(new Color(0, 0, 0)));
 		this.indexregisterXLabel.setBackground(new Color(255, 255, 255));
 		this.indexregisterXLabel.setOpaque(true);
 		this.indexregisterXLabel.setHorizontalAlignment(SwingConstants.CENTER);
 		
 		this.indexregisterYLabel = new JLabel();
-		this.indexregisterYLabel.setBounds(530, 95, 156, 30);
+		this.indexregisterYLabel.setBounds(840, 95, 156, 30);
 		this.indexregisterYLabel.setHorizontalAlignment(SwingConstants.CENTER);
 		this.indexregisterYLabel.setOpaque(true);
 		this.indexregisterYLabel.setBackground(new Color(255, 255, 255));
@@ -212,153 +204,153 @@ public class GUI extends JFrame {
 		this.stackpointerLabel.setHorizontalAlignment(SwingConstants.CENTER);
 		this.stackpointerLabel.setBorder(new LineBorder(new Color(0, 0, 0)));
 		this.stackpointerLabel.setBackground(Color.WHITE);
-		this.stackpointerLabel.setBounds(447, 135, 156, 30);
+		this.stackpointerLabel.setBounds(757, 135, 156, 30);
 			
 		JLabel programCounterLabelText = new JLabel("PC");
-		programCounterLabelText.setBounds(307, 55, 45, 30);
+		programCounterLabelText.setBounds(617, 55, 45, 30);
 		programCounterLabelText.setHorizontalAlignment(SwingConstants.CENTER);
 		programCounterLabelText.setToolTipText("Befehlszähler");
 				
 		JLabel accumulatorLabelText = new JLabel("ACC");
-		accumulatorLabelText.setBounds(696, 55, 45, 30);
+		accumulatorLabelText.setBounds(1006, 55, 45, 30);
 		accumulatorLabelText.setHorizontalAlignment(SwingConstants.CENTER);
 		accumulatorLabelText.setToolTipText("Akkumulator");
 		
 		JLabel indexregisterXLabelText = new JLabel("X");
-		indexregisterXLabelText.setBounds(309, 95, 45, 30);
+		indexregisterXLabelText.setBounds(619, 95, 45, 30);
 		indexregisterXLabelText.setHorizontalAlignment(SwingConstants.CENTER);
 		indexregisterXLabelText.setToolTipText("Indexregister X");
 		
 		JLabel indexregisterYLabelText = new JLabel("Y");
-		indexregisterYLabelText.setBounds(696, 95, 45, 30);
+		indexregisterYLabelText.setBounds(1006, 95, 45, 30);
 		indexregisterYLabelText.setHorizontalAlignment(SwingConstants.CENTER);
 		indexregisterYLabelText.setToolTipText("Indexregister Y");
 		
 		JLabel stackpointerLabelText = new JLabel("Stackpointer");
 		stackpointerLabelText.setHorizontalAlignment(SwingConstants.CENTER);
-		stackpointerLabelText.setBounds(356, 135, 85, 30);
+		stackpointerLabelText.setBounds(666, 135, 85, 30);
 
 		this.errorLabel = new JLabel();
-		this.errorLabel.setBounds(65, 570, 920, 44);
+		this.errorLabel.setBounds(65, 570, 1510, 44);
 		this.errorLabel.setHorizontalAlignment(SwingConstants.CENTER);
 		
 		JButton binaryButton = new JButton("Binär");
-		binaryButton.setBounds(305, 14, 117, 30);
+		binaryButton.setBounds(615, 14, 117, 30);
 		binaryButton.setToolTipText("<html>Setzt die dargestellten Werte in den Indexregistern,<br>\r\nAkkumulator und Datenspeicher auf binär.</html>");
 		
 		JButton decimalButton = new JButton("Dezimal");
-		decimalButton.setBounds(415, 14, 110, 30);
+		decimalButton.setBounds(725, 14, 110, 30);
 		decimalButton.setToolTipText("<html>Setzt die dargestellten Werte in den Indexregistern,<br>\r\nAkkumulator und Datenspeicher auf dezimal.</html>");
 		
 		JButton decimalUnsignedButton = new JButton("U-Dezimal");
 		decimalUnsignedButton.setToolTipText("<html>Setzt die dargestellten Werte in den Indexregistern,<br>\r\nAkkumulator und Datenspeicher auf unsigned dezimal.</html>");
-		decimalUnsignedButton.setBounds(525, 14, 110, 30);
+		decimalUnsignedButton.setBounds(835, 14, 110, 30);
 		decimalUnsignedButton.setEnabled(false);
 
 		JButton hexButton = new JButton("Hexadezimal");
-		hexButton.setBounds(635, 14, 110, 30);
+		hexButton.setBounds(945, 14, 110, 30);
 		hexButton.setToolTipText("<html>Setzt die dargestellten Werte in den Indexregistern,<br>\r\nAkkumulator und Datenspeicher auf hexadezimal.<br>\r\nDie Seitenzahlen und Adressen werden auch<br>\r\n auf hexadezimal umgerechnet.</html>");
 		
 		
 		JLabel controlLabel = new JLabel("Steuerung");
-		controlLabel.setBounds(804, 14, 90, 30);		
+		controlLabel.setBounds(1114, 14, 90, 30);		
 		
 		this.assembleButton = new JButton("Assemblieren");
-		this.assembleButton.setBounds(804, 44, 160, 30);
+		this.assembleButton.setBounds(1114, 44, 160, 30);
 		this.assembleButton.setToolTipText("<html>Eingabefelder für Code und <br>\r\nDatenspeicher werden gelockt.</html>");
 		this.assembleButton.setEnabled(false);
 		
 		JLabel intervalLabel = new JLabel("Schrittintervall [ms]");
-		intervalLabel.setBounds(803, 76, 160, 30);
+		intervalLabel.setBounds(1113, 76, 160, 30);
 		intervalLabel.setHorizontalAlignment(SwingConstants.CENTER);
 		
 		this.intervalTextField = new JTextField();
-		this.intervalTextField.setBounds(803, 106, 160, 30);
+		this.intervalTextField.setBounds(1113, 106, 160, 30);
 		this.intervalTextField.setColumns(10);
 		this.intervalTextField.setText("0");
 		this.intervalTextField.setEnabled(false);
 		
 		this.runButton = new JButton("Start");
-		this.runButton.setBounds(803, 138, 160, 30);
+		this.runButton.setBounds(1113, 138, 160, 30);
 		this.runButton.setToolTipText("Benötigt Schrittintervall.");
 		this.runButton.setEnabled(false);
 		
 		this.stopButton = new JButton("Stopp");
-		this.stopButton.setBounds(803, 170, 160, 30);
+		this.stopButton.setBounds(1113, 170, 160, 30);
 		this.stopButton.setEnabled(false);
 		
 		this.nextLineButton = new JButton("Nächste Zeile");
-		this.nextLineButton.setBounds(803, 215, 160, 30);
+		this.nextLineButton.setBounds(1113, 215, 160, 30);
 		this.nextLineButton.setEnabled(false);
 		
 		this.previousLineButton = new JButton("Vorherige Zeile");
-		this.previousLineButton.setBounds(803, 247, 160, 30);
+		this.previousLineButton.setBounds(1113, 247, 160, 30);
 		this.previousLineButton.setEnabled(false);
 		
 		JLabel resetLabel = new JLabel("Zurücksetzten");
-		resetLabel.setBounds(803, 292, 160, 30);
+		resetLabel.setBounds(1113, 292, 160, 30);
 		
 		this.resetRegistersButton = new JButton("Register");
-		this.resetRegistersButton.setBounds(803, 322, 160, 30);
+		this.resetRegistersButton.setBounds(1113, 322, 160, 30);
 		
 		this.resetMemoryButton = new JButton("Datenspeicher");
-		this.resetMemoryButton.setBounds(803, 354, 160, 30);
+		this.resetMemoryButton.setBounds(1113, 354, 160, 30);
 		
 		this.resetAllButton = new JButton("Alles");
-		this.resetAllButton.setBounds(803, 386, 160, 30);
+		this.resetAllButton.setBounds(1113, 386, 160, 30);
 
 		
 		this.negativeLabel = new JLabel("0");
-		this.negativeLabel.setBounds(351, 170, 45, 13);
+		this.negativeLabel.setBounds(661, 170, 45, 13);
 		this.negativeLabel.setOpaque(true);
 		this.negativeLabel.setBorder(new LineBorder(new Color(0, 0, 0)));
 		this.negativeLabel.setBackground(new Color(255, 255, 255));
 		this.negativeLabel.setHorizontalAlignment(SwingConstants.CENTER);
 		
 		this.overflowLabel = new JLabel("0");
-		this.overflowLabel.setBounds(396, 170, 45, 13);
+		this.overflowLabel.setBounds(706, 170, 45, 13);
 		this.overflowLabel.setOpaque(true);
 		this.overflowLabel.setBorder(new LineBorder(new Color(0, 0, 0)));
 		this.overflowLabel.setBackground(new Color(255, 255, 255));
 		this.overflowLabel.setHorizontalAlignment(SwingConstants.CENTER);
 		
 		this.expansionLabel = new JLabel("0");
-		this.expansionLabel.setBounds(441, 170, 45, 13);
+		this.expansionLabel.setBounds(751, 170, 45, 13);
 		this.expansionLabel.setOpaque(true);
 		this.expansionLabel.setBorder(new LineBorder(new Color(0, 0, 0)));
 		this.expansionLabel.setBackground(new Color(255, 255, 255));
 		this.expansionLabel.setHorizontalAlignment(SwingConstants.CENTER);
 		
 		this.breakLabel = new JLabel("0");
-		this.breakLabel.setBounds(486, 170, 45, 13);
+		this.breakLabel.setBounds(796, 170, 45, 13);
 		this.breakLabel.setOpaque(true);
 		this.breakLabel.setBorder(new LineBorder(new Color(0, 0, 0)));
 		this.breakLabel.setBackground(new Color(255, 255, 255));
 		this.breakLabel.setHorizontalAlignment(SwingConstants.CENTER);
 		
 		this.decimalLabel = new JLabel("0");
-		this.decimalLabel.setBounds(531, 170, 45, 13);
+		this.decimalLabel.setBounds(841, 170, 45, 13);
 		this.decimalLabel.setOpaque(true);
 		this.decimalLabel.setBorder(new LineBorder(new Color(0, 0, 0)));
 		this.decimalLabel.setBackground(new Color(255, 255, 255));
 		this.decimalLabel.setHorizontalAlignment(SwingConstants.CENTER);
 		
 		this.interruptDisableLabel = new JLabel("0");
-		this.interruptDisableLabel.setBounds(576, 170, 45, 13);
+		this.interruptDisableLabel.setBounds(886, 170, 45, 13);
 		this.interruptDisableLabel.setOpaque(true);
 		this.interruptDisableLabel.setBorder(new LineBorder(new Color(0, 0, 0)));
 		this.interruptDisableLabel.setBackground(new Color(255, 255, 255));
 		this.interruptDisableLabel.setHorizontalAlignment(SwingConstants.CENTER);
 		
 		this.zeroLabel = new JLabel("0");
-		this.zeroLabel.setBounds(621, 170, 45, 13);
+		this.zeroLabel.setBounds(931, 170, 45, 13);
 		this.zeroLabel.setOpaque(true);
 		this.zeroLabel.setBorder(new LineBorder(new Color(0, 0, 0)));
 		this.zeroLabel.setBackground(new Color(255, 255, 255));
 		this.zeroLabel.setHorizontalAlignment(SwingConstants.CENTER);
 		
 		this.carryLabel = new JLabel("0");
-		this.carryLabel.setBounds(666, 170, 45, 13);
+		this.carryLabel.setBounds(976, 170, 45, 13);
 		this.carryLabel.setBorder(new LineBorder(new Color(0, 0, 0)));
 		this.carryLabel.setBackground(new Color(255, 255, 255));
 		this.carryLabel.setOpaque(true);
@@ -366,74 +358,74 @@ public class GUI extends JFrame {
 		
 		JLabel flagsLabel = new JLabel("Flags");
 		flagsLabel.setHorizontalAlignment(SwingConstants.CENTER);
-		flagsLabel.setBounds(306, 170, 45, 13);
+		flagsLabel.setBounds(616, 170, 45, 13);
 		flagsLabel.setToolTipText("<html>Werden entsprechend diverser Operation automatisch gesetzt, können aber auch teilweise manuell verändert werden.<br>\r\nDie Flagbeschreibungen beschreiben nur die wichtigsten Funktionsweisen der einzelnen Flags.");
 		
 		JLabel negativeLabelText = new JLabel("N");
 		negativeLabelText.setHorizontalAlignment(SwingConstants.CENTER);
 		negativeLabelText.setBackground(Color.WHITE);
-		negativeLabelText.setBounds(351, 187, 45, 13);
+		negativeLabelText.setBounds(661, 187, 45, 13);
 		negativeLabelText.setToolTipText("<html>Negative Flag - Kopie des 7. Bits einer Operationsergebnisses.<br>\r\nWird gestzt, falls die Darstellung im 2-Komplement negativ wäre. Compare: Kleiner</html>");
 		
 		JLabel overflowLabelText = new JLabel("V");
 		overflowLabelText.setHorizontalAlignment(SwingConstants.CENTER);
 		overflowLabelText.setBackground(Color.WHITE);
-		overflowLabelText.setBounds(396, 187, 45, 13);
+		overflowLabelText.setBounds(706, 187, 45, 13);
 		overflowLabelText.setToolTipText("<html>Overflow Flag - Wird gesetzt, falls ein Rechenergebnis außerhalb -128 und 127 liegt.<html>");
 		
 		JLabel expansionLabelText = new JLabel("-");
 		expansionLabelText.setHorizontalAlignment(SwingConstants.CENTER);
 		expansionLabelText.setBackground(Color.WHITE);
-		expansionLabelText.setBounds(441, 187, 45, 13);
+		expansionLabelText.setBounds(751, 187, 45, 13);
 		expansionLabelText.setToolTipText("<html>Expansion Flag - Immer 1.</html>");
 		
 		JLabel breakLabelText = new JLabel("B");
 		breakLabelText.setHorizontalAlignment(SwingConstants.CENTER);
 		breakLabelText.setBackground(Color.WHITE);
-		breakLabelText.setBounds(486, 187, 45, 13);
+		breakLabelText.setBounds(796, 187, 45, 13);
 		breakLabelText.setToolTipText("<html>Break Flag - Wird bei manuellem Interrupt gesetzt (nicht implementiert).</html>");
 		
 		JLabel decimalLabelText = new JLabel("D");
 		decimalLabelText.setHorizontalAlignment(SwingConstants.CENTER);
 		decimalLabelText.setBackground(Color.WHITE);
-		decimalLabelText.setBounds(531, 187, 45, 13);
+		decimalLabelText.setBounds(841, 187, 45, 13);
 		decimalLabelText.setToolTipText("<html>Decimal Flag - Wird manuell gesetzt und gelöscht.<br>\r\nAddition und Subtraktion, werden bei gesetztem Flag mit binärcodierten Dezimalzahlen durchgeführt.</html>");
 		
 		JLabel interruptDisableLabelText = new JLabel("I");
 		interruptDisableLabelText.setHorizontalAlignment(SwingConstants.CENTER);
 		interruptDisableLabelText.setBackground(Color.WHITE);
-		interruptDisableLabelText.setBounds(576, 187, 45, 13);
+		interruptDisableLabelText.setBounds(886, 187, 45, 13);
 		interruptDisableLabelText.setToolTipText("<html>Interrupt Flag - Verhindert bei gesetztem Flag Interrupts von außen (hier keinen Einfluss).</html>");
 		
 		JLabel zeroLabelText = new JLabel("Z");
 		zeroLabelText.setHorizontalAlignment(SwingConstants.CENTER);
 		zeroLabelText.setBackground(Color.WHITE);
-		zeroLabelText.setBounds(621, 187, 45, 13);
+		zeroLabelText.setBounds(931, 187, 45, 13);
 		zeroLabelText.setToolTipText("<html>Zero Flag - Wird gesetzt, wenn ein Operationsergebnis 0 ergibt. Compare: Gleichheit</html>");
 		
 		JLabel carryLabelText = new JLabel("C");
 		carryLabelText.setHorizontalAlignment(SwingConstants.CENTER);
 		carryLabelText.setBackground(Color.WHITE);
-		carryLabelText.setBounds(666, 187, 45, 13);
+		carryLabelText.setBounds(976, 187, 45, 13);
 		carryLabelText.setToolTipText("<html>Carry Flag - Wird als Übertragsbit und für bitweises Schieben und Rotieren verwendet.</html>");
 		
 		
 		updateAll();
 		
 		
-		//Wird wiederholt aktiviert mit dem Intervall speed und wird solange wiederholt bis time.stop() oder InterruptedException
-		this.timer = new Timer(this.speed, new ActionListener() {
+		//Die Anzeige wird unabhängig vom Thread des Prozessors mit fester Bildrate aktualisiert
+		this.refreshTimer = new Timer(REFRESH_INTERVAL, new ActionListener() {
 			public void actionPerformed(ActionEvent e) {
-				executeNext();
+				refresh();
 			}
 		});
+		this.refreshTimer.start();
 		
 		//Setzt Intervall Geschwindigkeit
 		this.intervalTextField.getDocument().addDocumentListener(new DocumentListener() {
 			  public void changedUpdate(DocumentEvent e) {
 				  try {
 					  speed = Integer.parseInt(intervalTextField.getText());
-					  timer.setDelay(speed);
 					  runButton.setEnabled(true);
 				  } catch(Exception e1) {
 					  runButton.setEnabled(false);
@@ -442,7 +434,6 @@ public class GUI extends JFrame {
 			  public void removeUpdate(DocumentEvent e) {
 				  try {
 					  speed = Integer.parseInt(intervalTextField.getText());
-					  timer.setDelay(speed);
 					  runButton.setEnabled(true);
 				  } catch(Exception e1) {
 					  runButton.setEnabled(false);
@@ -451,7 +442,6 @@ public class GUI extends JFrame {
 			  public void insertUpdate(DocumentEvent e) {
 				  try {
 					  speed = Integer.parseInt(intervalTextField.getText());
-					  timer.setDelay(speed);
 					  runButton.setEnabled(true);
 				  } catch(Exception e1) {
 					  runButton.setEnabled(false);
@@ -459,97 +449,58 @@ public class GUI extends JFrame {
 			  }
 		});
 		
+		//Code wird während der Eingabe im Hintergrund assembliert
 		this.codeTextArea.getDocument().addDocumentListener(new DocumentListener() {
 			  public void changedUpdate(DocumentEvent e) {
-				  assembleButton.setEnabled(!codeTextArea.getText().isBlank());
+				  assembleButton.setEnabled(!codeTextArea.getText().isBlank() && !emulation.isRunning());
+				  assembler.changed();
+				  clearSourceMap();
 			  }
 			  public void removeUpdate(DocumentEvent e) {
-				  assembleButton.setEnabled(!codeTextArea.getText().isBlank());
+				  assembleButton.setEnabled(!codeTextArea.getText().isBlank() && !emulation.isRunning());
+				  assembler.changed();
+				  clearSourceMap();
 			  }
 			  public void insertUpdate(DocumentEvent e) {
-				  assembleButton.setEnabled(!codeTextArea.getText().isBlank());
+				  assembleButton.setEnabled(!codeTextArea.getText().isBlank() && !emulation.isRunning());
+				  assembler.changed();
+				  clearSourceMap();
 			  }
 		});
 		
 		
-		//Aktuelle Seite springt zur eingegebenen Seite
-		this.currentPageTextField.addActionListener(new ActionListener() {
+		//Springt zur eingegebenen Adresse
+		this.jumpToAddressTextField.addActionListener(new ActionListener() {
 			public void actionPerformed(ActionEvent e) {
 				try {
 					updateErrorLabel("");
 					
-					int newPageNumber;
-					if(base == 16)
-						newPageNumber = Integer.parseInt(currentPageTextField.getText(), 16);
+					String text = jumpToAddressTextField.getText().trim();
+					int address;
+					if(base == 16 && !text.startsWith("$") && !text.startsWith("%"))
+						address = Integer.parseInt(text, 16);
 					else
-						newPageNumber = Integer.parseInt(currentPageTextField.getText());
+						address = new INT16(text).getUnsignedValue();
 					
-					if(newPageNumber >= 0 && newPageNumber <= 255) {
-						if(pageNumber != newPageNumber) {
-							pageNumber = newPageNumber;
-							currentPageTextField.setText("");
-							updateMemory();
-							
-							updateCurrentPageLabel(pageNumber);
-							refreshPageButtons();
-						} else
-							currentPageTextField.setText("");
+					if(address >= 0 && address <= 0xFFFF) {
+						jumpToAddressTextField.setText("");
+						followProgramCounterCheckBox.setSelected(false);
+						showAddress(address);
 					}
 					else
-						updateErrorLabel("Fehler: Eingegebene Seitenzahl befindet sich außerhalb des gültigen Bereichs.");
+						updateErrorLabel("Fehler: Eingegebene Adresse befindet sich außerhalb des gültigen Bereichs.");
 				} catch(NumberFormatException e1) {
-					updateErrorLabel("Fehler: Es wurde keine Zahl als Seitenzahl eingegen.");
+					updateErrorLabel("Fehler: Es wurde keine Zahl als Adresse eingegeben.");
 				}
 		    }
 			
 		});
-				
 		
-		this.prevPageButton.addActionListener(new ActionListener() {
+		//Beim Einschalten wird sofort zum Befehlszähler gesprungen
+		this.followProgramCounterCheckBox.addActionListener(new ActionListener() {
 			public void actionPerformed(ActionEvent e) {
-				if(pageNumber > 0) {
-					pageNumber--;
-					updateMemory();
-				}
-				
-				updateCurrentPageLabel(pageNumber);
-				refreshPageButtons();
-			}
-		});
-		
-		this.nextPageButton.addActionListener(new ActionListener() {
-			public void actionPerformed(ActionEvent e) {
-				if(pageNumber < 255) {
-					pageNumber++;
-					updateMemory();
-				}
-				
-				updateCurrentPageLabel(pageNumber);
-				refreshPageButtons();
-			}
-		});
-		
-		this.nextNextPageButton.addActionListener(new ActionListener() {
-			public void actionPerformed(ActionEvent e) {
-				if(pageNumber < 251) {
-					pageNumber = pageNumber + 5;
-					updateMemory();
-				}
-				
-				updateCurrentPageLabel(pageNumber);
-				refreshPageButtons();
-			}
-		});
-		
-		this.prevPrevPageButton.addActionListener(new ActionListener() {
-			public void actionPerformed(ActionEvent e) {
-				if(pageNumber > 4) {
-					pageNumber = pageNumber - 5;
-					updateMemory();
-				}
-				
-				updateCurrentPageLabel(pageNumber);
-				refreshPageButtons();
+				followedAddress = -1;
+				updateMemory();
 			}
 		});
 		
@@ -563,7 +514,6 @@ public class GUI extends JFrame {
 				decimalUnsignedButton.setEnabled(true);
 				hexButton.setEnabled(true);
 				
-				updateCurrentPageLabel(pageNumber);
 				updateAll();
 			}
 		});
@@ -577,7 +527,6 @@ public class GUI extends JFrame {
 				decimalUnsignedButton.setEnabled(true);
 				hexButton.setEnabled(true);
 				
-				updateCurrentPageLabel(pageNumber);
 				updateAll();
 			}
 		});
@@ -591,7 +540,6 @@ public class GUI extends JFrame {
 				decimalUnsignedButton.setEnabled(false);
 				hexButton.setEnabled(true);
 				
-				updateCurrentPageLabel(pageNumber);
 				updateAll();
 			}
 		});
@@ -605,46 +553,11 @@ public class GUI extends JFrame {
 				decimalUnsignedButton.setEnabled(true);
 				hexButton.setEnabled(false);
 				
-				updateCurrentPageLabel(pageNumber);
 				updateAll();
 			}
 		});
 		
 		
-		//Speichert aktuelle Seite wenn etwas in die Tabelle eingegeben wird und überprüft die Eingabe auf Richtigkeit
-		this.memoryTable.getModel().addTableModelListener(new TableModelListener() {
-			  public void tableChanged(TableModelEvent e) {
-				  int element = e.getFirstRow();
-				  
-				  INT8 value = null;
-				  try {
-						switch(base) {
-							case 2:
-								value = new INT8(Integer.parseInt(memoryTable.getValueAt(element, 0).toString(), 2));
-								break;
-							case 10:
-							case 11:
-								value = new INT8(Integer.parseInt(memoryTable.getValueAt(element, 0).toString()));
-								break;
-							case 16:
-								value = new INT8(Integer.parseInt(memoryTable.getValueAt(element, 0).toString(), 16));
-								break;
-						}
-					} catch (NumberFormatException e3) {
-						updateErrorLabel("Fehler: Die Eingabe \"" + memoryTable.getValueAt(element, 0).toString() + "\" ist nicht valide! Es wurde 0 eingetragen.");
-						
-						value = new INT8(0);
-						switch(base) {
-							case 2: memoryTable.setValueAt("00000000", element, 0); break;
-							case 10:
-							case 11: memoryTable.setValueAt("0", element, 0); break;
-							case 16: memoryTable.setValueAt("00", element, 0); break;
-						}
-					}
-					processor.getMemoryData()[pageNumber << 8 | element].valueOf(value);
-			  }
-		});
-		
 		//Code aus der codeTextArea wird assembliert
 		this.assembleButton.addActionListener(new ActionListener() {
 			public void actionPerformed(ActionEvent e) {
@@ -655,7 +568,6 @@ public class GUI extends JFrame {
 				intervalTextField.setEnabled(true);
 				try {
 					speed = Integer.parseInt(intervalTextField.getText());
-					timer.setDelay(speed);
 					runButton.setEnabled(true);
 				} catch(Exception e1) {
 					runButton.setEnabled(false);
@@ -663,7 +575,6 @@ public class GUI extends JFrame {
 				
 				nextLineButton.setEnabled(true);
 				previousLineButton.setEnabled(false);
-				processor.getRegisterDataStack().clear();
 				
 				assemble();
 			}
@@ -677,6 +588,7 @@ public class GUI extends JFrame {
 				intervalTextField.setEnabled(false);
 				runButton.setEnabled(false);
 				stopButton.setEnabled(true);
+				assembleButton.setEnabled(false);
 				
 				nextLineButton.setEnabled(false);
 				previousLineButton.setEnabled(false);
@@ -685,7 +597,7 @@ public class GUI extends JFrame {
 				resetAllButton.setEnabled(false);
 				resetRegistersButton.setEnabled(false);
 				
-				timer.start();
+				emulation.start(speed);
 			}
 		});
 		
@@ -696,7 +608,6 @@ public class GUI extends JFrame {
 				intervalTextField.setEnabled(true);
 				try {
 					speed = Integer.parseInt(intervalTextField.getText());
-					timer.setDelay(speed);
 					runButton.setEnabled(true);
 				} catch(Exception e1) {
 					runButton.setEnabled(false);
@@ -704,13 +615,13 @@ public class GUI extends JFrame {
 				stopButton.setEnabled(false);
 				
 				nextLineButton.setEnabled(true);
-				previousLineButton.setEnabled(!processor.getRegisterDataStack().isEmpty());
+				assembleButton.setEnabled(!codeTextArea.getText().isBlank());
 				
 				resetMemoryButton.setEnabled(true);
 				resetAllButton.setEnabled(true);
 				resetRegistersButton.setEnabled(true);
 				
-				timer.stop();
+				emulation.stop();
 			}
 		});
 		
@@ -718,8 +629,6 @@ public class GUI extends JFrame {
 			public void actionPerformed(ActionEvent e) {
 				updateErrorLabel("");
 				
-				previousLineButton.setEnabled(true);
-				
 				executeNext();
 			}
 		});
@@ -731,7 +640,6 @@ public class GUI extends JFrame {
 				intervalTextField.setEnabled(true);
 				try {
 					speed = Integer.parseInt(intervalTextField.getText());
-					timer.setDelay(speed);
 					runButton.setEnabled(true);
 				} catch(Exception e1) {
 					runButton.setEnabled(false);
@@ -751,7 +659,6 @@ public class GUI extends JFrame {
 				
 				nextLineButton.setEnabled(false);
 				previousLineButton.setEnabled(false);
-				processor.getRegisterDataStack().clear();
 				
 				intervalTextField.setEnabled(false);
 				runButton.setEnabled(false);
@@ -766,7 +673,6 @@ public class GUI extends JFrame {
 				updateErrorLabel("");
 				
 				previousLineButton.setEnabled(false);
-				processor.getRegisterDataStack().clear();
 				
 				resetRegisters();
 				updateRegisters();
@@ -781,7 +687,6 @@ public class GUI extends JFrame {
 				
 				nextLineButton.setEnabled(false);
 				previousLineButton.setEnabled(false);
-				processor.getRegisterDataStack().clear();
 				
 				intervalTextField.setEnabled(false);
 				runButton.setEnabled(false);
@@ -794,16 +699,12 @@ public class GUI extends JFrame {
 
 		this.contentPane.setLayout(null);
 		this.contentPane.add(memoryScrollPane);
-		this.contentPane.add(addressNumberScrollPane);
-		this.contentPane.add(prevPageButton);
-		this.contentPane.add(nextPageButton);
-		this.contentPane.add(nextNextPageButton);
-		this.contentPane.add(prevPrevPageButton);
-		this.contentPane.add(currentPageTextField);
+		this.contentPane.add(jumpToAddressTextField);
+		this.contentPane.add(followProgramCounterCheckBox);
 		this.contentPane.add(memoryLabel);
-		this.contentPane.add(jumpToPageLabel);
-		this.contentPane.add(currentPageLabelText);
-		this.contentPane.add(currentPageLabel);
+		this.contentPane.add(displayPanel);
+		this.contentPane.add(displayLabel);
+		this.contentPane.add(jumpToAddressLabel);
 		this.contentPane.add(codeLabel);
 		this.contentPane.add(accumulatorLabel);
 		this.contentPane.add(programCounterLabel);
@@ -853,17 +754,6 @@ public class GUI extends JFrame {
 	}
 	
 	
-	/**
-	 * Die Knöpfe über die die Seiten gesteuert werden, werden je nachdem 
-	 * auf welcher Seite man sich befindet aktiviert oder deaktiviert.
-	 */
-	public void refreshPageButtons() {
-		this.nextPageButton.setEnabled(this.pageNumber != 255);
-		this.prevPageButton.setEnabled(this.pageNumber != 0);
-		this.nextNextPageButton.setEnabled(this.pageNumber <= 250);
-		this.prevPrevPageButton.setEnabled(this.pageNumber >= 5);
-	}
-	
 	/**
 	 * Lädt Akkumulator Label, Programmzähler Label, Indexregister X Label,
 	 * Indexregister Y Label, Stackpointer Label, Statusregister Label
@@ -930,6 +820,7 @@ public class GUI extends JFrame {
 				this.programCounterLabel.setText(this.processor.getProgramCounterData().getHexString());
 				break;
 		}
+		this.updateCurrentLine();
 	}
 	
 	/**
@@ -999,38 +890,54 @@ public class GUI extends JFrame {
 	}
 	
 	/**
-	 * Lädt die Datenspeicher Tabelle mit den aktuellen Werten vom Prozessor und 
-	 * konvertiert diese je nach Einstellung zu Binär, Dezimal, 
-	 * Unsigned Dezimal oder Hexadezimal.
-	 * Lädt auch die Adresszeilen Tabelle neu und wenn der Hexadezimal
-	 * Button aktiviert ist diese mit in hexadezimal umgerechneten Werten.
+	 * Lädt die Datenspeicher Tabelle mit den aktuellen Werten vom Prozessor, die je nach
+	 * Einstellung als Binär, Dezimal, Unsigned Dezimal oder Hexadezimal angezeigt werden.
+	 * Bei gleicher Darstellung werden nur veränderte Zellen neu gelesen.
+	 * Ist "Befehlszähler folgen" aktiviert, wird die Zelle des Befehlszählers angezeigt.
 	 */
 	public void updateMemory() {
-		INT8 value = null;
-		for(int i = 0; i < 256; i++) {
-			value = this.processor.getMemoryData()[this.pageNumber << 8 | i];
-			switch(base) {
-				case 2:
-					this.memoryTable.setValueAt(value.getBinaryString(), i, 0);
-					break;
-				case 10:
-					this.memoryTable.setValueAt(value.getDecimalString(), i, 0);
-					break;
-				case 11:
-					this.memoryTable.setValueAt(value.getUnsignedDecimalString(), i, 0);
-					break;
-				case 16:
-					this.memoryTable.setValueAt(value.getHexString(), i, 0);
-					break;
-			}
+		//Nur Zellen, die seit der letzten Aktualisierung verändert wurden, werden neu gelesen
+		this.emulation.runLocked(() -> {
+			this.memoryModel.update(this.base);
+			this.displayPanel.update();
+			this.processor.getMemory().clearDirty();
+		});
+		if(this.base != this.memoryColumnsBase)
+			this.updateMemoryColumns();
+		
+		int programCounter = this.processor.getProgramCounterData().getUnsignedValue();
+		if(this.followProgramCounterCheckBox.isSelected() && programCounter != this.followedAddress) {
+			this.followedAddress = programCounter;
+			this.showAddress(programCounter);
 		}
-		for(int i = 0; i < 256; i++) {
-			int address = this.pageNumber << 8 | i;
-			if(this.base == 16)
-				this.addressNumberTable.setValueAt(String.format("%04X", address), i, 0);
-			else
-				this.addressNumberTable.setValueAt(address, i, 0);
+	}
+	
+	/**
+	 * Passt die Breite der Spalten der Datenspeicher Tabelle an die Darstellung an (nur nach einem Wechsel der Darstellung nötig).
+	 */
+	public void updateMemoryColumns() {
+		this.memoryColumnsBase = this.base;
+		int width;
+		switch(this.base) {
+			case 2: width = 64; break;
+			case 10: width = 34; break;
+			case 16: width = 24; break;
+			default: width = 30; break;
 		}
+		for(int column = 0; column < MemoryTableModel.ROW_SIZE; column++)
+			this.memoryTable.getColumnModel().getColumn(column).setPreferredWidth(width);
+		this.memoryTable.getColumnModel().getColumn(MemoryTableModel.ASCII_COLUMN).setPreferredWidth(130);
+	}
+	
+	/**
+	 * Wählt die Speicherzelle einer Adresse in der Datenspeicher Tabelle aus und scrollt zu ihr.
+	 * @param address Speicheradresse (0 bis 65535)
+	 */
+	public void showAddress(int address) {
+		int row = MemoryTableModel.getRow(address);
+		int column = MemoryTableModel.getColumn(address);
+		this.memoryTable.changeSelection(row, column, false, false);
+		this.memoryTable.scrollRectToVisible(this.memoryTable.getCellRect(row, column, true));
 	}
 	
 	/**
@@ -1043,33 +950,47 @@ public class GUI extends JFrame {
 	
 	/**
 	 * Setzt Befehlszähler, Akkumulator, Indexregister X, Indexregister Y,
-	 * Stackpointer und Statusregister auf ihre Ursprungswerte zurück.
+	 * Stackpointer, Statusregister und Taktzyklenzähler auf ihre Ursprungswerte zurück und leert das Protokoll für undo().
 	 */
 	public void resetRegisters() {
-		this.processor.getProgramCounterData().valueOf(this.processor.getStartAddress());;
-		this.processor.getAccumulatorData().setValue(0);
-		this.processor.getIndexRegisterXData().setValue(0);
-		this.processor.getIndexRegisterYData().setValue(0);
-		this.processor.getStackPointerData().setValue(255);
-		this.processor.getStatusRegisterData().setValue(34);
+		this.emulation.runLocked(() -> {
+			this.processor.getUndoJournal().clear();
+			this.processor.getProgramCounterData().valueOf(this.processor.getStartAddress());
+			this.processor.getAccumulatorData().setValue(0);
+			this.processor.getIndexRegisterXData().setValue(0);
+			this.processor.getIndexRegisterYData().setValue(0);
+			this.processor.getStackPointerData().setValue(255);
+			this.processor.getStatusRegisterData().setValue(34);
+			this.processor.resetCycles();
+		});
 	}
 	
 	/**
-	 * Setzt alle Zeilen des Speicher Arrays im Prozessor auf 0.
+	 * Setzt alle Zeilen des Speicher Arrays im Prozessor auf 0 und leert das Protokoll für undo().
 	 */
 	public void resetMemory() {
-		for(int i = 0; i < this.processor.getMemoryData().length; i++)
-			this.processor.getMemoryData()[i].setValue(0);
+		this.emulation.runLocked(() -> {
+			this.processor.getUndoJournal().clear();
+			this.processor.getMemory().clear();
+		});
 	}
 	
 	/**
 	 * Assembliert den Code, der in dem Code Eingabe Textfeld steht und
 	 * gibt die Anzahl der assemblierten Bytes in der UI im ErrorLabel aus.
+	 * Wurde der Code bereits im Hintergrund assembliert, wird das fertige Abbild geladen und das Protokoll für undo() geleert.
 	 * Zusätzlich wird die Datenspeicher Tabelle aktualisiert.
 	 */
 	public void assemble() {
 		try {
-			this.updateErrorLabel(this.processor.assemble(this.codeTextArea.getText()));
+			AssembledImage image = this.assembler.getImage(this.codeTextArea.getText());
+			this.emulation.runLocked(() -> {
+				this.processor.getUndoJournal().clear();
+				this.processor.load(image);
+			});
+			this.sourceMap = image.getSourceMap();
+			this.updateCurrentLine();
+			this.updateErrorLabel("Info: Erfolgreich " + image.getLength() + " bytes assembliert.");
 		} catch(Exception e) {
 			this.updateErrorLabel(e.getMessage());
 			this.nextLineButton.setEnabled(false);
@@ -1081,53 +1002,70 @@ public class GUI extends JFrame {
 	}
 	
 	/**
-	 * Führt den aktuellen Befehl, auf den der Befehlszähler zeift aus.
-	 * Aktualisiert die Register Label und die Datenspeicher Tabelle.
-	 * Wenn ein Fehler geworfen wird, wird der Timer, der für die iterative
-	 * Abarbeitung des Codes zuständig ist gestoppt.
+	 * Führt den aktuellen Befehl, auf den der Befehlszähler zeigt, im Thread des Prozessors aus.
+	 * Die Oberfläche wird danach in emulationStopped() aktualisiert.
 	 */
 	public void executeNext() {
-		try {	
-			this.processor.executeNext();
-		} catch(UnknownOpcodeException e) {
-			this.updateErrorLabel(e.getMessage());
+		this.emulation.step();
+	}
+	
+	/**
+	 * Wird nach einem Einzelschritt oder beim Anhalten der fortlaufenden Abarbeitung des Codes aufgerufen.
+	 * Aktualisiert die Knöpfe, die Register Label und die Datenspeicher Tabelle.
+	 * @param exception InterruptException oder UnknownOpcodeException des Prozessors, ein unerwarteter Fehler im Thread
+	 * des Prozessors oder null nach einem Einzelschritt ohne Fehler bzw. nach dem Anhalten
+	 */
+	public void emulationStopped(RuntimeException exception) {
+		if(exception instanceof UnknownOpcodeException) {
+			this.updateErrorLabel(exception.getMessage());
 			
 			this.nextLineButton.setEnabled(false);
-			this.previousLineButton.setEnabled(!this.processor.getRegisterDataStack().isEmpty());
 			
 			this.intervalTextField.setEnabled(false);
 			this.runButton.setEnabled(false);
 			this.stopButton.setEnabled(false);
+			this.assembleButton.setEnabled(!this.codeTextArea.getText().isBlank());
 			
 			this.resetRegistersButton.setEnabled(true);
 			this.resetMemoryButton.setEnabled(true);
 			this.resetAllButton.setEnabled(true);
-			
-			this.timer.stop();
-		} catch(InterruptException e) {
-			this.updateErrorLabel(e.getMessage());
+		} else if(exception != null) {
+			// BRK oder ein unerwarteter Fehler, der Thread des Prozessors läuft weiter
+			this.updateErrorLabel(exception instanceof InterruptException ? exception.getMessage() : "Fehler: " + exception);
 			
 			this.nextLineButton.setEnabled(true);
-			this.previousLineButton.setEnabled(!this.processor.getRegisterDataStack().isEmpty());
 			
 			this.intervalTextField.setEnabled(true);
 			try {
 				this.speed = Integer.parseInt(this.intervalTextField.getText());
-				this.timer.setDelay(this.speed);
 				this.runButton.setEnabled(true);
 			} catch(Exception e1) {
 				this.runButton.setEnabled(false);
 			}
 			this.stopButton.setEnabled(false);
+			this.assembleButton.setEnabled(!this.codeTextArea.getText().isBlank());
 			
 			this.resetRegistersButton.setEnabled(true);
 			this.resetMemoryButton.setEnabled(true);
 			this.resetAllButton.setEnabled(true);
-			
-			this.timer.stop();
 		}
-			
-		this.updateAll();
+		
+		// Der Prozessor steht, das Protokoll wird unter der Sperre gelesen
+		this.emulation.runLocked(() -> this.previousLineButton.setEnabled(!this.processor.getUndoJournal().isEmpty()));
+		this.refresh();
+	}
+	
+	/**
+	 * Aktualisiert die Register Label und die Datenspeicher Tabelle, falls der Prozessor seit der letzten
+	 * Aktualisierung Befehle ausgeführt hat. Der Zustand wird gelesen, während der Prozessor zwischen zwei Befehlen steht.
+	 */
+	public void refresh() {
+		long version = this.emulation.getVersion();
+		if(version == this.shownVersion)
+			return;
+		
+		this.shownVersion = version;
+		this.emulation.runLocked(this::updateAll);
 	}
 
 	/**
@@ -1135,10 +1073,45 @@ public class GUI extends JFrame {
 	 * und aktualisiert die Register Label und die Datenspeicher Tabelle.
 	 */
 	public void undo() {
-		this.processor.undo();		
-		this.previousLineButton.setEnabled(!this.processor.getRegisterDataStack().isEmpty());
+		this.emulation.runLocked(() -> {
+			this.processor.undo();
+			this.previousLineButton.setEnabled(!this.processor.getUndoJournal().isEmpty());
+			
+			this.updateAll();
+		});
+	}
+	
+	/**
+	 * Hebt die Zeile im Code Eingabe Textfeld hervor, auf deren Befehl der Befehlszähler zeigt.
+	 * Die Hervorhebung wird nur bei einem Zeilenwechsel verändert.
+	 */
+	public void updateCurrentLine() {
+		int line = this.sourceMap != null ? this.sourceMap.getLine(this.processor.getProgramCounterData().getUnsignedValue()) : 0;
+		if(line == this.currentLine)
+			return;
+		
+		this.currentLine = line;
+		if(this.currentLineHighlight != null) {
+			this.codeTextArea.getHighlighter().removeHighlight(this.currentLineHighlight);
+			this.currentLineHighlight = null;
+		}
+		if(line == 0 || line > this.codeTextArea.getLineCount())
+			return;
 		
-		this.updateAll();
+		try {
+			this.currentLineHighlight = this.codeTextArea.getHighlighter().addHighlight(
+					this.codeTextArea.getLineStartOffset(line - 1), this.codeTextArea.getLineEndOffset(line - 1), currentLinePainter);
+		} catch(BadLocationException e) {
+			this.currentLineHighlight = null;
+		}
+	}
+	
+	/**
+	 * Entfernt die Zuordnung zum geladenen Programm, da der Code verändert wurde.
+	 */
+	public void clearSourceMap() {
+		this.sourceMap = null;
+		this.updateCurrentLine();
 	}
 	
 	/**
@@ -1164,17 +1137,4 @@ public class GUI extends JFrame {
 		this.overflowLabel.setText(statusRegister.getBit(6) ? "1" : "0");
 		this.negativeLabel.setText(statusRegister.getBit(7) ? "1" : "0");
 	}
-	
-	/**
-	 * Aktualisiert das Label in dem die aktuelle Seitenzahl steht.
-	 * Wenn der Hexadezimal Button aktiviert ist, wird die Seitenzahl in
-	 * Hexadezimal umgerechnet, ansonsten in Dezimal.
-	 * @param pageNumber Aktuelle Seitenzahl
-	 */
-	public void updateCurrentPageLabel(int pageNumber) {
-		if(this.base == 16)
-			this.currentPageLabel.setText(String.format("%02X", pageNumber));
-		else
-			this.currentPageLabel.setText(Integer.toString(pageNumber));
-	}
 }
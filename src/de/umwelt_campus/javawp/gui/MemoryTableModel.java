@@ -0,0 +1,217 @@
+package de.umwelt_campus.javawp.gui;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+import javax.swing.table.AbstractTableModel;
+
+import de.umwelt_campus.javawp.integers.INT16;
+import de.umwelt_campus.javawp.integers.INT8;
+import de.umwelt_campus.javawp.processor.components.Memory;
+
+/**
+ * Tabellenmodell für den gesamten Speicher als Hexdump: 16 Speicherzellen pro Zeile und eine Spalte mit den ASCII Zeichen.
+ * Die Tabelle zeichnet nur sichtbare Zeilen, die Werte werden erst dabei formatiert und die Adressen aus der Zeile berechnet
+ * (siehe getAddressModel). Bei einer Aktualisierung werden nur die Zellen neu gelesen und gemeldet, die der Speicher seit
+ * dem letzten Memory.clearDirty() als verändert markiert hat. Die Strings der ASCII- und der Adressspalte werden pro Zeile
+ * gespeichert und nur nach einer Änderung der Zeile bzw. der Darstellung neu erstellt.
+ * @author Mathis Ströhlein
+ */
+public class MemoryTableModel extends AbstractTableModel {
+	public static final int ROW_SIZE = 16; // Speicherzellen pro Zeile
+	public static final int ASCII_COLUMN = ROW_SIZE;
+
+	private static final long serialVersionUID = 1L;
+	private static final int MAX_CELL_EVENTS = 256; // Bei mehr veränderten Zellen wird die ganze Tabelle neu gezeichnet
+
+	private final Memory memory;
+	private final Consumer<Runnable> lock; // Führt eine Aktion aus, während der Prozessor zwischen zwei Befehlen steht
+	private final Consumer<String> error;
+	private final byte[] values = new byte[65536]; // Angezeigte Werte
+	private final int[] changedAddresses = new int[MAX_CELL_EVENTS];
+	private final String[] asciiRows = new String[65536 / ROW_SIZE]; // ASCII Zeichen pro Zeile, null: neu erstellen
+	private final String[] addressRows = new String[65536 / ROW_SIZE]; // Adresse pro Zeile in der aktuellen Darstellung, null: neu erstellen
+	private final AddressTableModel addressModel = new AddressTableModel();
+	private int base = -1; // -1: noch nicht gelesen
+
+	/**
+	 * Erstellt das Modell.
+	 * @param memory Speicher
+	 * @param lock Führt Schreibzugriffe aus, während der Prozessor zwischen zwei Befehlen steht (siehe EmulationWorker.runLocked)
+	 * @param error Erhält die Fehlermeldung bei einer ungültigen Eingabe
+	 */
+	public MemoryTableModel(Memory memory, Consumer<Runnable> lock, Consumer<String> error) {
+		this.memory = memory;
+		this.lock = lock;
+		this.error = error;
+	}
+
+	/**
+	 * Gibt das Modell für die Adressspalte zurück (Adresse der ersten Speicherzelle jeder Zeile).
+	 * @return Tabellenmodell mit einer Spalte
+	 */
+	public AbstractTableModel getAddressModel() {
+		return this.addressModel;
+	}
+
+	/**
+	 * Aktualisiert die Anzeige. Bei einer anderen Darstellung wird der ganze Speicher neu gelesen,
+	 * sonst nur die veränderten Zellen. Danach sollte Memory.clearDirty() aufgerufen werden.
+	 * @param base Darstellung (2: Binär, 10: Dezimal, 11: Unsigned Dezimal, 16: Hexadezimal)
+	 */
+	public void update(int base) {
+		if(base != this.base) {
+			this.base = base;
+			System.arraycopy(this.memory.getData(), 0, this.values, 0, this.values.length);
+			Arrays.fill(this.asciiRows, null);
+			Arrays.fill(this.addressRows, null);
+			this.fireTableDataChanged();
+			this.addressModel.fireTableDataChanged();
+			return;
+		}
+
+		int changed = 0;
+		for(int address = this.memory.nextDirty(0); address >= 0; address = this.memory.nextDirty(address + 1)) {
+			byte value = (byte) this.memory.read(address);
+			if(value != this.values[address]) {
+				this.values[address] = value;
+				this.asciiRows[address / ROW_SIZE] = null;
+				if(changed < MAX_CELL_EVENTS)
+					this.changedAddresses[changed] = address;
+				changed++;
+			}
+		}
+
+		if(changed > MAX_CELL_EVENTS) {
+			this.fireTableRowsUpdated(0, this.getRowCount() - 1);
+			return;
+		}
+		for(int i = 0; i < changed; i++) {
+			int address = this.changedAddresses[i];
+			this.fireTableCellUpdated(address / ROW_SIZE, address % ROW_SIZE);
+			this.fireTableCellUpdated(address / ROW_SIZE, ASCII_COLUMN);
+		}
+	}
+
+	/**
+	 * Gibt die Zeile einer Speicheradresse zurück.
+	 * @param address Speicheradresse (0 bis 65535)
+	 * @return Zeile
+	 */
+	public static int getRow(int address) {
+		return address / ROW_SIZE;
+	}
+
+	/**
+	 * Gibt die Spalte einer Speicheradresse zurück.
+	 * @param address Speicheradresse (0 bis 65535)
+	 * @return Spalte
+	 */
+	public static int getColumn(int address) {
+		return address % ROW_SIZE;
+	}
+
+	@Override
+	public int getRowCount() {
+		return this.values.length / ROW_SIZE;
+	}
+
+	@Override
+	public int getColumnCount() {
+		return ROW_SIZE + 1;
+	}
+
+	@Override
+	public String getColumnName(int column) {
+		return column == ASCII_COLUMN ? "ASCII" : Integer.toHexString(column).toUpperCase();
+	}
+
+	@Override
+	public boolean isCellEditable(int row, int column) {
+		return column != ASCII_COLUMN;
+	}
+
+	@Override
+	public Object getValueAt(int row, int column) {
+		if(column == ASCII_COLUMN) {
+			if(this.asciiRows[row] == null) {
+				// Nicht druckbare Zeichen als Punkt
+				char[] characters = new char[ROW_SIZE];
+				for(int i = 0; i < ROW_SIZE; i++) {
+					int value = this.values[row * ROW_SIZE + i] & 0xFF;
+					characters[i] = value >= 0x20 && value < 0x7F ? (char) value : '.';
+				}
+				this.asciiRows[row] = new String(characters);
+			}
+			return this.asciiRows[row];
+		}
+
+		// Fertige Strings aus den Tabellen von INT8
+		int value = this.values[row * ROW_SIZE + column];
+		switch(this.base) {
+			case 2:
+				return INT8.toBinaryString(value);
+			case 10:
+				return INT8.toDecimalString(value);
+			case 16:
+				return INT8.toHexString(value);
+			default:
+				return INT8.toUnsignedDecimalString(value);
+		}
+	}
+
+	/**
+	 * Schreibt eine Eingabe in den Speicher. Ungültige Eingaben werden gemeldet und als 0 eingetragen.
+	 */
+	@Override
+	public void setValueAt(Object input, int row, int column) {
+		int value;
+		try {
+			int radix = this.base == 11 ? 10 : this.base;
+			value = new INT8(Integer.parseInt(input.toString(), radix)).getValue();
+		} catch(NumberFormatException e) {
+			this.error.accept("Fehler: Die Eingabe \"" + input + "\" ist nicht valide! Es wurde 0 eingetragen.");
+			value = 0;
+		}
+
+		int address = row * ROW_SIZE + column;
+		int newValue = value;
+		this.lock.accept(() -> this.memory.write(address, newValue));
+		this.values[address] = (byte) value;
+		this.asciiRows[row] = null;
+		this.fireTableCellUpdated(row, column);
+		this.fireTableCellUpdated(row, ASCII_COLUMN);
+	}
+
+	/**
+	 * Tabellenmodell für die Adresse der ersten Speicherzelle jeder Zeile.
+	 */
+	private final class AddressTableModel extends AbstractTableModel {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		public int getRowCount() {
+			return MemoryTableModel.this.getRowCount();
+		}
+
+		@Override
+		public int getColumnCount() {
+			return 1;
+		}
+
+		@Override
+		public String getColumnName(int column) {
+			return "#";
+		}
+
+		@Override
+		public Object getValueAt(int row, int column) {
+			String[] addressRows = MemoryTableModel.this.addressRows;
+			if(addressRows[row] == null) {
+				int address = row * ROW_SIZE;
+				addressRows[row] = MemoryTableModel.this.base == 16 ? INT16.toHexString(address) : Integer.toString(address);
+			}
+			return addressRows[row];
+		}
+	}
+}
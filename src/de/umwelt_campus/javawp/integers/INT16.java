@@ -171,7 +171,7 @@ public class INT16 {
 	 * @return Hex String
 	 */
 	public String getHexString() {
-		return String.format("%04X", this.value);
+		return toHexString(this.value);
 	}
 
 	/**
@@ -179,9 +179,24 @@ public class INT16 {
 	 * @return Binär String
 	 */
 	public String getBinaryString() {
-		String binaryString = new String();
-		for(int i = 15; i >= 0; i--)
-			binaryString += this.getBit(i) ? 1 : 0;
-		return binaryString;
+		return toBinaryString(this.value);
+	}
+	
+	/**
+	 * Gibt einen Wert als String in seiner Hexadezimaldarstellung zurück (aus den Strings der beiden Bytes zusammengesetzt).
+	 * @param value Wert (wird auf 16 Bit gekürzt)
+	 * @return Hex String (4 Ziffern)
+	 */
+	public static String toHexString(int value) {
+		return INT8.toHexString(value >>> 8).concat(INT8.toHexString(value));
+	}
+	
+	/**
+	 * Gibt einen Wert als String in seiner Binärdarstellung zurück (aus den Strings der beiden Bytes zusammengesetzt).
+	 * @param value Wert (wird auf 16 Bit gekürzt)
+	 * @return Binär String (16 Ziffern)
+	 */
+	public static String toBinaryString(int value) {
+		return INT8.toBinaryString(value >>> 8).concat(INT8.toBinaryString(value));
 	}
 }
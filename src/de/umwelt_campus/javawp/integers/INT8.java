@@ -7,6 +7,21 @@ import de.umwelt_campus.javawp.processor.components.registers.Register8;
  * @author Mathis Ströhlein
  */
 public class INT8 {
+	// Fertige Strings für alle 256 Werte (Index ist der vorzeichenfreie Wert), damit die Anzeige keine Objekte erzeugt
+	private static final String[] hexStrings = new String[256];
+	private static final String[] binaryStrings = new String[256];
+	private static final String[] decimalStrings = new String[256];
+	private static final String[] unsignedDecimalStrings = new String[256];
+	
+	static {
+		for(int i = 0; i < 256; i++) {
+			hexStrings[i] = String.format("%02X", i).intern();
+			binaryStrings[i] = String.format("%8s", Integer.toBinaryString(i)).replace(' ', '0').intern();
+			decimalStrings[i] = String.valueOf((byte) i).intern();
+			unsignedDecimalStrings[i] = String.valueOf(i).intern();
+		}
+	}
+	
 	private byte value;
 
 	/**
@@ -121,7 +136,7 @@ public class INT8 {
 	 * @return Dezimal String
 	 */
 	public String getDecimalString() {
-		return String.valueOf(this.value);
+		return decimalStrings[this.value & 0xFF];
 	}
 
 	/**
@@ -129,7 +144,7 @@ public class INT8 {
 	 * @return Dezimal String
 	 */
 	public String getUnsignedDecimalString() {
-		return String.valueOf(Byte.toUnsignedInt(this.value));
+		return unsignedDecimalStrings[this.value & 0xFF];
 	}
 
 	/**
@@ -137,7 +152,7 @@ public class INT8 {
 	 * @return Hex String
 	 */
 	public String getHexString() {
-		return String.format("%02X", this.value);
+		return hexStrings[this.value & 0xFF];
 	}
 
 	/**
@@ -145,9 +160,42 @@ public class INT8 {
 	 * @return Binär String
 	 */
 	public String getBinaryString() {
-		String binaryString = new String();
-		for(int i = 7; i >= 0; i--)
-			binaryString += this.getBit(i) ? 1 : 0;
-		return binaryString;
+		return binaryStrings[this.value & 0xFF];
+	}
+	
+	/**
+	 * Gibt einen Wert als String in seiner vorzeichenbehafteten Dezimaldarstellung zurück, ohne eine 8 Bit Zahl zu erzeugen.
+	 * @param value Wert (wird auf 8 Bit gekürzt)
+	 * @return Dezimal String
+	 */
+	public static String toDecimalString(int value) {
+		return decimalStrings[value & 0xFF];
+	}
+	
+	/**
+	 * Gibt einen Wert als String in seiner vorzeichenfreien Dezimaldarstellung zurück, ohne eine 8 Bit Zahl zu erzeugen.
+	 * @param value Wert (wird auf 8 Bit gekürzt)
+	 * @return Dezimal String
+	 */
+	public static String toUnsignedDecimalString(int value) {
+		return unsignedDecimalStrings[value & 0xFF];
+	}
+	
+	/**
+	 * Gibt einen Wert als String in seiner Hexadezimaldarstellung zurück, ohne eine 8 Bit Zahl zu erzeugen.
+	 * @param value Wert (wird auf 8 Bit gekürzt)
+	 * @return Hex String (2 Ziffern)
+	 */
+	public static String toHexString(int value) {
+		return hexStrings[value & 0xFF];
+	}
+	
+	/**
+	 * Gibt einen Wert als String in seiner Binärdarstellung zurück, ohne eine 8 Bit Zahl zu erzeugen.
+	 * @param value Wert (wird auf 8 Bit gekürzt)
+	 * @return Binär String (8 Ziffern)
+	 */
+	public static String toBinaryString(int value) {
+		return binaryStrings[value & 0xFF];
 	}
 }
@@ -0,0 +1,1346 @@
+package de.umwelt_campus.javawp.processor;
+
+import java.lang.invoke.MethodHandles;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+
+import de.umwelt_campus.javawp.processor.components.AddressingMode;
+import de.umwelt_campus.javawp.processor.components.InstructionSet;
+
+/**
+ * Übersetzt häufig ausgeführte Basisblöcke (Befehlsfolgen bis einschließlich zum nächsten Sprung) in JVM Bytecode.
+ * Jeder Block wird eine eigene Hidden Class (MethodHandles.Lookup.defineHiddenClass). Die Register A, X, Y und P liegen
+ * während des Blocks als int in lokalen Variablen, der Speicher wird direkt aus dem Byte Array gelesen und über
+ * Memory.write() beschrieben. Adressen, Sprungziele und Taktzyklen sind Konstanten im Bytecode.
+ * Direkt übersetzt werden Laden und Speichern (LDA, LDX, LDY, STA, STX, STY), AND, ORA, EOR, BIT, ADC und SBC
+ * (im Dezimalmodus über den Befehl), CMP, CPX, CPY, INC, DEC, INX, INY, DEX, DEY, die Transfers zwischen A, X und Y,
+ * Shifts und Rotationen des Akkumulators, das Setzen und Löschen der Flags, NOP, JMP $hhll und alle Branches.
+ * Alle übrigen Befehle (Stack, Unterprogramme, BRK, JMP ($hhll), Shifts im Speicher) rufen den Befehl der Befehlstabelle auf.
+ * Aufeinanderfolgende Blöcke werden verkettet. Wird Code eines Blocks überschrieben, wird der Block verworfen;
+ * nach mehrfachem Überschreiben wird die Adresse nur noch interpretiert (selbstmodifizierender Code).
+ * @author Mathis Ströhlein
+ */
+final class BlockCompiler {
+	private static final int HOT_THRESHOLD = 64; // Ausführungen einer Adresse, bevor ein Block übersetzt wird
+	private static final int MAX_BLOCK_INSTRUCTIONS = 32;
+	private static final int MAX_INVALIDATIONS = 4; // Danach wird ab der Adresse nicht mehr übersetzt
+
+	private static final String CLASS_NAME = "de/umwelt_campus/javawp/processor/GeneratedBlock";
+	private static final String PROCESSOR = "de/umwelt_campus/javawp/processor/Processor";
+	private static final String HANDLER = "de/umwelt_campus/javawp/processor/InstructionHandler";
+	private static final String MEMORY = "de/umwelt_campus/javawp/processor/components/Memory";
+	private static final String INT8 = "de/umwelt_campus/javawp/integers/INT8";
+	private static final String INT16 = "de/umwelt_campus/javawp/integers/INT16";
+	private static final String HANDLERS_FIELD = "handlers";
+	private static final MethodHandles.Lookup lookup = MethodHandles.lookup();
+	private static final boolean[] blockEnds = createBlockEnds();
+
+	private final Processor processor;
+	private final DecodedInstructionCache decodedInstructions;
+	private final Block[] blocks = new Block[65536]; // Übersetzter Block pro Startadresse
+	private final int[] counters = new int[65536]; // Interpretierte Ausführungen pro Adresse
+	private final byte[] invalidations = new byte[65536]; // Verworfene Blöcke pro Startadresse
+	private final ArrayList<ArrayList<Block>> pageBlocks = new ArrayList<ArrayList<Block>>(); // Blöcke pro Page
+
+	/**
+	 * Erstellt einen Compiler ohne übersetzte Blöcke.
+	 * @param processor Prozessor
+	 * @param decodedInstructions Dekodierte Befehle des Prozessors
+	 */
+	BlockCompiler(Processor processor, DecodedInstructionCache decodedInstructions) {
+		this.processor = processor;
+		this.decodedInstructions = decodedInstructions;
+		for(int page = 0; page < 256; page++)
+			this.pageBlocks.add(new ArrayList<Block>());
+	}
+
+	/**
+	 * Führt übersetzte Blöcke ab dem Befehlszähler aus, solange Blöcke vorhanden sind und die maximale Anzahl an Befehlen
+	 * und Taktzyklen reicht. Ein Block wird nur begonnen, wenn er auch mit allen Zuschlägen die Taktzyklen nicht überschreitet.
+	 * So wird eine Grenze für die Taktzyklen an derselben Stelle erreicht wie beim Interpreter.
+	 * @param maxInstructions Maximale Anzahl an Befehlen
+	 * @param maxCycles Maximale Anzahl an Taktzyklen
+	 * @return Anzahl der ausgeführten Befehle (0, falls an der Adresse kein Block übersetzt ist)
+	 */
+	long execute(long maxInstructions, long maxCycles) {
+		long instructionCount = 0;
+		long startCycles = this.processor.getCycles();
+		Block block = this.blocks[this.processor.getProgramCounterData().getUnsignedValue()];
+		while(block != null && instructionCount + block.instructionCount <= maxInstructions
+				&& this.processor.getCycles() - startCycles + block.maxCycles <= maxCycles) {
+			this.processor.beginInstruction(block.start); // Setzt interrupted zurück
+			this.processor.codeModified = false;
+			int executed = block.code.execute(this.processor);
+			instructionCount += executed;
+			if(executed < block.instructionCount || this.processor.isInterrupted())
+				break;
+
+			// Verkettung: Der zuletzt folgende Block wird ohne Suche wiederverwendet
+			int address = this.processor.getProgramCounterData().getUnsignedValue();
+			Block next = block.next;
+			if(next == null || next.start != address || !next.isValid) {
+				next = this.blocks[address];
+				block.next = next;
+			}
+			block = next;
+		}
+		return instructionCount;
+	}
+
+	/**
+	 * Zählt die interpretierte Ausführung eines Befehls und übersetzt den Block ab der Adresse, sobald sie häufig genug ausgeführt wurde.
+	 * @param address Adresse des interpretierten Befehls
+	 */
+	void count(int address) {
+		if(++this.counters[address] == HOT_THRESHOLD && this.invalidations[address] < MAX_INVALIDATIONS)
+			this.compile(address);
+	}
+
+	/**
+	 * Verwirft alle Blöcke, die eine der Speicherzellen enthalten.
+	 * @param address Erste veränderte Speicheradresse
+	 * @param length Anzahl der veränderten Speicherzellen
+	 */
+	void invalidate(int address, int length) {
+		if(length >= 65536) {
+			for(ArrayList<Block> blocks : this.pageBlocks) {
+				for(Block block : blocks)
+					block.isValid = false;
+				blocks.clear();
+			}
+			Arrays.fill(this.blocks, null);
+			Arrays.fill(this.counters, 0);
+			this.processor.codeModified = true;
+			return;
+		}
+
+		int firstPage = (address & 0xFFFF) >>> 8;
+		int lastPage = ((address + length - 1) & 0xFFFF) >>> 8;
+		for(int page = firstPage; ; page = (page + 1) & 0xFF) {
+			ArrayList<Block> blocks = this.pageBlocks.get(page);
+			for(int i = blocks.size() - 1; i >= 0; i--) {
+				Block block = blocks.get(i);
+				if(block.isValid && block.overlaps(address, length))
+					this.remove(block, length == 1);
+			}
+			if(page == lastPage)
+				break;
+		}
+	}
+
+	/**
+	 * Verwirft einen Block.
+	 * @param block Block
+	 * @param isSelfModifying Wahrheitswert, ob der Block durch einen Schreibzugriff des Programms verworfen wird
+	 */
+	private void remove(Block block, boolean isSelfModifying) {
+		block.isValid = false;
+		if(this.blocks[block.start] == block)
+			this.blocks[block.start] = null;
+		for(int offset = 0; offset < block.length; offset += 256 - ((block.start + offset) & 0xFF))
+			this.pageBlocks.get(((block.start + offset) & 0xFFFF) >>> 8).remove(block);
+		this.pageBlocks.get(((block.start + block.length - 1) & 0xFFFF) >>> 8).remove(block);
+
+		this.counters[block.start] = 0;
+		if(isSelfModifying && this.invalidations[block.start] < MAX_INVALIDATIONS)
+			this.invalidations[block.start]++;
+		this.processor.codeModified = true;
+	}
+
+	/**
+	 * Liest den Basisblock ab einer Adresse und übersetzt ihn.
+	 * Der Block endet nach einem Sprung, vor einem Opcode ohne Befehl oder nach der maximalen Anzahl an Befehlen.
+	 * @param start Startadresse
+	 */
+	private void compile(int start) {
+		Instruction[] instructions = new Instruction[MAX_BLOCK_INSTRUCTIONS];
+		int[] operands = new int[MAX_BLOCK_INSTRUCTIONS];
+		int[] nextAddresses = new int[MAX_BLOCK_INSTRUCTIONS];
+		int count = 0;
+		int maxCycles = 0;
+		int address = start;
+		while(count < MAX_BLOCK_INSTRUCTIONS) {
+			Instruction instruction = this.decodedInstructions.getInstruction(address & 0xFFFF);
+			if(instruction.getMnemonic() == null)
+				break;
+
+			// Taktzyklen mit allen möglichen Zuschlägen (Seitenwechsel, Sprung auf eine andere Page)
+			maxCycles += instruction.getCycles();
+			if(instruction.hasPageCrossingPenalty())
+				maxCycles++;
+			if(instruction.getAddressingMode() == AddressingMode.RELATIVE)
+				maxCycles += 2;
+
+			instructions[count] = instruction;
+			operands[count] = this.decodedInstructions.getOperand(address & 0xFFFF);
+			address += instruction.getByteSize();
+			nextAddresses[count++] = address & 0xFFFF;
+			if(blockEnds[instruction.getOpcode()])
+				break;
+		}
+		if(count == 0)
+			return;
+
+		InstructionHandler[] handlers = new InstructionHandler[count];
+		for(int i = 0; i < count; i++)
+			handlers[i] = instructions[i].getHandler();
+
+		CompiledBlock code;
+		try {
+			byte[] classFile = new Generator(instructions, operands, nextAddresses, count).generate();
+			Class<?> blockClass = lookup.defineHiddenClass(classFile, true).lookupClass();
+			blockClass.getField(HANDLERS_FIELD).set(null, handlers);
+			code = (CompiledBlock) blockClass.getConstructor().newInstance();
+		} catch(ReflectiveOperationException e) {
+			throw new IllegalStateException(e); // Der erzeugte Bytecode ist immer gültig
+		}
+
+		Block block = new Block(start, address - start, count, maxCycles, code);
+		this.blocks[start] = block;
+		for(int offset = 0; offset < block.length; offset += 256 - ((start + offset) & 0xFF))
+			this.addToPage(((start + offset) & 0xFFFF) >>> 8, block);
+		this.addToPage(((start + block.length - 1) & 0xFFFF) >>> 8, block);
+	}
+
+	/**
+	 * Trägt einen Block in die Liste einer Page ein (höchstens einmal).
+	 * @param page Page
+	 * @param block Block
+	 */
+	private void addToPage(int page, Block block) {
+		ArrayList<Block> blocks = this.pageBlocks.get(page);
+		if(!blocks.contains(block))
+			blocks.add(block);
+	}
+
+	/**
+	 * Schreibt eine öffentliche Methode mit Code Attribut.
+	 * @param bytes Ziel
+	 * @param name Index des Namens im Konstantenpool
+	 * @param descriptor Index des Typs im Konstantenpool
+	 * @param codeName Index von "Code" im Konstantenpool
+	 * @param maxStack Maximale Stackgröße
+	 * @param maxLocals Anzahl lokaler Variablen
+	 * @param code Bytecode
+	 */
+	private static void writeMethod(Bytes bytes, int name, int descriptor, int codeName, int maxStack, int maxLocals, Bytes code) {
+		bytes.u2(0x0001).u2(name).u2(descriptor).u2(1);
+		bytes.u2(codeName).u4(12 + code.length).u2(maxStack).u2(maxLocals).u4(code.length).append(code).u2(0).u2(0);
+	}
+
+	/**
+	 * Legt eine Zahl auf den Stack (bipush, sipush oder ldc_w).
+	 * @param code Bytecode
+	 * @param classFile Konstantenpool
+	 * @param value Zahl
+	 */
+	private static void pushInt(Bytes code, ClassFile classFile, int value) {
+		if(value >= -128 && value <= 127)
+			code.u1(0x10).u1(value); // bipush
+		else if(value >= -32768 && value <= 32767)
+			code.u1(0x11).u2(value); // sipush
+		else
+			code.u1(0x13).u2(classFile.integer(value)); // ldc_w
+	}
+
+	/**
+	 * Bestimmt die Opcodes, nach denen ein Block endet (Sprünge, Unterprogramme und BRK).
+	 * @return Wahrheitswert pro Opcode
+	 */
+	private static boolean[] createBlockEnds() {
+		boolean[] blockEnds = new boolean[256];
+		for(int opcode = 0; opcode < 256; opcode++) {
+			String mnemonic = InstructionSet.getMnemonic(opcode);
+			if(mnemonic == null)
+				continue;
+			switch(mnemonic) {
+				case "BCC": case "BCS": case "BEQ": case "BNE": case "BMI": case "BPL": case "BVC": case "BVS":
+				case "JMP": case "JSR": case "RTS": case "RTI": case "BRK":
+					blockEnds[opcode] = true;
+					break;
+				default:
+					break;
+			}
+		}
+		return blockEnds;
+	}
+
+	/**
+	 * Ein übersetzter Block.
+	 */
+	private static final class Block {
+		private final int start;
+		private final int length; // Größe in Bytes
+		private final int instructionCount;
+		private final int maxCycles; // Taktzyklen mit allen Zuschlägen
+		private final CompiledBlock code;
+		private boolean isValid = true;
+		private Block next; // Zuletzt folgender Block (Verkettung)
+
+		/**
+		 * Erstellt einen Block.
+		 * @param start Startadresse
+		 * @param length Größe in Bytes
+		 * @param instructionCount Anzahl der Befehle
+		 * @param maxCycles Höchstens benötigte Taktzyklen
+		 * @param code Übersetzter Code
+		 */
+		private Block(int start, int length, int instructionCount, int maxCycles, CompiledBlock code) {
+			this.start = start;
+			this.length = length;
+			this.instructionCount = instructionCount;
+			this.maxCycles = maxCycles;
+			this.code = code;
+		}
+
+		/**
+		 * Prüft, ob sich der Block mit einem Speicherbereich überschneidet.
+		 * @param address Erste Speicheradresse des Bereichs
+		 * @param length Größe des Bereichs
+		 * @return Wahrheitswert, ob sich die Bereiche überschneiden
+		 */
+		private boolean overlaps(int address, int length) {
+			return ((this.start - address) & 0xFFFF) < length || ((address - this.start) & 0xFFFF) < this.length;
+		}
+	}
+
+	/**
+	 * Erzeugt die Klassendatei eines Blocks mit der Methode int execute(Processor processor).
+	 * Am Anfang werden die Register in lokale Variablen gelesen, am Ende (auch beim vorzeitigen Verlassen nach einem
+	 * überschriebenen Block) werden Register, Befehlszähler und Taktzyklen zurückgeschrieben und die Anzahl der
+	 * ausgeführten Befehle zurückgegeben. Befehle ohne direkte Übersetzung werden wie im Interpreter ausgeführt:
+	 * processor.beginInstruction(nextAddress); handlers[i].execute(operand); processor.endInstruction(cycles, penalty);
+	 * Die Klassendatei hat Version 49 und benötigt daher keine StackMapTable.
+	 */
+	private static final class Generator {
+		// Lokale Variablen der Methode execute
+		private static final int PROCESSOR_LOCAL = 1;
+		private static final int MEMORY_LOCAL = 2;
+		private static final int DATA_LOCAL = 3; // Byte Array des Speichers
+		private static final int A = 4; // Registerwerte (0 bis 255)
+		private static final int X = 5;
+		private static final int Y = 6;
+		private static final int P = 7;
+		private static final int CYCLES = 8; // Taktzyklen der direkt übersetzten Befehle
+		private static final int ADDRESS = 9;
+		private static final int VALUE = 10;
+		private static final int TEMP = 11;
+		private static final int REGISTER_OBJECTS = 8; // INT8 Objekt eines Registers: Registervariable + 8
+		private static final int PC = 16;
+		private static final int COUNT = 17; // Ausgeführte Befehle
+		private static final int MAX_LOCALS = 18;
+		private static final int MAX_STACK = 8;
+
+		// Opcodes der JVM
+		private static final int ILOAD = 0x15;
+		private static final int ISTORE = 0x36;
+		private static final int IINC = 0x84;
+		private static final int IAND = 0x7E;
+		private static final int IOR = 0x80;
+		private static final int IXOR = 0x82;
+		private static final int IADD = 0x60;
+		private static final int ISUB = 0x64;
+		private static final int IFEQ = 0x99;
+		private static final int IFNE = 0x9A;
+		private static final int GOTO = 0xA7;
+
+		private final Instruction[] instructions;
+		private final int[] operands;
+		private final int[] nextAddresses;
+		private final int count;
+		private final ClassFile classFile = new ClassFile();
+		private final Bytes code = new Bytes();
+		private final ArrayList<Integer> exits = new ArrayList<Integer>(); // Sprünge zum Ende der Methode
+
+		private final int handlersField;
+		private final int executeHandler;
+		private final int beginInstruction;
+		private final int endInstruction;
+		private final int addCycles;
+		private final int codeModifiedField;
+		private final int getProgramCounter;
+		private final int memoryWrite;
+		private final int getUnsignedValue8;
+		private final int setValue8;
+		private final int getUnsignedValue16;
+		private final int setValue16;
+
+		/**
+		 * Erstellt den Generator für einen Block.
+		 * @param instructions Befehle
+		 * @param operands Operanden
+		 * @param nextAddresses Adresse nach jedem Befehl
+		 * @param count Anzahl der Befehle
+		 */
+		private Generator(Instruction[] instructions, int[] operands, int[] nextAddresses, int count) {
+			this.instructions = instructions;
+			this.operands = operands;
+			this.nextAddresses = nextAddresses;
+			this.count = count;
+
+			this.handlersField = this.classFile.memberRef(9, CLASS_NAME, HANDLERS_FIELD, "[L" + HANDLER + ";");
+			this.executeHandler = this.classFile.memberRef(11, HANDLER, "execute", "(I)V");
+			this.beginInstruction = this.classFile.memberRef(10, PROCESSOR, "beginInstruction", "(I)V");
+			this.endInstruction = this.classFile.memberRef(10, PROCESSOR, "endInstruction", "(IZ)V");
+			this.addCycles = this.classFile.memberRef(10, PROCESSOR, "addCycles", "(I)V");
+			this.codeModifiedField = this.classFile.memberRef(9, PROCESSOR, "codeModified", "Z");
+			this.getProgramCounter = this.classFile.memberRef(10, PROCESSOR, "getProgramCounterData", "()L" + INT16 + ";");
+			this.memoryWrite = this.classFile.memberRef(10, MEMORY, "write", "(II)V");
+			this.getUnsignedValue8 = this.classFile.memberRef(10, INT8, "getUnsignedValue", "()I");
+			this.setValue8 = this.classFile.memberRef(10, INT8, "setValue", "(I)V");
+			this.getUnsignedValue16 = this.classFile.memberRef(10, INT16, "getUnsignedValue", "()I");
+			this.setValue16 = this.classFile.memberRef(10, INT16, "setValue", "(I)V");
+		}
+
+		/**
+		 * Erzeugt die Klassendatei.
+		 * @return Klassendatei
+		 */
+		private byte[] generate() {
+			this.prologue();
+			for(int i = 0; i < this.count; i++) {
+				boolean isLast = i == this.count - 1;
+				if(isLast) {
+					// Befehlszähler nach dem Block (Sprünge überschreiben ihn)
+					this.push(this.nextAddresses[i]);
+					this.local(ISTORE, PC);
+				}
+
+				boolean isTranslated = this.translate(i);
+				if(!isTranslated)
+					this.fallback(i);
+
+				// Nach einem möglichen Schreibzugriff: Block verlassen, falls sein Code überschrieben wurde
+				if(!isLast && (!isTranslated || this.writesMemory(this.instructions[i])))
+					this.checkCodeModified(i);
+			}
+			this.push(this.count);
+			this.local(ISTORE, COUNT);
+			this.epilogue();
+			return this.toClassFile();
+		}
+
+		/**
+		 * Liest Speicher und Register in lokale Variablen und initialisiert alle übrigen Variablen.
+		 */
+		private void prologue() {
+			int getMemory = this.classFile.memberRef(10, PROCESSOR, "getMemory", "()L" + MEMORY + ";");
+			int getData = this.classFile.memberRef(10, MEMORY, "getData", "()[B");
+			this.code.u1(0x2B); // aload_1
+			this.code.u1(0xB6).u2(getMemory); // invokevirtual
+			this.code.u1(0x59); // dup
+			this.code.u1(0x4D); // astore_2
+			this.code.u1(0xB6).u2(getData); // invokevirtual
+			this.code.u1(0x4E); // astore_3
+
+			String[] getters = { "getAccumulatorData", "getIndexRegisterXData", "getIndexRegisterYData", "getStatusRegisterData" };
+			for(int register = A; register <= P; register++) {
+				this.code.u1(0x2B); // aload_1
+				this.code.u1(0xB6).u2(this.classFile.memberRef(10, PROCESSOR, getters[register - A], "()L" + INT8 + ";"));
+				this.code.u1(0x59); // dup
+				this.code.u1(0x3A).u1(register + REGISTER_OBJECTS); // astore
+				this.code.u1(0xB6).u2(this.getUnsignedValue8); // invokevirtual
+				this.local(ISTORE, register);
+			}
+
+			// Für die Typprüfung müssen alle Variablen an den Sprungzielen initialisiert sein
+			for(int variable : new int[] { CYCLES, ADDRESS, VALUE, TEMP, PC, COUNT }) {
+				this.code.u1(0x03); // iconst_0
+				this.local(ISTORE, variable);
+			}
+		}
+
+		/**
+		 * Schreibt Register, Befehlszähler und Taktzyklen zurück und gibt die Anzahl der ausgeführten Befehle zurück.
+		 * Alle vorzeitigen Ausgänge springen hierher.
+		 */
+		private void epilogue() {
+			for(int exit : this.exits)
+				this.patch(exit);
+
+			this.spill();
+			this.code.u1(0x2B); // aload_1
+			this.code.u1(0xB6).u2(this.getProgramCounter); // invokevirtual
+			this.local(ILOAD, PC);
+			this.code.u1(0xB6).u2(this.setValue16); // invokevirtual
+			this.code.u1(0x2B); // aload_1
+			this.local(ILOAD, CYCLES);
+			this.code.u1(0xB6).u2(this.addCycles); // invokevirtual
+			this.local(ILOAD, COUNT);
+			this.code.u1(0xAC); // ireturn
+		}
+
+		/**
+		 * Übersetzt einen Befehl direkt in Bytecode.
+		 * @param i Index des Befehls im Block
+		 * @return Wahrheitswert, ob der Befehl übersetzt wurde (false: nichts erzeugt)
+		 */
+		private boolean translate(int i) {
+			Instruction instruction = this.instructions[i];
+			AddressingMode addressingMode = instruction.getAddressingMode();
+			switch(instruction.getMnemonic()) {
+				case "LDA":
+					this.load(i, A);
+					break;
+				case "LDX":
+					this.load(i, X);
+					break;
+				case "LDY":
+					this.load(i, Y);
+					break;
+				case "STA":
+					this.store(i, A);
+					break;
+				case "STX":
+					this.store(i, X);
+					break;
+				case "STY":
+					this.store(i, Y);
+					break;
+				case "AND":
+					this.logic(i, IAND);
+					break;
+				case "ORA":
+					this.logic(i, IOR);
+					break;
+				case "EOR":
+					this.logic(i, IXOR);
+					break;
+				case "BIT":
+					this.bitTest(i);
+					break;
+				case "ADC":
+				case "SBC":
+					this.arithmetic(i);
+					return true; // Taktzyklen nur ohne Dezimalmodus
+				case "CMP":
+					this.compare(i, A);
+					break;
+				case "CPX":
+					this.compare(i, X);
+					break;
+				case "CPY":
+					this.compare(i, Y);
+					break;
+				case "INC":
+					this.modifyMemory(i, IADD);
+					break;
+				case "DEC":
+					this.modifyMemory(i, ISUB);
+					break;
+				case "INX":
+					this.modifyRegister(X, X, 1);
+					break;
+				case "INY":
+					this.modifyRegister(Y, Y, 1);
+					break;
+				case "DEX":
+					this.modifyRegister(X, X, -1);
+					break;
+				case "DEY":
+					this.modifyRegister(Y, Y, -1);
+					break;
+				case "TAX":
+					this.modifyRegister(A, X, 0);
+					break;
+				case "TAY":
+					this.modifyRegister(A, Y, 0);
+					break;
+				case "TXA":
+					this.modifyRegister(X, A, 0);
+					break;
+				case "TYA":
+					this.modifyRegister(Y, A, 0);
+					break;
+				case "ASL":
+				case "LSR":
+				case "ROL":
+				case "ROR":
+					if(addressingMode != AddressingMode.ACCUMULATOR)
+						return false;
+					this.shift(instruction.getMnemonic());
+					break;
+				case "SEC":
+					this.setFlag(0x01, true);
+					break;
+				case "CLC":
+					this.setFlag(0x01, false);
+					break;
+				case "SEI":
+					this.setFlag(0x04, true);
+					break;
+				case "CLI":
+					this.setFlag(0x04, false);
+					break;
+				case "SED":
+					this.setFlag(0x08, true);
+					break;
+				case "CLD":
+					this.setFlag(0x08, false);
+					break;
+				case "CLV":
+					this.setFlag(0x40, false);
+					break;
+				case "NOP":
+					break;
+				case "JMP":
+					if(addressingMode != AddressingMode.ABSOLUTE)
+						return false;
+					this.push(this.operands[i]);
+					this.local(ISTORE, PC);
+					break;
+				case "BCC":
+					this.branch(i, 0x01, false);
+					break;
+				case "BCS":
+					this.branch(i, 0x01, true);
+					break;
+				case "BNE":
+					this.branch(i, 0x02, false);
+					break;
+				case "BEQ":
+					this.branch(i, 0x02, true);
+					break;
+				case "BVC":
+					this.branch(i, 0x40, false);
+					break;
+				case "BVS":
+					this.branch(i, 0x40, true);
+					break;
+				case "BPL":
+					this.branch(i, 0x80, false);
+					break;
+				case "BMI":
+					this.branch(i, 0x80, true);
+					break;
+				default:
+					return false;
+			}
+			this.addCycles(instruction.getCycles());
+			return true;
+		}
+
+		/**
+		 * Gibt zurück, ob ein direkt übersetzter Befehl in den Speicher schreibt.
+		 * @param instruction Befehl
+		 * @return Wahrheitswert, ob geschrieben wird
+		 */
+		private boolean writesMemory(Instruction instruction) {
+			switch(instruction.getMnemonic()) {
+				case "STA": case "STX": case "STY": case "INC": case "DEC":
+					return true;
+				default:
+					return false;
+			}
+		}
+
+		/**
+		 * Führt einen Befehl über die Befehlstabelle aus. Davor werden die Register zurückgeschrieben, danach neu gelesen.
+		 * @param i Index des Befehls im Block
+		 */
+		private void fallback(int i) {
+			Instruction instruction = this.instructions[i];
+			this.spill();
+
+			this.code.u1(0x2B); // aload_1
+			this.push(this.nextAddresses[i]);
+			this.code.u1(0xB6).u2(this.beginInstruction); // invokevirtual
+
+			this.code.u1(0xB2).u2(this.handlersField); // getstatic
+			this.push(i);
+			this.code.u1(0x32); // aaload
+			this.push(this.operands[i]);
+			this.code.u1(0xB9).u2(this.executeHandler).u1(2).u1(0); // invokeinterface
+
+			this.code.u1(0x2B); // aload_1
+			this.push(instruction.getCycles());
+			this.code.u1(instruction.hasPageCrossingPenalty() ? 0x04 : 0x03); // iconst_1 / iconst_0
+			this.code.u1(0xB6).u2(this.endInstruction); // invokevirtual
+
+			for(int register = A; register <= P; register++) {
+				this.local(0x19, register + REGISTER_OBJECTS); // aload
+				this.code.u1(0xB6).u2(this.getUnsignedValue8); // invokevirtual
+				this.local(ISTORE, register);
+			}
+
+			// Sprünge, Unterprogramme und BRK setzen den Befehlszähler selbst
+			if(i == this.count - 1) {
+				this.code.u1(0x2B); // aload_1
+				this.code.u1(0xB6).u2(this.getProgramCounter); // invokevirtual
+				this.code.u1(0xB6).u2(this.getUnsignedValue16); // invokevirtual
+				this.local(ISTORE, PC);
+			}
+		}
+
+		/**
+		 * Schreibt die Registervariablen in die INT8 Objekte der Register.
+		 */
+		private void spill() {
+			for(int register = A; register <= P; register++) {
+				this.local(0x19, register + REGISTER_OBJECTS); // aload
+				this.local(ILOAD, register);
+				this.code.u1(0xB6).u2(this.setValue8); // invokevirtual
+			}
+		}
+
+		/**
+		 * Verlässt den Block nach einem Befehl, falls Code eines übersetzten Blocks überschrieben wurde.
+		 * @param i Index des Befehls im Block
+		 */
+		private void checkCodeModified(int i) {
+			this.code.u1(0x2B); // aload_1
+			this.code.u1(0xB4).u2(this.codeModifiedField); // getfield
+			int notModified = this.jump(IFEQ);
+			this.push(this.nextAddresses[i]);
+			this.local(ISTORE, PC);
+			this.push(i + 1);
+			this.local(ISTORE, COUNT);
+			this.exits.add(this.jump(GOTO));
+			this.patch(notModified);
+		}
+
+		/**
+		 * LDA, LDX, LDY: Lädt den Operanden in ein Register.
+		 * @param i Index des Befehls im Block
+		 * @param register Registervariable
+		 */
+		private void load(int i, int register) {
+			this.value(i);
+			this.local(ISTORE, register);
+			this.updateZN(register);
+		}
+
+		/**
+		 * STA, STX, STY: Schreibt ein Register über Memory.write() in den Speicher.
+		 * @param i Index des Befehls im Block
+		 * @param register Registervariable
+		 */
+		private void store(int i, int register) {
+			this.code.u1(0x2C); // aload_2
+			this.address(i);
+			this.local(ILOAD, register);
+			this.code.u1(0xB6).u2(this.memoryWrite); // invokevirtual
+		}
+
+		/**
+		 * AND, ORA, EOR: Verknüpft den Akkumulator mit dem Operanden.
+		 * @param i Index des Befehls im Block
+		 * @param operation IAND, IOR oder IXOR
+		 */
+		private void logic(int i, int operation) {
+			this.local(ILOAD, A);
+			this.value(i);
+			this.code.u1(operation);
+			this.local(ISTORE, A);
+			this.updateZN(A);
+		}
+
+		/**
+		 * BIT: Negative und Overflow aus dem Operanden, Zero aus dem Und mit dem Akkumulator.
+		 * @param i Index des Befehls im Block
+		 */
+		private void bitTest(int i) {
+			this.value(i);
+			this.local(ISTORE, VALUE);
+			// p = (p & 0x3D) | (value & 0xC0) | ((((a & value) - 1) >>> 31) << 1)
+			this.local(ILOAD, P);
+			this.push(0x3D);
+			this.code.u1(IAND);
+			this.local(ILOAD, VALUE);
+			this.push(0xC0);
+			this.code.u1(IAND);
+			this.code.u1(IOR);
+			this.local(ILOAD, A);
+			this.local(ILOAD, VALUE);
+			this.code.u1(IAND);
+			this.isZero();
+			this.code.u1(IOR);
+			this.local(ISTORE, P);
+		}
+
+		/**
+		 * ADC, SBC: Im Binärmodus direkt, im Dezimalmodus über die Befehlstabelle (siehe Accumulator).
+		 * @param i Index des Befehls im Block
+		 */
+		private void arithmetic(int i) {
+			Instruction instruction = this.instructions[i];
+			boolean isSubtraction = instruction.getMnemonic().equals("SBC");
+
+			this.local(ILOAD, P);
+			this.push(0x08);
+			this.code.u1(IAND);
+			int decimal = this.jump(IFNE);
+
+			// temp = a + value + c bzw. a - value - (1 - c)
+			this.value(i);
+			this.local(ISTORE, VALUE);
+			this.local(ILOAD, A);
+			this.local(ILOAD, VALUE);
+			this.code.u1(isSubtraction ? ISUB : IADD);
+			this.local(ILOAD, P);
+			this.code.u1(0x04); // iconst_1
+			this.code.u1(IAND);
+			this.code.u1(IADD);
+			if(isSubtraction)
+				this.code.u1(0x02).u1(IADD); // iconst_m1
+			this.local(ISTORE, TEMP);
+
+			// Carry: Addition temp > 255, Subtraktion temp >= 0
+			this.local(ILOAD, P);
+			this.push(0x3C);
+			this.code.u1(IAND);
+			this.local(ILOAD, TEMP);
+			if(isSubtraction) {
+				this.code.u1(0x02).u1(IXOR); // iconst_m1
+				this.push(31);
+			} else
+				this.push(8);
+			this.code.u1(0x7C); // iushr
+			this.code.u1(IOR);
+
+			// Overflow: Addition ~(a ^ value) & (a ^ temp) & 0x80, Subtraktion (a ^ value) & (a ^ temp) & 0x80
+			this.local(ILOAD, A);
+			this.local(ILOAD, VALUE);
+			this.code.u1(IXOR);
+			if(!isSubtraction)
+				this.code.u1(0x02).u1(IXOR); // iconst_m1
+			this.local(ILOAD, A);
+			this.local(ILOAD, TEMP);
+			this.code.u1(IXOR);
+			this.code.u1(IAND);
+			this.push(0x80);
+			this.code.u1(IAND);
+			this.code.u1(0x04); // iconst_1
+			this.code.u1(0x7C); // iushr
+			this.code.u1(IOR);
+			this.local(ISTORE, P);
+
+			this.local(ILOAD, TEMP);
+			this.push(0xFF);
+			this.code.u1(IAND);
+			this.local(ISTORE, A);
+			this.updateZN(A);
+			this.addCycles(instruction.getCycles());
+			int done = this.jump(GOTO);
+
+			this.patch(decimal);
+			this.fallback(i);
+			this.patch(done);
+		}
+
+		/**
+		 * CMP, CPX, CPY: Carry bei register >= value (vorzeichenlos), Zero bei Gleichheit,
+		 * Negative bei register < value (mit Vorzeichen, siehe IndexRegister.compareI).
+		 * @param i Index des Befehls im Block
+		 * @param register Registervariable
+		 */
+		private void compare(int i, int register) {
+			this.value(i);
+			this.local(ISTORE, VALUE);
+
+			this.local(ILOAD, P);
+			this.push(0x7C);
+			this.code.u1(IAND);
+
+			// Carry: (value - register - 1) >>> 31
+			this.local(ILOAD, VALUE);
+			this.local(ILOAD, register);
+			this.code.u1(ISUB);
+			this.code.u1(0x02).u1(IADD); // iconst_m1
+			this.push(31);
+			this.code.u1(0x7C); // iushr
+			this.code.u1(IOR);
+
+			// Zero
+			this.local(ILOAD, register);
+			this.local(ILOAD, VALUE);
+			this.code.u1(ISUB);
+			this.isZero();
+			this.code.u1(IOR);
+
+			// Negative: ((byte) register - (byte) value) >>> 31 << 7
+			this.local(ILOAD, register);
+			this.code.u1(0x91); // i2b
+			this.local(ILOAD, VALUE);
+			this.code.u1(0x91); // i2b
+			this.code.u1(ISUB);
+			this.push(31);
+			this.code.u1(0x7C); // iushr
+			this.push(7);
+			this.code.u1(0x78); // ishl
+			this.code.u1(IOR);
+			this.local(ISTORE, P);
+		}
+
+		/**
+		 * INC, DEC: Verändert eine Speicherzelle über Memory.write() (siehe Memory.increment).
+		 * @param i Index des Befehls im Block
+		 * @param operation IADD oder ISUB
+		 */
+		private void modifyMemory(int i, int operation) {
+			this.address(i);
+			this.local(ISTORE, ADDRESS);
+			this.code.u1(0x2C); // aload_2
+			this.local(ILOAD, ADDRESS);
+			this.code.u1(0x2D); // aload_3
+			this.local(ILOAD, ADDRESS);
+			this.code.u1(0x33); // baload
+			this.code.u1(0x04); // iconst_1
+			this.code.u1(operation);
+			this.code.u1(0xB6).u2(this.memoryWrite); // invokevirtual
+
+			this.code.u1(0x2D); // aload_3
+			this.local(ILOAD, ADDRESS);
+			this.readByte();
+			this.local(ISTORE, VALUE);
+			this.updateZN(VALUE);
+		}
+
+		/**
+		 * INX, INY, DEX, DEY, TAX, TAY, TXA, TYA: target = (source + delta) & 0xFF mit Zero und Negative Flag.
+		 * @param source Registervariable der Quelle
+		 * @param target Registervariable des Ziels
+		 * @param delta -1, 0 oder 1
+		 */
+		private void modifyRegister(int source, int target, int delta) {
+			this.local(ILOAD, source);
+			if(delta != 0) {
+				this.push(delta);
+				this.code.u1(IADD);
+				this.push(0xFF);
+				this.code.u1(IAND);
+			}
+			this.local(ISTORE, target);
+			this.updateZN(target);
+		}
+
+		/**
+		 * ASL, LSR, ROL, ROR des Akkumulators: Das herausgeschobene Bit kommt ins Carry Flag.
+		 * @param mnemonic Mnemonic
+		 */
+		private void shift(String mnemonic) {
+			boolean isLeft = mnemonic.equals("ASL") || mnemonic.equals("ROL");
+			boolean isRotation = mnemonic.equals("ROL") || mnemonic.equals("ROR");
+
+			// temp = a << 1 bzw. a, beim Rotieren mit dem alten Carry in Bit 0 bzw. Bit 8
+			this.local(ILOAD, A);
+			if(isLeft) {
+				this.code.u1(0x04); // iconst_1
+				this.code.u1(0x78); // ishl
+			}
+			if(isRotation) {
+				this.local(ILOAD, P);
+				this.code.u1(0x04); // iconst_1
+				this.code.u1(IAND);
+				if(!isLeft) {
+					this.push(8);
+					this.code.u1(0x78); // ishl
+				}
+				this.code.u1(IOR);
+			}
+			this.local(ISTORE, TEMP);
+
+			// Carry: Bit 7 bzw. Bit 0 des Akkumulators
+			this.local(ILOAD, P);
+			this.push(0xFE);
+			this.code.u1(IAND);
+			this.local(ILOAD, A);
+			if(isLeft) {
+				this.push(7);
+				this.code.u1(0x7C); // iushr
+			} else {
+				this.code.u1(0x04); // iconst_1
+				this.code.u1(IAND);
+			}
+			this.code.u1(IOR);
+			this.local(ISTORE, P);
+
+			this.local(ILOAD, TEMP);
+			if(isLeft) {
+				this.push(0xFF);
+				this.code.u1(IAND);
+			} else {
+				this.code.u1(0x04); // iconst_1
+				this.code.u1(0x7C); // iushr
+			}
+			this.local(ISTORE, A);
+			this.updateZN(A);
+		}
+
+		/**
+		 * SEC, CLC, SEI, CLI, SED, CLD, CLV: Setzt oder löscht ein Flag.
+		 * @param mask Bit des Flags
+		 * @param state Neuer Wert
+		 */
+		private void setFlag(int mask, boolean state) {
+			this.local(ILOAD, P);
+			this.push(state ? mask : ~mask & 0xFF);
+			this.code.u1(state ? IOR : IAND);
+			this.local(ISTORE, P);
+		}
+
+		/**
+		 * Branch: Setzt den Befehlszähler auf das Sprungziel und zählt die zusätzlichen Taktzyklen, falls das Flag den
+		 * erwarteten Wert hat. Ziel und Zuschlag sind Konstanten (siehe Processor.countBranch).
+		 * @param i Index des Befehls im Block (immer der letzte)
+		 * @param mask Bit des Flags
+		 * @param state Wert des Flags, bei dem gesprungen wird
+		 */
+		private void branch(int i, int mask, boolean state) {
+			int nextAddress = this.nextAddresses[i];
+			int targetAddress = (nextAddress + (byte) this.operands[i]) & 0xFFFF;
+
+			this.local(ILOAD, P);
+			this.push(mask);
+			this.code.u1(IAND);
+			int notTaken = this.jump(state ? IFEQ : IFNE);
+			this.push(targetAddress);
+			this.local(ISTORE, PC);
+			this.addCycles((nextAddress & 0xFF00) == (targetAddress & 0xFF00) ? 1 : 2);
+			this.patch(notTaken);
+		}
+
+		/**
+		 * Legt den Operanden eines Befehls auf den Stack: Konstante bei #$nn, sonst den Inhalt der Speicherzelle.
+		 * @param i Index des Befehls im Block
+		 */
+		private void value(int i) {
+			if(this.instructions[i].getAddressingMode() == AddressingMode.IMMEDIATE) {
+				this.push(this.operands[i] & 0xFF);
+				return;
+			}
+			this.code.u1(0x2D); // aload_3
+			this.address(i);
+			this.readByte();
+		}
+
+		/**
+		 * Legt die Speicheradresse eines Befehls auf den Stack und zählt den Zuschlag für einen Seitenwechsel,
+		 * falls der Befehl einen hat (siehe Processor.indexed).
+		 * @param i Index des Befehls im Block
+		 */
+		private void address(int i) {
+			Instruction instruction = this.instructions[i];
+			int operand = this.operands[i];
+			switch(instruction.getAddressingMode()) {
+				case ZERO_PAGE:
+				case ABSOLUTE:
+					this.push(operand);
+					break;
+				case ZERO_PAGE_X:
+				case ZERO_PAGE_Y:
+					this.push(operand);
+					this.local(ILOAD, instruction.getAddressingMode() == AddressingMode.ZERO_PAGE_X ? X : Y);
+					this.code.u1(IADD);
+					this.push(0xFF);
+					this.code.u1(IAND);
+					break;
+				case ABSOLUTE_X:
+				case ABSOLUTE_Y:
+					int index = instruction.getAddressingMode() == AddressingMode.ABSOLUTE_X ? X : Y;
+					if(instruction.hasPageCrossingPenalty()) {
+						// cycles += ((operand & 0xFF) + index) >>> 8
+						this.local(ILOAD, CYCLES);
+						this.push(operand & 0xFF);
+						this.local(ILOAD, index);
+						this.code.u1(IADD);
+						this.push(8);
+						this.code.u1(0x7C); // iushr
+						this.code.u1(IADD);
+						this.local(ISTORE, CYCLES);
+					}
+					this.push(operand);
+					this.local(ILOAD, index);
+					this.code.u1(IADD);
+					this.push(0xFFFF);
+					this.code.u1(IAND);
+					break;
+				case INDEXED_INDIRECT:
+					// temp = (operand + x) & 0xFF; data[temp] | data[(temp + 1) & 0xFF] << 8
+					this.push(operand);
+					this.local(ILOAD, X);
+					this.code.u1(IADD);
+					this.push(0xFF);
+					this.code.u1(IAND);
+					this.local(ISTORE, TEMP);
+					this.code.u1(0x2D); // aload_3
+					this.local(ILOAD, TEMP);
+					this.readByte();
+					this.code.u1(0x2D); // aload_3
+					this.local(ILOAD, TEMP);
+					this.code.u1(0x04); // iconst_1
+					this.code.u1(IADD);
+					this.push(0xFF);
+					this.code.u1(IAND);
+					this.readByte();
+					this.push(8);
+					this.code.u1(0x78); // ishl
+					this.code.u1(IOR);
+					break;
+				case INDIRECT_INDEXED:
+					// temp = data[operand] + y; (temp + (data[(operand + 1) & 0xFF] << 8)) & 0xFFFF
+					this.code.u1(0x2D); // aload_3
+					this.push(operand);
+					this.readByte();
+					this.local(ILOAD, Y);
+					this.code.u1(IADD);
+					this.local(ISTORE, TEMP);
+					if(instruction.hasPageCrossingPenalty()) {
+						this.local(ILOAD, CYCLES);
+						this.local(ILOAD, TEMP);
+						this.push(8);
+						this.code.u1(0x7C); // iushr
+						this.code.u1(IADD);
+						this.local(ISTORE, CYCLES);
+					}
+					this.local(ILOAD, TEMP);
+					this.code.u1(0x2D); // aload_3
+					this.push((operand + 1) & 0xFF);
+					this.readByte();
+					this.push(8);
+					this.code.u1(0x78); // ishl
+					this.code.u1(IADD);
+					this.push(0xFFFF);
+					this.code.u1(IAND);
+					break;
+				default:
+					throw new IllegalArgumentException("Adressierungsart " + instruction.getAddressingMode() + " hat keine Speicheradresse.");
+			}
+		}
+
+		/**
+		 * Liest ein Byte aus dem Array (Array und Index auf dem Stack) als Wert von 0 bis 255.
+		 */
+		private void readByte() {
+			this.code.u1(0x33); // baload
+			this.push(0xFF);
+			this.code.u1(IAND);
+		}
+
+		/**
+		 * Setzt Zero und Negative Flag nach einem Registerwert: p = (p & 0x7D) | (v & 0x80) | (v == 0 ? 2 : 0)
+		 * @param variable Variable mit dem Wert (0 bis 255)
+		 */
+		private void updateZN(int variable) {
+			this.local(ILOAD, P);
+			this.push(0x7D);
+			this.code.u1(IAND);
+			this.local(ILOAD, variable);
+			this.push(0x80);
+			this.code.u1(IAND);
+			this.code.u1(IOR);
+			this.local(ILOAD, variable);
+			this.isZero();
+			this.code.u1(IOR);
+			this.local(ISTORE, P);
+		}
+
+		/**
+		 * Ersetzt die Zahl auf dem Stack (-255 bis 255) durch das Zero Flag: 2, falls sie 0 ist, sonst 0.
+		 * Ohne Sprung: ((v - 1) & ~v) ist nur bei v == 0 negativ.
+		 */
+		private void isZero() {
+			this.code.u1(0x59); // dup
+			this.code.u1(0x02).u1(IXOR); // iconst_m1
+			this.code.u1(0x5F); // swap
+			this.code.u1(0x02).u1(IADD); // iconst_m1
+			this.code.u1(IAND);
+			this.push(31);
+			this.code.u1(0x7C); // iushr
+			this.code.u1(0x04); // iconst_1
+			this.code.u1(0x78); // ishl
+		}
+
+		/**
+		 * Addiert Taktzyklen auf die Variable der Taktzyklen.
+		 * @param cycles Taktzyklen (höchstens 127)
+		 */
+		private void addCycles(int cycles) {
+			this.code.u1(IINC).u1(CYCLES).u1(cycles);
+		}
+
+		/**
+		 * Lädt oder speichert eine lokale Variable.
+		 * @param opcode ILOAD, ISTORE oder aload
+		 * @param variable Index der Variable
+		 */
+		private void local(int opcode, int variable) {
+			this.code.u1(opcode).u1(variable);
+		}
+
+		/**
+		 * Legt eine Zahl auf den Stack.
+		 * @param value Zahl
+		 */
+		private void push(int value) {
+			pushInt(this.code, this.classFile, value);
+		}
+
+		/**
+		 * Schreibt einen Sprung, dessen Ziel später mit patch() gesetzt wird.
+		 * @param opcode Sprungbefehl der JVM
+		 * @return Position des Sprungs im Bytecode
+		 */
+		private int jump(int opcode) {
+			int position = this.code.length;
+			this.code.u1(opcode).u2(0);
+			return position;
+		}
+
+		/**
+		 * Setzt das Ziel eines Sprungs auf die aktuelle Position im Bytecode.
+		 * @param position Position des Sprungs
+		 */
+		private void patch(int position) {
+			this.code.set2(position + 1, this.code.length - position);
+		}
+
+		/**
+		 * Schreibt die Klassendatei mit Konstruktor, dem Feld handlers und der Methode execute.
+		 * @return Klassendatei
+		 */
+		private byte[] toClassFile() {
+			int thisClass = this.classFile.classRef(CLASS_NAME);
+			int superClass = this.classFile.classRef("java/lang/Object");
+			int blockInterface = this.classFile.classRef("de/umwelt_campus/javawp/processor/CompiledBlock");
+			int objectConstructor = this.classFile.memberRef(10, "java/lang/Object", "<init>", "()V");
+
+			// Konstruktor
+			Bytes constructor = new Bytes();
+			constructor.u1(0x2A); // aload_0
+			constructor.u1(0xB7).u2(objectConstructor); // invokespecial Object.<init>
+			constructor.u1(0xB1); // return
+
+			// Alle Konstanten anlegen, bevor der Konstantenpool geschrieben wird
+			int codeName = this.classFile.utf8("Code");
+			int handlersName = this.classFile.utf8(HANDLERS_FIELD);
+			int handlersDescriptor = this.classFile.utf8("[L" + HANDLER + ";");
+			int constructorName = this.classFile.utf8("<init>");
+			int constructorDescriptor = this.classFile.utf8("()V");
+			int executeName = this.classFile.utf8("execute");
+			int executeDescriptor = this.classFile.utf8("(L" + PROCESSOR + ";)I");
+
+			Bytes bytes = new Bytes();
+			bytes.u4(0xCAFEBABE).u2(0).u2(49);
+			bytes.u2(this.classFile.count).append(this.classFile.constants);
+			bytes.u2(0x0031).u2(thisClass).u2(superClass); // public final super
+			bytes.u2(1).u2(blockInterface);
+
+			// public static InstructionHandler[] handlers
+			bytes.u2(1);
+			bytes.u2(0x0009).u2(handlersName).u2(handlersDescriptor).u2(0);
+
+			bytes.u2(2);
+			writeMethod(bytes, constructorName, constructorDescriptor, codeName, 1, 1, constructor);
+			writeMethod(bytes, executeName, executeDescriptor, codeName, MAX_STACK, MAX_LOCALS, this.code);
+			bytes.u2(0);
+			return bytes.toByteArray();
+		}
+	}
+
+	/**
+	 * Konstantenpool der erzeugten Klasse.
+	 */
+	private static final class ClassFile {
+		private final Bytes constants = new Bytes();
+		private final HashMap<String, Integer> indices = new HashMap<String, Integer>();
+		private int count = 1;
+
+		/**
+		 * Gibt den Index eines Eintrags zurück und legt ihn bei Bedarf an.
+		 * @param key Eindeutiger Schlüssel des Eintrags
+		 * @param entry Bytes des Eintrags
+		 * @return Index im Konstantenpool
+		 */
+		private int constant(String key, Bytes entry) {
+			Integer index = this.indices.get(key);
+			if(index != null)
+				return index;
+
+			this.constants.append(entry);
+			this.indices.put(key, this.count);
+			return this.count++;
+		}
+
+		private int utf8(String value) {
+			byte[] bytes = value.getBytes(StandardCharsets.UTF_8); // Nur ASCII Namen
+			return this.constant("U" + value, new Bytes().u1(1).u2(bytes.length).append(bytes));
+		}
+
+		private int integer(int value) {
+			return this.constant("I" + value, new Bytes().u1(3).u4(value));
+		}
+
+		private int classRef(String name) {
+			int nameIndex = this.utf8(name);
+			return this.constant("C" + name, new Bytes().u1(7).u2(nameIndex));
+		}
+
+		/**
+		 * Gibt den Index einer Feld- oder Methodenreferenz zurück.
+		 * @param tag 9: Feld, 10: Methode, 11: Interface-Methode
+		 * @param owner Klasse
+		 * @param name Name
+		 * @param descriptor Typ
+		 * @return Index im Konstantenpool
+		 */
+		private int memberRef(int tag, String owner, String name, String descriptor) {
+			int ownerIndex = this.classRef(owner);
+			int nameIndex = this.utf8(name);
+			int descriptorIndex = this.utf8(descriptor);
+			int nameAndType = this.constant("N" + name + ":" + descriptor, new Bytes().u1(12).u2(nameIndex).u2(descriptorIndex));
+			return this.constant(tag + owner + "." + name + ":" + descriptor, new Bytes().u1(tag).u2(ownerIndex).u2(nameAndType));
+		}
+	}
+
+	/**
+	 * Wachsender Byte Puffer (Big Endian wie in Klassendateien).
+	 */
+	private static final class Bytes {
+		private byte[] data = new byte[64];
+		private int length = 0;
+
+		private Bytes u1(int value) {
+			if(this.length == this.data.length)
+				this.data = Arrays.copyOf(this.data, this.length * 2);
+			this.data[this.length++] = (byte) value;
+			return this;
+		}
+
+		private Bytes u2(int value) {
+			return this.u1(value >> 8).u1(value);
+		}
+
+		private Bytes u4(int value) {
+			return this.u2(value >> 16).u2(value);
+		}
+
+		/**
+		 * Überschreibt 2 bereits geschriebene Bytes (Sprungziele).
+		 * @param position Position des ersten Bytes
+		 * @param value Wert
+		 */
+		private void set2(int position, int value) {
+			this.data[position] = (byte) (value >> 8);
+			this.data[position + 1] = (byte) value;
+		}
+
+		private Bytes append(byte[] bytes) {
+			for(byte value : bytes)
+				this.u1(value);
+			return this;
+		}
+
+		private Bytes append(Bytes bytes) {
+			for(int i = 0; i < bytes.length; i++)
+				this.u1(bytes.data[i]);
+			return this;
+		}
+
+		private byte[] toByteArray() {
+			return Arrays.copyOf(this.data, this.length);
+		}
+	}
+}
@@ -0,0 +1,15 @@
+package de.umwelt_campus.javawp.processor;
+
+/**
+ * Ein in JVM Bytecode übersetzter Basisblock (Befehlsfolge bis zum nächsten Sprung), siehe BlockCompiler.
+ * @author Mathis Ströhlein
+ */
+interface CompiledBlock {
+
+	/**
+	 * Führt die Befehle des Blocks aus. Wird Code des Blocks überschrieben, endet die Ausführung nach dem aktuellen Befehl.
+	 * @param processor Prozessor
+	 * @return Anzahl der ausgeführten Befehle
+	 */
+	int execute(Processor processor);
+}
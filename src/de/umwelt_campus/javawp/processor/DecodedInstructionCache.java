@@ -0,0 +1,92 @@
+package de.umwelt_campus.javawp.processor;
+
+import java.util.Arrays;
+
+import de.umwelt_campus.javawp.processor.components.CodeInvalidationListener;
+import de.umwelt_campus.javawp.processor.components.Memory;
+
+/**
+ * Zwischenspeicher für bereits dekodierte Befehle: Pro Adresse der Eintrag der Befehlstabelle und der eingelesene Operand.
+ * Wiederholt ausgeführte Befehle (z.B. in Schleifen) werden so nur einmal aus dem Speicher gelesen.
+ * Die Pages mit dekodierten Befehlen werden im Speicher markiert. Schreibzugriffe darauf verwerfen die betroffenen Einträge,
+ * damit selbstmodifizierender Code korrekt ausgeführt wird.
+ * @author Mathis Ströhlein
+ */
+final class DecodedInstructionCache implements CodeInvalidationListener {
+	private final Memory memory;
+	private final Instruction[] instructionTable; // Befehlstabelle des Prozessors, Index ist der Opcode
+	private final Instruction[] instructions = new Instruction[65536]; // null, falls an der Adresse noch nicht dekodiert
+	private final int[] operands = new int[65536];
+
+	/**
+	 * Erstellt einen leeren Zwischenspeicher. Der Prozessor leitet die Meldungen des Speichers weiter (siehe Memory.setCodeInvalidationListener).
+	 * @param memory Speicher
+	 * @param instructionTable Befehlstabelle des Prozessors
+	 */
+	DecodedInstructionCache(Memory memory, Instruction[] instructionTable) {
+		this.memory = memory;
+		this.instructionTable = instructionTable;
+	}
+
+	/**
+	 * Gibt den Befehl an einer Adresse zurück. Beim ersten Aufruf wird der Befehl dekodiert.
+	 * @param address Speicheradresse (0 bis 65535)
+	 * @return Eintrag der Befehlstabelle
+	 */
+	Instruction getInstruction(int address) {
+		Instruction instruction = this.instructions[address];
+		return instruction != null ? instruction : this.decode(address);
+	}
+
+	/**
+	 * Gibt den Operanden des Befehls an einer Adresse zurück (nach getInstruction aufrufen).
+	 * @param address Speicheradresse (0 bis 65535)
+	 * @return Operand (8 Bit bei Befehlsgröße 2, 16 Bit bei Befehlsgröße 3, sonst 0)
+	 */
+	int getOperand(int address) {
+		return this.operands[address];
+	}
+
+	/**
+	 * Liest Opcode und Operand aus dem Speicher (Lowbyte vor Highbyte) und merkt sie sich.
+	 * @param address Speicheradresse
+	 * @return Eintrag der Befehlstabelle
+	 */
+	private Instruction decode(int address) {
+		Instruction instruction = this.instructionTable[this.memory.read(address)];
+		int operand;
+		switch(instruction.getByteSize()) {
+			case 2:
+				operand = this.memory.read(address + 1);
+				break;
+			case 3:
+				operand = this.memory.read(address + 1) | (this.memory.read(address + 2) << 8);
+				break;
+			default:
+				operand = 0;
+		}
+
+		// Alle Pages markieren, auf denen Bytes des Befehls liegen
+		for(int i = 0; i < instruction.getByteSize(); i++)
+			this.memory.markCode(address + i);
+
+		this.instructions[address] = instruction;
+		this.operands[address] = operand;
+		return instruction;
+	}
+
+	/**
+	 * Verwirft alle Befehle, die eine der Speicherzellen enthalten. Ein Befehl beginnt höchstens 2 Bytes vor der Zelle.
+	 * @param address Erste veränderte Speicheradresse
+	 * @param length Anzahl der veränderten Speicherzellen
+	 */
+	@Override
+	public void invalidate(int address, int length) {
+		if(length >= this.instructions.length - 2) {
+			Arrays.fill(this.instructions, null);
+			return;
+		}
+		for(int i = -2; i < length; i++)
+			this.instructions[(address + i) & 0xFFFF] = null;
+	}
+}
@@ -0,0 +1,12 @@
+package de.umwelt_campus.javawp.processor;
+
+/**
+ * Art der Ausführung bei Processor.run und Processor.runUntil.
+ * @author Mathis Ströhlein
+ */
+public enum ExecutionEngine {
+	/** Jeder Befehl wird einzeln über die Befehlstabelle ausgeführt. */
+	INTERPRETER,
+	/** Häufig ausgeführte Basisblöcke werden in JVM Bytecode übersetzt (siehe BlockCompiler), der Rest wird interpretiert. */
+	BLOCK_COMPILER
+}
@@ -0,0 +1,97 @@
+package de.umwelt_campus.javawp.processor;
+
+import de.umwelt_campus.javawp.processor.components.AddressingMode;
+import de.umwelt_campus.javawp.processor.components.InstructionSet;
+
+/**
+ * Ein Eintrag der Befehlstabelle des Prozessors: Die Ausführung des Befehls und seine Daten aus dem InstructionSet.
+ * @author Mathis Ströhlein
+ */
+public final class Instruction {
+	private final int opcode;
+	private final String mnemonic;
+	private final AddressingMode addressingMode;
+	private final int byteSize;
+	private final int cycles;
+	private final boolean pageCrossingPenalty;
+	private final InstructionHandler handler;
+
+	/**
+	 * Erstellt einen Eintrag mit den Daten des Opcodes aus dem InstructionSet.
+	 * @param opcode Opcode (0 bis 255)
+	 * @param handler Ausführung des Befehls
+	 */
+	public Instruction(int opcode, InstructionHandler handler) {
+		this.opcode = opcode & 0xFF;
+		this.mnemonic = InstructionSet.getMnemonic(opcode);
+		this.addressingMode = InstructionSet.getAddressingMode(opcode);
+		this.byteSize = this.addressingMode.getByteSize();
+		this.cycles = InstructionSet.getCycles(opcode);
+		this.pageCrossingPenalty = InstructionSet.hasPageCrossingPenalty(opcode);
+		this.handler = handler;
+	}
+
+	/**
+	 * Führt den Befehl aus.
+	 * @param operand Operand (8 Bit bei Befehlsgröße 2, 16 Bit bei Befehlsgröße 3, sonst 0)
+	 */
+	public void execute(int operand) {
+		this.handler.execute(operand);
+	}
+
+	/**
+	 * Gibt den Opcode zurück.
+	 * @return Opcode (0 bis 255)
+	 */
+	public int getOpcode() {
+		return this.opcode;
+	}
+
+	/**
+	 * Gibt die Mnemonic zurück.
+	 * @return Mnemonic oder null, falls dem Opcode kein Befehl zugeordnet ist
+	 */
+	public String getMnemonic() {
+		return this.mnemonic;
+	}
+
+	/**
+	 * Gibt die Adressierungsart zurück.
+	 * @return Adressierungsart
+	 */
+	public AddressingMode getAddressingMode() {
+		return this.addressingMode;
+	}
+
+	/**
+	 * Gibt die Befehlsgröße in Bytes zurück.
+	 * @return Befehlsgröße in Bytes
+	 */
+	public int getByteSize() {
+		return this.byteSize;
+	}
+
+	/**
+	 * Gibt die Anzahl der Taktzyklen zurück (ohne Zuschläge).
+	 * @return Anzahl der Taktzyklen
+	 */
+	public int getCycles() {
+		return this.cycles;
+	}
+
+	/**
+	 * Gibt zurück, ob der Befehl einen Taktzyklus mehr braucht, wenn die indizierte Adresse die Page wechselt.
+	 * @return Wahrheitswert, ob ein Seitenwechsel einen Taktzyklus kostet
+	 */
+	public boolean hasPageCrossingPenalty() {
+		return this.pageCrossingPenalty;
+	}
+
+	/**
+	 * Gibt die Ausführung des Befehls zurück.
+	 * @return Ausführung des Befehls
+	 */
+	public InstructionHandler getHandler() {
+		return this.handler;
+	}
+}
@@ -0,0 +1,15 @@
+package de.umwelt_campus.javawp.processor;
+
+/**
+ * Führt einen Befehl mit bereits eingelesenem Operanden aus.
+ * @author Mathis Ströhlein
+ */
+@FunctionalInterface
+public interface InstructionHandler {
+
+	/**
+	 * Führt den Befehl aus.
+	 * @param operand Operand (8 Bit bei Befehlsgröße 2, 16 Bit bei Befehlsgröße 3, sonst 0)
+	 */
+	void execute(int operand);
+}
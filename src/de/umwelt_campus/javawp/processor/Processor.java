@@ -1,10 +1,15 @@
 package de.umwelt_campus.javawp.processor;
 
-import java.util.Stack;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.EmptyStackException;
 
+import de.umwelt_campus.javawp.processor.components.AssembledImage;
 import de.umwelt_campus.javawp.processor.components.Assembler;
+import de.umwelt_campus.javawp.processor.components.AssemblyCache;
+import de.umwelt_campus.javawp.processor.components.CycleCounter;
 import de.umwelt_campus.javawp.processor.components.Memory;
-import de.umwelt_campus.javawp.processor.components.RegisterData;
+import de.umwelt_campus.javawp.processor.components.UndoJournal;
 import de.umwelt_campus.javawp.processor.components.registers.Accumulator;
 import de.umwelt_campus.javawp.processor.components.registers.IndexRegisterX;
 import de.umwelt_campus.javawp.processor.components.registers.IndexRegisterY;
@@ -25,42 +30,69 @@ import de.umwelt_campus.javawp.exceptions.InterruptException;
  * @author Mathis Ströhlein
  */
 public class Processor {
-	private Stack<RegisterData> registerDataStack;
+	private UndoJournal undoJournal;
+	private Instruction[] instructions; // Befehlstabelle, Index ist der Opcode
+	private DecodedInstructionCache decodedInstructions; // Bereits dekodierte Befehle pro Adresse
+	private ExecutionEngine executionEngine = ExecutionEngine.INTERPRETER;
+	private BlockCompiler blockCompiler; // null beim Interpreter
 
 	private StatusRegister statusRegister;
 	private Memory memory;
 	private ProgramCounter programCounter;
 	private Assembler assembler;
+	private AssemblyCache assemblyCache; // null: immer assemblieren
 	private Accumulator accumulator;
 	private IndexRegisterX indexRegisterX;
 	private IndexRegisterY indexRegisterY;
 	private StackPointer stackPointer;
+	private CycleCounter cycleCounter;
 	
 	private INT16 startAddress;
+	private boolean interrupted; // BRK wurde im letzten Befehl ausgeführt
+	private boolean pageCrossed; // Indizierte Adresse des letzten Befehls hat die Page gewechselt
+	private int branchCycles; // Zusätzliche Taktzyklen eines Sprungs im letzten Befehl
+	boolean codeModified; // Code eines übersetzten Blocks wurde überschrieben (siehe BlockCompiler)
 	
 	/**
-	 * Erstellt einen Prozessor.
+	 * Erstellt einen Prozessor ohne Cache für assemblierte Abbilder.
 	 */
 	public Processor() {
+		this(null);
+	}
+	
+	/**
+	 * Erstellt einen Prozessor.
+	 * @param assemblyCache Cache für assemble(String), kann mit anderen Prozessoren geteilt werden (null, um immer zu assemblieren)
+	 */
+	public Processor(AssemblyCache assemblyCache) {
 		// 0x0600: Page 6 (beginnend mit 0) im Speicher
 		this.startAddress = new INT16(0x600);
 		
-		this.registerDataStack = new Stack<RegisterData>();
-
 		this.statusRegister = new StatusRegister();
 		this.memory = new Memory(this.statusRegister);
 		this.stackPointer = new StackPointer(this.memory, statusRegister);
 
 		this.assembler = new Assembler(this.memory, startAddress);
+		this.assemblyCache = assemblyCache;
 		this.programCounter = new ProgramCounter(this.memory, this.statusRegister, this.stackPointer, startAddress);
 		
 		this.accumulator = new Accumulator(this.memory, this.statusRegister);
 		this.indexRegisterX = new IndexRegisterX(this.memory, this.statusRegister);
 		this.indexRegisterY = new IndexRegisterY(this.memory, this.statusRegister);
+		this.cycleCounter = new CycleCounter();
+		
+		this.undoJournal = new UndoJournal(this.statusRegister, this.programCounter, this.memory, this.accumulator,
+				this.indexRegisterX, this.indexRegisterY, this.stackPointer, this.cycleCounter);
+		
+		this.instructions = new Instruction[256];
+		this.createInstructions();
+		this.decodedInstructions = new DecodedInstructionCache(this.memory, this.instructions);
+		this.memory.setCodeInvalidationListener(this::invalidateCode);
 	}
 	
 	/**
 	 * Ruft den Assembler auf, der den Bytecode in den Speicher an die Startadresse 
+	 * Mit einem Cache (siehe setAssemblyCache) wird bereits assemblierter Befehlscode nur noch geladen.
 	 * @param mnemonicsString Der eingegebene Befehlscode
 	 * @throws UnknownOperatorException Der Operator wurde nicht erkannt
 	 * @throws InvalidOperandException Der Operand passt nicht
@@ -68,7 +100,34 @@ public class Processor {
 	 * @return Gibt die Anzahl der assemblierten Bytes zurück
 	 */
 	public String assemble(String mnemonicsString) throws UnknownOperatorException, InvalidOperandException, InvalidLabelNameException {
-		return "Info: Erfolgreich " + assembler.assemble(mnemonicsString) + " bytes assembliert.";
+		if(this.assemblyCache == null)
+			return "Info: Erfolgreich " + assembler.assemble(mnemonicsString) + " bytes assembliert.";
+
+		// Bei einem Fehler wird wie beim Assembler der Bytecode bis zum Fehler geladen
+		AssembledImage image = this.assemblyCache.get(mnemonicsString, this.startAddress.getUnsignedValue(), partial -> partial.load(this.memory));
+		image.load(this.memory);
+		return "Info: Erfolgreich " + image.getLength() + " bytes assembliert.";
+	}
+	
+	/**
+	 * Ruft den Assembler auf, der den Befehlscode zeilenweise aus einer Quelle liest (ohne ihn komplett einzulesen).
+	 * @param reader Quelle des Befehlscodes
+	 * @throws IOException Der Befehlscode konnte nicht gelesen werden
+	 * @throws UnknownOperatorException Der Operator wurde nicht erkannt
+	 * @throws InvalidOperandException Der Operand passt nicht
+	 * @throws InvalidLabelNameException Ein Label darf keinen Doppelpunkt beinhalten
+	 * @return Gibt die Anzahl der assemblierten Bytes zurück
+	 */
+	public String assemble(Reader reader) throws IOException, UnknownOperatorException, InvalidOperandException, InvalidLabelNameException {
+		return "Info: Erfolgreich " + assembler.assemble(reader) + " bytes assembliert.";
+	}
+	
+	/**
+	 * Lädt ein Abbild des Assemblers in den Speicher, z.B. um ein Programm ohne erneutes Assemblieren in mehrere Prozessoren zu laden.
+	 * @param image Abbild
+	 */
+	public void load(AssembledImage image) {
+		image.load(this.memory);
 	}
 	
 	/**
@@ -77,208 +136,455 @@ public class Processor {
 	 * @throws InterruptException Das Programm wird unterbrochen, da keine Befehle mehr existieren oder BRK verwendet wurde.
 	 */
 	public void executeNext() throws UnknownOpcodeException, InterruptException {
-		// aktuelle Registerdaten auf Stack schieben
-		registerDataStack.push(new RegisterData(this.statusRegister, this.programCounter, this.memory, this.accumulator,
-				this.indexRegisterX, this.indexRegisterY, this.stackPointer));
-
-		INT8 opcode = this.memory.getCellData(this.programCounter.getData());
-		this.programCounter.increment();
-		
-		byte commandSize = Assembler.getCommandByteSize(opcode);
+		// aktuelle Registerdaten und alle folgenden Schreibzugriffe protokollieren
+		this.undoJournal.beginStep();
+		try {
+			this.execute();
+		} finally {
+			this.undoJournal.endStep();
+		}
 		
-		INT8 operand8 = null;
-		INT16 operand16 = null;
+		if(this.interrupted)
+			throw new InterruptException();
+	}
+	
+	/**
+	 * Führt höchstens die angegebene Anzahl an Befehlen aus, ohne sie zu protokollieren.
+	 * Der Lauf endet vorher bei BRK oder einem Opcode ohne Befehl. Das Protokoll für undo() wird geleert.
+	 * @param maxInstructions Maximale Anzahl an Befehlen
+	 * @return Ergebnis des Laufs
+	 */
+	public RunResult run(long maxInstructions) {
+		return this.runUntil(null, maxInstructions);
+	}
+	
+	/**
+	 * Führt Befehle aus, bis die Abbruchbedingung erfüllt ist, ohne sie zu protokollieren.
+	 * Der Lauf endet vorher bei BRK oder einem Opcode ohne Befehl. Das Protokoll für undo() wird geleert.
+	 * @param stopCondition Abbruchbedingung (wird vor jedem Befehl geprüft)
+	 * @return Ergebnis des Laufs
+	 */
+	public RunResult runUntil(StopCondition stopCondition) {
+		return this.runUntil(stopCondition, Long.MAX_VALUE);
+	}
+	
+	/**
+	 * Führt Befehle aus, bis die Abbruchbedingung erfüllt oder die maximale Anzahl an Befehlen erreicht ist, ohne sie zu protokollieren.
+	 * Der Lauf endet vorher bei BRK oder einem Opcode ohne Befehl. Das Protokoll für undo() wird geleert.
+	 * @param stopCondition Abbruchbedingung (wird vor jedem interpretierten Befehl und vor jedem übersetzten Block geprüft, null für keine)
+	 * @param maxInstructions Maximale Anzahl an Befehlen
+	 * @return Ergebnis des Laufs
+	 */
+	public RunResult runUntil(StopCondition stopCondition, long maxInstructions) {
+		// Ältere Schritte passen nach dem Lauf nicht mehr zum Speicher
+		this.undoJournal.clear();
 		
-		// Je nach Befehlsgröße, die Operanden aus den nächsten Bytes einlesen (Lowbyte vor Highbyte)
-		switch(commandSize) {
-			case 2:
-				operand8 = this.memory.getCellData(this.programCounter.getData());
-				this.programCounter.increment();
-				break;
-			case 3:
-				INT8 lowByte = this.memory.getCellData(this.programCounter.getData());
-				this.programCounter.increment();
-				INT8 highByte = this.memory.getCellData(this.programCounter.getData());
-				this.programCounter.increment();
+		StopReason stopReason = StopReason.INSTRUCTION_LIMIT;
+		long instructionCount = 0;
+		long startCycles = this.cycleCounter.getValue();
+		long cycleLimit = stopCondition == null ? Long.MAX_VALUE : stopCondition.getCycleLimit();
+		try {
+			while(instructionCount < maxInstructions) {
+				if(stopCondition != null && stopCondition.isReached(this)) {
+					stopReason = StopReason.STOP_CONDITION;
+					break;
+				}
+				
+				// Übersetzte Blöcke nur ohne Abbruchbedingung oder bis zur Grenze der Taktzyklen (siehe StopCondition.getCycleLimit)
+				if(this.blockCompiler != null && cycleLimit >= 0) {
+					long executed = this.blockCompiler.execute(maxInstructions - instructionCount, cycleLimit - this.cycleCounter.getValue());
+					if(executed > 0) {
+						instructionCount += executed;
+						if(this.interrupted) {
+							stopReason = StopReason.BREAK;
+							break;
+						}
+						continue;
+					}
+					this.blockCompiler.count(this.programCounter.getData().getUnsignedValue());
+				}
 				
-				operand16 = new INT16(lowByte, highByte);
+				this.execute();
+				instructionCount++;
+				
+				if(this.interrupted) {
+					stopReason = StopReason.BREAK;
+					break;
+				}
+			}
+		} catch(UnknownOpcodeException e) {
+			stopReason = StopReason.UNKNOWN_OPCODE;
 		}
 		
-		// Hier werden die Befehle letztendlich ausgeführt:
-		switch ((byte) opcode.getValue()) {
-			case (byte) 0xAA: this.accumulator.transferTo(indexRegisterX); break; // TAX
-			case (byte) 0xA8: this.accumulator.transferTo(indexRegisterY); break; // TAY
-			case (byte) 0x8A: this.indexRegisterX.transferTo(accumulator); break; // TXA
-			case (byte) 0x98: this.indexRegisterY.transferTo(accumulator); break; // TYA
-			case (byte) 0xBA: this.stackPointer.transferTo(indexRegisterX); break; // TSX
-        	case (byte) 0x9A: this.indexRegisterX.transferTo(stackPointer); break; // TXS
-        	case (byte) 0xE8: this.indexRegisterX.increment(); break; // INX
-        	case (byte) 0xC8: this.indexRegisterY.increment(); break; // INY
-        	case (byte) 0xCA: this.indexRegisterX.decrement(); break; // DEX
-        	case (byte) 0x88: this.indexRegisterY.decrement(); break; // DEY
-        	case (byte) 0x0A: this.accumulator.arithmeticalShiftLeft(); break; // ASL
-        	case (byte) 0x4A: this.accumulator.logicalShiftRight(); break; // LSR
-        	case (byte) 0x2A: this.accumulator.rotateLeft(); break; // ROL
-        	case (byte) 0x6A: this.accumulator.rotateRight(); break; // ROR
-        	case (byte) 0x60: this.programCounter.returnFromSubroutine(); break; // RTS
-        	case (byte) 0x38: this.statusRegister.setCarry(true); break; // SEC
-        	case (byte) 0x18: this.statusRegister.setCarry(false); break; // CLC
-        	case (byte) 0x78: this.statusRegister.setInterrupt(true); break; // SEI
-        	case (byte) 0x58: this.statusRegister.setInterrupt(false); break; // CLI
-        	case (byte) 0xB8: this.statusRegister.setOverflow(false); break; // CLV
-        	case (byte) 0xF8: this.statusRegister.setDecimal(true); break; // SED
-        	case (byte) 0xD8: this.statusRegister.setDecimal(false); break; // CLD
-	        case (byte) 0x48: this.stackPointer.push(accumulator); break; // PHA
-	        case (byte) 0x68: this.stackPointer.pull(accumulator); break; // PLA
-	        case (byte) 0x08: this.stackPointer.push(statusRegister); break; // PHP
-	        case (byte) 0x28: this.stackPointer.pull(statusRegister); break; // PLP
-	        case (byte) 0xA9: this.accumulator.loadI(operand8); break; // LDA #$nn
-	        case (byte) 0xA2: this.indexRegisterX.loadI(operand8); break; // LDX #$nn
-	        case (byte) 0xA0: this.indexRegisterY.loadI(operand8); break; // LDY #$nn
-	        case (byte) 0x29: this.accumulator.logicAndI(operand8); break; // AND #$nn
-	        case (byte) 0x09: this.accumulator.logicOrI(operand8); break; // ORA #$nn
-	        case (byte) 0x49: this.accumulator.logicXorI(operand8); break; // EOR #$nn
-	        case (byte) 0x69: this.accumulator.addWithCarryI(operand8); break; // ADC #$nn
-	        case (byte) 0xE9: this.accumulator.subtractWithCarryI(operand8); break; // SBC #$nn
-	        case (byte) 0xC9: this.accumulator.compareI(operand8); break; // CMP #$nn
-	        case (byte) 0xE0: this.indexRegisterX.compareI(operand8); break; // CPX #$nn
-	        case (byte) 0xC0: this.indexRegisterY.compareI(operand8); break; // CPY #$nn
-	        case (byte) 0x90: this.programCounter.branchOnCarryClear(operand8); break; // BCC $nn
-	        case (byte) 0xB0: this.programCounter.branchOnCarrySet(operand8); break; // BCS $nn
-	        case (byte) 0xF0: this.programCounter.branchOnEqual(operand8); break; // BEQ $nn
-	        case (byte) 0xD0: this.programCounter.branchOnNotEqual(operand8); break; // BNE $nn
-	        case (byte) 0x10: this.programCounter.branchOnPlus(operand8); break; // BPL $nn
-	        case (byte) 0x30: this.programCounter.branchOnMinus(operand8); break; // BMI $nn
-	        case (byte) 0x50: this.programCounter.branchOnOverflowClear(operand8); break; // BVC $nn
-	        case (byte) 0x70: this.programCounter.branchOnOverflowSet(operand8); break; // BVS $nn
-	        case (byte) 0x65: this.accumulator.addWithCarry(operand8); break; // ADC $nn
-	        case (byte) 0x25: this.accumulator.logicAnd(operand8); break; // AND $nn
-	        case (byte) 0x06: this.memory.arithmeticalShiftLeft(operand8); break; // ASL $nn
-	        case (byte) 0x24: this.accumulator.bitTest(operand8); break; // BIT $nn
-	        case (byte) 0xC5: this.accumulator.compare(operand8); break; // CMP $nn
-	        case (byte) 0xE4: this.indexRegisterX.compare(operand8); break; // CPX $nn
-	        case (byte) 0xC4: this.indexRegisterY.compare(operand8); break; // CPY $nn
-	        case (byte) 0xC6: this.memory.decrement(operand8); break; // DEC $nn
-	        case (byte) 0x45: this.accumulator.logicXor(operand8); break; // EOR $nn
-	        case (byte) 0xE6: this.memory.increment(operand8); break; // INC $nn
-	        case (byte) 0xA5: this.accumulator.load(operand8); break; // LDA $nn
-	        case (byte) 0xA6: this.indexRegisterX.load(operand8); break; // LDX $nn
-	        case (byte) 0xA4: this.indexRegisterY.load(operand8); break; // LDY $nn
-	        case (byte) 0x46: this.memory.logicalShiftRight(operand8); break; // LSR $nn
-	        case (byte) 0x05: this.accumulator.logicOr(operand8); break; // ORA $nn
-	        case (byte) 0x26: this.memory.rotateLeft(operand8); break; // ROL $nn
-	        case (byte) 0x66: this.memory.rotateRight(operand8); break; // ROR $nn
-	        case (byte) 0xE5: this.accumulator.subtractWithCarry(operand8); break; // SBC $nn
-	        case (byte) 0x85: this.accumulator.store(operand8); break; // STA $nn
-	        case (byte) 0x86: this.indexRegisterX.store(operand8); break; // STX $nn
-	        case (byte) 0x84: this.indexRegisterY.store(operand8); break; // STY $nn
-	        case (byte) 0x75: this.accumulator.addWithCarry(operand8, indexRegisterX); break; // ADC $nn,X
-	        case (byte) 0x35: this.accumulator.logicAnd(operand8, indexRegisterX); break; // AND $nn,X
-	        case (byte) 0x16: this.memory.arithmeticalShiftLeft(operand8, indexRegisterX); break; // ASL $nn,X
-	        case (byte) 0xD5: this.accumulator.compare(operand8, indexRegisterX); break; // CMP $nn,X
-	        case (byte) 0xD6: this.memory.decrement(operand8, indexRegisterX); break; // DEC $nn,X
-	        case (byte) 0x55: this.accumulator.logicXor(operand8, indexRegisterX); break; // EOR $nn,X
-	        case (byte) 0xF6: this.memory.increment(operand8, indexRegisterX); break; // INC $nn,X
-	        case (byte) 0xB5: this.accumulator.load(operand8, indexRegisterX); break; // LDA $nn,X
-	        case (byte) 0xB6: this.indexRegisterX.load(operand8, indexRegisterY); break; // LDX $nn,Y
-	        case (byte) 0xB4: this.indexRegisterY.load(operand8, indexRegisterX); break; // LDY $nn,X
-	        case (byte) 0x56: this.memory.logicalShiftRight(operand8, indexRegisterX); break; // LSR $nn,X
-	        case (byte) 0x15: this.accumulator.logicOr(operand8, indexRegisterX); break; // ORA $nn,X
-	        case (byte) 0x36: this.memory.rotateLeft(operand8, indexRegisterX); break; // ROL $nn,X
-	        case (byte) 0x76: this.memory.rotateRight(operand8, indexRegisterX); break; // ROR $nn,X
-	        case (byte) 0xF5: this.accumulator.subtractWithCarry(operand8, indexRegisterX); break; // SBC $nn,X
-	        case (byte) 0x95: this.accumulator.store(operand8, indexRegisterX); break; // STA $nn,X
-	        case (byte) 0x96: this.indexRegisterX.store(operand8, indexRegisterY); break; // STX $nn,Y
-	        case (byte) 0x94: this.indexRegisterY.store(operand8, indexRegisterX); break; // STY $nn,X
-	        case (byte) 0xA1: this.accumulator.load(this.memory.getLittleEndianAddress(operand8, indexRegisterX)); break; // LDA ($nn,X)					  
-	        case (byte) 0xB1: this.accumulator.load(this.memory.getLittleEndianAddress(operand8), indexRegisterY); break; // LDA ($nn),Y
-	        case (byte) 0x81: this.accumulator.store(this.memory.getLittleEndianAddress(operand8, indexRegisterX)); break; // STA ($nn,X)
-	        case (byte) 0x91: this.accumulator.store(this.memory.getLittleEndianAddress(operand8), indexRegisterY); break; // STA ($nn),Y
-	        case (byte) 0x21: this.accumulator.logicAnd(this.memory.getLittleEndianAddress(operand8, indexRegisterX)); break; // AND ($nn,X)
-	        case (byte) 0x31: this.accumulator.logicAnd(this.memory.getLittleEndianAddress(operand8), indexRegisterY); break; // AND ($nn),Y
-	        case (byte) 0x01: this.accumulator.logicOr(this.memory.getLittleEndianAddress(operand8, indexRegisterX)); break; // ORA ($nn,X)
-	        case (byte) 0x11: this.accumulator.logicOr(this.memory.getLittleEndianAddress(operand8), indexRegisterY); break; // ORA ($nn),Y
-	        case (byte) 0x41: this.accumulator.logicXor(this.memory.getLittleEndianAddress(operand8, indexRegisterX)); break; // EOR ($nn,X)
-	        case (byte) 0x51: this.accumulator.logicXor(this.memory.getLittleEndianAddress(operand8), indexRegisterY); break; // EOR ($nn),Y
-	        case (byte) 0x61: this.accumulator.addWithCarry(this.memory.getLittleEndianAddress(operand8, indexRegisterX)); break; // ADC ($nn,X)
-	        case (byte) 0x71: this.accumulator.addWithCarry(this.memory.getLittleEndianAddress(operand8), indexRegisterY); break; // ADC ($nn),Y
-	        case (byte) 0xE1: this.accumulator.subtractWithCarry(this.memory.getLittleEndianAddress(operand8, indexRegisterX)); break; // SBC ($nn,X)
-	        case (byte) 0xF1: this.accumulator.subtractWithCarry(this.memory.getLittleEndianAddress(operand8), indexRegisterY); break; // SBC ($nn),Y
-	        case (byte) 0xC1: this.accumulator.compare(this.memory.getLittleEndianAddress(operand8, indexRegisterX)); break; // CMP ($nn,X)
-	        case (byte) 0xD1: this.accumulator.compare(this.memory.getLittleEndianAddress(operand8), indexRegisterY); break; // CMP ($nn),Y
-	        case (byte) 0x6D: this.accumulator.addWithCarry(operand16); break; // ADC $hhll
-	        case (byte) 0x2D: this.accumulator.logicAnd(operand16); break; // AND $hhll
-	        case (byte) 0x0E: this.memory.arithmeticalShiftLeft(operand16); break; // ASL $hhll
-	        case (byte) 0x2C: this.accumulator.bitTest(operand16); break; // BIT $hhll
-	        case (byte) 0xCD: this.accumulator.compare(operand16); break; // CMP $hhll
-	        case (byte) 0xEC: this.indexRegisterX.compare(operand16); break; // CPX $hhll
-	        case (byte) 0xCC: this.indexRegisterY.compare(operand16); break; // CPY $hhll
-	        case (byte) 0xCE: this.memory.decrement(operand16); break; // DEC $hhll
-	        case (byte) 0x4D: this.accumulator.logicXor(operand16); break; // EOR $hhll
-	        case (byte) 0xEE: this.memory.increment(operand16); break; // INC $hhll
-	        case (byte) 0x4C: this.programCounter.jump(operand16); break; // JMP $hhll
-	        case (byte) 0x20: this.programCounter.jumpToSubroutine(operand16); break; // JSR $hhll
-	        case (byte) 0xAD: this.accumulator.load(operand16); break; // LDA $hhll
-	        case (byte) 0xAE: this.indexRegisterX.load(operand16); break; // LDX $hhll
-	        case (byte) 0xAC: this.indexRegisterY.load(operand16); break; // LDY $hhll
-	        case (byte) 0x4E: this.memory.logicalShiftRight(operand16); break; // LSR $hhll
-	        case (byte) 0x0D: this.accumulator.logicOr(operand16); break; // ORA $hhll
-	        case (byte) 0x2E: this.memory.rotateLeft(operand16); break; // ROL $hhll
-	        case (byte) 0x6E: this.memory.rotateRight(operand16); break; // ROR $hhll
-	        case (byte) 0xED: this.accumulator.subtractWithCarry(operand16); break; // SBC $hhll
-	        case (byte) 0x8D: this.accumulator.store(operand16); break; // STA $hhll
-	        case (byte) 0x8E: this.indexRegisterX.store(operand16); break; // STX $hhll
-	        case (byte) 0x8C: this.indexRegisterY.store(operand16); break; // STY $hhll
-	        case (byte) 0x7D: this.accumulator.addWithCarry(operand16, indexRegisterX); break; // ADC $hhll,X
-	        case (byte) 0x3D: this.accumulator.logicAnd(operand16, indexRegisterX); break; // AND $hhll,X
-	        case (byte) 0x1E: this.memory.arithmeticalShiftLeft(operand16, indexRegisterX); break; // ASL $hhll,X
-	        case (byte) 0xDD: this.accumulator.compare(operand16, indexRegisterX); break; // CMP $hhll,X
-	        case (byte) 0xDE: this.memory.decrement(operand16, indexRegisterX); break; // DEC $hhll,X
-	        case (byte) 0x5D: this.accumulator.logicXor(operand16, indexRegisterX); break; // EOR $hhll,X
-	        case (byte) 0xFE: this.memory.increment(operand16, indexRegisterX); break; // INC $hhll,X
-	        case (byte) 0xBD: this.accumulator.load(operand16, indexRegisterX); break; // LDA $hhll,X
-	        case (byte) 0xBC: this.indexRegisterY.load(operand16, indexRegisterX); break; // LDY $hhll,X
-	        case (byte) 0x5E: this.memory.logicalShiftRight(operand16, indexRegisterX); break; // LSR $hhll,X
-	        case (byte) 0x1D: this.accumulator.logicOr(operand16, indexRegisterX); break; // ORA $hhll,X
-	        case (byte) 0x3E: this.memory.rotateLeft(operand16, indexRegisterX); break; // ROL $hhll,X
-	        case (byte) 0x7E: this.memory.rotateRight(operand16, indexRegisterX); break; // ROR $hhll,X
-	        case (byte) 0xFD: this.accumulator.subtractWithCarry(operand16, indexRegisterX); break; // SBC $hhll,X
-	        case (byte) 0x9D: this.accumulator.store(operand16, indexRegisterX); break; // STA $hhll,X
-	        case (byte) 0x79: this.accumulator.addWithCarry(operand16, indexRegisterY); break; // ADC $hhll,Y
-	        case (byte) 0x39: this.accumulator.logicAnd(operand16, indexRegisterY); break; // AND $hhll,Y
-	        case (byte) 0xD9: this.accumulator.compare(operand16, indexRegisterY); break; // CMP $hhll,Y
-	        case (byte) 0x59: this.accumulator.logicXor(operand16, indexRegisterY); break; // EOR $hhll,Y
-	        case (byte) 0xB9: this.accumulator.load(operand16, indexRegisterY); break; // LDA $hhll,Y
-	        case (byte) 0xBE: this.indexRegisterX.load(operand16, indexRegisterY); break; // LDX $hhll,Y
-	        case (byte) 0x19: this.accumulator.logicOr(operand16, indexRegisterY); break; // ORA $hhll,Y
-	        case (byte) 0xF9: this.accumulator.subtractWithCarry(operand16, indexRegisterY); break; // SBC $hhll,Y
-	        case (byte) 0x99: this.accumulator.store(operand16, indexRegisterY); break; // STA $hhll,Y
-	        case (byte) 0x6C: this.programCounter.jump(this.memory.getLittleEndianAddress(operand16)); break; // JMP ($hhll)
-	        case (byte) 0xEA: break; // NOP
-	        case (byte) 0x00: throw new InterruptException(); // BRK	        
-	        default: 
-	        	throw new UnknownOpcodeException(new INT16(this.programCounter.getData().getValue() - 1), opcode);
+		return new RunResult(stopReason, instructionCount, this.cycleCounter.getValue() - startCycles, this.programCounter.getData().getUnsignedValue());
+	}
+	
+	/**
+	 * Liest den Befehl ein, auf den der Befehlszähler zeigt, und führt ihn aus.
+	 * Wird BRK ausgeführt, ist danach interrupted gesetzt. Die Taktzyklen des Befehls werden auf den Zähler addiert.
+	 * @throws UnknownOpcodeException Der eingelesene Opcode hat keinen Befehl hinterlegt
+	 */
+	private void execute() throws UnknownOpcodeException {
+		// Befehl und Operand werden nur beim ersten Mal aus dem Speicher gelesen (siehe DecodedInstructionCache)
+		int address = this.programCounter.getData().getUnsignedValue();
+		Instruction instruction = this.decodedInstructions.getInstruction(address);
+		int operand = this.decodedInstructions.getOperand(address);
+		
+		this.beginInstruction(address + instruction.getByteSize());
+		instruction.execute(operand);
+		this.endInstruction(instruction.getCycles(), instruction.hasPageCrossingPenalty());
+	}
+	
+	/**
+	 * Bereitet die Ausführung eines Befehls vor (auch aus übersetzten Blöcken, siehe BlockCompiler).
+	 * @param nextAddress Adresse nach dem Befehl, auf die der Befehlszähler gesetzt wird
+	 */
+	void beginInstruction(int nextAddress) {
+		this.programCounter.getData().setValue(nextAddress);
+		
+		this.interrupted = false;
+		this.pageCrossed = false;
+		this.branchCycles = 0;
+	}
+	
+	/**
+	 * Addiert die Taktzyklen eines ausgeführten Befehls auf den Zähler (auch aus übersetzten Blöcken, siehe BlockCompiler).
+	 * @param cycles Basiszyklen des Befehls
+	 * @param hasPageCrossingPenalty Wahrheitswert, ob ein Seitenwechsel einen Taktzyklus kostet
+	 */
+	void endInstruction(int cycles, boolean hasPageCrossingPenalty) {
+		// Basiszyklen und Zuschläge für Seitenwechsel und Sprünge
+		cycles += this.branchCycles;
+		if(this.pageCrossed && hasPageCrossingPenalty)
+			cycles++;
+		this.cycleCounter.add(cycles);
+	}
+	
+	/**
+	 * Addiert die Taktzyklen der direkt übersetzten Befehle eines Blocks auf den Zähler (siehe BlockCompiler).
+	 * @param cycles Taktzyklen inklusive Zuschlägen
+	 */
+	void addCycles(int cycles) {
+		this.cycleCounter.add(cycles);
+	}
+	
+	/**
+	 * Gibt zurück, ob im letzten Befehl BRK ausgeführt wurde.
+	 * @return Wahrheitswert, ob unterbrochen
+	 */
+	boolean isInterrupted() {
+		return this.interrupted;
+	}
+	
+	/**
+	 * Verwirft dekodierte Befehle und übersetzte Blöcke nach einem Schreibzugriff auf Code (siehe Memory.markCode).
+	 * @param address Erste veränderte Speicheradresse
+	 * @param length Anzahl der veränderten Speicherzellen
+	 */
+	private void invalidateCode(int address, int length) {
+		this.decodedInstructions.invalidate(address, length);
+		if(this.blockCompiler != null)
+			this.blockCompiler.invalidate(address, length);
+	}
+	
+	/**
+	 * Gibt die Art der Ausführung bei run() und runUntil() zurück.
+	 * @return Art der Ausführung
+	 */
+	public ExecutionEngine getExecutionEngine() {
+		return this.executionEngine;
+	}
+	
+	/**
+	 * Setzt die Art der Ausführung bei run() und runUntil(). executeNext() interpretiert immer.
+	 * @param executionEngine Art der Ausführung
+	 */
+	public void setExecutionEngine(ExecutionEngine executionEngine) {
+		this.executionEngine = executionEngine;
+		this.blockCompiler = executionEngine == ExecutionEngine.BLOCK_COMPILER ? new BlockCompiler(this, this.decodedInstructions) : null;
+	}
+	
+	/**
+	 * Baut die Befehlstabelle auf: Jeder der 256 Opcodes bekommt seine Ausführung.
+	 * Opcodes ohne Befehl werfen bei der Ausführung eine UnknownOpcodeException.
+	 */
+	private void createInstructions() {
+		for(int opcode = 0; opcode < 256; opcode++) {
+			INT8 unknownOpcode = new INT8(opcode);
+			this.instructions[opcode] = new Instruction(opcode, operand -> {
+				throw new UnknownOpcodeException(new INT16(this.programCounter.getData().getValue() - 1), unknownOpcode);
+			});
 		}
+		
+		this.define(0xAA, operand -> this.accumulator.transferTo(indexRegisterX)); // TAX
+		this.define(0xA8, operand -> this.accumulator.transferTo(indexRegisterY)); // TAY
+		this.define(0x8A, operand -> this.indexRegisterX.transferTo(accumulator)); // TXA
+		this.define(0x98, operand -> this.indexRegisterY.transferTo(accumulator)); // TYA
+		this.define(0xBA, operand -> this.stackPointer.transferTo(indexRegisterX)); // TSX
+		this.define(0x9A, operand -> this.indexRegisterX.transferTo(stackPointer)); // TXS
+		this.define(0xE8, operand -> this.indexRegisterX.increment()); // INX
+		this.define(0xC8, operand -> this.indexRegisterY.increment()); // INY
+		this.define(0xCA, operand -> this.indexRegisterX.decrement()); // DEX
+		this.define(0x88, operand -> this.indexRegisterY.decrement()); // DEY
+		this.define(0x0A, operand -> this.accumulator.arithmeticalShiftLeft()); // ASL
+		this.define(0x4A, operand -> this.accumulator.logicalShiftRight()); // LSR
+		this.define(0x2A, operand -> this.accumulator.rotateLeft()); // ROL
+		this.define(0x6A, operand -> this.accumulator.rotateRight()); // ROR
+		this.define(0x60, operand -> this.programCounter.returnFromSubroutine()); // RTS
+		this.define(0x38, operand -> this.statusRegister.setCarry(true)); // SEC
+		this.define(0x18, operand -> this.statusRegister.setCarry(false)); // CLC
+		this.define(0x78, operand -> this.statusRegister.setInterrupt(true)); // SEI
+		this.define(0x58, operand -> this.statusRegister.setInterrupt(false)); // CLI
+		this.define(0xB8, operand -> this.statusRegister.setOverflow(false)); // CLV
+		this.define(0xF8, operand -> this.statusRegister.setDecimal(true)); // SED
+		this.define(0xD8, operand -> this.statusRegister.setDecimal(false)); // CLD
+		this.define(0x48, operand -> this.stackPointer.push(accumulator)); // PHA
+		this.define(0x68, operand -> this.stackPointer.pull(accumulator)); // PLA
+		this.define(0x08, operand -> this.stackPointer.push(statusRegister)); // PHP
+		this.define(0x28, operand -> this.stackPointer.pull(statusRegister)); // PLP
+		this.define(0xA9, operand -> this.accumulator.loadI(operand)); // LDA #$nn
+		this.define(0xA2, operand -> this.indexRegisterX.loadI(operand)); // LDX #$nn
+		this.define(0xA0, operand -> this.indexRegisterY.loadI(operand)); // LDY #$nn
+		this.define(0x29, operand -> this.accumulator.logicAndI(operand)); // AND #$nn
+		this.define(0x09, operand -> this.accumulator.logicOrI(operand)); // ORA #$nn
+		this.define(0x49, operand -> this.accumulator.logicXorI(operand)); // EOR #$nn
+		this.define(0x69, operand -> this.accumulator.addWithCarryI(operand)); // ADC #$nn
+		this.define(0xE9, operand -> this.accumulator.subtractWithCarryI(operand)); // SBC #$nn
+		this.define(0xC9, operand -> this.accumulator.compareI(operand)); // CMP #$nn
+		this.define(0xE0, operand -> this.indexRegisterX.compareI(operand)); // CPX #$nn
+		this.define(0xC0, operand -> this.indexRegisterY.compareI(operand)); // CPY #$nn
+		this.define(0x90, operand -> this.countBranch(this.programCounter.branchOnCarryClear(operand), operand)); // BCC $nn
+		this.define(0xB0, operand -> this.countBranch(this.programCounter.branchOnCarrySet(operand), operand)); // BCS $nn
+		this.define(0xF0, operand -> this.countBranch(this.programCounter.branchOnEqual(operand), operand)); // BEQ $nn
+		this.define(0xD0, operand -> this.countBranch(this.programCounter.branchOnNotEqual(operand), operand)); // BNE $nn
+		this.define(0x10, operand -> this.countBranch(this.programCounter.branchOnPlus(operand), operand)); // BPL $nn
+		this.define(0x30, operand -> this.countBranch(this.programCounter.branchOnMinus(operand), operand)); // BMI $nn
+		this.define(0x50, operand -> this.countBranch(this.programCounter.branchOnOverflowClear(operand), operand)); // BVC $nn
+		this.define(0x70, operand -> this.countBranch(this.programCounter.branchOnOverflowSet(operand), operand)); // BVS $nn
+		this.define(0x65, operand -> this.accumulator.addWithCarry(operand)); // ADC $nn
+		this.define(0x25, operand -> this.accumulator.logicAnd(operand)); // AND $nn
+		this.define(0x06, operand -> this.memory.arithmeticalShiftLeft(operand)); // ASL $nn
+		this.define(0x24, operand -> this.accumulator.bitTest(operand)); // BIT $nn
+		this.define(0xC5, operand -> this.accumulator.compare(operand)); // CMP $nn
+		this.define(0xE4, operand -> this.indexRegisterX.compare(operand)); // CPX $nn
+		this.define(0xC4, operand -> this.indexRegisterY.compare(operand)); // CPY $nn
+		this.define(0xC6, operand -> this.memory.decrement(operand)); // DEC $nn
+		this.define(0x45, operand -> this.accumulator.logicXor(operand)); // EOR $nn
+		this.define(0xE6, operand -> this.memory.increment(operand)); // INC $nn
+		this.define(0xA5, operand -> this.accumulator.load(operand)); // LDA $nn
+		this.define(0xA6, operand -> this.indexRegisterX.load(operand)); // LDX $nn
+		this.define(0xA4, operand -> this.indexRegisterY.load(operand)); // LDY $nn
+		this.define(0x46, operand -> this.memory.logicalShiftRight(operand)); // LSR $nn
+		this.define(0x05, operand -> this.accumulator.logicOr(operand)); // ORA $nn
+		this.define(0x26, operand -> this.memory.rotateLeft(operand)); // ROL $nn
+		this.define(0x66, operand -> this.memory.rotateRight(operand)); // ROR $nn
+		this.define(0xE5, operand -> this.accumulator.subtractWithCarry(operand)); // SBC $nn
+		this.define(0x85, operand -> this.accumulator.store(operand)); // STA $nn
+		this.define(0x86, operand -> this.indexRegisterX.store(operand)); // STX $nn
+		this.define(0x84, operand -> this.indexRegisterY.store(operand)); // STY $nn
+		this.define(0x75, operand -> this.accumulator.addWithCarry(this.zeroPageX(operand))); // ADC $nn,X
+		this.define(0x35, operand -> this.accumulator.logicAnd(this.zeroPageX(operand))); // AND $nn,X
+		this.define(0x16, operand -> this.memory.arithmeticalShiftLeft(this.zeroPageX(operand))); // ASL $nn,X
+		this.define(0xD5, operand -> this.accumulator.compare(this.zeroPageX(operand))); // CMP $nn,X
+		this.define(0xD6, operand -> this.memory.decrement(this.zeroPageX(operand))); // DEC $nn,X
+		this.define(0x55, operand -> this.accumulator.logicXor(this.zeroPageX(operand))); // EOR $nn,X
+		this.define(0xF6, operand -> this.memory.increment(this.zeroPageX(operand))); // INC $nn,X
+		this.define(0xB5, operand -> this.accumulator.load(this.zeroPageX(operand))); // LDA $nn,X
+		this.define(0xB6, operand -> this.indexRegisterX.load(this.zeroPageY(operand))); // LDX $nn,Y
+		this.define(0xB4, operand -> this.indexRegisterY.load(this.zeroPageX(operand))); // LDY $nn,X
+		this.define(0x56, operand -> this.memory.logicalShiftRight(this.zeroPageX(operand))); // LSR $nn,X
+		this.define(0x15, operand -> this.accumulator.logicOr(this.zeroPageX(operand))); // ORA $nn,X
+		this.define(0x36, operand -> this.memory.rotateLeft(this.zeroPageX(operand))); // ROL $nn,X
+		this.define(0x76, operand -> this.memory.rotateRight(this.zeroPageX(operand))); // ROR $nn,X
+		this.define(0xF5, operand -> this.accumulator.subtractWithCarry(this.zeroPageX(operand))); // SBC $nn,X
+		this.define(0x95, operand -> this.accumulator.store(this.zeroPageX(operand))); // STA $nn,X
+		this.define(0x96, operand -> this.indexRegisterX.store(this.zeroPageY(operand))); // STX $nn,Y
+		this.define(0x94, operand -> this.indexRegisterY.store(this.zeroPageX(operand))); // STY $nn,X
+		this.define(0xA1, operand -> this.accumulator.load(this.indexedIndirect(operand))); // LDA ($nn,X)
+		this.define(0xB1, operand -> this.accumulator.load(this.indirectIndexed(operand))); // LDA ($nn),Y
+		this.define(0x81, operand -> this.accumulator.store(this.indexedIndirect(operand))); // STA ($nn,X)
+		this.define(0x91, operand -> this.accumulator.store(this.indirectIndexed(operand))); // STA ($nn),Y
+		this.define(0x21, operand -> this.accumulator.logicAnd(this.indexedIndirect(operand))); // AND ($nn,X)
+		this.define(0x31, operand -> this.accumulator.logicAnd(this.indirectIndexed(operand))); // AND ($nn),Y
+		this.define(0x01, operand -> this.accumulator.logicOr(this.indexedIndirect(operand))); // ORA ($nn,X)
+		this.define(0x11, operand -> this.accumulator.logicOr(this.indirectIndexed(operand))); // ORA ($nn),Y
+		this.define(0x41, operand -> this.accumulator.logicXor(this.indexedIndirect(operand))); // EOR ($nn,X)
+		this.define(0x51, operand -> this.accumulator.logicXor(this.indirectIndexed(operand))); // EOR ($nn),Y
+		this.define(0x61, operand -> this.accumulator.addWithCarry(this.indexedIndirect(operand))); // ADC ($nn,X)
+		this.define(0x71, operand -> this.accumulator.addWithCarry(this.indirectIndexed(operand))); // ADC ($nn),Y
+		this.define(0xE1, operand -> this.accumulator.subtractWithCarry(this.indexedIndirect(operand))); // SBC ($nn,X)
+		this.define(0xF1, operand -> this.accumulator.subtractWithCarry(this.indirectIndexed(operand))); // SBC ($nn),Y
+		this.define(0xC1, operand -> this.accumulator.compare(this.indexedIndirect(operand))); // CMP ($nn,X)
+		this.define(0xD1, operand -> this.accumulator.compare(this.indirectIndexed(operand))); // CMP ($nn),Y
+		this.define(0x6D, operand -> this.accumulator.addWithCarry(operand)); // ADC $hhll
+		this.define(0x2D, operand -> this.accumulator.logicAnd(operand)); // AND $hhll
+		this.define(0x0E, operand -> this.memory.arithmeticalShiftLeft(operand)); // ASL $hhll
+		this.define(0x2C, operand -> this.accumulator.bitTest(operand)); // BIT $hhll
+		this.define(0xCD, operand -> this.accumulator.compare(operand)); // CMP $hhll
+		this.define(0xEC, operand -> this.indexRegisterX.compare(operand)); // CPX $hhll
+		this.define(0xCC, operand -> this.indexRegisterY.compare(operand)); // CPY $hhll
+		this.define(0xCE, operand -> this.memory.decrement(operand)); // DEC $hhll
+		this.define(0x4D, operand -> this.accumulator.logicXor(operand)); // EOR $hhll
+		this.define(0xEE, operand -> this.memory.increment(operand)); // INC $hhll
+		this.define(0x4C, operand -> this.programCounter.jump(operand)); // JMP $hhll
+		this.define(0x20, operand -> this.programCounter.jumpToSubroutine(operand)); // JSR $hhll
+		this.define(0xAD, operand -> this.accumulator.load(operand)); // LDA $hhll
+		this.define(0xAE, operand -> this.indexRegisterX.load(operand)); // LDX $hhll
+		this.define(0xAC, operand -> this.indexRegisterY.load(operand)); // LDY $hhll
+		this.define(0x4E, operand -> this.memory.logicalShiftRight(operand)); // LSR $hhll
+		this.define(0x0D, operand -> this.accumulator.logicOr(operand)); // ORA $hhll
+		this.define(0x2E, operand -> this.memory.rotateLeft(operand)); // ROL $hhll
+		this.define(0x6E, operand -> this.memory.rotateRight(operand)); // ROR $hhll
+		this.define(0xED, operand -> this.accumulator.subtractWithCarry(operand)); // SBC $hhll
+		this.define(0x8D, operand -> this.accumulator.store(operand)); // STA $hhll
+		this.define(0x8E, operand -> this.indexRegisterX.store(operand)); // STX $hhll
+		this.define(0x8C, operand -> this.indexRegisterY.store(operand)); // STY $hhll
+		this.define(0x7D, operand -> this.accumulator.addWithCarry(this.absoluteX(operand))); // ADC $hhll,X
+		this.define(0x3D, operand -> this.accumulator.logicAnd(this.absoluteX(operand))); // AND $hhll,X
+		this.define(0x1E, operand -> this.memory.arithmeticalShiftLeft(this.absoluteX(operand))); // ASL $hhll,X
+		this.define(0xDD, operand -> this.accumulator.compare(this.absoluteX(operand))); // CMP $hhll,X
+		this.define(0xDE, operand -> this.memory.decrement(this.absoluteX(operand))); // DEC $hhll,X
+		this.define(0x5D, operand -> this.accumulator.logicXor(this.absoluteX(operand))); // EOR $hhll,X
+		this.define(0xFE, operand -> this.memory.increment(this.absoluteX(operand))); // INC $hhll,X
+		this.define(0xBD, operand -> this.accumulator.load(this.absoluteX(operand))); // LDA $hhll,X
+		this.define(0xBC, operand -> this.indexRegisterY.load(this.absoluteX(operand))); // LDY $hhll,X
+		this.define(0x5E, operand -> this.memory.logicalShiftRight(this.absoluteX(operand))); // LSR $hhll,X
+		this.define(0x1D, operand -> this.accumulator.logicOr(this.absoluteX(operand))); // ORA $hhll,X
+		this.define(0x3E, operand -> this.memory.rotateLeft(this.absoluteX(operand))); // ROL $hhll,X
+		this.define(0x7E, operand -> this.memory.rotateRight(this.absoluteX(operand))); // ROR $hhll,X
+		this.define(0xFD, operand -> this.accumulator.subtractWithCarry(this.absoluteX(operand))); // SBC $hhll,X
+		this.define(0x9D, operand -> this.accumulator.store(this.absoluteX(operand))); // STA $hhll,X
+		this.define(0x79, operand -> this.accumulator.addWithCarry(this.absoluteY(operand))); // ADC $hhll,Y
+		this.define(0x39, operand -> this.accumulator.logicAnd(this.absoluteY(operand))); // AND $hhll,Y
+		this.define(0xD9, operand -> this.accumulator.compare(this.absoluteY(operand))); // CMP $hhll,Y
+		this.define(0x59, operand -> this.accumulator.logicXor(this.absoluteY(operand))); // EOR $hhll,Y
+		this.define(0xB9, operand -> this.accumulator.load(this.absoluteY(operand))); // LDA $hhll,Y
+		this.define(0xBE, operand -> this.indexRegisterX.load(this.absoluteY(operand))); // LDX $hhll,Y
+		this.define(0x19, operand -> this.accumulator.logicOr(this.absoluteY(operand))); // ORA $hhll,Y
+		this.define(0xF9, operand -> this.accumulator.subtractWithCarry(this.absoluteY(operand))); // SBC $hhll,Y
+		this.define(0x99, operand -> this.accumulator.store(this.absoluteY(operand))); // STA $hhll,Y
+		this.define(0x6C, operand -> this.programCounter.jump(this.memory.readWord(operand))); // JMP ($hhll)
+		this.define(0xEA, operand -> {}); // NOP
+		this.define(0x00, operand -> this.interrupted = true); // BRK
+	}
+	
+	/**
+	 * Trägt die Ausführung eines Befehls in die Befehlstabelle ein.
+	 * @param opcode Opcode
+	 * @param handler Ausführung des Befehls
+	 */
+	private void define(int opcode, InstructionHandler handler) {
+		this.instructions[opcode] = new Instruction(opcode, handler);
+	}
+	
+	/**
+	 * Berechnet die Adresse bei Zero Page Adressierung mit Index Register X ($nn,X).
+	 * @param zeroPageAddress Zero Page Speicheradresse
+	 * @return Speicheradresse (bleibt in der Zero Page)
+	 */
+	private int zeroPageX(int zeroPageAddress) {
+		return (zeroPageAddress + this.indexRegisterX.getData().getUnsignedValue()) & 0xFF;
+	}
+	
+	/**
+	 * Berechnet die Adresse bei Zero Page Adressierung mit Index Register Y ($nn,Y).
+	 * @param zeroPageAddress Zero Page Speicheradresse
+	 * @return Speicheradresse (bleibt in der Zero Page)
+	 */
+	private int zeroPageY(int zeroPageAddress) {
+		return (zeroPageAddress + this.indexRegisterY.getData().getUnsignedValue()) & 0xFF;
+	}
+	
+	/**
+	 * Berechnet die Adresse bei absoluter Adressierung mit Index Register X ($hhll,X).
+	 * @param address Speicheradresse
+	 * @return Speicheradresse
+	 */
+	private int absoluteX(int address) {
+		return this.indexed(address, this.indexRegisterX.getData().getUnsignedValue());
+	}
+	
+	/**
+	 * Berechnet die Adresse bei absoluter Adressierung mit Index Register Y ($hhll,Y).
+	 * @param address Speicheradresse
+	 * @return Speicheradresse
+	 */
+	private int absoluteY(int address) {
+		return this.indexed(address, this.indexRegisterY.getData().getUnsignedValue());
+	}
+	
+	/**
+	 * Addiert einen Index auf eine Adresse und merkt sich, ob dabei die Page gewechselt wurde.
+	 * @param address Speicheradresse
+	 * @param index Wert des Index Registers
+	 * @return Speicheradresse
+	 */
+	private int indexed(int address, int index) {
+		int indexedAddress = (address + index) & 0xFFFF;
+		this.pageCrossed = (address & 0xFF00) != (indexedAddress & 0xFF00);
+		
+		return indexedAddress;
+	}
+	
+	/**
+	 * Zählt die zusätzlichen Taktzyklen eines Sprungbefehls: 1 falls gesprungen wird, 1 weiterer falls das Sprungziel auf einer anderen Page liegt.
+	 * @param isTaken Wahrheitswert, ob gesprungen wurde
+	 * @param offset Offset im Zwei Komplement (8 Bit)
+	 */
+	private void countBranch(boolean isTaken, int offset) {
+		if(!isTaken)
+			return;
+		
+		int targetAddress = this.programCounter.getData().getUnsignedValue();
+		int nextAddress = (targetAddress - (byte) offset) & 0xFFFF;
+		this.branchCycles = ((nextAddress & 0xFF00) == (targetAddress & 0xFF00)) ? 1 : 2;
+	}
+	
+	/**
+	 * Berechnet die Adresse bei indirekter Adressierung mit Index Register X (($nn,X)).
+	 * @param zeroPageAddress Zero Page Speicheradresse
+	 * @return Speicheradresse, die an der Zero Page Adresse + X steht
+	 */
+	private int indexedIndirect(int zeroPageAddress) {
+		return this.memory.readWord(this.zeroPageX(zeroPageAddress));
+	}
+	
+	/**
+	 * Berechnet die Adresse bei indirekter Adressierung mit Index Register Y (($nn),Y).
+	 * @param zeroPageAddress Zero Page Speicheradresse
+	 * @return Speicheradresse, die an der Zero Page Adresse steht, + Y
+	 */
+	private int indirectIndexed(int zeroPageAddress) {
+		return this.absoluteY(this.memory.readWord(zeroPageAddress));
 	}
 	
 	/**
 	 * Setzt alle Register und den Speicher auf das, was sie vor dem letzten executeNext() beinhalteten.
+	 * @throws EmptyStackException Es wurde seit dem letzten Zurücksetzen kein Befehl ausgeführt
 	 */
-	public void undo() {
-		// Hier werden die alten Registerdaten vom Stack geholt
-		RegisterData registerData = registerDataStack.pop();
-
-		this.statusRegister.setData(registerData.getStatusRegisterData());
-		this.programCounter.setData(registerData.getProgramCounterData());
-		this.memory.setData(registerData.getMemoryData());
-		this.accumulator.setData(registerData.getAccumulatorData());
-		this.indexRegisterX.setData(registerData.getIndexRegisterXData());
-		this.indexRegisterY.setData(registerData.getIndexRegisterYData());
-		this.stackPointer.setData(registerData.getStackPointerData());
+	public void undo() throws EmptyStackException {
+		// Registerwerte und überschriebene Speicherzellen aus dem Protokoll zurückschreiben
+		this.undoJournal.undo();
 	}
 	
 	// Getter/Setter für UI
 	
+	/**
+	 * Gibt den Cache für assemblierte Abbilder zurück.
+	 * @return Cache oder null, falls immer assembliert wird
+	 */
+	public AssemblyCache getAssemblyCache() {
+		return this.assemblyCache;
+	}
+
+	/**
+	 * Setzt den Cache für assemblierte Abbilder.
+	 * @param assemblyCache Cache oder null, um immer zu assemblieren
+	 */
+	public void setAssemblyCache(AssemblyCache assemblyCache) {
+		this.assemblyCache = assemblyCache;
+	}
+
 	/**
 	 * Gibt die Startadresse zurück (Wo der Assembler den Bytecode ablegt und der Befehlszähler startet).
 	 * @return Startadresse
@@ -288,11 +594,35 @@ public class Processor {
 	}
 	
 	/**
-	 * Gibt die Startadresse zurück (Wo der Assembler den Bytecode ablegt und der Befehlszähler startet).
-	 * @return Startadresse
+	 * Gibt den Eintrag der Befehlstabelle zu einem Opcode zurück.
+	 * @param opcode Opcode (0 bis 255)
+	 * @return Eintrag der Befehlstabelle
+	 */
+	public Instruction getInstruction(int opcode) {
+		return this.instructions[opcode & 0xFF];
+	}
+	
+	/**
+	 * Gibt die Anzahl der Taktzyklen zurück, die seit dem letzten Zurücksetzen verbraucht wurden.
+	 * @return Anzahl der Taktzyklen
+	 */
+	public long getCycles() {
+		return this.cycleCounter.getValue();
+	}
+	
+	/**
+	 * Setzt den Taktzyklenzähler auf 0.
+	 */
+	public void resetCycles() {
+		this.cycleCounter.reset();
+	}
+	
+	/**
+	 * Gibt das Protokoll der ausgeführten Befehle zurück, mit dem undo() die Register und den Speicher zurücksetzt.
+	 * @return Protokoll
 	 */
-	public Stack<RegisterData> getRegisterDataStack() {
-		return this.registerDataStack;
+	public UndoJournal getUndoJournal() {
+		return this.undoJournal;
 	}
 	
 	/**
@@ -304,11 +634,11 @@ public class Processor {
 	}
 
 	/**
-	 * Gibt den Inhalt des Speichers zurück.
-	 * @return 8 Bit Zahlen Array
+	 * Gibt den Speicher zurück.
+	 * @return Speicher
 	 */
-	public INT8[] getMemoryData() {
-		return this.memory.getData();
+	public Memory getMemory() {
+		return this.memory;
 	}
 
 	/**
@@ -0,0 +1,58 @@
+package de.umwelt_campus.javawp.processor;
+
+/**
+ * Ergebnis eines Laufs des Prozessors (run() oder runUntil()).
+ * @author Mathis Ströhlein
+ */
+public final class RunResult {
+	private final StopReason stopReason;
+	private final long instructionCount;
+	private final long cycles;
+	private final int programCounter;
+
+	/**
+	 * Erstellt ein Ergebnis.
+	 * @param stopReason Grund für das Ende des Laufs
+	 * @param instructionCount Anzahl der ausgeführten Befehle
+	 * @param cycles Anzahl der verbrauchten Taktzyklen
+	 * @param programCounter Befehlszähler am Ende des Laufs
+	 */
+	public RunResult(StopReason stopReason, long instructionCount, long cycles, int programCounter) {
+		this.stopReason = stopReason;
+		this.instructionCount = instructionCount;
+		this.cycles = cycles;
+		this.programCounter = programCounter;
+	}
+
+	/**
+	 * Gibt den Grund für das Ende des Laufs zurück.
+	 * @return Grund für das Ende des Laufs
+	 */
+	public StopReason getStopReason() {
+		return this.stopReason;
+	}
+
+	/**
+	 * Gibt die Anzahl der ausgeführten Befehle zurück (inklusive BRK).
+	 * @return Anzahl der ausgeführten Befehle
+	 */
+	public long getInstructionCount() {
+		return this.instructionCount;
+	}
+
+	/**
+	 * Gibt die Anzahl der im Lauf verbrauchten Taktzyklen zurück.
+	 * @return Anzahl der Taktzyklen
+	 */
+	public long getCycles() {
+		return this.cycles;
+	}
+
+	/**
+	 * Gibt den Befehlszähler am Ende des Laufs zurück.
+	 * @return Befehlszähler (vorzeichenfrei, 0 bis 65535)
+	 */
+	public int getProgramCounter() {
+		return this.programCounter;
+	}
+}
@@ -0,0 +1,54 @@
+package de.umwelt_campus.javawp.processor;
+
+/**
+ * Abbruchbedingung für runUntil(). Wird vor jedem Befehl geprüft, außer in übersetzten Blöcken (siehe getCycleLimit).
+ * @author Mathis Ströhlein
+ */
+@FunctionalInterface
+public interface StopCondition {
+
+	/**
+	 * Prüft, ob der Lauf vor dem nächsten Befehl beendet werden soll.
+	 * @param processor Prozessor
+	 * @return Wahrheitswert, ob der Lauf beendet wird
+	 */
+	boolean isReached(Processor processor);
+
+	/**
+	 * Gibt die Anzahl an Taktzyklen zurück, ab der die Bedingung erfüllt ist, falls sie nur vom Taktzyklenzähler abhängt.
+	 * Dann führt ExecutionEngine.BLOCK_COMPILER übersetzte Blöcke aus, die die Grenze nicht erreichen können.
+	 * @return Anzahl der Taktzyklen oder -1, falls die Bedingung vor jedem Befehl geprüft werden muss
+	 */
+	default long getCycleLimit() {
+		return -1;
+	}
+
+	/**
+	 * Erstellt eine Abbruchbedingung, die erfüllt ist, sobald der Befehlszähler auf die angegebene Adresse zeigt.
+	 * @param address Speicheradresse
+	 * @return Abbruchbedingung
+	 */
+	static StopCondition atAddress(int address) {
+		int stopAddress = address & 0xFFFF;
+		return processor -> processor.getProgramCounterData().getUnsignedValue() == stopAddress;
+	}
+
+	/**
+	 * Erstellt eine Abbruchbedingung, die erfüllt ist, sobald der Taktzyklenzähler die angegebene Anzahl erreicht hat.
+	 * @param cycles Anzahl der Taktzyklen
+	 * @return Abbruchbedingung
+	 */
+	static StopCondition cycleLimit(long cycles) {
+		return new StopCondition() {
+			@Override
+			public boolean isReached(Processor processor) {
+				return processor.getCycles() >= cycles;
+			}
+
+			@Override
+			public long getCycleLimit() {
+				return cycles;
+			}
+		};
+	}
+}
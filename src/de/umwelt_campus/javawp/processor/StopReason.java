@@ -0,0 +1,12 @@
+package de.umwelt_campus.javawp.processor;
+
+/**
+ * Grund, aus dem ein Lauf des Prozessors (run() oder runUntil()) beendet wurde.
+ * @author Mathis Ströhlein
+ */
+public enum StopReason {
+	INSTRUCTION_LIMIT, // Maximale Anzahl an Befehlen ausgeführt
+	STOP_CONDITION, // Abbruchbedingung erfüllt
+	BREAK, // BRK ausgeführt
+	UNKNOWN_OPCODE // Opcode ohne Befehl gelesen
+}
@@ -0,0 +1,39 @@
+package de.umwelt_campus.javawp.processor.components;
+
+/**
+ * Adressierungsarten der Befehle und die daraus folgende Befehlsgröße.
+ * @author Mathis Ströhlein
+ */
+public enum AddressingMode {
+	IMPLIED(1), // BRK
+	ACCUMULATOR(1), // ASL A
+	IMMEDIATE(2), // LDA #$nn
+	RELATIVE(2), // BEQ $nn
+	ZERO_PAGE(2), // LDA $nn
+	ZERO_PAGE_X(2), // LDA $nn,X
+	ZERO_PAGE_Y(2), // LDX $nn,Y
+	INDEXED_INDIRECT(2), // LDA ($nn,X)
+	INDIRECT_INDEXED(2), // LDA ($nn),Y
+	ABSOLUTE(3), // LDA $hhll
+	ABSOLUTE_X(3), // LDA $hhll,X
+	ABSOLUTE_Y(3), // LDA $hhll,Y
+	INDIRECT(3); // JMP ($hhll)
+
+	private final int byteSize;
+
+	/**
+	 * Erstellt eine Adressierungsart.
+	 * @param byteSize Befehlsgröße in Bytes (Opcode und Operand)
+	 */
+	private AddressingMode(int byteSize) {
+		this.byteSize = byteSize;
+	}
+
+	/**
+	 * Gibt die Befehlsgröße in Bytes zurück (Opcode und Operand).
+	 * @return Befehlsgröße in Bytes
+	 */
+	public int getByteSize() {
+		return this.byteSize;
+	}
+}
@@ -0,0 +1,141 @@
+package de.umwelt_campus.javawp.processor.components;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Ergebnis des Assemblers: Bytecode ab einer Startadresse, die Adressen der Labels und zu jeder Adresse die Zeile im Befehlscode.
+ * Das Abbild ist unveränderlich und kann beliebig oft (auch in verschiedene Prozessoren) geladen werden.
+ * @author Mathis Ströhlein
+ */
+public final class AssembledImage {
+	private final int origin;
+	private final byte[] bytes;
+	private final int[] lineNumbers; // Zeile des Befehls für jedes Byte (beginnend mit 1)
+	private final Map<String, Integer> symbols;
+	private final SourceMap sourceMap;
+
+	/**
+	 * Erstellt ein Abbild. Die Arrays werden übernommen und dürfen danach nicht mehr verändert werden.
+	 * @param origin Startadresse
+	 * @param bytes Bytecode
+	 * @param lineNumbers Zeile des Befehls für jedes Byte (gleiche Länge wie bytes)
+	 * @param symbols Labels und deren Adressen
+	 */
+	AssembledImage(int origin, byte[] bytes, int[] lineNumbers, Map<String, Integer> symbols) {
+		this.origin = origin & 0xFFFF;
+		this.bytes = bytes;
+		this.lineNumbers = lineNumbers;
+		this.symbols = Collections.unmodifiableMap(new LinkedHashMap<String, Integer>(symbols));
+		this.sourceMap = new SourceMap(this.origin, lineNumbers);
+	}
+
+	/**
+	 * Kopiert den Bytecode mit einem Kopiervorgang an die Startadresse in den Speicher.
+	 * @param memory Speicher
+	 */
+	public void load(Memory memory) {
+		memory.load(this.origin, this.bytes);
+	}
+
+	/**
+	 * Gibt die Startadresse zurück.
+	 * @return Startadresse
+	 */
+	public int getOrigin() {
+		return this.origin;
+	}
+
+	/**
+	 * Gibt die Größe des Bytecodes zurück.
+	 * @return Anzahl der Bytes
+	 */
+	public int getLength() {
+		return this.bytes.length;
+	}
+
+	/**
+	 * Gibt eine Kopie des Bytecodes zurück.
+	 * @return Bytecode
+	 */
+	public byte[] getBytes() {
+		return Arrays.copyOf(this.bytes, this.bytes.length);
+	}
+
+	/**
+	 * Gibt die Labels und deren Adressen zurück.
+	 * @return Nicht veränderbare Map (in der Reihenfolge der Definition)
+	 */
+	public Map<String, Integer> getSymbols() {
+		return this.symbols;
+	}
+
+	/**
+	 * Gibt die Zeile im Befehlscode zurück, aus der das Byte an der Adresse stammt.
+	 * @param address Speicheradresse
+	 * @return Zeilennummer (beginnend mit 1) oder 0, falls die Adresse nicht zum Abbild gehört
+	 */
+	public int getLineNumber(int address) {
+		return this.sourceMap.getLine(address);
+	}
+
+	/**
+	 * Gibt die Zuordnung zwischen Adressen und Zeilen in beide Richtungen zurück.
+	 * @return Zuordnung
+	 */
+	public SourceMap getSourceMap() {
+		return this.sourceMap;
+	}
+
+	/**
+	 * Schreibt das Abbild in einen Stream (z.B. für den Cache auf der Festplatte).
+	 * @param out Ziel
+	 * @throws IOException Fehler beim Schreiben
+	 */
+	void writeTo(DataOutputStream out) throws IOException {
+		out.writeInt(this.origin);
+		out.writeInt(this.bytes.length);
+		out.write(this.bytes);
+		for(int lineNumber : this.lineNumbers)
+			out.writeInt(lineNumber);
+		out.writeInt(this.symbols.size());
+		for(Map.Entry<String, Integer> symbol : this.symbols.entrySet()) {
+			out.writeUTF(symbol.getKey());
+			out.writeInt(symbol.getValue());
+		}
+	}
+
+	/**
+	 * Liest ein mit writeTo geschriebenes Abbild.
+	 * @param in Quelle
+	 * @return Abbild
+	 * @throws IOException Fehler beim Lesen oder ungültige Daten
+	 */
+	static AssembledImage readFrom(DataInputStream in) throws IOException {
+		int origin = in.readInt();
+		int length = in.readInt();
+		if(length < 0 || length > 65536)
+			throw new IOException("Ungültige Länge " + length);
+
+		byte[] bytes = new byte[length];
+		in.readFully(bytes);
+		int[] lineNumbers = new int[length];
+		for(int i = 0; i < length; i++) {
+			lineNumbers[i] = in.readInt();
+			if(lineNumbers[i] < 1 || (i > 0 && lineNumbers[i] < lineNumbers[i - 1]))
+				throw new IOException("Ungültige Zeilennummer " + lineNumbers[i]);
+		}
+
+		int symbolCount = in.readInt();
+		LinkedHashMap<String, Integer> symbols = new LinkedHashMap<String, Integer>();
+		for(int i = 0; i < symbolCount; i++)
+			symbols.put(in.readUTF(), in.readInt());
+
+		return new AssembledImage(origin, bytes, lineNumbers, symbols);
+	}
+}
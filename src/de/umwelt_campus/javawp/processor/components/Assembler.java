@@ -1,6 +1,17 @@
 package de.umwelt_campus.javawp.processor.components;
 
-import java.util.HashMap;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.function.Consumer;
 
 import de.umwelt_campus.javawp.exceptions.InvalidLabelNameException;
 import de.umwelt_campus.javawp.exceptions.InvalidOperandException;
@@ -15,6 +26,8 @@ import de.umwelt_campus.javawp.integers.INT8;
  * @author Mathis Ströhlein
  */
 public class Assembler {
+	private static final AddressingMode[] addressingModes = AddressingMode.values();
+	
 	private INT16 startAddress;
 	private Memory memory;
 
@@ -28,6 +41,14 @@ public class Assembler {
 		this.memory = memory;
 	}
 	
+	/**
+	 * Erstellt einen Assembler ohne Speicher, der nur Abbilder erzeugt (siehe assembleImage).
+	 * @param startAddress Startadresse
+	 */
+	public Assembler(INT16 startAddress) {
+		this(null, startAddress);
+	}
+	
 	/**
 	 * Konviertiert den eingegebenen Befehlscode in Bytecode. Berechnet Werte für Labels.
 	 * @param mnemonicsString Der eingegebene Befehlscode
@@ -37,927 +58,413 @@ public class Assembler {
 	 * @throws InvalidLabelNameException Ein Label darf keinen Doppelpunkt beinhalten
 	 */
 	public int assemble(String mnemonicsString) throws UnknownOperatorException, InvalidOperandException, InvalidLabelNameException {
-		String[] mnemonics = mnemonicsString.split("\n");
-
-		int memoryAddress = this.startAddress.getUnsignedValue();
-		HashMap<String, INT16> labels = new HashMap<String, INT16>();
-		
-		String[] operators = new String[mnemonics.length];
-		String[] operands = new String[mnemonics.length];
-		INT8[] opcodes = new INT8[mnemonics.length];
-		
-		this.filterMnemonics(mnemonics, operators, operands, opcodes, labels);
-		
-		String operator;
-		String operand;
-		INT8 opcode;
-		for (int i = 0; i < mnemonics.length; i++) {
-			operator = operators[i];
-			operand = operands[i];
-			opcode = opcodes[i];
-			
-			if (operator == null) // Leere Zeilen werden übersprungen
-				continue;
-			
-			this.memory.cellValueOf(new INT16(memoryAddress++), opcode);
-			
-			// Nicht relevante Zeichen (an richtiger Position) entfernen
-			// Bei falschen oder Zeichen an falschen Postionen, wirft "new INT" eine Exception
-			operand = cleanOperand(opcode, operand);
-			
-			switch(getCommandByteSize(opcode)) {
-				case 1:
-					if(!operand.isEmpty())
-						throw new InvalidOperandException(i + 1, mnemonics[i], operands[i]);
-					break;
-				case 2:
-					// Operand in 1 8-bit speichern
-					INT8 value8 = null;
-					try {
-						value8 = new INT8(operand);
-					} catch(NumberFormatException e) {
-						
-						// Labels einsetzen probieren
-						switch((byte) opcode.getValue()) {
-							case (byte) 0x90: // BCC $nn
-							case (byte) 0xB0: // BCS $nn
-							case (byte) 0xF0: // BEQ $nn
-							case (byte) 0xD0: // BNE $nn
-							case (byte) 0x10: // BPL $nn
-							case (byte) 0x30: // BMI $nn
-							case (byte) 0x50: // BVC $nn
-							case (byte) 0x70: // BVS $nn
-								INT16 labelAddress = labels.get(operand);
-								if(labelAddress != null) {
-									value8 = new INT8(labelAddress.getUnsignedValue() - (memoryAddress + 1));
-									break;
-								}
-							default:
-								if(operand.isEmpty())
-									throw new InvalidOperandException(i + 1, mnemonics[i]);		
-								else
-									throw new InvalidOperandException(i + 1, mnemonics[i], operands[i]);
-						}
-					}
-					
-					this.memory.cellValueOf(new INT16(memoryAddress++), value8);
-					break;
-				case 3:
-					// Operand in 2 8-bit (Lowbyte und Highbyte) speichern
-					INT16 value16 = null;
-					try {
-						value16 = new INT16(operand);
-					} catch(NumberFormatException e) {
-						
-						// Nach Labels suchen und gegebenfalls einsetzen
-						switch((byte) opcode.getValue()) {
-							case (byte) 0x4C: // JMP $hhll
-							case (byte) 0x20: // JSR $hhll
-								INT16 labelAddress = labels.get(operand);
-								if(labelAddress != null) {
-									value16 = labelAddress;
-									break;
-								}
-							default:
-								if(operand.isEmpty())
-									throw new InvalidOperandException(i + 1, mnemonics[i]);		
-								else
-									throw new InvalidOperandException(i + 1, mnemonics[i], operands[i]);								
-						}
-					}
-					
-					this.memory.cellValueOf(new INT16(memoryAddress++), value16.getLowByte()); // Low Byte
-					this.memory.cellValueOf(new INT16(memoryAddress++), value16.getHighByte()); // High Byte
-			}
+		try {
+			return this.assemble(new StringReader(mnemonicsString));
+		} catch(IOException e) {
+			// Kann bei einem StringReader nicht auftreten
+			throw new UncheckedIOException(e);
 		}
-		
-		// Anzahl der assemblierten Bytes zurückgeben
-		return memoryAddress - this.startAddress.getUnsignedValue();
 	}
 	
 	/**
-	 * Spaltet die Befehlscodezeilen in einzelne Arrays für Operator, Operand und zugehöriger Opcode und speichert die Labels in einer HashMap. Entfernt außerdem Kommentare.
-	 * @param mnemonics Befehlscodezeilen
-	 * @param operators Operatorarray
-	 * @param operands Operandenarray
-	 * @param opcodes Opcodearray
-	 * @param labels Label HashMap
+	 * Konviertiert den Befehlscode einer Datei in Bytecode, ohne die Datei komplett einzulesen.
+	 * @param path Pfad der Datei (UTF-8)
+	 * @return Die Anzahl der konvertierten Bytes (Größe des resultierenden Bytecodes)
+	 * @throws IOException Die Datei konnte nicht gelesen werden
+	 * @throws UnknownOperatorException Der Operator wurde nicht erkannt
+	 * @throws InvalidOperandException Der Operand passt nicht
+	 * @throws InvalidLabelNameException Ein Label darf keinen Doppelpunkt beinhalten
+	 */
+	public int assemble(Path path) throws IOException, UnknownOperatorException, InvalidOperandException, InvalidLabelNameException {
+		try(BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+			return this.assemble(reader);
+		}
+	}
+	
+	/**
+	 * Konviertiert den Befehlscode zeilenweise in Bytecode und lädt ihn an die Startadresse in den Speicher.
+	 * Bei einem Fehler wird der bis dahin konvertierte Teil trotzdem geladen.
+	 * @param reader Quelle des Befehlscodes
+	 * @return Die Anzahl der konvertierten Bytes (Größe des resultierenden Bytecodes)
+	 * @throws IOException Der Befehlscode konnte nicht gelesen werden
+	 * @throws UnknownOperatorException Der Operator wurde nicht erkannt
+	 * @throws InvalidOperandException Der Operand passt nicht
+	 * @throws InvalidLabelNameException Ein Label darf keinen Doppelpunkt beinhalten
 	 */
-	private void filterMnemonics(String[] mnemonics, String[] operators, String[] operands, INT8[] opcodes, HashMap<String, INT16> labels) {
-		int memoryAddress = this.startAddress.getUnsignedValue();
-		String mnemonic = new String();
+	public int assemble(Reader reader) throws IOException, UnknownOperatorException, InvalidOperandException, InvalidLabelNameException {
+		Output output = new Output(this.startAddress.getUnsignedValue());
+		try {
+			this.encode(reader, output);
+		} finally {
+			output.toImage().load(this.memory);
+		}
+		return output.length;
+	}
+	
+	/**
+	 * Konviertiert den Befehlscode in ein Abbild, ohne den Speicher zu verändern.
+	 * @param mnemonicsString Der eingegebene Befehlscode
+	 * @return Bytecode, Labels und Zeilennummern
+	 * @throws UnknownOperatorException Der Operator wurde nicht erkannt
+	 * @throws InvalidOperandException Der Operand passt nicht
+	 * @throws InvalidLabelNameException Ein Label darf keinen Doppelpunkt beinhalten
+	 */
+	public AssembledImage assembleImage(String mnemonicsString) throws UnknownOperatorException, InvalidOperandException, InvalidLabelNameException {
+		try {
+			return this.assembleImage(new StringReader(mnemonicsString));
+		} catch(IOException e) {
+			// Kann bei einem StringReader nicht auftreten
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	/**
+	 * Konviertiert den Befehlscode zeilenweise in ein Abbild, ohne den Speicher zu verändern.
+	 * @param reader Quelle des Befehlscodes
+	 * @return Bytecode, Labels und Zeilennummern
+	 * @throws IOException Der Befehlscode konnte nicht gelesen werden
+	 * @throws UnknownOperatorException Der Operator wurde nicht erkannt
+	 * @throws InvalidOperandException Der Operand passt nicht
+	 * @throws InvalidLabelNameException Ein Label darf keinen Doppelpunkt beinhalten
+	 */
+	public AssembledImage assembleImage(Reader reader) throws IOException, UnknownOperatorException, InvalidOperandException, InvalidLabelNameException {
+		Output output = new Output(this.startAddress.getUnsignedValue());
+		this.encode(reader, output);
+		return output.toImage();
+	}
+	
+	/**
+	 * Konviertiert den Befehlscode in ein Abbild, ohne den Speicher zu verändern.
+	 * Bei einem Fehler erhält partial vor dem Werfen das Abbild bis zum Fehler (wie es assemble in den Speicher lädt).
+	 * @param mnemonicsString Der eingegebene Befehlscode
+	 * @param partial Erhält bei einem Fehler das bis dahin konvertierte Abbild
+	 * @return Bytecode, Labels und Zeilennummern
+	 * @throws UnknownOperatorException Der Operator wurde nicht erkannt
+	 * @throws InvalidOperandException Der Operand passt nicht
+	 * @throws InvalidLabelNameException Ein Label darf keinen Doppelpunkt beinhalten
+	 */
+	AssembledImage assembleImage(String mnemonicsString, Consumer<AssembledImage> partial) throws UnknownOperatorException, InvalidOperandException, InvalidLabelNameException {
+		Output output = new Output(this.startAddress.getUnsignedValue());
+		try {
+			this.encode(new StringReader(mnemonicsString), output);
+		} catch(IOException e) {
+			// Kann bei einem StringReader nicht auftreten
+			throw new UncheckedIOException(e);
+		} catch(IllegalArgumentException e) {
+			partial.accept(output.toImage());
+			throw e;
+		}
+		return output.toImage();
+	}
+	
+	/**
+	 * Konviertiert den Befehlscode zeilenweise in Bytecode. Jede Zeile wird nur einmal gelesen:
+	 * Labels, die vor ihrer Definition verwendet werden, werden vorgemerkt und am Ende eingesetzt.
+	 * @param reader Quelle des Befehlscodes
+	 * @param output Ziel für Bytecode und Labels
+	 * @throws IOException Der Befehlscode konnte nicht gelesen werden
+	 * @throws UnknownOperatorException Der Operator wurde nicht erkannt
+	 * @throws InvalidOperandException Der Operand passt nicht
+	 * @throws InvalidLabelNameException Ein Label darf keinen Doppelpunkt beinhalten
+	 */
+	private void encode(Reader reader, Output output) throws IOException, UnknownOperatorException, InvalidOperandException, InvalidLabelNameException {
+		BufferedReader lines = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+		ArrayList<Fixup> fixups = new ArrayList<Fixup>();
 		
-		for (int i = 0; i < mnemonics.length; i++) {
-			mnemonic = mnemonics[i];
-			
-			// Kommentare entfernen (alles nach ";")
-			if(mnemonic.contains(";"))
-				mnemonic = mnemonic.substring(0, mnemonic.indexOf(";"));
+		String line;
+		int lineNumber = 0;
+		while((line = lines.readLine()) != null) {
+			lineNumber++;
+			Statement statement = parse(line, lineNumber);
 			
-			// Alles vor dem letzten Doppelpunkt wird gestrippt und als Label gespeichert
-			if(mnemonic.contains(":")) {
-				String labelName = mnemonic.substring(0, mnemonic.lastIndexOf(":")).strip();
-				if(labelName.contains(":"))
-					throw new InvalidLabelNameException(i + 1, mnemonics[i], labelName);
-				
-				INT16 labelAddress = new INT16(memoryAddress);
-				
+			if(statement.label != null) {
 				// Label existiert bereits
-				if(labels.get(labelName) != null)
-					throw new MultipleLabelUsesException(i + 1, mnemonics[i], labelName);
+				if(output.labels.containsKey(statement.label))
+					throw new MultipleLabelUsesException(lineNumber, line, statement.label);
 				
-				labels.put(labelName, labelAddress);
-				mnemonic = mnemonic.substring(mnemonic.lastIndexOf(":") + 1, mnemonic.length());
+				output.labels.put(statement.label, output.getAddress());
 			}
 			
-			mnemonic = mnemonic.strip();
-			if (mnemonic.isEmpty())
+			// Der Opcode wird auch bei einem ungültigen Operanden noch geschrieben
+			if(statement.opcode >= 0)
+				output.write(statement.opcode, lineNumber);
+			if(statement.error != null)
+				throw statement.error;
+			if(statement.byteSize <= 1) // Leere Zeilen und Befehle ohne Operand
 				continue;
 			
-			int firstWhitespaceIndex = mnemonic.length();
-			for(int j = 0; j < mnemonic.length(); j++)
-				if(Character.isWhitespace(mnemonic.charAt(j))) {
-					firstWhitespaceIndex = j;
-					break;
-				}
+			int value = statement.number;
+			if(statement.reference != null) {
+				Integer labelAddress = output.labels.get(statement.reference);
+				Fixup fixup = new Fixup(output.length, statement.byteSize, statement.reference, lineNumber, line, statement.operand);
+				
+				// Bekannte Labels direkt einsetzen, sonst am Ende
+				if(labelAddress != null)
+					value = output.resolve(fixup, labelAddress);
+				else
+					fixups.add(fixup);
+			}
 			
-			operators[i] = mnemonic.substring(0, firstWhitespaceIndex);
-			operands[i] = mnemonic.substring(firstWhitespaceIndex).strip();
+			output.write(value, lineNumber); // Low Byte
+			if(statement.byteSize == 3)
+				output.write(value >> 8, lineNumber); // High Byte
+		}
+		
+		// Vorgemerkte Labels einsetzen
+		for(Fixup fixup : fixups) {
+			Integer labelAddress = output.labels.get(fixup.label);
+			if(labelAddress == null)
+				throw new InvalidOperandException(fixup.lineNumber, fixup.line, fixup.operand);
 			
-			opcodes[i] = getOpcode(operators[i], operands[i], i + 1, mnemonics[i]);
-			memoryAddress += getCommandByteSize(opcodes[i]);
+			int value = output.resolve(fixup, labelAddress);
+			output.bytes[fixup.offset] = (byte) value; // Low Byte
+			if(fixup.byteSize == 3)
+				output.bytes[fixup.offset + 1] = (byte) (value >> 8); // High Byte
 		}
 	}
 	
 	/**
-	 * Gibt zu einem Opcode die Befehlsgröße in Bytes zurück.
-	 * @param opcode Opcode
-	 * @return Befehlsgröße in Bytes
+	 * Zerlegt eine Zeile in Label und Befehl. Fehler werden nicht geworfen, sondern in der Anweisung vermerkt,
+	 * damit der Aufrufer sie in der richtigen Reihenfolge (nach doppelten Labels) melden kann.
+	 * @param line Zeileninhalt
+	 * @param lineNumber Zeilennummer (Für Exception Nachricht)
+	 * @return Anweisung der Zeile
 	 */
-	public static byte getCommandByteSize(INT8 opcode) {
-		switch ((byte) opcode.getValue()) {
-			case (byte) 0xA9: // LDA #$nn
-			case (byte) 0xA2: // LDX #$nn
-			case (byte) 0xA0: // LDY #$nn
-			case (byte) 0x29: // AND #$nn
-			case (byte) 0x09: // ORA #$nn
-			case (byte) 0x49: // EOR #$nn
-			case (byte) 0x69: // ADC #$nn
-			case (byte) 0xE9: // SBC #$nn
-			case (byte) 0xC9: // CMP #$nn
-			case (byte) 0xE0: // CPX #$nn
-			case (byte) 0xC0: // CPY #$nn
-			case (byte) 0x90: // BCC $nn
-			case (byte) 0xB0: // BCS $nn
-			case (byte) 0xF0: // BEQ $nn
-			case (byte) 0xD0: // BNE $nn
-			case (byte) 0x10: // BPL $nn
-			case (byte) 0x30: // BMI $nn
-			case (byte) 0x50: // BVC $nn
-			case (byte) 0x70: // BVS $nn
-			case (byte) 0x65: // ADC $nn
-			case (byte) 0x25: // AND $nn
-			case (byte) 0x06: // ASL $nn
-			case (byte) 0x24: // BIT $nn
-			case (byte) 0xC5: // CMP $nn
-			case (byte) 0xE4: // CPX $nn
-			case (byte) 0xC4: // CPY $nn
-			case (byte) 0xC6: // DEC $nn
-			case (byte) 0x45: // EOR $nn
-			case (byte) 0xE6: // INC $nn
-			case (byte) 0xA5: // LDA $nn
-			case (byte) 0xA6: // LDX $nn
-			case (byte) 0xA4: // LDY $nn
-			case (byte) 0x46: // LSR $nn
-			case (byte) 0x05: // ORA $nn
-			case (byte) 0x26: // ROL $nn
-			case (byte) 0x66: // ROR $nn
-			case (byte) 0xE5: // SBC $nn
-			case (byte) 0x85: // STA $nn
-			case (byte) 0x86: // STX $nn
-			case (byte) 0x84: // STY $nn
-			case (byte) 0x75: // ADC $nn,X
-			case (byte) 0x35: // AND $nn,X
-			case (byte) 0x16: // ASL $nn,X
-			case (byte) 0xD5: // CMP $nn,X
-			case (byte) 0xD6: // DEC $nn,X
-			case (byte) 0x55: // EOR $nn,X
-			case (byte) 0xF6: // INC $nn,X
-			case (byte) 0xB5: // LDA $nn,X
-			case (byte) 0xB6: // LDX $nn,Y
-			case (byte) 0xB4: // LDY $nn,X
-			case (byte) 0x56: // LSR $nn,X
-			case (byte) 0x15: // ORA $nn,X
-			case (byte) 0x36: // ROL $nn,X
-			case (byte) 0x76: // ROR $nn,X
-			case (byte) 0xF5: // SBC $nn,X
-			case (byte) 0x95: // STA $nn,X
-			case (byte) 0x96: // STX $nn,Y
-			case (byte) 0x94: // STY $nn,X
-			case (byte) 0xA1: // LDA ($nn,X)
-			case (byte) 0xB1: // LDA ($nn),Y
-			case (byte) 0x81: // STA ($nn,X)
-			case (byte) 0x91: // STA ($nn),Y
-			case (byte) 0x21: // AND ($nn,X)
-			case (byte) 0x31: // AND ($nn),Y
-			case (byte) 0x01: // ORA ($nn,X)
-			case (byte) 0x11: // ORA ($nn),Y
-			case (byte) 0x41: // EOR ($nn,X)
-			case (byte) 0x51: // EOR ($nn),Y
-			case (byte) 0x61: // ADC ($nn,X)
-			case (byte) 0x71: // ADC ($nn),Y
-			case (byte) 0xE1: // SBC ($nn,X)
-			case (byte) 0xF1: // SBC ($nn),Y
-			case (byte) 0xC1: // CMP ($nn,X)
-			case (byte) 0xD1: // CMP ($nn),Y
-				return 2;
-			case (byte) 0x6D: // ADC $hhll
-			case (byte) 0x2D: // AND $hhll
-			case (byte) 0x0E: // ASL $hhll
-			case (byte) 0x2C: // BIT $hhll
-			case (byte) 0xCD: // CMP $hhll
-			case (byte) 0xEC: // CPX $hhll
-			case (byte) 0xCC: // CPY $hhll
-			case (byte) 0xCE: // DEC $hhll
-			case (byte) 0x4D: // EOR $hhll
-			case (byte) 0xEE: // INC $hhll
-			case (byte) 0x4C: // JMP $hhll
-			case (byte) 0x20: // JSR $hhll
-			case (byte) 0xAD: // LDA $hhll
-			case (byte) 0xAE: // LDX $hhll
-			case (byte) 0xAC: // LDY $hhll
-			case (byte) 0x4E: // LSR $hhll
-			case (byte) 0x0D: // ORA $hhll
-			case (byte) 0x2E: // ROL $hhll
-			case (byte) 0x6E: // ROR $hhll
-			case (byte) 0xED: // SBC $hhll
-			case (byte) 0x8D: // STA $hhll
-			case (byte) 0x8E: // STX $hhll
-			case (byte) 0x8C: // STY $hhll
-			case (byte) 0x7D: // ADC $hhll,X
-			case (byte) 0x3D: // AND $hhll,X
-			case (byte) 0x1E: // ASL $hhll,X
-			case (byte) 0xDD: // CMP $hhll,X
-			case (byte) 0xDE: // DEC $hhll,X
-			case (byte) 0x5D: // EOR $hhll,X
-			case (byte) 0xFE: // INC $hhll,X
-			case (byte) 0xBD: // LDA $hhll,X
-			case (byte) 0xBC: // LDY $hhll,X
-			case (byte) 0x5E: // LSR $hhll,X
-			case (byte) 0x1D: // ORA $hhll,X
-			case (byte) 0x3E: // ROL $hhll,X
-			case (byte) 0x7E: // ROR $hhll,X
-			case (byte) 0xFD: // SBC $hhll,X
-			case (byte) 0x9D: // STA $hhll,X
-			case (byte) 0x79: // ADC $hhll,Y
-			case (byte) 0x39: // AND $hhll,Y
-			case (byte) 0xD9: // CMP $hhll,Y
-			case (byte) 0x59: // EOR $hhll,Y
-			case (byte) 0xB9: // LDA $hhll,Y
-			case (byte) 0xBE: // LDX $hhll,Y
-			case (byte) 0x19: // ORA $hhll,Y
-			case (byte) 0xF9: // SBC $hhll,Y
-			case (byte) 0x99: // STA $hhll,Y
-			case (byte) 0x6C: // JMP ($hhll)
-				return 3;
-			default:
-				return 1;
+	static Statement parse(String line, int lineNumber) {
+		String mnemonic = line;
+		
+		// Kommentare entfernen (alles nach ";")
+		int commentIndex = mnemonic.indexOf(';');
+		if(commentIndex >= 0)
+			mnemonic = mnemonic.substring(0, commentIndex);
+		
+		// Alles vor dem letzten Doppelpunkt wird gestrippt und als Label gespeichert
+		String label = null;
+		int colonIndex = mnemonic.lastIndexOf(':');
+		if(colonIndex >= 0) {
+			label = mnemonic.substring(0, colonIndex).strip();
+			if(label.indexOf(':') >= 0)
+				return new Statement(line, null, -1, 0, 0, null, null, new InvalidLabelNameException(lineNumber, line, label));
+			
+			mnemonic = mnemonic.substring(colonIndex + 1);
+		}
+		
+		mnemonic = mnemonic.strip();
+		if (mnemonic.isEmpty()) // Leere Zeilen
+			return new Statement(line, label, -1, 0, 0, null, null, null);
+		
+		int firstWhitespaceIndex = mnemonic.length();
+		for(int j = 0; j < mnemonic.length(); j++)
+			if(Character.isWhitespace(mnemonic.charAt(j))) {
+				firstWhitespaceIndex = j;
+				break;
+			}
+		
+		String operator = mnemonic.substring(0, firstWhitespaceIndex);
+		Operand operand = Operand.parse(mnemonic.substring(firstWhitespaceIndex).strip());
+		int opcode;
+		try {
+			opcode = getOpcode(operator, operand, lineNumber, line).getUnsignedValue();
+		} catch(IllegalArgumentException e) {
+			return new Statement(line, label, -1, 0, 0, null, null, e);
 		}
+		
+		int byteSize = getCommandByteSize(new INT8(opcode));
+		if(byteSize == 1 || operand.isNumber())
+			return new Statement(line, label, opcode, byteSize, operand.getNumber(), null, operand.getText(), null);
+		if(acceptsLabel(opcode))
+			return new Statement(line, label, opcode, byteSize, 0, operand.getValue(), operand.getText(), null);
+		if(operand.getValue().isEmpty())
+			return new Statement(line, label, opcode, 0, 0, null, null, new InvalidOperandException(lineNumber, line));
+		return new Statement(line, label, opcode, 0, 0, null, null, new InvalidOperandException(lineNumber, line, operand.getText()));
 	}
 	
 	/**
-	 * Entfernt alle Zusätze vom Operand, die zu den Befehlen gehören.
+	 * Gibt zurück, ob der Befehl ein Label als Operand haben darf (Sprünge, JMP und JSR).
 	 * @param opcode Opcode
-	 * @param operand Operand
-	 * @return Operand (besteht, falls valide, nur noch aus einer Zahl)
+	 * @return Wahrheitswert, ob ein Label erlaubt ist
 	 */
-	private static String cleanOperand(INT8 opcode, String operand) {
-		switch ((byte) opcode.getValue()) {
-			case (byte) 0x0A: // ASL
-	    	case (byte) 0x4A: // LSR
-	    	case (byte) 0x2A: // ROL
-	    	case (byte) 0x6A: // ROR
-	    		return operand.replaceAll("\\s*[aA]$", "");
-			case (byte) 0xA9: // LDA #$nn
-			case (byte) 0xA2: // LDX #$nn
-			case (byte) 0xA0: // LDY #$nn
-			case (byte) 0x29: // AND #$nn
-			case (byte) 0x09: // ORA #$nn
-			case (byte) 0x49: // EOR #$nn
-			case (byte) 0x69: // ADC #$nn
-			case (byte) 0xE9: // SBC #$nn
-			case (byte) 0xC9: // CMP #$nn
-			case (byte) 0xE0: // CPX #$nn
-			case (byte) 0xC0: // CPY #$nn
-				return operand.replaceAll("^#\\s*", "");
-			case (byte) 0x75: // ADC $nn,X
-			case (byte) 0x35: // AND $nn,X
-			case (byte) 0x16: // ASL $nn,X
-			case (byte) 0xD5: // CMP $nn,X
-			case (byte) 0xD6: // DEC $nn,X
-			case (byte) 0x55: // EOR $nn,X
-			case (byte) 0xF6: // INC $nn,X
-			case (byte) 0xB5: // LDA $nn,X
-			case (byte) 0xB6: // LDX $nn,Y
-			case (byte) 0xB4: // LDY $nn,X
-			case (byte) 0x56: // LSR $nn,X
-			case (byte) 0x15: // ORA $nn,X
-			case (byte) 0x36: // ROL $nn,X
-			case (byte) 0x76: // ROR $nn,X
-			case (byte) 0xF5: // SBC $nn,X
-			case (byte) 0x95: // STA $nn,X
-			case (byte) 0x96: // STX $nn,Y
-			case (byte) 0x94: // STY $nn,X
-			case (byte) 0x7D: // ADC $hhll,X
-			case (byte) 0x3D: // AND $hhll,X
-			case (byte) 0x1E: // ASL $hhll,X
-			case (byte) 0xDD: // CMP $hhll,X
-			case (byte) 0xDE: // DEC $hhll,X
-			case (byte) 0x5D: // EOR $hhll,X
-			case (byte) 0xFE: // INC $hhll,X
-			case (byte) 0xBD: // LDA $hhll,X
-			case (byte) 0xBC: // LDY $hhll,X
-			case (byte) 0x5E: // LSR $hhll,X
-			case (byte) 0x1D: // ORA $hhll,X
-			case (byte) 0x3E: // ROL $hhll,X
-			case (byte) 0x7E: // ROR $hhll,X
-			case (byte) 0xFD: // SBC $hhll,X
-			case (byte) 0x9D: // STA $hhll,X
-			case (byte) 0x79: // ADC $hhll,Y
-			case (byte) 0x39: // AND $hhll,Y
-			case (byte) 0xD9: // CMP $hhll,Y
-			case (byte) 0x59: // EOR $hhll,Y
-			case (byte) 0xB9: // LDA $hhll,Y
-			case (byte) 0xBE: // LDX $hhll,Y
-			case (byte) 0x19: // ORA $hhll,Y
-			case (byte) 0xF9: // SBC $hhll,Y
-			case (byte) 0x99: // STA $hhll,Y
-				return operand.replaceAll("\\s*,\\s*[xXyY]$", "");
-			case (byte) 0xA1: // LDA ($nn,X)
-			case (byte) 0x81: // STA ($nn,X)
-			case (byte) 0x21: // AND ($nn,X)
-			case (byte) 0x01: // ORA ($nn,X)
-			case (byte) 0x41: // EOR ($nn,X)
-			case (byte) 0x61: // ADC ($nn,X)
-			case (byte) 0xE1: // SBC ($nn,X)
-			case (byte) 0xC1: // CMP ($nn,X)
-				return operand.replaceAll("^\\(\\s*|\\s*,\\s*[xX]\\s*\\)$", "");
-			case (byte) 0xB1: // LDA ($nn),Y
-			case (byte) 0x91: // STA ($nn),Y
-			case (byte) 0x31: // AND ($nn),Y
-			case (byte) 0x11: // ORA ($nn),Y
-			case (byte) 0x51: // EOR ($nn),Y
-			case (byte) 0x71: // ADC ($nn),Y
-			case (byte) 0xF1: // SBC ($nn),Y
-			case (byte) 0xD1: // CMP ($nn),Y
-				return operand.replaceAll("^\\(\\s*|\\s*\\)\\s*,\\s*[yY]$", "");
-			case (byte) 0x6C: // JMP ($hhll)
-				return operand.replaceAll("^\\(\\s*|\\s*\\)$", "");
+	private static boolean acceptsLabel(int opcode) {
+		switch(opcode) {
+			case 0x90: // BCC $nn
+			case 0xB0: // BCS $nn
+			case 0xF0: // BEQ $nn
+			case 0xD0: // BNE $nn
+			case 0x10: // BPL $nn
+			case 0x30: // BMI $nn
+			case 0x50: // BVC $nn
+			case 0x70: // BVS $nn
+			case 0x4C: // JMP $hhll
+			case 0x20: // JSR $hhll
+				return true;
 			default:
-				return operand;
+				return false;
 		}
 	}
 	
 	/**
-	 * Liefert zu einem Operator und Operanden den passenden Opcode.
+	 * Gibt zu einem Opcode die Befehlsgröße in Bytes zurück (aus der Befehlstabelle, siehe InstructionSet).
+	 * @param opcode Opcode
+	 * @return Befehlsgröße in Bytes
+	 */
+	public static byte getCommandByteSize(INT8 opcode) {
+		return (byte) InstructionSet.getByteSize(opcode.getUnsignedValue());
+	}
+	
+	/**
+	 * Liefert zu einem Operator und Operanden den passenden Opcode aus der Befehlstabelle (siehe InstructionSet).
+	 * Gibt es den Befehl nicht in der Adressierungsart des Operanden, wird eine passende gesucht (z.B. Absolut statt Zero Page).
 	 * @param operator Operator
 	 * @param operand Operand
 	 * @param lineNumber Zeilennummer (Für Exception Nachricht)
 	 * @param line Zeileninhalt (Für Exception Nachricht)
 	 * @return Opcode als 8 Bit Zahl
 	 * @throws UnknownOperatorException Falls der Operator nicht existiert
+	 * @throws InvalidOperandException Falls der Operand zu keiner Adressierungsart des Befehls passt
 	 */
-	private static INT8 getOpcode(String operator, String operand, int lineNumber, String line) throws UnknownOperatorException {
-		// Hier werden die Anweisungen in ihre opcodes umgewandelt
-		switch (operator.toUpperCase()) {
-		case "LDA":
-			if (operand.matches("^#.*")) {
-				return new INT8(0xA9); // LDA Unmittelbar
-				
-			} else if (operand.matches("^\\(.*,\\s*[xX]\\s*\\)$")) {
-				return new INT8(0xA1); // LDA Indirekt, X
-				
-			} else if (operand.matches("^\\(.*\\)\\s*,\\s*[yY]$")) {
-				return new INT8(0xB1); // LDA Indirekt, Y
-
-			} else if (operand.matches(".*,\\s*[xX]$") && useZeroPage(operand)) {
-				return new INT8(0xB5); // LDA Zero Page, X
-
-			} else if (operand.matches(".*,\\s*[xX]$")) {
-				return new INT8(0xBD); // LDA Absolut, X
-
-			} else if (operand.matches(".*,\\s*[yY]$")) {
-				return new INT8(0xB9); // LDA Absolut, Y
-				
-			} else if (useZeroPage(operand)) {
-				return new INT8(0xA5); // LDA Zero Page
-
-			} else {
-				return new INT8(0xAD); // LDA Absolut
-			}
-
-		case "LDX":
-			if (operand.matches("^#.*")) {
-				return new INT8(0xA2); // LDX Unmittelbar
-				
-			} else if (operand.matches(".*,\\s*[yY]$") && useZeroPage(operand)) {
-				return new INT8(0xB6); // LDX Zero Page, Y
-
-			} else if (operand.matches(".*,\\s*[yY]$")) {
-				return new INT8(0xBE); // LDX Absolut, Y
-				
-			} else if (useZeroPage(operand)) {
-				return new INT8(0xA6); // LDX Zero Page
-
-			} else {
-				return new INT8(0xAE); // LDX Absolut
-			}
-
-		case "LDY":
-			if (operand.matches("^#.*")) {
-				return new INT8(0xA0); // LDY Unmittelbar
-				
-			} else if (operand.matches(".*,\\s*[xX]$") && useZeroPage(operand)) {
-				return new INT8(0xB4); // LDY Zero Page, X
-				
-			} else if (operand.matches(".*,\\s*[xX]$")) {
-				return new INT8(0xBC); // LDY Absolut, X
-
-			} else if (useZeroPage(operand)) {
-				return new INT8(0xA4); // LDY Zero Page
-
-			} else {
-				return new INT8(0xAC); // LDY Absolut
-			}
-
-		case "STA":
-			
-			 if (operand.matches("^\\(.*,\\s*[xX]\\s*\\)$")) {
-				return new INT8(0x81); // STA Indirekt, X
-			
-			} else if (operand.matches("^\\(.*\\)\\s*,\\s*[yY]$")) {
-				return new INT8(0x91); // STA Indirekt, Y
-				
-			} else if (operand.matches(".*,\\s*[xX]$") && useZeroPage(operand)) {
-				return new INT8(0x95); // STA Zero Page, X
-				
-			} else if (operand.matches(".*,\\s*[xX]$")) {
-				return new INT8(0x9D); // STA Absolut, X
-				
-			} else if (operand.matches(".*,\\s*[yY]$")) {
-				return new INT8(0x99); // STA Absolut, Y
-			
-			} else if (useZeroPage(operand)) {
-				return new INT8(0x85); // STA Zero Page
-
-			} else {
-				return new INT8(0x8D); // STA Absolut
-			}
-
-		case "STX":
-			
-			if (operand.matches(".*,\\s*[yY]$") && useZeroPage(operand)) {
-				return new INT8(0x96); // STX Zero Page, Y
-			
-			} else if (useZeroPage(operand)) {
-				return new INT8(0x86); // STX Zero Page
-
-			} else {
-				return new INT8(0x8E); // STX Absolut
-			}
-
-		case "STY":
-			if (operand.matches(".*,\\s*[xX]$") && useZeroPage(operand)) {
-				return new INT8(0x94); // STY Zero Page, X
-			
-			} else if (useZeroPage(operand)) {
-				return new INT8(0x84); // STY Zero Page
-
-			} else {
-				return new INT8(0x8C); // STY Absolut
-			}
-
-		case "TAX":
-			return new INT8(0xAA); // TAX
-
-		case "TAY":
-			return new INT8(0xA8); // TAY
-
-		case "TXA":
-			return new INT8(0x8A); // TXA
-
-		case "TYA":
-			return new INT8(0x98); // TYA
-
-		case "TSX":
-			return new INT8(0xBA); // TSX
-
-		case "TXS":
-			return new INT8(0x9A); // TXS
-
-		case "AND":
-			if (operand.matches("^#.*")) {
-				return new INT8(0x29); // AND Unmittelbar
-				
-			} else if (operand.matches("^\\(.*,\\s*[xX]\\s*\\)$")) {
-				return new INT8(0x21); // AND Indirekt, X
-				
-			} else if (operand.matches("^\\(.*\\)\\s*,\\s*[yY]$")) {
-				return new INT8(0x31); // AND Indirekt, Y
-
-			} else if (operand.matches(".*,\\s*[xX]$") && useZeroPage(operand)) {
-				return new INT8(0x35); // AND Zero Page, X
-
-			} else if (operand.matches(".*,\\s*[xX]$")) {
-				return new INT8(0x3D); // AND Absolut, X
-
-			} else if (operand.matches(".*,\\s*[yY]$")) {
-				return new INT8(0x39); // AND Absolut, Y
-				
-			} else if (useZeroPage(operand)) {
-				return new INT8(0x25); // AND Zero Page
-
-			} else {
-				return new INT8(0x2D); // AND Absolut
-			}
-
-		case "ORA":
-			if (operand.matches("^#.*")) {
-				return new INT8(0x09); // ORA Unmittelbar
-				
-			} else if (operand.matches("^\\(.*,\\s*[xX]\\s*\\)$")) {
-				return new INT8(0x01); // ORA Indirekt, X
-				
-			} else if (operand.matches("^\\(.*\\)\\s*,\\s*[yY]$")) {
-				return new INT8(0x11); // ORA Indirekt, Y
-
-			} else if (operand.matches(".*,\\s*[xX]$") && useZeroPage(operand)) {
-				return new INT8(0x35); // ORA Zero Page, X
-
-			} else if (operand.matches(".*,\\s*[xX]$")) {
-				return new INT8(0x1D); // ORA Absolut, X
-
-			} else if (operand.matches(".*,\\s*[yY]$")) {
-				return new INT8(0x19); // ORA Absolut, Y
-				
-			} else if (useZeroPage(operand)) {
-				return new INT8(0x25); // ORA Zero Page
-
-			} else {
-				return new INT8(0x0D); // ORA Absolut
-			}
-
-		case "EOR":
-			if (operand.matches("^#.*")) {
-				return new INT8(0x49); // EOR Unmittelbar
-				
-			} else if (operand.matches("^\\(.*,\\s*[xX]\\s*\\)$")) {
-				return new INT8(0x41); // EOR Indirekt, X
-				
-			} else if (operand.matches("^\\(.*\\)\\s*,\\s*[yY]$")) {
-				return new INT8(0x51); // EOR Indirekt, Y
-
-			} else if (operand.matches(".*,\\s*[xX]$") && useZeroPage(operand)) {
-				return new INT8(0x55); // EOR Zero Page, X
-
-			} else if (operand.matches(".*,\\s*[xX]$")) {
-				return new INT8(0x5D); // EOR Absolut, X
-
-			} else if (operand.matches(".*,\\s*[yY]$")) {
-				return new INT8(0x59); // EOR Absolut, Y
-
-			} else if (useZeroPage(operand)) {
-				return new INT8(0x45); // EOR Zero Page
-				
-			} else {
-				return new INT8(0x4D); // EOR Absolut
-			}
-
-		case "ADC":
-			if (operand.matches("^#.*")) {
-				return new INT8(0x69); // ADC Unmittelbar
-				
-			} else if (operand.matches("^\\(.*,\\s*[xX]\\s*\\)$")) {
-				return new INT8(0x61); // ADC Indirekt, X
-				
-			} else if (operand.matches("^\\(.*\\)\\s*,\\s*[yY]$")) {
-				return new INT8(0x71); // ADC Indirekt, Y
-
-			} else if (operand.matches(".*,\\s*[xX]$") && useZeroPage(operand)) {
-				return new INT8(0x75); // ADC Zero Page, X
-
-			} else if (operand.matches(".*,\\s*[xX]$")) {
-				return new INT8(0x7D); // ADC Absolut, X
-
-			} else if (operand.matches(".*,\\s*[yY]$")) {
-				return new INT8(0x79); // ADC Absolut, Y
-
-			} else if (useZeroPage(operand)) {
-				return new INT8(0x65); // ADC Zero Page
-				
-			} else {
-				return new INT8(0x6D); // ADC Absolut
-			}
-
-		case "SBC":
-			if (operand.matches("^#.*")) {
-				return new INT8(0xE9); // SBC Unmittelbar
-				
-			} else if (operand.matches("^\\(.*,\\s*[xX]\\s*\\)$")) {
-				return new INT8(0xE1); // SBC Indirekt, X
-				
-			} else if (operand.matches("^\\(.*\\)\\s*,\\s*[yY]$")) {
-				return new INT8(0xF1); // SBC Indirekt, Y
-
-			} else if (operand.matches(".*,\\s*[xX]$") && useZeroPage(operand)) {
-				return new INT8(0xF5); // SBC Zero Page, X
-
-			} else if (operand.matches(".*,\\s*[xX]$")) {
-				return new INT8(0xFD); // SBC Absolut, X
-
-			} else if (operand.matches(".*,\\s*[yY]$")) {
-				return new INT8(0xF9); // SBC Absolut, Y
-
-			} else if (useZeroPage(operand)) {
-				return new INT8(0xE5); // SBC Zero Page
-				
-			} else {
-				return new INT8(0xED); // SBC Absolut
-			}
-
-		case "INC":
-
-			if (operand.matches(".*,\\s*[xX]$") && useZeroPage(operand)) {
-				return new INT8(0xF6); // INC Zero Page, X
-
-			} else if (operand.matches(".*,\\s*[xX]$")) {
-				return new INT8(0xFE); // INC Absolut, X
-				
-			} else if (useZeroPage(operand)) {
-					return new INT8(0xE6); // INC Zero Page
-
-			} else {
-				return new INT8(0xEE); // INC Absolut
-			}
-
-		case "DEC":
-
-			if (operand.matches(".*,\\s*[xX]$") && useZeroPage(operand)) {
-				return new INT8(0xD6); // DEC Zero Page, X
-
-			} else if (operand.matches(".*,\\s*[xX]$")) {
-				return new INT8(0xDE); // DEC Absolut, X
-
-			} else if (useZeroPage(operand)) {
-					return new INT8(0xC6); // DEC Zero Page
-			} else {
-				return new INT8(0xCE); // DEC Absolut
-			}
-
-		case "INX":
-			return new INT8(0xE8); // INX
-
-		case "INY":
-			return new INT8(0xC8); // INY
-
-		case "DEX":
-			return new INT8(0xCA); // DEX
-
-		case "DEY":
-			return new INT8(0x88); // DEY
-
-		case "ASL":
-			if (operand.matches("^[aA]?$")) {
-				return new INT8(0x0A); // ASL Akkumulator
-				
-			} else if (operand.matches(".*,\\s*[xX]$") && useZeroPage(operand)) {
-				return new INT8(0x16); // ASL Zero Page, X
-
-			} else if (operand.matches(".*,\\s*[xX]$")) {
-				return new INT8(0x1E); // ASL Absolut, X
-
-			} else if (useZeroPage(operand)) {
-				return new INT8(0x06); // ASL Zero Page
-				
-			} else {
-				return new INT8(0x0E); // ASL Absolut
-			}
-
-		case "LSR":
-			if (operand.matches("^[aA]?$")) {
-				return new INT8(0x4A); // LSR Akkumulator
-
-			} else if (operand.matches(".*,\\s*[xX]$") && useZeroPage(operand)) {
-				return new INT8(0x56); // LSR Zero Page, X
-
-			} else if (operand.matches(".*,\\s*[xX]$")) {
-				return new INT8(0x4E); // LSR Absolut, X
-				
-			} else if (useZeroPage(operand)) {
-				return new INT8(0x46); // LSR Zero Page
-
-			} else {
-				return new INT8(0x5E); // LSR Absolut
-			}
-
-		case "ROL":
-			if (operand.matches("^[aA]?$")) {
-				return new INT8(0x2A); // ROL Akkumulator
-
-			} else if (operand.matches(".*,\\s*[xX]$") && useZeroPage(operand)) {
-				return new INT8(0x36); // ROL Zero Page, X
-
-			} else if (operand.matches(".*,\\s*[xX]$")) {
-				return new INT8(0x3E); // ROL Absolut, X
-				
-			} else if (useZeroPage(operand)) {
-				return new INT8(0x26); // ROL Zero Page
-
-			} else {
-				return new INT8(0x2E); // ROL Absolut
-			}
-
-		case "ROR":
-			if (operand.matches("^[aA]?$")) {
-				return new INT8(0x6A); // ROR Akkumulator
-
-			} else if (operand.matches(".*,\\s*[xX]$") && useZeroPage(operand)) {
-				return new INT8(0xB4); // ROR Zero Page, X
-
-			} else if (operand.matches(".*,\\s*[xX]$")) {
-				return new INT8(0x7E); // ROR Absolut, X
-
-			} else if (useZeroPage(operand)) {
-				return new INT8(0xA4); // ROR Zero Page
-				
-			} else {
-				return new INT8(0x6E); // ROR Absolut
-			}
-
-		case "CMP":
-			if (operand.matches("^#.*")) {
-				return new INT8(0xC9); // CMP Unmittelbar
-				
-			} else if (operand.matches("^\\(.*,\\s*[xX]\\s*\\)$")) {
-				return new INT8(0xC1); // CMP Indirekt, X
-				
-			} else if (operand.matches("^\\(.*\\)\\s*,\\s*[yY]$")) {
-				return new INT8(0xD1); // CMP Indirekt, Y
-
-			} else if (operand.matches(".*,\\s*[xX]$") && useZeroPage(operand)) {
-				return new INT8(0xD5); // CMP Zero Page, X
-
-			} else if (operand.matches(".*,\\s*[xX]$")) {
-				return new INT8(0xDD); // CMP Absolut, X
-
-			} else if (operand.matches(".*,\\s*[yY]$")) {
-				return new INT8(0xD9); // CMP Absolut, Y
-
-			} else if (useZeroPage(operand)) {
-				return new INT8(0xC5); // CMP Zero Page
-				
-			} else {
-				return new INT8(0xCD); // CMP Absolut
-			}
-
-		case "CPX":
-			if (operand.matches("^#.*")) {
-				return new INT8(0xE0); // CPX Unmittelbar
-
-			} else if (useZeroPage(operand)) {
-				return new INT8(0xE4); // CPX Zero Page
-
-			} else {
-				return new INT8(0xEC); // CPX Absolut
-			}
-
-		case "CPY":
-			if (operand.matches("^#.*")) {
-				return new INT8(0xC0); // CPY Unmittelbar
-
-			} else if (useZeroPage(operand)) {
-				return new INT8(0xC4); // CPY Zero Page
-
-			} else {
-				return new INT8(0xCC); // CPY Absolut
-			}
-
-		case "BIT":
-			if (useZeroPage(operand)) {
-				return new INT8(0x24); // BIT Zero Page
-
-			} else {
-				return new INT8(0x2C); // BIT Absolut
-			}
-
-		case "JMP":
-			if (operand.matches("^\\(.*\\)$")) {
-				return new INT8(0x6C); // JMP Indirekt
-
-			} else {
-				return new INT8(0x4C); // JMP Absolut
-			}
-
-		case "JSR":
-			return new INT8(0x20); // JSR
-
-		case "RTS":
-			return new INT8(0x60); // RTS
-
-		case "BCC":
-			return new INT8(0x90); // BCC
-
-		case "BCS":
-			return new INT8(0xB0); // BCS
-
-		case "BEQ":
-			return new INT8(0xF0); // BEQ
-
-		case "BNE":
-			return new INT8(0xD0); // BNE
-
-		case "BPL":
-			return new INT8(0x10); // BPL
-
-		case "BMI":
-			return new INT8(0x30); // BMI
-
-		case "BVC":
-			return new INT8(0x50); // BVC
-
-		case "BVS":
-			return new INT8(0x70); // BVS
-
-		case "SEC":
-			return new INT8(0x38); // SEC
-
-		case "CLC":
-			return new INT8(0x18); // CLC
-
-		case "SEI":
-			return new INT8(0x78); // SEI
-
-		case "CLI":
-			return new INT8(0x58); // CLI
-
-		case "CLV":
-			return new INT8(0xB8); // CLV
-
-		case "SED":
-			return new INT8(0xF8); // SED
-
-		case "CLD":
-			return new INT8(0xD8); // CLD
-
-		case "PHA":
-			return new INT8(0x48); // PHA
-
-		case "PLA":
-			return new INT8(0x68); // PLA
-
-		case "PHP":
-			return new INT8(0x08); // PHP
-
-		case "PLP":
-			return new INT8(0x28); // PLP
-
-		case "NOP":
-			return new INT8(0xEA); // NOP
-			
-		case "BRK":
-			return new INT8(0x00); // BRK
-
-		default:
+	private static INT8 getOpcode(String operator, Operand operand, int lineNumber, String line) throws UnknownOperatorException, InvalidOperandException {
+		if(!InstructionSet.isMnemonic(operator))
 			throw new UnknownOperatorException(lineNumber, line, operator);
+		
+		int opcode = InstructionSet.getOpcode(operator, operand.getAddressingMode());
+		for(int i = 0; opcode < 0 && i < addressingModes.length; i++)
+			if(operand.fits(addressingModes[i]))
+				opcode = InstructionSet.getOpcode(operator, addressingModes[i]);
+		
+		if(opcode < 0) {
+			if(operand.getAddressingMode() == AddressingMode.IMPLIED)
+				throw new InvalidOperandException(lineNumber, line);
+			else
+				throw new InvalidOperandException(lineNumber, line, operand.getText());
 		}
+		return new INT8(opcode);
 	}
 	
 	/**
-	 * Entscheidet, ob die Zero Page Version des Befehls zurückgegeben werden sollte (bei größeren Werten oder manuell durch führende Nullen).
-	 * @param operand OPerand
-	 * @return Wahrheitswert, ob Zero Page Version angemessen
+	 * Bytecode, Zeilennummern und Labels eines Assembler-Laufs.
 	 */
-	private static boolean useZeroPage(String operand) {
-		operand = operand.replaceAll("\\s*,\\s*[xXyY]$", "");
+	private static final class Output {
+		private final int origin;
+		private byte[] bytes = new byte[256];
+		private int[] lineNumbers = new int[256];
+		private int length = 0;
+		private final LinkedHashMap<String, Integer> labels = new LinkedHashMap<String, Integer>();
 		
-		// Hex bei maximal 2 Zeichen (Minuszeichen wird ignoriert)
-		if(operand.matches("^\\$.*"))
-			return operand.length() <= (operand.startsWith("$-") ? 4 : 3);
-			
-		// Binär bei maximal 8 Zeichen (Minuszeichen wird ignoriert)
-		else if(operand.matches("^%.*"))
-			return operand.length() <= (operand.startsWith("%-") ? 10 : 9);
+		/**
+		 * Erstellt eine leere Ausgabe.
+		 * @param origin Startadresse
+		 */
+		private Output(int origin) {
+			this.origin = origin;
+		}
 		
-		// Dezimal bei maximal 3 Zeichen und Wert von minimal -128 und maximal 255 (Minuszeichen wird ignoriert)
-		else {
-			try {
-				if(operand.startsWith("-"))
-					return operand.length() <= 4 && Integer.parseInt(operand) >= -128;
-				else
-					return operand.length() <= 3 && Integer.parseInt(operand) <= 255;
-			} catch(NumberFormatException e) {
-				return false;
+		/**
+		 * Gibt die Adresse des nächsten Bytes zurück.
+		 * @return Speicheradresse
+		 */
+		private int getAddress() {
+			return this.origin + this.length;
+		}
+		
+		/**
+		 * Hängt ein Byte an.
+		 * @param value Wert (wird auf 8 Bit gekürzt)
+		 * @param lineNumber Zeile des Befehls
+		 */
+		private void write(int value, int lineNumber) {
+			if(this.length == this.bytes.length) {
+				this.bytes = Arrays.copyOf(this.bytes, this.length * 2);
+				this.lineNumbers = Arrays.copyOf(this.lineNumbers, this.length * 2);
 			}
+			this.bytes[this.length] = (byte) value;
+			this.lineNumbers[this.length++] = lineNumber;
+		}
+		
+		/**
+		 * Berechnet den Wert eines Operanden mit Label (relativ bei Sprüngen, sonst absolut).
+		 * @param fixup Operand mit Label
+		 * @param labelAddress Adresse des Labels
+		 * @return Wert des Operanden
+		 */
+		private int resolve(Fixup fixup, int labelAddress) {
+			if(fixup.byteSize == 2)
+				return labelAddress - (this.origin + fixup.offset + 1);
+			else
+				return labelAddress;
+		}
+		
+		/**
+		 * Erstellt das Abbild aus dem bisher geschriebenen Bytecode.
+		 * @return Abbild
+		 */
+		private AssembledImage toImage() {
+			return new AssembledImage(this.origin, Arrays.copyOf(this.bytes, this.length), Arrays.copyOf(this.lineNumbers, this.length), this.labels);
+		}
+	}
+	
+	/**
+	 * Eine zerlegte Zeile des Befehlscodes (Label, Befehl und Operand oder Fehler).
+	 */
+	static final class Statement {
+		final String line;
+		final String label; // null, falls kein Label definiert wird
+		final int opcode; // -1, falls die Zeile keinen Befehl hat
+		final int byteSize; // 0 bei Zeilen ohne Befehl und bei Fehlern
+		final int number; // Operand als Zahl
+		final String reference; // Label als Operand, sonst null
+		final String operand; // Operand (Für Exception Nachricht)
+		final IllegalArgumentException error; // Fehler in der Zeile, sonst null
+		
+		/**
+		 * Erstellt eine zerlegte Zeile.
+		 * @param line Zeileninhalt
+		 * @param label Definiertes Label oder null
+		 * @param opcode Opcode oder -1
+		 * @param byteSize Befehlsgröße in Bytes oder 0
+		 * @param number Operand als Zahl
+		 * @param reference Label als Operand oder null
+		 * @param operand Operand
+		 * @param error Fehler oder null
+		 */
+		private Statement(String line, String label, int opcode, int byteSize, int number, String reference, String operand, IllegalArgumentException error) {
+			this.line = line;
+			this.label = label;
+			this.opcode = opcode;
+			this.byteSize = byteSize;
+			this.number = number;
+			this.reference = reference;
+			this.operand = operand;
+			this.error = error;
+		}
+	}
+	
+	/**
+	 * Operand mit einem Label, das erst nach dem Befehl definiert wird.
+	 */
+	private static final class Fixup {
+		private final int offset; // Position des Operanden im Bytecode
+		private final int byteSize; // 2: Relativ, 3: Absolut
+		private final String label;
+		private final int lineNumber;
+		private final String line;
+		private final String operand;
+		
+		/**
+		 * Merkt einen Operanden mit Label vor.
+		 * @param offset Position des Operanden im Bytecode
+		 * @param byteSize Befehlsgröße in Bytes
+		 * @param label Name des Labels
+		 * @param lineNumber Zeilennummer (Für Exception Nachricht)
+		 * @param line Zeileninhalt (Für Exception Nachricht)
+		 * @param operand Operand (Für Exception Nachricht)
+		 */
+		private Fixup(int offset, int byteSize, String label, int lineNumber, String line, String operand) {
+			this.offset = offset;
+			this.byteSize = byteSize;
+			this.label = label;
+			this.lineNumber = lineNumber;
+			this.line = line;
+			this.operand = operand;
 		}
 	}
 }
@@ -0,0 +1,220 @@
+package de.umwelt_campus.javawp.processor.components;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import de.umwelt_campus.javawp.integers.INT16;
+
+/**
+ * Cache für assemblierte Abbilder. Schlüssel ist der SHA-256 Hash aus Startadresse und Befehlscode.
+ * Die Abbilder werden im Arbeitsspeicher (LRU mit maximaler Anzahl) und optional zusätzlich in einem Verzeichnis abgelegt.
+ * Bei einem Treffer wird der Assembler nicht ausgeführt. Fehlerhafter Befehlscode wird nicht gespeichert.
+ * Der Cache wird einem Prozessor über Processor.setAssemblyCache übergeben, jede Instanz hat eigene Einträge und Zähler.
+ * Die GUI verwendet ihn nicht: Sie assembliert über IncrementalAssembler und lädt beim Zurücksetzen das Abbild, das
+ * BackgroundAssembler noch hält.
+ * @author Mathis Ströhlein
+ */
+public final class AssemblyCache {
+	private static final int FORMAT_VERSION = 1; // Version des Dateiformats, ist Teil des Schlüssels
+	private static final String FILE_EXTENSION = ".img";
+	private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+	private final int maxEntries;
+	private final Path directory;
+	private final LinkedHashMap<String, AssembledImage> entries;
+	private long hitCount;
+	private long missCount;
+
+	/**
+	 * Erstellt einen Cache nur im Arbeitsspeicher.
+	 * @param maxEntries Maximale Anzahl an Abbildern im Arbeitsspeicher
+	 */
+	public AssemblyCache(int maxEntries) {
+		this(maxEntries, null);
+	}
+
+	/**
+	 * Erstellt einen Cache im Arbeitsspeicher und in einem Verzeichnis.
+	 * @param maxEntries Maximale Anzahl an Abbildern im Arbeitsspeicher
+	 * @param directory Verzeichnis für die Abbilder (null für keinen Cache auf der Festplatte)
+	 */
+	public AssemblyCache(int maxEntries, Path directory) {
+		if(maxEntries < 1)
+			throw new IllegalArgumentException("Ungültige Größe " + maxEntries);
+
+		this.maxEntries = maxEntries;
+		this.directory = directory;
+		this.entries = new LinkedHashMap<String, AssembledImage>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, AssembledImage> eldest) {
+				return this.size() > AssemblyCache.this.maxEntries;
+			}
+		};
+	}
+
+	/**
+	 * Gibt das Abbild zum Befehlscode zurück. Nur wenn es weder im Arbeitsspeicher noch im Verzeichnis liegt, wird assembliert.
+	 * @param mnemonicsString Befehlscode
+	 * @param startAddress Startadresse
+	 * @return Abbild
+	 * @throws IllegalArgumentException Fehler im Befehlscode (siehe Assembler)
+	 */
+	public AssembledImage get(String mnemonicsString, int startAddress) {
+		return this.get(mnemonicsString, startAddress, image -> {});
+	}
+
+	/**
+	 * Gibt das Abbild zum Befehlscode zurück. Nur wenn es weder im Arbeitsspeicher noch im Verzeichnis liegt, wird assembliert.
+	 * Bei einem Fehler erhält partial das Abbild bis zur fehlerhaften Zeile, danach wird der Fehler geworfen.
+	 * @param mnemonicsString Befehlscode
+	 * @param startAddress Startadresse
+	 * @param partial Erhält bei einem Fehler das bis dahin assemblierte Abbild
+	 * @return Abbild
+	 * @throws IllegalArgumentException Fehler im Befehlscode (siehe Assembler)
+	 */
+	public synchronized AssembledImage get(String mnemonicsString, int startAddress, Consumer<AssembledImage> partial) {
+		String key = getKey(mnemonicsString, startAddress);
+
+		AssembledImage image = this.entries.get(key);
+		if(image == null && this.directory != null) {
+			image = this.read(key);
+			if(image != null)
+				this.entries.put(key, image);
+		}
+		if(image != null) {
+			this.hitCount++;
+			return image;
+		}
+
+		this.missCount++;
+		image = new Assembler(new INT16(startAddress)).assembleImage(mnemonicsString, partial);
+		this.entries.put(key, image);
+		if(this.directory != null)
+			this.write(key, image);
+		return image;
+	}
+
+	/**
+	 * Liest ein Abbild aus dem Verzeichnis.
+	 * @param key Schlüssel
+	 * @return Abbild oder null, falls nicht vorhanden oder nicht lesbar
+	 */
+	private AssembledImage read(String key) {
+		Path file = this.directory.resolve(key + FILE_EXTENSION);
+		if(!Files.isRegularFile(file))
+			return null;
+
+		try(DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+			return AssembledImage.readFrom(in);
+		} catch(IOException e) {
+			// Beschädigte Datei wird wie ein Fehlschlag behandelt und später überschrieben
+			return null;
+		}
+	}
+
+	/**
+	 * Schreibt ein Abbild in das Verzeichnis. Die Datei wird erst vollständig geschrieben und dann umbenannt.
+	 * Fehler werden ignoriert, da das Abbild weiterhin im Arbeitsspeicher liegt.
+	 * @param key Schlüssel
+	 * @param image Abbild
+	 */
+	private void write(String key, AssembledImage image) {
+		try {
+			Files.createDirectories(this.directory);
+			Path temporaryFile = Files.createTempFile(this.directory, key, ".tmp");
+			try(DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporaryFile)))) {
+				image.writeTo(out);
+			}
+			Files.move(temporaryFile, this.directory.resolve(key + FILE_EXTENSION), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch(IOException e) {
+			// Kein Cache auf der Festplatte
+		}
+	}
+
+	/**
+	 * Berechnet den Schlüssel aus Startadresse und Befehlscode.
+	 * @param mnemonicsString Befehlscode
+	 * @param startAddress Startadresse
+	 * @return SHA-256 Hash als Hex String
+	 */
+	static String getKey(String mnemonicsString, int startAddress) {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256");
+		} catch(NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e); // SHA-256 ist in jeder Java Umgebung vorhanden
+		}
+		digest.update((byte) FORMAT_VERSION);
+		digest.update((byte) (startAddress >> 8));
+		digest.update((byte) startAddress);
+		byte[] hash = digest.digest(mnemonicsString.getBytes(StandardCharsets.UTF_8));
+
+		char[] key = new char[hash.length * 2];
+		for(int i = 0; i < hash.length; i++) {
+			key[i * 2] = HEX_DIGITS[(hash[i] >> 4) & 0xF];
+			key[i * 2 + 1] = HEX_DIGITS[hash[i] & 0xF];
+		}
+		return new String(key);
+	}
+
+	/**
+	 * Entfernt alle Abbilder aus dem Arbeitsspeicher (das Verzeichnis bleibt unverändert).
+	 */
+	public synchronized void clear() {
+		this.entries.clear();
+	}
+
+	/**
+	 * Gibt die Anzahl der Abbilder im Arbeitsspeicher zurück.
+	 * @return Anzahl
+	 */
+	public synchronized int size() {
+		return this.entries.size();
+	}
+
+	/**
+	 * Gibt die Anzahl der Treffer (Arbeitsspeicher oder Verzeichnis) zurück.
+	 * @return Anzahl der Treffer
+	 */
+	public synchronized long getHitCount() {
+		return this.hitCount;
+	}
+
+	/**
+	 * Gibt die Anzahl der Fehlschläge zurück, bei denen assembliert wurde.
+	 * @return Anzahl der Fehlschläge
+	 */
+	public synchronized long getMissCount() {
+		return this.missCount;
+	}
+
+	/**
+	 * Gibt die maximale Anzahl an Abbildern im Arbeitsspeicher zurück.
+	 * @return Maximale Anzahl
+	 */
+	public int getMaxEntries() {
+		return this.maxEntries;
+	}
+
+	/**
+	 * Gibt das Verzeichnis zurück.
+	 * @return Verzeichnis oder null
+	 */
+	public Path getDirectory() {
+		return this.directory;
+	}
+}
@@ -0,0 +1,17 @@
+package de.umwelt_campus.javawp.processor.components;
+
+/**
+ * Wird vom Speicher benachrichtigt, wenn Speicherzellen auf einer als Code markierten Page verändert werden
+ * (siehe Memory.markCode). Ermöglicht das Zwischenspeichern bereits dekodierter Befehle trotz selbstmodifizierendem Code.
+ * @author Mathis Ströhlein
+ */
+@FunctionalInterface
+public interface CodeInvalidationListener {
+
+	/**
+	 * Verwirft alle zwischengespeicherten Befehle, die eine der veränderten Speicherzellen enthalten.
+	 * @param address Erste veränderte Speicheradresse
+	 * @param length Anzahl der veränderten Speicherzellen (65536 für den gesamten Speicher)
+	 */
+	void invalidate(int address, int length);
+}
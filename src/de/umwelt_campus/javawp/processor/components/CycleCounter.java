@@ -0,0 +1,40 @@
+package de.umwelt_campus.javawp.processor.components;
+
+/**
+ * Zählt die Taktzyklen, die der Prozessor seit dem letzten Zurücksetzen verbraucht hat.
+ * @author Mathis Ströhlein
+ */
+public class CycleCounter {
+	private long value; // 64 Bit, läuft praktisch nicht über
+
+	/**
+	 * Gibt die Anzahl der Taktzyklen zurück.
+	 * @return Anzahl der Taktzyklen
+	 */
+	public long getValue() {
+		return this.value;
+	}
+
+	/**
+	 * Setzt die Anzahl der Taktzyklen.
+	 * @param value Anzahl der Taktzyklen
+	 */
+	public void setValue(long value) {
+		this.value = value;
+	}
+
+	/**
+	 * Addiert Taktzyklen auf den Zähler.
+	 * @param cycles Anzahl der Taktzyklen
+	 */
+	public void add(int cycles) {
+		this.value += cycles;
+	}
+
+	/**
+	 * Setzt den Zähler auf 0.
+	 */
+	public void reset() {
+		this.value = 0;
+	}
+}
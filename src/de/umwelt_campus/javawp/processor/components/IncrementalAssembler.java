@@ -0,0 +1,194 @@
+package de.umwelt_campus.javawp.processor.components;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+
+import de.umwelt_campus.javawp.exceptions.InvalidLabelNameException;
+import de.umwelt_campus.javawp.exceptions.InvalidOperandException;
+import de.umwelt_campus.javawp.exceptions.MultipleLabelUsesException;
+import de.umwelt_campus.javawp.exceptions.UnknownOperatorException;
+import de.umwelt_campus.javawp.integers.INT16;
+
+/**
+ * Assembler, der sich die Zeilen des letzten Laufs merkt (Anweisung, Adresse und Bytecode).
+ * Nach einer Änderung werden nur die geänderten Zeilen neu zerlegt. Ändert sich dadurch die Größe,
+ * wird der Bytecode danach verschoben. Labels werden anschließend neu eingesetzt.
+ * Das Ergebnis ist dasselbe wie bei Assembler.assembleImage.
+ * @author Mathis Ströhlein
+ */
+public class IncrementalAssembler {
+	private static final Assembler.Statement[] NO_STATEMENTS = new Assembler.Statement[0];
+
+	private final int origin;
+	private Assembler.Statement[] statements = NO_STATEMENTS;
+	private int[] addresses = new int[1]; // Position jeder Zeile im Bytecode, am Ende die Länge
+	private byte[] bytes = new byte[0];
+	private int[] lineNumbers = new int[0];
+
+	/**
+	 * Erstellt einen inkrementellen Assembler.
+	 * @param startAddress Startadresse
+	 */
+	public IncrementalAssembler(INT16 startAddress) {
+		this.origin = startAddress.getUnsignedValue();
+	}
+
+	/**
+	 * Konviertiert den Befehlscode in ein Abbild. Unveränderte Zeilen am Anfang und Ende werden aus dem letzten Lauf übernommen.
+	 * Auch bei einem Fehler wird der Stand gemerkt, damit der nächste Lauf wieder nur die Änderungen zerlegt.
+	 * @param mnemonicsString Der eingegebene Befehlscode
+	 * @return Bytecode, Labels und Zeilennummern
+	 * @throws UnknownOperatorException Der Operator wurde nicht erkannt
+	 * @throws InvalidOperandException Der Operand passt nicht
+	 * @throws InvalidLabelNameException Ein Label darf keinen Doppelpunkt beinhalten
+	 */
+	public AssembledImage assemble(String mnemonicsString) throws UnknownOperatorException, InvalidOperandException, InvalidLabelNameException {
+		String[] lines = splitLines(mnemonicsString);
+		int count = lines.length;
+		int oldCount = this.statements.length;
+
+		// Gemeinsamer Anfang und gemeinsames Ende mit dem letzten Lauf
+		int commonCount = Math.min(count, oldCount);
+		int prefix = 0;
+		while(prefix < commonCount && lines[prefix].equals(this.statements[prefix].line))
+			prefix++;
+		int suffix = 0;
+		while(suffix < commonCount - prefix && lines[count - 1 - suffix].equals(this.statements[oldCount - 1 - suffix].line))
+			suffix++;
+		int changedEnd = count - suffix;
+		int oldChangedEnd = oldCount - suffix;
+
+		// Nur geänderte Zeilen zerlegen, Adressen danach um die Größenänderung verschieben
+		Assembler.Statement[] statements = new Assembler.Statement[count];
+		int[] addresses = new int[count + 1];
+		System.arraycopy(this.statements, 0, statements, 0, prefix);
+		System.arraycopy(this.addresses, 0, addresses, 0, prefix + 1);
+		for(int i = prefix; i < changedEnd; i++) {
+			statements[i] = Assembler.parse(lines[i], i + 1);
+			addresses[i + 1] = addresses[i] + statements[i].byteSize;
+		}
+		System.arraycopy(this.statements, oldChangedEnd, statements, changedEnd, suffix);
+		int shift = addresses[changedEnd] - this.addresses[oldChangedEnd];
+		for(int i = 1; i <= suffix; i++)
+			addresses[changedEnd + i] = this.addresses[oldChangedEnd + i] + shift;
+
+		// Bytecode: Anfang übernehmen, geänderte Zeilen schreiben, Ende verschieben
+		int length = addresses[count];
+		int changedStart = addresses[prefix];
+		int tailStart = addresses[changedEnd];
+		int oldTailStart = this.addresses[oldChangedEnd];
+		byte[] bytes = new byte[length];
+		int[] lineNumbers = new int[length];
+		System.arraycopy(this.bytes, 0, bytes, 0, changedStart);
+		System.arraycopy(this.lineNumbers, 0, lineNumbers, 0, changedStart);
+		for(int i = prefix; i < changedEnd; i++) {
+			Assembler.Statement statement = statements[i];
+			int address = addresses[i];
+			for(int j = 0; j < statement.byteSize; j++)
+				lineNumbers[address + j] = i + 1;
+			if(statement.byteSize == 0)
+				continue;
+
+			bytes[address] = (byte) statement.opcode;
+			if(statement.byteSize >= 2)
+				bytes[address + 1] = (byte) statement.number; // Low Byte
+			if(statement.byteSize == 3)
+				bytes[address + 2] = (byte) (statement.number >> 8); // High Byte
+		}
+		System.arraycopy(this.bytes, oldTailStart, bytes, tailStart, length - tailStart);
+		int lineShift = changedEnd - oldChangedEnd;
+		for(int i = tailStart; i < length; i++)
+			lineNumbers[i] = this.lineNumbers[i - shift] + lineShift;
+
+		// Labels und erster Fehler in Zeilenreihenfolge (wie beim Assembler: doppeltes Label vor Fehler in der Zeile)
+		LinkedHashMap<String, Integer> labels = new LinkedHashMap<String, Integer>();
+		ArrayList<Integer> references = new ArrayList<Integer>();
+		int errorIndex = -1;
+		boolean isMultipleLabelUse = false;
+		for(int i = 0; i < count; i++) {
+			Assembler.Statement statement = statements[i];
+			if(statement.label != null) {
+				if(!labels.containsKey(statement.label))
+					labels.put(statement.label, this.origin + addresses[i]);
+				else if(errorIndex < 0) {
+					errorIndex = i;
+					isMultipleLabelUse = true;
+				}
+			}
+			if(statement.error != null && errorIndex < 0)
+				errorIndex = i;
+			if(statement.reference != null)
+				references.add(i);
+		}
+
+		// Labels einsetzen (relativ bei Sprüngen, sonst absolut)
+		int unresolvedIndex = -1;
+		for(int i : references) {
+			Assembler.Statement statement = statements[i];
+			int offset = addresses[i] + 1;
+			Integer labelAddress = labels.get(statement.reference);
+			if(labelAddress == null && unresolvedIndex < 0)
+				unresolvedIndex = i;
+
+			int value = labelAddress == null ? 0 : statement.byteSize == 2 ? labelAddress - (this.origin + offset + 1) : labelAddress;
+			bytes[offset] = (byte) value; // Low Byte
+			if(statement.byteSize == 3)
+				bytes[offset + 1] = (byte) (value >> 8); // High Byte
+		}
+
+		this.statements = statements;
+		this.addresses = addresses;
+		this.bytes = bytes;
+		this.lineNumbers = lineNumbers;
+
+		if(errorIndex >= 0) {
+			Assembler.Statement statement = statements[errorIndex];
+			if(isMultipleLabelUse)
+				throw new MultipleLabelUsesException(errorIndex + 1, statement.line, statement.label);
+
+			// Zeile erneut zerlegen, da sich die Zeilennummer seit dem Zerlegen geändert haben kann
+			throw Assembler.parse(statement.line, errorIndex + 1).error;
+		}
+		if(unresolvedIndex >= 0) {
+			Assembler.Statement statement = statements[unresolvedIndex];
+			throw new InvalidOperandException(unresolvedIndex + 1, statement.line, statement.operand);
+		}
+
+		// Die Arrays werden im nächsten Lauf nur kopiert und nicht verändert
+		return new AssembledImage(this.origin, bytes, lineNumbers, labels);
+	}
+
+	/**
+	 * Vergisst den letzten Lauf, der nächste Lauf zerlegt alle Zeilen.
+	 */
+	public void reset() {
+		this.statements = NO_STATEMENTS;
+		this.addresses = new int[1];
+		this.bytes = new byte[0];
+		this.lineNumbers = new int[0];
+	}
+
+	/**
+	 * Teilt den Befehlscode in Zeilen wie BufferedReader.readLine (Zeilenende "\n", "\r" oder "\r\n").
+	 * @param mnemonicsString Befehlscode
+	 * @return Zeilen ohne Zeilenende
+	 */
+	private static String[] splitLines(String mnemonicsString) {
+		ArrayList<String> lines = new ArrayList<String>();
+		int start = 0;
+		int length = mnemonicsString.length();
+		for(int i = 0; i < length; i++) {
+			char c = mnemonicsString.charAt(i);
+			if(c != '\n' && c != '\r')
+				continue;
+
+			lines.add(mnemonicsString.substring(start, i));
+			if(c == '\r' && i + 1 < length && mnemonicsString.charAt(i + 1) == '\n')
+				i++;
+			start = i + 1;
+		}
+		if(start < length)
+			lines.add(mnemonicsString.substring(start));
+		return lines.toArray(new String[lines.size()]);
+	}
+}
@@ -0,0 +1,317 @@
+package de.umwelt_campus.javawp.processor.components;
+
+/**
+ * Tabelle aller Befehle des Prozessors: Pro Opcode die Mnemonic, die Adressierungsart, die Befehlsgröße und die Anzahl der Taktzyklen (nach dem NMOS 6502 Datenblatt).
+ * Opcodes ohne Befehl haben keine Mnemonic, die Adressierungsart IMPLIED und 0 Taktzyklen.
+ * Umgekehrt liefert die Tabelle zu Mnemonic und Adressierungsart den Opcode (für den Assembler).
+ * @author Mathis Ströhlein
+ */
+public final class InstructionSet {
+	private static final String[] mnemonics = new String[256];
+	private static final AddressingMode[] addressingModes = new AddressingMode[256];
+	private static final int[] cycles = new int[256];
+	private static final boolean[] pageCrossingPenalties = new boolean[256];
+	
+	// Mnemonic (3 Buchstaben mit je 5 Bit) -> laufende Nummer der Mnemonic (0: keine Mnemonic)
+	private static final byte[] mnemonicNumbers = new byte[1 << 15];
+	private static int mnemonicCount = 0;
+	// Laufende Nummer der Mnemonic und Adressierungsart -> Opcode (-1: kein Befehl)
+	private static final int addressingModeCount = AddressingMode.values().length;
+	private static final short[] opcodes = new short[64 * addressingModeCount];
+	
+	static {
+		for(int opcode = 0; opcode < 256; opcode++)
+			addressingModes[opcode] = AddressingMode.IMPLIED;
+		for(int i = 0; i < opcodes.length; i++)
+			opcodes[i] = -1;
+		
+		define(0xAA, "TAX", AddressingMode.IMPLIED, 2);
+		define(0xA8, "TAY", AddressingMode.IMPLIED, 2);
+		define(0x8A, "TXA", AddressingMode.IMPLIED, 2);
+		define(0x98, "TYA", AddressingMode.IMPLIED, 2);
+		define(0xBA, "TSX", AddressingMode.IMPLIED, 2);
+		define(0x9A, "TXS", AddressingMode.IMPLIED, 2);
+		define(0xE8, "INX", AddressingMode.IMPLIED, 2);
+		define(0xC8, "INY", AddressingMode.IMPLIED, 2);
+		define(0xCA, "DEX", AddressingMode.IMPLIED, 2);
+		define(0x88, "DEY", AddressingMode.IMPLIED, 2);
+		define(0x0A, "ASL", AddressingMode.ACCUMULATOR, 2);
+		define(0x4A, "LSR", AddressingMode.ACCUMULATOR, 2);
+		define(0x2A, "ROL", AddressingMode.ACCUMULATOR, 2);
+		define(0x6A, "ROR", AddressingMode.ACCUMULATOR, 2);
+		define(0x60, "RTS", AddressingMode.IMPLIED, 6);
+		define(0x38, "SEC", AddressingMode.IMPLIED, 2);
+		define(0x18, "CLC", AddressingMode.IMPLIED, 2);
+		define(0x78, "SEI", AddressingMode.IMPLIED, 2);
+		define(0x58, "CLI", AddressingMode.IMPLIED, 2);
+		define(0xB8, "CLV", AddressingMode.IMPLIED, 2);
+		define(0xF8, "SED", AddressingMode.IMPLIED, 2);
+		define(0xD8, "CLD", AddressingMode.IMPLIED, 2);
+		define(0x48, "PHA", AddressingMode.IMPLIED, 3);
+		define(0x68, "PLA", AddressingMode.IMPLIED, 4);
+		define(0x08, "PHP", AddressingMode.IMPLIED, 3);
+		define(0x28, "PLP", AddressingMode.IMPLIED, 4);
+		define(0xEA, "NOP", AddressingMode.IMPLIED, 2);
+		define(0x00, "BRK", AddressingMode.IMPLIED, 7);
+		
+		define(0xA9, "LDA", AddressingMode.IMMEDIATE, 2);
+		define(0xA2, "LDX", AddressingMode.IMMEDIATE, 2);
+		define(0xA0, "LDY", AddressingMode.IMMEDIATE, 2);
+		define(0x29, "AND", AddressingMode.IMMEDIATE, 2);
+		define(0x09, "ORA", AddressingMode.IMMEDIATE, 2);
+		define(0x49, "EOR", AddressingMode.IMMEDIATE, 2);
+		define(0x69, "ADC", AddressingMode.IMMEDIATE, 2);
+		define(0xE9, "SBC", AddressingMode.IMMEDIATE, 2);
+		define(0xC9, "CMP", AddressingMode.IMMEDIATE, 2);
+		define(0xE0, "CPX", AddressingMode.IMMEDIATE, 2);
+		define(0xC0, "CPY", AddressingMode.IMMEDIATE, 2);
+		
+		define(0x90, "BCC", AddressingMode.RELATIVE, 2);
+		define(0xB0, "BCS", AddressingMode.RELATIVE, 2);
+		define(0xF0, "BEQ", AddressingMode.RELATIVE, 2);
+		define(0xD0, "BNE", AddressingMode.RELATIVE, 2);
+		define(0x10, "BPL", AddressingMode.RELATIVE, 2);
+		define(0x30, "BMI", AddressingMode.RELATIVE, 2);
+		define(0x50, "BVC", AddressingMode.RELATIVE, 2);
+		define(0x70, "BVS", AddressingMode.RELATIVE, 2);
+		
+		define(0x65, "ADC", AddressingMode.ZERO_PAGE, 3);
+		define(0x25, "AND", AddressingMode.ZERO_PAGE, 3);
+		define(0x06, "ASL", AddressingMode.ZERO_PAGE, 5);
+		define(0x24, "BIT", AddressingMode.ZERO_PAGE, 3);
+		define(0xC5, "CMP", AddressingMode.ZERO_PAGE, 3);
+		define(0xE4, "CPX", AddressingMode.ZERO_PAGE, 3);
+		define(0xC4, "CPY", AddressingMode.ZERO_PAGE, 3);
+		define(0xC6, "DEC", AddressingMode.ZERO_PAGE, 5);
+		define(0x45, "EOR", AddressingMode.ZERO_PAGE, 3);
+		define(0xE6, "INC", AddressingMode.ZERO_PAGE, 5);
+		define(0xA5, "LDA", AddressingMode.ZERO_PAGE, 3);
+		define(0xA6, "LDX", AddressingMode.ZERO_PAGE, 3);
+		define(0xA4, "LDY", AddressingMode.ZERO_PAGE, 3);
+		define(0x46, "LSR", AddressingMode.ZERO_PAGE, 5);
+		define(0x05, "ORA", AddressingMode.ZERO_PAGE, 3);
+		define(0x26, "ROL", AddressingMode.ZERO_PAGE, 5);
+		define(0x66, "ROR", AddressingMode.ZERO_PAGE, 5);
+		define(0xE5, "SBC", AddressingMode.ZERO_PAGE, 3);
+		define(0x85, "STA", AddressingMode.ZERO_PAGE, 3);
+		define(0x86, "STX", AddressingMode.ZERO_PAGE, 3);
+		define(0x84, "STY", AddressingMode.ZERO_PAGE, 3);
+		
+		define(0x75, "ADC", AddressingMode.ZERO_PAGE_X, 4);
+		define(0x35, "AND", AddressingMode.ZERO_PAGE_X, 4);
+		define(0x16, "ASL", AddressingMode.ZERO_PAGE_X, 6);
+		define(0xD5, "CMP", AddressingMode.ZERO_PAGE_X, 4);
+		define(0xD6, "DEC", AddressingMode.ZERO_PAGE_X, 6);
+		define(0x55, "EOR", AddressingMode.ZERO_PAGE_X, 4);
+		define(0xF6, "INC", AddressingMode.ZERO_PAGE_X, 6);
+		define(0xB5, "LDA", AddressingMode.ZERO_PAGE_X, 4);
+		define(0xB6, "LDX", AddressingMode.ZERO_PAGE_Y, 4);
+		define(0xB4, "LDY", AddressingMode.ZERO_PAGE_X, 4);
+		define(0x56, "LSR", AddressingMode.ZERO_PAGE_X, 6);
+		define(0x15, "ORA", AddressingMode.ZERO_PAGE_X, 4);
+		define(0x36, "ROL", AddressingMode.ZERO_PAGE_X, 6);
+		define(0x76, "ROR", AddressingMode.ZERO_PAGE_X, 6);
+		define(0xF5, "SBC", AddressingMode.ZERO_PAGE_X, 4);
+		define(0x95, "STA", AddressingMode.ZERO_PAGE_X, 4);
+		define(0x96, "STX", AddressingMode.ZERO_PAGE_Y, 4);
+		define(0x94, "STY", AddressingMode.ZERO_PAGE_X, 4);
+		
+		define(0xA1, "LDA", AddressingMode.INDEXED_INDIRECT, 6);
+		define(0xB1, "LDA", AddressingMode.INDIRECT_INDEXED, 5);
+		define(0x81, "STA", AddressingMode.INDEXED_INDIRECT, 6);
+		define(0x91, "STA", AddressingMode.INDIRECT_INDEXED, 6);
+		define(0x21, "AND", AddressingMode.INDEXED_INDIRECT, 6);
+		define(0x31, "AND", AddressingMode.INDIRECT_INDEXED, 5);
+		define(0x01, "ORA", AddressingMode.INDEXED_INDIRECT, 6);
+		define(0x11, "ORA", AddressingMode.INDIRECT_INDEXED, 5);
+		define(0x41, "EOR", AddressingMode.INDEXED_INDIRECT, 6);
+		define(0x51, "EOR", AddressingMode.INDIRECT_INDEXED, 5);
+		define(0x61, "ADC", AddressingMode.INDEXED_INDIRECT, 6);
+		define(0x71, "ADC", AddressingMode.INDIRECT_INDEXED, 5);
+		define(0xE1, "SBC", AddressingMode.INDEXED_INDIRECT, 6);
+		define(0xF1, "SBC", AddressingMode.INDIRECT_INDEXED, 5);
+		define(0xC1, "CMP", AddressingMode.INDEXED_INDIRECT, 6);
+		define(0xD1, "CMP", AddressingMode.INDIRECT_INDEXED, 5);
+		
+		define(0x6D, "ADC", AddressingMode.ABSOLUTE, 4);
+		define(0x2D, "AND", AddressingMode.ABSOLUTE, 4);
+		define(0x0E, "ASL", AddressingMode.ABSOLUTE, 6);
+		define(0x2C, "BIT", AddressingMode.ABSOLUTE, 4);
+		define(0xCD, "CMP", AddressingMode.ABSOLUTE, 4);
+		define(0xEC, "CPX", AddressingMode.ABSOLUTE, 4);
+		define(0xCC, "CPY", AddressingMode.ABSOLUTE, 4);
+		define(0xCE, "DEC", AddressingMode.ABSOLUTE, 6);
+		define(0x4D, "EOR", AddressingMode.ABSOLUTE, 4);
+		define(0xEE, "INC", AddressingMode.ABSOLUTE, 6);
+		define(0x4C, "JMP", AddressingMode.ABSOLUTE, 3);
+		define(0x20, "JSR", AddressingMode.ABSOLUTE, 6);
+		define(0xAD, "LDA", AddressingMode.ABSOLUTE, 4);
+		define(0xAE, "LDX", AddressingMode.ABSOLUTE, 4);
+		define(0xAC, "LDY", AddressingMode.ABSOLUTE, 4);
+		define(0x4E, "LSR", AddressingMode.ABSOLUTE, 6);
+		define(0x0D, "ORA", AddressingMode.ABSOLUTE, 4);
+		define(0x2E, "ROL", AddressingMode.ABSOLUTE, 6);
+		define(0x6E, "ROR", AddressingMode.ABSOLUTE, 6);
+		define(0xED, "SBC", AddressingMode.ABSOLUTE, 4);
+		define(0x8D, "STA", AddressingMode.ABSOLUTE, 4);
+		define(0x8E, "STX", AddressingMode.ABSOLUTE, 4);
+		define(0x8C, "STY", AddressingMode.ABSOLUTE, 4);
+		
+		define(0x7D, "ADC", AddressingMode.ABSOLUTE_X, 4);
+		define(0x3D, "AND", AddressingMode.ABSOLUTE_X, 4);
+		define(0x1E, "ASL", AddressingMode.ABSOLUTE_X, 7);
+		define(0xDD, "CMP", AddressingMode.ABSOLUTE_X, 4);
+		define(0xDE, "DEC", AddressingMode.ABSOLUTE_X, 7);
+		define(0x5D, "EOR", AddressingMode.ABSOLUTE_X, 4);
+		define(0xFE, "INC", AddressingMode.ABSOLUTE_X, 7);
+		define(0xBD, "LDA", AddressingMode.ABSOLUTE_X, 4);
+		define(0xBC, "LDY", AddressingMode.ABSOLUTE_X, 4);
+		define(0x5E, "LSR", AddressingMode.ABSOLUTE_X, 7);
+		define(0x1D, "ORA", AddressingMode.ABSOLUTE_X, 4);
+		define(0x3E, "ROL", AddressingMode.ABSOLUTE_X, 7);
+		define(0x7E, "ROR", AddressingMode.ABSOLUTE_X, 7);
+		define(0xFD, "SBC", AddressingMode.ABSOLUTE_X, 4);
+		define(0x9D, "STA", AddressingMode.ABSOLUTE_X, 5);
+		
+		define(0x79, "ADC", AddressingMode.ABSOLUTE_Y, 4);
+		define(0x39, "AND", AddressingMode.ABSOLUTE_Y, 4);
+		define(0xD9, "CMP", AddressingMode.ABSOLUTE_Y, 4);
+		define(0x59, "EOR", AddressingMode.ABSOLUTE_Y, 4);
+		define(0xB9, "LDA", AddressingMode.ABSOLUTE_Y, 4);
+		define(0xBE, "LDX", AddressingMode.ABSOLUTE_Y, 4);
+		define(0x19, "ORA", AddressingMode.ABSOLUTE_Y, 4);
+		define(0xF9, "SBC", AddressingMode.ABSOLUTE_Y, 4);
+		define(0x99, "STA", AddressingMode.ABSOLUTE_Y, 5);
+		
+		define(0x6C, "JMP", AddressingMode.INDIRECT, 5);
+		
+		// Lesende Befehle mit indizierter Adresse brauchen einen Taktzyklus mehr, wenn die Adresse die Page wechselt
+		for(int opcode = 0; opcode < 256; opcode++) {
+			AddressingMode addressingMode = addressingModes[opcode];
+			if(addressingMode == AddressingMode.ABSOLUTE_X || addressingMode == AddressingMode.ABSOLUTE_Y || addressingMode == AddressingMode.INDIRECT_INDEXED) {
+				switch(mnemonics[opcode]) {
+					case "STA": case "ASL": case "LSR": case "ROL": case "ROR": case "INC": case "DEC":
+						break; // Schreibende Befehle haben den Taktzyklus bereits in den Basiszyklen
+					default:
+						pageCrossingPenalties[opcode] = true;
+				}
+			}
+		}
+	}
+	
+	private InstructionSet() {}
+	
+	/**
+	 * Trägt einen Befehl in die Tabelle ein.
+	 * @param opcode Opcode
+	 * @param mnemonic Mnemonic
+	 * @param addressingMode Adressierungsart
+	 * @param baseCycles Anzahl der Taktzyklen (ohne Zuschläge)
+	 */
+	private static void define(int opcode, String mnemonic, AddressingMode addressingMode, int baseCycles) {
+		mnemonics[opcode] = mnemonic;
+		addressingModes[opcode] = addressingMode;
+		cycles[opcode] = baseCycles;
+		
+		int key = getMnemonicKey(mnemonic);
+		if(mnemonicNumbers[key] == 0)
+			mnemonicNumbers[key] = (byte) ++mnemonicCount;
+		opcodes[mnemonicNumbers[key] * addressingModeCount + addressingMode.ordinal()] = (short) opcode;
+	}
+	
+	/**
+	 * Berechnet den Schlüssel einer Mnemonic ohne Beachtung der Groß- und Kleinschreibung (ohne einen neuen String zu erzeugen).
+	 * @param mnemonic Mnemonic
+	 * @return Schlüssel (15 Bit) oder -1, falls die Mnemonic nicht aus 3 Buchstaben besteht
+	 */
+	private static int getMnemonicKey(CharSequence mnemonic) {
+		if(mnemonic.length() != 3)
+			return -1;
+		
+		int key = 0;
+		for(int i = 0; i < 3; i++) {
+			int letter = mnemonic.charAt(i) | 0x20; // Großbuchstaben zu Kleinbuchstaben
+			if(letter < 'a' || letter > 'z')
+				return -1;
+			key = (key << 5) | (letter - 'a');
+		}
+		return key;
+	}
+	
+	/**
+	 * Gibt zurück, ob die Mnemonic ein Befehl des Prozessors ist (Groß- und Kleinschreibung wird ignoriert).
+	 * @param mnemonic Mnemonic
+	 * @return Wahrheitswert, ob die Mnemonic bekannt ist
+	 */
+	public static boolean isMnemonic(CharSequence mnemonic) {
+		int key = getMnemonicKey(mnemonic);
+		return key >= 0 && mnemonicNumbers[key] != 0;
+	}
+	
+	/**
+	 * Gibt den Opcode zu einer Mnemonic und Adressierungsart zurück (Groß- und Kleinschreibung wird ignoriert).
+	 * @param mnemonic Mnemonic
+	 * @param addressingMode Adressierungsart
+	 * @return Opcode (0 bis 255) oder -1, falls es den Befehl nicht gibt
+	 */
+	public static int getOpcode(CharSequence mnemonic, AddressingMode addressingMode) {
+		int key = getMnemonicKey(mnemonic);
+		if(key < 0 || mnemonicNumbers[key] == 0)
+			return -1;
+		return opcodes[mnemonicNumbers[key] * addressingModeCount + addressingMode.ordinal()];
+	}
+	
+	/**
+	 * Gibt zurück, ob dem Opcode ein Befehl zugeordnet ist.
+	 * @param opcode Opcode (0 bis 255)
+	 * @return Wahrheitswert, ob der Opcode bekannt ist
+	 */
+	public static boolean isDefined(int opcode) {
+		return mnemonics[opcode & 0xFF] != null;
+	}
+	
+	/**
+	 * Gibt die Mnemonic zu einem Opcode zurück.
+	 * @param opcode Opcode (0 bis 255)
+	 * @return Mnemonic oder null, falls dem Opcode kein Befehl zugeordnet ist
+	 */
+	public static String getMnemonic(int opcode) {
+		return mnemonics[opcode & 0xFF];
+	}
+	
+	/**
+	 * Gibt die Adressierungsart zu einem Opcode zurück.
+	 * @param opcode Opcode (0 bis 255)
+	 * @return Adressierungsart
+	 */
+	public static AddressingMode getAddressingMode(int opcode) {
+		return addressingModes[opcode & 0xFF];
+	}
+	
+	/**
+	 * Gibt die Befehlsgröße in Bytes zu einem Opcode zurück.
+	 * @param opcode Opcode (0 bis 255)
+	 * @return Befehlsgröße in Bytes
+	 */
+	public static int getByteSize(int opcode) {
+		return addressingModes[opcode & 0xFF].getByteSize();
+	}
+	
+	/**
+	 * Gibt die Anzahl der Taktzyklen zu einem Opcode zurück (ohne Zuschläge für Seitenwechsel und Sprünge).
+	 * @param opcode Opcode (0 bis 255)
+	 * @return Anzahl der Taktzyklen
+	 */
+	public static int getCycles(int opcode) {
+		return cycles[opcode & 0xFF];
+	}
+	
+	/**
+	 * Gibt zurück, ob der Befehl einen Taktzyklus mehr braucht, wenn die indizierte Adresse die Page wechselt.
+	 * @param opcode Opcode (0 bis 255)
+	 * @return Wahrheitswert, ob ein Seitenwechsel einen Taktzyklus kostet
+	 */
+	public static boolean hasPageCrossingPenalty(int opcode) {
+		return pageCrossingPenalties[opcode & 0xFF];
+	}
+}
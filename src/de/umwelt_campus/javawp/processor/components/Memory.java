@@ -1,5 +1,7 @@
 package de.umwelt_campus.javawp.processor.components;
 
+import java.util.Arrays;
+
 import de.umwelt_campus.javawp.integers.INT16;
 import de.umwelt_campus.javawp.integers.INT8;
 import de.umwelt_campus.javawp.processor.components.registers.IndexRegister;
@@ -12,52 +14,222 @@ import de.umwelt_campus.javawp.processor.components.registers.StatusRegister;
  * @author Mathis Ströhlein
  */
 public class Memory {
-	private INT8[] data; // Speicher Array
+	private byte[] data; // Speicher Array (eine Zelle pro Byte)
 	private StatusRegister statusRegister;
+	private UndoJournal undoJournal; // Protokoll für Schreibzugriffe (null außerhalb eines Befehls)
+	private long[] codePages = new long[4]; // Ein Bit pro Page: Page enthält zwischengespeicherte Befehle
+	private CodeInvalidationListener codeInvalidationListener;
+	private long[] dirtyCells = new long[1024]; // Ein Bit pro Speicherzelle: seit clearDirty() verändert
+	private long[] dirtyWords = new long[16]; // Ein Bit pro Eintrag von dirtyCells, damit nur veränderte Bereiche durchsucht werden
 	
 	/**
 	 * Erstellt einen Speicher und initialisiert ihn mit 0.
 	 * @param statusRegister Status Register
 	 */
 	public Memory(StatusRegister statusRegister) {
-		this.data = new INT8[65536];
-		for(int i = 0; i < this.data.length; i++)
-			this.data[i] = new INT8(0);
+		this.data = new byte[65536];
 		this.statusRegister = statusRegister;
 	}
 	
 	/**
-	 * Gibt 8 Bit Zahlen Array des Speichers zurück.
-	 * @return 8 Bit Zahlen Array
+	 * Gibt das Byte Array des Speichers zurück.
+	 * Direkte Schreibzugriffe auf das Array werden nicht erkannt (danach invalidateCode() aufrufen).
+	 * @return Byte Array
 	 */
-	public INT8[] getData() {
+	public byte[] getData() {
 		return this.data;
 	}
 	
 	/**
-	 * Setzt das 8 Bit Datenarray des Speichers.
-	 * @param data 8 Bit Zahlen Array
+	 * Setzt das Byte Array des Speichers.
+	 * @param data Byte Array (65536 Zellen)
 	 */
-	public void setData(INT8[] data) {
+	public void setData(byte[] data) {
 		this.data = data;
+		this.invalidateCode();
+		this.markAllDirty();
 	}
 
 	/**
-	 * Kopiert alle Werte eines 8 Bit Zahlen Arrays in den Speicher.
-	 * @param data 8 Bit Zahlen Array
+	 * Kopiert alle Werte eines Byte Arrays in den Speicher.
+	 * @param data Byte Array (65536 Zellen)
+	 */
+	public void valueOf(byte[] data) {
+		System.arraycopy(data, 0, this.data, 0, this.data.length);
+		this.invalidateCode();
+		this.markAllDirty();
+	}
+	
+	/**
+	 * Kopiert ein Byte Array ab einer Adresse in den Speicher, ohne die Schreibzugriffe zu protokollieren.
+	 * Nach $FFFF wird bei $0000 weitergeschrieben.
+	 * @param address Startadresse (wird auf 16 Bit gekürzt)
+	 * @param bytes Byte Array (maximal 65536 Zellen)
+	 */
+	public void load(int address, byte[] bytes) {
+		int index = address & 0xFFFF;
+		int firstLength = Math.min(bytes.length, this.data.length - index);
+		System.arraycopy(bytes, 0, this.data, index, firstLength);
+		System.arraycopy(bytes, firstLength, this.data, 0, bytes.length - firstLength);
+		if(this.codeInvalidationListener != null)
+			this.codeInvalidationListener.invalidate(index, bytes.length);
+		for(int i = 0; i < bytes.length; i++)
+			this.markDirty((index + i) & 0xFFFF);
+	}
+	
+	/**
+	 * Setzt alle Speicherzellen auf 0.
 	 */
-	public void valueOf(INT8[] data) {
-		for(int i = 0; i < this.data.length; i++)
-			this.data[i].valueOf(data[i]);
+	public void clear() {
+		Arrays.fill(this.data, (byte) 0);
+		this.invalidateCode();
+		this.markAllDirty();
 	}
 	
 	/**
 	 * Gibt den Inhalt der Speicherzelle mit der angegebenen Adresse zurück.
+	 * @param address Speicheradresse (wird auf 16 Bit gekürzt)
+	 * @return Inhalt der Speicherzelle (vorzeichenfrei, 0 bis 255)
+	 */
+	public int read(int address) {
+		return this.data[address & 0xFFFF] & 0xFF;
+	}
+	
+	/**
+	 * Schreibt einen Wert in die Speicherzelle mit der angegebenen Adresse.
+	 * @param address Speicheradresse (wird auf 16 Bit gekürzt)
+	 * @param value Wert (wird auf 8 Bit gekürzt)
+	 */
+	public void write(int address, int value) {
+		int index = address & 0xFFFF;
+		if(this.undoJournal != null)
+			this.undoJournal.recordWrite(index, this.data[index]);
+		
+		this.data[index] = (byte) value;
+		this.markDirty(index);
+		if((this.codePages[index >>> 14] & (1L << (index >>> 8))) != 0)
+			this.codeInvalidationListener.invalidate(index, 1);
+	}
+	
+	/**
+	 * Schreibt einen Wert zurück in eine Speicherzelle, ohne den Schreibzugriff zu protokollieren.
+	 * @param index Index der Speicherzelle
+	 * @param value Wert (wird auf 8 Bit gekürzt)
+	 */
+	void restore(int index, int value) {
+		this.data[index] = (byte) value;
+		this.markDirty(index);
+		if((this.codePages[index >>> 14] & (1L << (index >>> 8))) != 0)
+			this.codeInvalidationListener.invalidate(index, 1);
+	}
+	
+	/**
+	 * Setzt den Empfänger, der bei Änderungen an als Code markierten Pages benachrichtigt wird.
+	 * @param codeInvalidationListener Empfänger (null für keinen)
+	 */
+	public void setCodeInvalidationListener(CodeInvalidationListener codeInvalidationListener) {
+		this.codeInvalidationListener = codeInvalidationListener;
+		Arrays.fill(this.codePages, 0);
+	}
+	
+	/**
+	 * Markiert die Page einer Adresse als Code. Schreibzugriffe auf die Page werden danach an den Empfänger gemeldet.
+	 * @param address Speicheradresse (wird auf 16 Bit gekürzt)
+	 */
+	public void markCode(int address) {
+		if(this.codeInvalidationListener != null)
+			this.codePages[(address & 0xFFFF) >>> 14] |= 1L << ((address & 0xFFFF) >>> 8);
+	}
+	
+	/**
+	 * Meldet eine Änderung des gesamten Speichers an den Empfänger und entfernt alle Markierungen.
+	 */
+	public void invalidateCode() {
+		Arrays.fill(this.codePages, 0);
+		if(this.codeInvalidationListener != null)
+			this.codeInvalidationListener.invalidate(0, 65536);
+	}
+	
+	/**
+	 * Markiert eine Speicherzelle als verändert.
+	 * @param index Index der Speicherzelle
+	 */
+	private void markDirty(int index) {
+		this.dirtyCells[index >>> 6] |= 1L << index;
+		this.dirtyWords[index >>> 12] |= 1L << (index >>> 6);
+	}
+	
+	/**
+	 * Markiert alle Speicherzellen als verändert.
+	 */
+	private void markAllDirty() {
+		Arrays.fill(this.dirtyCells, -1L);
+		Arrays.fill(this.dirtyWords, -1L);
+	}
+	
+	/**
+	 * Gibt zurück, ob eine Speicherzelle seit dem letzten clearDirty() verändert wurde.
+	 * @param address Speicheradresse (wird auf 16 Bit gekürzt)
+	 * @return Wahrheitswert, ob verändert
+	 */
+	public boolean isDirty(int address) {
+		int index = address & 0xFFFF;
+		return (this.dirtyCells[index >>> 6] & (1L << index)) != 0;
+	}
+	
+	/**
+	 * Sucht die nächste veränderte Speicherzelle (z.B. um nur veränderte Zellen neu anzuzeigen).
+	 * Der Aufwand hängt von der Anzahl der veränderten Bereiche ab, nicht von der Größe des Speichers.
+	 * @param address Erste zu prüfende Speicheradresse (0 bis 65536)
+	 * @return Adresse der nächsten veränderten Speicherzelle oder -1, falls keine mehr verändert wurde
+	 */
+	public int nextDirty(int address) {
+		if(address >= 65536)
+			return -1;
+		int word = address >>> 6;
+		long cells = this.dirtyCells[word] & (-1L << address);
+		if(cells != 0)
+			return (word << 6) | Long.numberOfTrailingZeros(cells);
+		
+		// Weitere Einträge nur über die Zusammenfassung suchen
+		for(word++; word < this.dirtyCells.length; word = ((word >>> 6) + 1) << 6) {
+			long words = this.dirtyWords[word >>> 6] & (-1L << word);
+			while(words != 0) {
+				int next = ((word >>> 6) << 6) | Long.numberOfTrailingZeros(words);
+				if(this.dirtyCells[next] != 0)
+					return (next << 6) | Long.numberOfTrailingZeros(this.dirtyCells[next]);
+				words &= words - 1;
+			}
+		}
+		return -1;
+	}
+	
+	/**
+	 * Setzt die Markierungen aller veränderten Speicherzellen zurück. Der Aufwand hängt von der Anzahl der veränderten Bereiche ab.
+	 */
+	public void clearDirty() {
+		for(int i = 0; i < this.dirtyWords.length; i++) {
+			for(long words = this.dirtyWords[i]; words != 0; words &= words - 1)
+				this.dirtyCells[(i << 6) | Long.numberOfTrailingZeros(words)] = 0;
+			this.dirtyWords[i] = 0;
+		}
+	}
+	
+	/**
+	 * Setzt das Protokoll, in dem alle folgenden Schreibzugriffe festgehalten werden.
+	 * @param undoJournal Protokoll (null beendet die Protokollierung)
+	 */
+	void setUndoJournal(UndoJournal undoJournal) {
+		this.undoJournal = undoJournal;
+	}
+	
+	/**
+	 * Gibt eine Kopie des Inhalts der Speicherzelle mit der angegebenen Adresse zurück.
 	 * @param address Speicheradresse
 	 * @return 8 Bit Zahl
 	 */
 	public INT8 getCellData(INT16 address) {
-		return this.data[address.getUnsignedValue()];
+		return new INT8(this.data[address.getUnsignedValue()]);
 	}
 	
 	/**
@@ -66,7 +238,7 @@ public class Memory {
 	 * @param cellData 8 Bit Zahl
 	 */
 	public void cellValueOf(INT16 address, INT8 cellData) {
-		this.data[address.getUnsignedValue()].valueOf(cellData);
+		this.write(address.getUnsignedValue(), cellData.getValue());
 	}
 	
 	/**
@@ -82,10 +254,20 @@ public class Memory {
 	 * Inkrementiert eine Speicherzelle.
 	 * @param address Speicheradresse
 	 */
-	public void increment(INT16 address) {
-		this.data[address.getUnsignedValue()].setValue(this.data[address.getUnsignedValue()].getValue() + 1);
+	public void increment(int address) {
+		int index = address & 0xFFFF;
+		this.write(index, this.data[index] + 1);
 	
-		this.updateZNFlags(address);
+		this.updateZNFlags(index);
+	}
+
+	/**
+	 * Inkrementiert eine Speicherzelle.
+	 * @param address Speicheradresse
+	 */
+	public void increment(INT16 address) {
+		// Ruft int-Version auf
+		this.increment(address.getUnsignedValue());
 	}
 
 	/**
@@ -95,7 +277,7 @@ public class Memory {
 	 */
 	public void increment(INT16 address, IndexRegisterX offsetRegisterX) {
 		// Ruft Adressen-Version auf
-		this.increment(new INT16(address.getValue() + offsetRegisterX.getData().getUnsignedValue()));
+		this.increment(address.getValue() + offsetRegisterX.getData().getUnsignedValue());
 	}
 
 	/**
@@ -104,7 +286,7 @@ public class Memory {
 	 */
 	public void increment(INT8 zeroPageAddress) {
 		// Ruft Adressen-Version auf
-		this.increment(new INT16(zeroPageAddress, new INT8(0)));
+		this.increment(zeroPageAddress.getUnsignedValue());
 	}
 
 	/**
@@ -113,18 +295,28 @@ public class Memory {
 	 * @param offsetRegisterX Das Index Register X dessen Wert vor dem Laden des Speicherwerts auf die Zero Page Adresse addiert wird
 	 */
 	public void increment(INT8 zeroPageAddress, IndexRegisterX offsetRegisterX) {
-		// Ruft Adressen-ZP-Version auf
-		this.increment(new INT8(zeroPageAddress.getValue() + offsetRegisterX.getData().getValue()));
+		// Ruft Adressen-Version auf
+		this.increment((zeroPageAddress.getValue() + offsetRegisterX.getData().getValue()) & 0xFF);
 	}
 	
 	/**
 	 * Dekrementiert eine Speicherzelle.
 	 * @param address Speicheradresse
 	 */
-	public void decrement(INT16 address) {
-		this.data[address.getUnsignedValue()].setValue(this.data[address.getUnsignedValue()].getValue() - 1);
+	public void decrement(int address) {
+		int index = address & 0xFFFF;
+		this.write(index, this.data[index] - 1);
 		
-		this.updateZNFlags(address);
+		this.updateZNFlags(index);
+	}
+
+	/**
+	 * Dekrementiert eine Speicherzelle.
+	 * @param address Speicheradresse
+	 */
+	public void decrement(INT16 address) {
+		// Ruft int-Version auf
+		this.decrement(address.getUnsignedValue());
 	}
 
 	/**
@@ -134,7 +326,7 @@ public class Memory {
 	 */
 	public void decrement(INT16 address, IndexRegisterX offsetRegisterX) {
 		// Ruft Adressen-Version auf
-		this.decrement(new INT16(address.getValue() + offsetRegisterX.getData().getUnsignedValue()));
+		this.decrement(address.getValue() + offsetRegisterX.getData().getUnsignedValue());
 	}
 
 	/**
@@ -143,7 +335,7 @@ public class Memory {
 	 */
 	public void decrement(INT8 zeroPageAddress) {
 		// Ruft Adressen-Version auf
-		this.decrement(new INT16(zeroPageAddress, new INT8(0)));
+		this.decrement(zeroPageAddress.getUnsignedValue());
 	}
 
 	/**
@@ -152,19 +344,29 @@ public class Memory {
 	 * @param offsetRegisterX Das Index Register X dessen Wert vor dem Laden des Speicherwerts auf die Zero Page Adresse addiert wird
 	 */
 	public void decrement(INT8 zeroPageAddress, IndexRegisterX offsetRegisterX) {
-		// Ruft Adressen-ZP-Version auf
-		this.decrement(new INT8(zeroPageAddress.getValue() + offsetRegisterX.getData().getValue()));
+		// Ruft Adressen-Version auf
+		this.decrement((zeroPageAddress.getValue() + offsetRegisterX.getData().getValue()) & 0xFF);
 	}
 
 	/**
 	 * Schiebt alle Bits einer Speicherzelle 1 nach links. Das hinterste wird auf 0 gesetzt und das rausgeworfene wird im Carry Bit gespeichert.
 	 * @param address Speicheradresse
 	 */
-	public void arithmeticalShiftLeft(INT16 address) {
-		this.statusRegister.setCarry(this.data[address.getUnsignedValue()].getBit(7));
-		this.data[address.getUnsignedValue()].setValue(this.data[address.getUnsignedValue()].getValue() << 1);
+	public void arithmeticalShiftLeft(int address) {
+		int index = address & 0xFFFF;
+		this.statusRegister.setCarry((this.data[index] & 0x80) != 0);
+		this.write(index, this.data[index] << 1);
 		
-		this.updateZNFlags(address);
+		this.updateZNFlags(index);
+	}
+	
+	/**
+	 * Schiebt alle Bits einer Speicherzelle 1 nach links. Das hinterste wird auf 0 gesetzt und das rausgeworfene wird im Carry Bit gespeichert.
+	 * @param address Speicheradresse
+	 */
+	public void arithmeticalShiftLeft(INT16 address) {
+		// Ruft int-Version auf
+		this.arithmeticalShiftLeft(address.getUnsignedValue());
 	}
 	
 	/**
@@ -174,7 +376,7 @@ public class Memory {
 	 */
 	public void arithmeticalShiftLeft(INT16 address, IndexRegisterX offsetRegisterX) {
 		// Ruft Adressen-Version auf
-		this.arithmeticalShiftLeft(new INT16(address.getValue() + offsetRegisterX.getData().getUnsignedValue()));
+		this.arithmeticalShiftLeft(address.getValue() + offsetRegisterX.getData().getUnsignedValue());
 	}
 	
 	/**
@@ -183,7 +385,7 @@ public class Memory {
 	 */
 	public void arithmeticalShiftLeft(INT8 zeroPageAddress) {
 		// Ruft Adressen-Version auf
-		this.arithmeticalShiftLeft(new INT16(zeroPageAddress, new INT8(0)));
+		this.arithmeticalShiftLeft(zeroPageAddress.getUnsignedValue());
 	}
 	
 	/**
@@ -192,20 +394,29 @@ public class Memory {
 	 * @param offsetRegisterX Das Index Register X dessen Wert vor dem Laden des Speicherwerts auf die Zero Page Adresse addiert wird
 	 */
 	public void arithmeticalShiftLeft(INT8 zeroPageAddress, IndexRegisterX offsetRegisterX) {
-		// Ruft Adressen-ZP-Version auf
-		this.arithmeticalShiftLeft(new INT8(zeroPageAddress.getValue() + offsetRegisterX.getData().getValue()));
+		// Ruft Adressen-Version auf
+		this.arithmeticalShiftLeft((zeroPageAddress.getValue() + offsetRegisterX.getData().getValue()) & 0xFF);
 	}
 
 	/**
 	 * Schiebt alle Bits einer Speicherzelle 1 nach rechts. Das vorderste wird auf 0 gesetzt und das rausgeworfene wird im Carry Bit gespeichert.
 	 * @param address Speicheradresse
 	 */
-	public void logicalShiftRight(INT16 address) {
-		this.statusRegister.setCarry(this.data[address.getUnsignedValue()].getBit(0));
-		this.data[address.getUnsignedValue()].setValue(this.data[address.getUnsignedValue()].getValue() >> 1);
-		this.data[address.getUnsignedValue()].setBit(7, false);
+	public void logicalShiftRight(int address) {
+		int index = address & 0xFFFF;
+		this.statusRegister.setCarry((this.data[index] & 0x01) != 0);
+		this.write(index, (this.data[index] & 0xFF) >>> 1);
 		
-		this.updateZNFlags(address);
+		this.updateZNFlags(index);
+	}
+
+	/**
+	 * Schiebt alle Bits einer Speicherzelle 1 nach rechts. Das vorderste wird auf 0 gesetzt und das rausgeworfene wird im Carry Bit gespeichert.
+	 * @param address Speicheradresse
+	 */
+	public void logicalShiftRight(INT16 address) {
+		// Ruft int-Version auf
+		this.logicalShiftRight(address.getUnsignedValue());
 	}
 
 	/**
@@ -215,7 +426,7 @@ public class Memory {
 	 */
 	public void logicalShiftRight(INT16 address, IndexRegisterX offsetRegisterX) {
 		// Ruft Adressen-Version auf
-		this.logicalShiftRight(new INT16(address.getValue() + offsetRegisterX.getData().getUnsignedValue()));
+		this.logicalShiftRight(address.getValue() + offsetRegisterX.getData().getUnsignedValue());
 	}
 
 	/**
@@ -224,7 +435,7 @@ public class Memory {
 	 */
 	public void logicalShiftRight(INT8 zeroPageAddress) {
 		// Ruft Adressen-Version auf
-		this.logicalShiftRight(new INT16(zeroPageAddress, new INT8(0)));
+		this.logicalShiftRight(zeroPageAddress.getUnsignedValue());
 	}
 
 	/**
@@ -233,21 +444,30 @@ public class Memory {
 	 * @param offsetRegisterX Das Index Register X dessen Wert vor dem Laden des Speicherwerts auf die Zero Page Adresse addiert wird
 	 */
 	public void logicalShiftRight(INT8 zeroPageAddress, IndexRegisterX offsetRegisterX) {
-		// Ruft Adressen-ZP-Version auf
-		this.logicalShiftRight(new INT8(zeroPageAddress.getValue() + offsetRegisterX.getData().getValue()));
+		// Ruft Adressen-Version auf
+		this.logicalShiftRight((zeroPageAddress.getValue() + offsetRegisterX.getData().getValue()) & 0xFF);
 	}
 	
 	/**
 	 * Schiebt alle Bits einer Speicherzelle 1 nach links. Das hinterste wird auf das Carry Bit gesetzt und das rausgeworfene wird im Carry Bit gespeichert.
 	 * @param address Speicheradresse
 	 */
-	public void rotateLeft(INT16 address) {
-		boolean carryBit = this.statusRegister.getCarry();
-		this.statusRegister.setCarry(this.data[address.getUnsignedValue()].getBit(7));
-		this.data[address.getUnsignedValue()].setValue(this.data[address.getUnsignedValue()].getValue() << 1);
-		this.data[address.getUnsignedValue()].setBit(0, carryBit);
+	public void rotateLeft(int address) {
+		int index = address & 0xFFFF;
+		int carryBit = this.statusRegister.getCarry() ? 0x01 : 0;
+		this.statusRegister.setCarry((this.data[index] & 0x80) != 0);
+		this.write(index, (this.data[index] << 1) | carryBit);
 		
-		this.updateZNFlags(address);
+		this.updateZNFlags(index);
+	}
+	
+	/**
+	 * Schiebt alle Bits einer Speicherzelle 1 nach links. Das hinterste wird auf das Carry Bit gesetzt und das rausgeworfene wird im Carry Bit gespeichert.
+	 * @param address Speicheradresse
+	 */
+	public void rotateLeft(INT16 address) {
+		// Ruft int-Version auf
+		this.rotateLeft(address.getUnsignedValue());
 	}
 	
 	/**
@@ -257,7 +477,7 @@ public class Memory {
 	 */
 	public void rotateLeft(INT16 address, IndexRegisterX offsetRegisterX) {
 		// Ruft Adressen-Version auf
-		this.rotateLeft(new INT16(address.getValue() + offsetRegisterX.getData().getUnsignedValue()));
+		this.rotateLeft(address.getValue() + offsetRegisterX.getData().getUnsignedValue());
 	}
 
 	/**
@@ -266,7 +486,7 @@ public class Memory {
 	 */
 	public void rotateLeft(INT8 zeroPageAddress) {
 		// Ruft Adressen-Version auf
-		this.rotateLeft(new INT16(zeroPageAddress, new INT8(0)));
+		this.rotateLeft(zeroPageAddress.getUnsignedValue());
 	}
 
 	/**
@@ -275,21 +495,30 @@ public class Memory {
 	 * @param offsetRegisterX Das Index Register X dessen Wert vor dem Laden des Speicherwerts auf die Zero Page Adresse addiert wird
 	 */
 	public void rotateLeft(INT8 zeroPageAddress, IndexRegisterX offsetRegisterX) {
-		// Ruft Adressen-ZP-Version auf
-		this.rotateLeft(new INT8(zeroPageAddress.getValue() + offsetRegisterX.getData().getValue()));
+		// Ruft Adressen-Version auf
+		this.rotateLeft((zeroPageAddress.getValue() + offsetRegisterX.getData().getValue()) & 0xFF);
 	}
 	
 	/**
 	 * Schiebt alle Bits der Speicherzelle 1 nach rechts. Das vorderste wird auf das Carry Bit gesetzt und das rausgeworfene wird im Carry Bit gespeichert.
 	 * @param address Speicheradresse
 	 */
-	public void rotateRight(INT16 address) {
-		boolean carryBit = this.statusRegister.getCarry();
-		this.statusRegister.setCarry(this.data[address.getUnsignedValue()].getBit(0));
-		this.data[address.getUnsignedValue()].setValue(this.data[address.getUnsignedValue()].getValue() >> 1);
-		this.data[address.getUnsignedValue()].setBit(7, carryBit);
+	public void rotateRight(int address) {
+		int index = address & 0xFFFF;
+		int carryBit = this.statusRegister.getCarry() ? 0x80 : 0;
+		this.statusRegister.setCarry((this.data[index] & 0x01) != 0);
+		this.write(index, ((this.data[index] & 0xFF) >>> 1) | carryBit);
 		
-		this.updateZNFlags(address);
+		this.updateZNFlags(index);
+	}
+
+	/**
+	 * Schiebt alle Bits der Speicherzelle 1 nach rechts. Das vorderste wird auf das Carry Bit gesetzt und das rausgeworfene wird im Carry Bit gespeichert.
+	 * @param address Speicheradresse
+	 */
+	public void rotateRight(INT16 address) {
+		// Ruft int-Version auf
+		this.rotateRight(address.getUnsignedValue());
 	}
 
 	/**
@@ -299,7 +528,7 @@ public class Memory {
 	 */
 	public void rotateRight(INT16 address, IndexRegisterX offsetRegisterX) {
 		// Ruft Adressen-Version auf
-		this.rotateRight(new INT16(address.getValue() + offsetRegisterX.getData().getUnsignedValue()));
+		this.rotateRight(address.getValue() + offsetRegisterX.getData().getUnsignedValue());
 	}
 
 	/**
@@ -308,7 +537,7 @@ public class Memory {
 	 */
 	public void rotateRight(INT8 zeroPageAddress) {
 		// Ruft Adressen-Version auf
-		this.rotateRight(new INT16(zeroPageAddress, new INT8(0)));
+		this.rotateRight(zeroPageAddress.getUnsignedValue());
 	}
 
 	/**
@@ -317,8 +546,22 @@ public class Memory {
 	 * @param offsetRegisterX Das Index Register X dessen Wert vor dem Laden des Speicherwerts auf die Zero Page Adresse addiert wird
 	 */
 	public void rotateRight(INT8 zeroPageAddress, IndexRegisterX offsetRegisterX) {
-		// Ruft Adressen-ZP-Version auf
-		this.rotateRight(new INT8(zeroPageAddress.getValue() + offsetRegisterX.getData().getValue()));
+		// Ruft Adressen-Version auf
+		this.rotateRight((zeroPageAddress.getValue() + offsetRegisterX.getData().getValue()) & 0xFF);
+	}
+	
+	/**
+	 * Liest eine 16 Bit Adresse, deren Lowbyte dem Inhalt der Speicherzelle der Adresse und deren Highbyte dem Inhalt der Speicherzelle der Adresse + 1 entspricht.
+	 * Liegt das Lowbyte am Ende einer Page, wird das Highbyte vom Anfang derselben Page gelesen.
+	 * @param lowByteAddress Lowbyte Speicheradresse (wird auf 16 Bit gekürzt)
+	 * @return 16 Bit Adresse (vorzeichenfrei, 0 bis 65535)
+	 */
+	public int readWord(int lowByteAddress) {
+		int index = lowByteAddress & 0xFFFF;
+		// Überlauf bei indirekter Adresse auf verschiedenen Pages
+		int highByteIndex = (index & 0xFF00) | ((index + 1) & 0xFF);
+		
+		return (this.data[index] & 0xFF) | ((this.data[highByteIndex] & 0xFF) << 8);
 	}
 	
 	/**
@@ -327,10 +570,7 @@ public class Memory {
 	 * @return 16 Bit Zahl
 	 */
 	public INT16 getLittleEndianAddress(INT16 lowByteAddress) {
-		// Überlauf bei indirekter Adresse auf verschiedenen Pages
-		boolean isOnSamePage = (lowByteAddress.getLowByte().getUnsignedValue() != 255);
-		
-		return new INT16(this.data[lowByteAddress.getUnsignedValue()], this.data[lowByteAddress.getUnsignedValue() + (isOnSamePage ? 1 : -255)]);
+		return new INT16(this.readWord(lowByteAddress.getUnsignedValue()));
 	}
 	
 	/**
@@ -340,8 +580,7 @@ public class Memory {
 	 * @return 16 Bit Zahl
 	 */
 	public INT16 getLittleEndianAddress(INT16 lowByteAddress, IndexRegister offsetRegister) {
-		// Ruft Adressen-Version auf
-		return this.getLittleEndianAddress(new INT16(lowByteAddress.getValue() + offsetRegister.getData().getUnsignedValue()));
+		return new INT16(this.readWord(lowByteAddress.getValue() + offsetRegister.getData().getUnsignedValue()));
 	}
 	
 	/**
@@ -350,8 +589,7 @@ public class Memory {
 	 * @return 16 Bit Zahl
 	 */
 	public INT16 getLittleEndianAddress(INT8 lowByteZeroPageAddress) {
-		// Ruft Adressen-Version auf
-		return this.getLittleEndianAddress(new INT16(lowByteZeroPageAddress, new INT8(0)));
+		return new INT16(this.readWord(lowByteZeroPageAddress.getUnsignedValue()));
 	}
 	
 	/**
@@ -361,19 +599,18 @@ public class Memory {
 	 * @return 16 Bit Zahl
 	 */
 	public INT16 getLittleEndianAddress(INT8 lowByteZeroPageAddress, IndexRegister offsetRegister) {
-		// Ruft Adressen-ZP-Version auf
-		return this.getLittleEndianAddress(new INT8(lowByteZeroPageAddress.getValue() + offsetRegister.getData().getValue()));
+		return new INT16(this.readWord((lowByteZeroPageAddress.getValue() + offsetRegister.getData().getValue()) & 0xFF));
 	}
 	
 	/**
 	 * Aktualisiert das Zero und Negative Flag des Status Registers entsprechend dem Inhalt der angegebenen Speicherzelle.
-	 * @param address Speicherzelle
+	 * @param index Index der Speicherzelle
 	 */
-	private void updateZNFlags(INT16 address) {
+	private void updateZNFlags(int index) {
 		// Zero Flag
-		this.statusRegister.setZero(this.data[address.getUnsignedValue()].getValue() == 0);
+		this.statusRegister.setZero(this.data[index] == 0);
 		
 		// Negative Flag
-		this.statusRegister.setNegative(this.data[address.getUnsignedValue()].getBit(7));
+		this.statusRegister.setNegative(this.data[index] < 0);
 	}
 }
@@ -0,0 +1,256 @@
+package de.umwelt_campus.javawp.processor.components;
+
+/**
+ * Ein vom Assembler eingelesener Operand. Der Operand wird einmalig ohne reguläre Ausdrücke zerlegt in
+ * die Adressierungsart (anhand der Schreibweise) und den Wert (Zahl oder Label) ohne Zusätze wie #, Klammern oder Index Register.
+ * Zahlen beginnen mit $ (Hex), % (Binär) oder sind dezimal. Kurze Zahlen ergeben die Zero Page Adressierungsarten.
+ * Schreibweisen ohne eigene Adressierungsart (z.B. Relativ) werden als ZERO_PAGE oder ABSOLUTE eingelesen.
+ * @author Michael Weber
+ * @author Mathis Ströhlein
+ */
+public final class Operand {
+	private final String text;
+	private final AddressingMode addressingMode;
+	private final String value;
+	private final boolean isNumber;
+	private final int number;
+	private final boolean isZeroPage;
+
+	/**
+	 * Erstellt einen Operanden und interpretiert dessen Wert.
+	 * @param text Unbearbeiteter Operand
+	 * @param addressingMode Adressierungsart laut Schreibweise (ABSOLUTE, ABSOLUTE_X und ABSOLUTE_Y werden bei kurzen Zahlen zu Zero Page)
+	 * @param value Wert ohne Zusätze
+	 */
+	private Operand(String text, AddressingMode addressingMode, String value) {
+		this.text = text;
+		this.value = value;
+
+		// Zahl interpretieren (siehe INT8.setValueFromAssemblyString)
+		int prefixLength = value.startsWith("$") || value.startsWith("%") ? 1 : 0;
+		int radix = value.startsWith("$") ? 16 : value.startsWith("%") ? 2 : 10;
+		boolean isNumber = false;
+		int number = 0;
+		try {
+			number = Integer.parseInt(value, prefixLength, value.length(), radix);
+			isNumber = true;
+		} catch(NumberFormatException e) {
+			// Kein Zahl, z.B. ein Label
+		}
+		this.isNumber = isNumber;
+		this.number = number;
+
+		// Hex bei maximal 2 Zeichen, Binär bei maximal 8 Zeichen (Minuszeichen wird ignoriert)
+		// Dezimal bei maximal 3 Zeichen und Wert von minimal -128 und maximal 255 (Minuszeichen wird ignoriert)
+		boolean isNegative = value.startsWith("-", prefixLength);
+		if(radix == 16)
+			this.isZeroPage = value.length() <= (isNegative ? 4 : 3);
+		else if(radix == 2)
+			this.isZeroPage = value.length() <= (isNegative ? 10 : 9);
+		else if(isNegative)
+			this.isZeroPage = isNumber && value.length() <= 4 && number >= -128;
+		else
+			this.isZeroPage = isNumber && value.length() <= 3 && number <= 255;
+
+		switch(addressingMode) {
+			case ABSOLUTE:
+				this.addressingMode = this.isZeroPage ? AddressingMode.ZERO_PAGE : AddressingMode.ABSOLUTE;
+				break;
+			case ABSOLUTE_X:
+				this.addressingMode = this.isZeroPage ? AddressingMode.ZERO_PAGE_X : AddressingMode.ABSOLUTE_X;
+				break;
+			case ABSOLUTE_Y:
+				this.addressingMode = this.isZeroPage ? AddressingMode.ZERO_PAGE_Y : AddressingMode.ABSOLUTE_Y;
+				break;
+			default:
+				this.addressingMode = addressingMode;
+		}
+	}
+
+	/**
+	 * Zerlegt einen Operanden in einem Durchlauf.
+	 * @param text Operand (ohne Operator und Kommentar)
+	 * @return Eingelesener Operand
+	 */
+	public static Operand parse(String text) {
+		int start = skipWhitespace(text, 0);
+		int end = skipWhitespaceBackwards(text, text.length());
+
+		// Kein Operand oder Akkumulator
+		if(start == end)
+			return new Operand(text, AddressingMode.IMPLIED, "");
+		char first = text.charAt(start);
+		char last = text.charAt(end - 1);
+		if(end - start == 1 && (first == 'a' || first == 'A'))
+			return new Operand(text, AddressingMode.ACCUMULATOR, "");
+
+		// #$nn
+		if(first == '#')
+			return new Operand(text, AddressingMode.IMMEDIATE, strip(text, start + 1, end));
+
+		// Index Register am Ende: ",X" oder ",Y"
+		int indexComma = -1;
+		if(last == 'x' || last == 'X' || last == 'y' || last == 'Y') {
+			int position = skipWhitespaceBackwards(text, end - 1);
+			if(position > start && text.charAt(position - 1) == ',')
+				indexComma = position - 1;
+		}
+		boolean isIndexedY = indexComma >= 0 && (last == 'y' || last == 'Y');
+
+		if(first == '(') {
+			// ($nn),Y
+			if(isIndexedY) {
+				int close = skipWhitespaceBackwards(text, indexComma);
+				if(close > start + 1 && text.charAt(close - 1) == ')')
+					return new Operand(text, AddressingMode.INDIRECT_INDEXED, strip(text, start + 1, close - 1));
+			}
+
+			// ($nn,X) oder ($hhll)
+			if(last == ')' && end - start > 1) {
+				int innerEnd = skipWhitespaceBackwards(text, end - 1);
+				char register = innerEnd > start + 1 ? text.charAt(innerEnd - 1) : 0;
+				if(register == 'x' || register == 'X') {
+					int comma = skipWhitespaceBackwards(text, innerEnd - 1);
+					if(comma > start + 1 && text.charAt(comma - 1) == ',')
+						return new Operand(text, AddressingMode.INDEXED_INDIRECT, strip(text, start + 1, comma - 1));
+				}
+				return new Operand(text, AddressingMode.INDIRECT, strip(text, start + 1, end - 1));
+			}
+		}
+
+		// $nn,X / $hhll,X / $nn,Y / $hhll,Y
+		if(indexComma >= 0)
+			return new Operand(text, isIndexedY ? AddressingMode.ABSOLUTE_Y : AddressingMode.ABSOLUTE_X, strip(text, start, indexComma));
+
+		// $nn / $hhll / Label
+		return new Operand(text, AddressingMode.ABSOLUTE, text.substring(start, end));
+	}
+
+	/**
+	 * Gibt den Teilstring ohne Leerzeichen am Anfang und Ende zurück.
+	 * @param text String
+	 * @param start Startindex
+	 * @param end Endindex (exklusiv)
+	 * @return Teilstring
+	 */
+	private static String strip(String text, int start, int end) {
+		start = skipWhitespace(text, start);
+		end = skipWhitespaceBackwards(text, end);
+		return start < end ? text.substring(start, end) : "";
+	}
+
+	/**
+	 * Überspringt Leerzeichen ab einem Index.
+	 * @param text String
+	 * @param index Startindex
+	 * @return Index des ersten Zeichens, das kein Leerzeichen ist (oder die Länge des Strings)
+	 */
+	private static int skipWhitespace(String text, int index) {
+		while(index < text.length() && Character.isWhitespace(text.charAt(index)))
+			index++;
+		return index;
+	}
+
+	/**
+	 * Überspringt Leerzeichen rückwärts vor einem Index.
+	 * @param text String
+	 * @param end Endindex (exklusiv)
+	 * @return Endindex (exklusiv) ohne Leerzeichen davor
+	 */
+	private static int skipWhitespaceBackwards(String text, int end) {
+		while(end > 0 && Character.isWhitespace(text.charAt(end - 1)))
+			end--;
+		return end;
+	}
+
+	/**
+	 * Prüft, ob der Operand zur Adressierungsart eines Befehls passt.
+	 * Zero Page Schreibweisen passen auch zu den absoluten Adressierungsarten, ZERO_PAGE und ABSOLUTE auch zu RELATIVE
+	 * und ein fehlender Operand auch zu ACCUMULATOR.
+	 * @param instructionAddressingMode Adressierungsart des Befehls
+	 * @return Wahrheitswert, ob der Operand passt
+	 */
+	public boolean fits(AddressingMode instructionAddressingMode) {
+		if(this.addressingMode == instructionAddressingMode)
+			return true;
+
+		switch(instructionAddressingMode) {
+			case ABSOLUTE:
+				return this.addressingMode == AddressingMode.ZERO_PAGE;
+			case ABSOLUTE_X:
+				return this.addressingMode == AddressingMode.ZERO_PAGE_X;
+			case ABSOLUTE_Y:
+				return this.addressingMode == AddressingMode.ZERO_PAGE_Y;
+			case RELATIVE:
+				return this.addressingMode == AddressingMode.ZERO_PAGE || this.addressingMode == AddressingMode.ABSOLUTE;
+			case ACCUMULATOR:
+				return this.addressingMode == AddressingMode.IMPLIED;
+			default:
+				return false;
+		}
+	}
+
+	/**
+	 * Gibt den unbearbeiteten Operanden zurück.
+	 * @return Operand wie eingegeben
+	 */
+	public String getText() {
+		return this.text;
+	}
+
+	/**
+	 * Gibt die Adressierungsart laut Schreibweise zurück.
+	 * @return Adressierungsart
+	 */
+	public AddressingMode getAddressingMode() {
+		return this.addressingMode;
+	}
+
+	/**
+	 * Gibt zurück, ob der Operand mit X indiziert ist ($nn,X oder $hhll,X).
+	 * @return Wahrheitswert, ob mit X indiziert
+	 */
+	public boolean isIndexedX() {
+		return this.addressingMode == AddressingMode.ZERO_PAGE_X || this.addressingMode == AddressingMode.ABSOLUTE_X;
+	}
+
+	/**
+	 * Gibt zurück, ob der Operand mit Y indiziert ist ($nn,Y oder $hhll,Y).
+	 * @return Wahrheitswert, ob mit Y indiziert
+	 */
+	public boolean isIndexedY() {
+		return this.addressingMode == AddressingMode.ZERO_PAGE_Y || this.addressingMode == AddressingMode.ABSOLUTE_Y;
+	}
+
+	/**
+	 * Gibt den Wert ohne Zusätze zurück (Zahl oder Label).
+	 * @return Wert
+	 */
+	public String getValue() {
+		return this.value;
+	}
+
+	/**
+	 * Gibt zurück, ob der Wert eine Zahl ist.
+	 * @return Wahrheitswert, ob der Wert eine Zahl ist
+	 */
+	public boolean isNumber() {
+		return this.isNumber;
+	}
+
+	/**
+	 * Gibt den Wert als Zahl zurück.
+	 * @return Zahl (0, falls der Wert keine Zahl ist)
+	 */
+	public int getNumber() {
+		return this.number;
+	}
+
+	/**
+	 * Gibt zurück, ob der Wert als Zero Page Adresse geschrieben ist (bei kleinen Werten oder manuell durch führende Nullen).
+	 * @return Wahrheitswert, ob Zero Page Version angemessen
+	 */
+	public boolean isZeroPage() {
+		return this.isZeroPage;
+	}
+}
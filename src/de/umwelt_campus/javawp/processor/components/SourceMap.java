@@ -0,0 +1,87 @@
+package de.umwelt_campus.javawp.processor.components;
+
+import java.util.Arrays;
+
+/**
+ * Zuordnung zwischen Adressen und Zeilen des Befehlscodes in beide Richtungen (Adresse → Zeile und Zeile → Adressbereich).
+ * Die Abfragen greifen nur auf Arrays zu und erzeugen keine Objekte, sie können also bei jedem Befehl aufgerufen werden
+ * (z.B. für die Hervorhebung der aktuellen Zeile oder Haltepunkte).
+ * @author Mathis Ströhlein
+ */
+public final class SourceMap {
+	private final int origin;
+	private final int[] lineNumbers; // Zeile für jedes Byte ab der Startadresse
+	private final int[] startOffsets; // Erstes Byte jeder Zeile (relativ zur Startadresse), -1 bei Zeilen ohne Bytecode
+	private final int[] endOffsets; // Erstes Byte nach jeder Zeile (relativ zur Startadresse)
+
+	/**
+	 * Erstellt die Zuordnung aus den Zeilennummern des Assemblers.
+	 * @param origin Startadresse
+	 * @param lineNumbers Zeile für jedes Byte (aufsteigend, wird nicht kopiert)
+	 */
+	SourceMap(int origin, int[] lineNumbers) {
+		this.origin = origin & 0xFFFF;
+		this.lineNumbers = lineNumbers;
+
+		int lineCount = lineNumbers.length > 0 ? lineNumbers[lineNumbers.length - 1] : 0;
+		this.startOffsets = new int[lineCount + 1];
+		this.endOffsets = new int[lineCount + 1];
+		Arrays.fill(this.startOffsets, -1);
+		for(int offset = 0; offset < lineNumbers.length; offset++) {
+			int line = lineNumbers[offset];
+			if(this.startOffsets[line] < 0)
+				this.startOffsets[line] = offset;
+			this.endOffsets[line] = offset + 1;
+		}
+	}
+
+	/**
+	 * Gibt die Zeile zurück, aus der das Byte an der Adresse stammt.
+	 * @param address Speicheradresse
+	 * @return Zeilennummer (beginnend mit 1) oder 0, falls die Adresse nicht zum Bytecode gehört
+	 */
+	public int getLine(int address) {
+		int offset = (address - this.origin) & 0xFFFF;
+		return offset < this.lineNumbers.length ? this.lineNumbers[offset] : 0;
+	}
+
+	/**
+	 * Gibt die Adresse des ersten Bytes einer Zeile zurück.
+	 * @param line Zeilennummer (beginnend mit 1)
+	 * @return Speicheradresse oder -1, falls die Zeile keinen Bytecode hat
+	 */
+	public int getStartAddress(int line) {
+		if(line < 1 || line >= this.startOffsets.length || this.startOffsets[line] < 0)
+			return -1;
+		return (this.origin + this.startOffsets[line]) & 0xFFFF;
+	}
+
+	/**
+	 * Gibt die Adresse nach dem letzten Byte einer Zeile zurück.
+	 * @param line Zeilennummer (beginnend mit 1)
+	 * @return Speicheradresse (exklusiv) oder -1, falls die Zeile keinen Bytecode hat
+	 */
+	public int getEndAddress(int line) {
+		if(line < 1 || line >= this.startOffsets.length || this.startOffsets[line] < 0)
+			return -1;
+		return (this.origin + this.endOffsets[line]) & 0xFFFF;
+	}
+
+	/**
+	 * Gibt zurück, ob an der Adresse ein Befehl beginnt (z.B. für Haltepunkte).
+	 * @param address Speicheradresse
+	 * @return Wahrheitswert, ob das erste Byte einer Zeile an der Adresse liegt
+	 */
+	public boolean isLineStart(int address) {
+		int line = this.getLine(address);
+		return line > 0 && this.startOffsets[line] == ((address - this.origin) & 0xFFFF);
+	}
+
+	/**
+	 * Gibt die höchste Zeilennummer mit Bytecode zurück.
+	 * @return Zeilennummer oder 0 bei leerem Bytecode
+	 */
+	public int getLineCount() {
+		return this.startOffsets.length - 1;
+	}
+}
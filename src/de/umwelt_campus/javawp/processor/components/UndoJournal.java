@@ -0,0 +1,289 @@
+package de.umwelt_campus.javawp.processor.components;
+
+import java.util.EmptyStackException;
+
+import de.umwelt_campus.javawp.processor.components.registers.Accumulator;
+import de.umwelt_campus.javawp.processor.components.registers.IndexRegisterX;
+import de.umwelt_campus.javawp.processor.components.registers.IndexRegisterY;
+import de.umwelt_campus.javawp.processor.components.registers.ProgramCounter;
+import de.umwelt_campus.javawp.processor.components.registers.StackPointer;
+import de.umwelt_campus.javawp.processor.components.registers.StatusRegister;
+
+/**
+ * Protokolliert pro ausgeführtem Befehl die alten Registerwerte und nur die Speicherzellen, die der Befehl überschrieben hat.
+ * Ermöglicht die undo() Methode, ohne bei jedem Befehl den gesamten Speicher zu kopieren.
+ * Die Schritte liegen in Ringpuffern: Wird die maximale Anzahl an Schritten oder Bytes überschritten, werden die ältesten Schritte verworfen.
+ * @author Mathis Ströhlein
+ */
+public class UndoJournal {
+	public static final int DEFAULT_MAX_STEPS = 100000;
+	public static final long DEFAULT_MAX_BYTES = 4L * 1024 * 1024;
+	
+	private static final int STEP_BYTES = 12; // Registerwerte (8 Bytes) und Anzahl Speichereinträge (4 Bytes)
+	private static final int WRITE_BYTES = 4;
+	private static final int INITIAL_CAPACITY = 64;
+	
+	private StatusRegister statusRegister;
+	private ProgramCounter programCounter;
+	private Memory memory;
+	private Accumulator accumulator;
+	private IndexRegisterX indexRegisterX;
+	private IndexRegisterY indexRegisterY;
+	private StackPointer stackPointer;
+	private CycleCounter cycleCounter;
+	
+	private int maxSteps;
+	private long maxBytes;
+
+	private long[] stepRegisters; // Registerwerte pro Schritt (gepackt, siehe packRegisters())
+	private int[] stepWriteCounts; // Anzahl der Speichereinträge pro Schritt
+	private int stepHead; // Index des ältesten Schritts
+	private int stepCount;
+
+	private int[] writes; // Überschriebene Speicherzellen: (Adresse << 8) | alter Wert
+	private int writeHead; // Index des ältesten Speichereintrags
+	private int writeCount;
+	
+	private long stepStartCycles; // Taktzyklen zu Beginn des aktuellen Schritts
+
+	/**
+	 * Erstellt ein leeres Protokoll für die angegebenen Register und den Speicher mit den Standardgrenzen.
+	 * @param statusRegister Status Register
+	 * @param programCounter Befehlszähler
+	 * @param memory Speicher
+	 * @param accumulator Akkumulator
+	 * @param indexRegisterX Index Register X
+	 * @param indexRegisterY Index Register Y
+	 * @param stackPointer Stack Pointer
+	 * @param cycleCounter Taktzyklenzähler
+	 */
+	public UndoJournal(StatusRegister statusRegister, ProgramCounter programCounter, Memory memory, Accumulator accumulator, IndexRegisterX indexRegisterX, IndexRegisterY indexRegisterY, StackPointer stackPointer, CycleCounter cycleCounter) {
+		this.statusRegister = statusRegister;
+		this.programCounter = programCounter;
+		this.memory = memory;
+		this.accumulator = accumulator;
+		this.indexRegisterX = indexRegisterX;
+		this.indexRegisterY = indexRegisterY;
+		this.stackPointer = stackPointer;
+		this.cycleCounter = cycleCounter;
+
+		this.stepRegisters = new long[INITIAL_CAPACITY];
+		this.stepWriteCounts = new int[INITIAL_CAPACITY];
+		this.writes = new int[INITIAL_CAPACITY];
+		
+		this.setLimits(DEFAULT_MAX_STEPS, DEFAULT_MAX_BYTES);
+	}
+	
+	/**
+	 * Setzt die maximale Anzahl an Schritten und die maximale Anzahl an Bytes, die das Protokoll vorhält.
+	 * Überzählige alte Schritte werden sofort verworfen.
+	 * @param maxSteps Maximale Anzahl an Schritten (0 deaktiviert das Protokoll)
+	 * @param maxBytes Maximale Anzahl an Bytes (weniger als ein Schritt belegt deaktiviert das Protokoll)
+	 * @throws IllegalArgumentException Falls eine Grenze negativ ist
+	 */
+	public void setLimits(int maxSteps, long maxBytes) throws IllegalArgumentException {
+		if(maxSteps < 0 || maxBytes < 0)
+			throw new IllegalArgumentException("Die Grenzen des Protokolls dürfen nicht negativ sein.");
+		
+		this.maxSteps = maxSteps;
+		this.maxBytes = maxBytes;
+		
+		while(this.stepCount > 0 && (this.stepCount > this.maxSteps || this.getRetainedBytes() > this.maxBytes))
+			this.evictOldestStep();
+	}
+
+	/**
+	 * Beginnt einen neuen Schritt: Speichert die aktuellen Registerwerte und protokolliert ab jetzt alle Schreibzugriffe auf den Speicher.
+	 * Bei deaktiviertem Protokoll (maximal 0 Schritte oder weniger Bytes als ein Schritt belegt) wird nichts gespeichert.
+	 */
+	public void beginStep() {
+		if(this.maxSteps == 0 || this.maxBytes < STEP_BYTES)
+			return;
+		
+		// Platz für den neuen Schritt schaffen
+		while(this.stepCount > 0 && (this.stepCount >= this.maxSteps || this.getRetainedBytes() + STEP_BYTES > this.maxBytes))
+			this.evictOldestStep();
+		if(this.stepCount == this.stepRegisters.length)
+			this.growSteps();
+
+		int index = (this.stepHead + this.stepCount) % this.stepRegisters.length;
+		this.stepRegisters[index] = this.packRegisters();
+		this.stepWriteCounts[index] = 0;
+		this.stepCount++;
+		this.stepStartCycles = this.cycleCounter.getValue();
+
+		this.memory.setUndoJournal(this);
+	}
+
+	/**
+	 * Beendet den aktuellen Schritt. Schreibzugriffe auf den Speicher werden nicht mehr protokolliert.
+	 * Die im Schritt verbrauchten Taktzyklen werden in den freien Bits 56-63 der Registerwerte gespeichert.
+	 */
+	public void endStep() {
+		this.memory.setUndoJournal(null);
+		
+		if(this.stepCount > 0) {
+			long stepCycles = Math.min(this.cycleCounter.getValue() - this.stepStartCycles, 255);
+			this.stepRegisters[(this.stepHead + this.stepCount - 1) % this.stepRegisters.length] |= stepCycles << 56;
+		}
+	}
+
+	/**
+	 * Protokolliert den alten Wert einer Speicherzelle, bevor sie überschrieben wird.
+	 * @param address Speicheradresse
+	 * @param oldValue Alter Wert der Speicherzelle
+	 */
+	void recordWrite(int address, int oldValue) {
+		// Platz für den neuen Eintrag schaffen (der aktuelle Schritt wird nie verworfen)
+		while(this.stepCount > 1 && this.getRetainedBytes() + WRITE_BYTES > this.maxBytes)
+			this.evictOldestStep();
+		if(this.writeCount == this.writes.length)
+			this.growWrites();
+
+		this.writes[(this.writeHead + this.writeCount) % this.writes.length] = (address << 8) | (oldValue & 0xFF);
+		this.writeCount++;
+		this.stepWriteCounts[(this.stepHead + this.stepCount - 1) % this.stepRegisters.length]++;
+	}
+
+	/**
+	 * Setzt alle Register und die im letzten Schritt überschriebenen Speicherzellen auf ihre alten Werte zurück.
+	 * @throws EmptyStackException Falls kein Schritt protokolliert ist
+	 */
+	public void undo() throws EmptyStackException {
+		if(this.stepCount == 0)
+			throw new EmptyStackException();
+
+		this.stepCount--;
+		int index = (this.stepHead + this.stepCount) % this.stepRegisters.length;
+
+		// Speicherzellen in umgekehrter Reihenfolge zurückschreiben
+		for(int i = this.stepWriteCounts[index]; i > 0; i--) {
+			this.writeCount--;
+			int write = this.writes[(this.writeHead + this.writeCount) % this.writes.length];
+			this.memory.restore(write >>> 8, write);
+		}
+
+		this.unpackRegisters(this.stepRegisters[index]);
+		this.cycleCounter.setValue(this.cycleCounter.getValue() - (this.stepRegisters[index] >>> 56));
+	}
+
+	/**
+	 * Gibt zurück, ob kein Schritt protokolliert ist (der Horizont des Protokolls ist erreicht).
+	 * @return Wahrheitswert, ob das Protokoll leer ist
+	 */
+	public boolean isEmpty() {
+		return this.stepCount == 0;
+	}
+	
+	/**
+	 * Gibt die Anzahl der protokollierten Schritte zurück.
+	 * @return Anzahl der Schritte
+	 */
+	public int getStepCount() {
+		return this.stepCount;
+	}
+	
+	/**
+	 * Gibt die Anzahl der Bytes zurück, die die protokollierten Schritte belegen.
+	 * @return Anzahl der Bytes
+	 */
+	public long getRetainedBytes() {
+		return (long) this.stepCount * STEP_BYTES + (long) this.writeCount * WRITE_BYTES;
+	}
+	
+	/**
+	 * Gibt die maximale Anzahl an Schritten zurück.
+	 * @return Maximale Anzahl an Schritten
+	 */
+	public int getMaxSteps() {
+		return this.maxSteps;
+	}
+	
+	/**
+	 * Gibt die maximale Anzahl an Bytes zurück.
+	 * @return Maximale Anzahl an Bytes
+	 */
+	public long getMaxBytes() {
+		return this.maxBytes;
+	}
+
+	/**
+	 * Löscht alle protokollierten Schritte.
+	 */
+	public void clear() {
+		this.stepHead = 0;
+		this.stepCount = 0;
+		this.writeHead = 0;
+		this.writeCount = 0;
+	}
+	
+	/**
+	 * Verwirft den ältesten Schritt und seine Speichereinträge.
+	 */
+	private void evictOldestStep() {
+		int writesOfStep = this.stepWriteCounts[this.stepHead];
+		this.writeHead = (this.writeHead + writesOfStep) % this.writes.length;
+		this.writeCount -= writesOfStep;
+		
+		this.stepHead = (this.stepHead + 1) % this.stepRegisters.length;
+		this.stepCount--;
+	}
+	
+	/**
+	 * Vergrößert die Ringpuffer der Schritte (höchstens bis zur maximalen Anzahl an Schritten).
+	 */
+	private void growSteps() {
+		int capacity = (int) Math.max(this.stepCount + 1, Math.min((long) this.stepCount * 2, this.maxSteps));
+		long[] stepRegisters = new long[capacity];
+		int[] stepWriteCounts = new int[capacity];
+		for(int i = 0; i < this.stepCount; i++) {
+			int index = (this.stepHead + i) % this.stepRegisters.length;
+			stepRegisters[i] = this.stepRegisters[index];
+			stepWriteCounts[i] = this.stepWriteCounts[index];
+		}
+		
+		this.stepRegisters = stepRegisters;
+		this.stepWriteCounts = stepWriteCounts;
+		this.stepHead = 0;
+	}
+	
+	/**
+	 * Vergrößert den Ringpuffer der Speichereinträge (im Normalfall höchstens bis zur maximalen Anzahl an Bytes).
+	 */
+	private void growWrites() {
+		int capacity = (int) Math.max(this.writeCount + 1, Math.min((long) this.writeCount * 2, this.maxBytes / WRITE_BYTES));
+		int[] writes = new int[capacity];
+		for(int i = 0; i < this.writeCount; i++)
+			writes[i] = this.writes[(this.writeHead + i) % this.writes.length];
+		
+		this.writes = writes;
+		this.writeHead = 0;
+	}
+
+	/**
+	 * Packt die Werte aller Register in eine 64 Bit Zahl.
+	 * Bitbelegung: 0-15: Befehlszähler, 16-23: Akkumulator, 24-31: Index Register X, 32-39: Index Register Y, 40-47: Stack Pointer, 48-55: Status Register, 56-63: Taktzyklen des Schritts (siehe endStep())
+	 * @return Gepackte Registerwerte
+	 */
+	private long packRegisters() {
+		return (this.programCounter.getData().getUnsignedValue())
+				| ((long) this.accumulator.getData().getUnsignedValue() << 16)
+				| ((long) this.indexRegisterX.getData().getUnsignedValue() << 24)
+				| ((long) this.indexRegisterY.getData().getUnsignedValue() << 32)
+				| ((long) this.stackPointer.getData().getUnsignedValue() << 40)
+				| ((long) this.statusRegister.getData().getUnsignedValue() << 48);
+	}
+
+	/**
+	 * Setzt alle Register auf die gepackten Werte.
+	 * @param registers Gepackte Registerwerte (siehe packRegisters())
+	 */
+	private void unpackRegisters(long registers) {
+		this.programCounter.getData().setValue((int) registers);
+		this.accumulator.getData().setValue((int) (registers >>> 16));
+		this.indexRegisterX.getData().setValue((int) (registers >>> 24));
+		this.indexRegisterY.getData().setValue((int) (registers >>> 32));
+		this.stackPointer.getData().setValue((int) (registers >>> 40));
+		this.statusRegister.getData().setValue((int) (registers >>> 48));
+	}
+}
@@ -23,19 +23,37 @@ public class Accumulator extends Register8 {
 	 * Lädt eine Konstante in den Akkumulator.
 	 * @param constant Konstante
 	 */
-	public void loadI(INT8 constant) {
-		this.valueOf(constant);
+	public void loadI(int constant) {
+		this.data.setValue(constant);
 		
 		this.updateZNFlags();
 	}
 	
+	/**
+	 * Lädt eine Konstante in den Akkumulator.
+	 * @param constant Konstante
+	 */
+	public void loadI(INT8 constant) {
+		// Ruft int-Version auf
+		this.loadI(constant.getValue());
+	}
+	
 	/**
 	 * Lädt den Inhalt einer Speicherzelle in den Akkumulator.
 	 * @param address Speicheradresse
 	 */
-	public void load(INT16 address) {
+	public void load(int address) {
 		// Ruft Konstanten-Version auf
-		this.loadI(this.memory.getCellData(address));
+		this.loadI(this.memory.read(address));
+	}
+	
+	/**
+	 * Lädt den Inhalt einer Speicherzelle in den Akkumulator.
+	 * @param address Speicheradresse
+	 */
+	public void load(INT16 address) {
+		// Ruft int-Version auf
+		this.load(address.getUnsignedValue());
 	}
 	
 	/**
@@ -45,7 +63,7 @@ public class Accumulator extends Register8 {
 	 */
 	public void load(INT16 address, IndexRegister offsetRegister) {
 		// Ruft Adressen-Version auf
-		this.load(new INT16(address.getValue() + offsetRegister.getData().getUnsignedValue()));
+		this.load(address.getValue() + offsetRegister.getData().getUnsignedValue());
 	}
 	
 	/**
@@ -54,7 +72,7 @@ public class Accumulator extends Register8 {
 	 */
 	public void load(INT8 zeroPageAddress) {
 		// Ruft Adressen-Version auf
-		this.load(new INT16(zeroPageAddress, new INT8(0)));
+		this.load(zeroPageAddress.getUnsignedValue());
 	}
 	
 	/**
@@ -63,8 +81,16 @@ public class Accumulator extends Register8 {
 	 * @param offsetRegisterX Das Index Register X dessen Wert vor dem Laden des Speicherwerts auf die Zero Page Adresse addiert wird
 	 */
 	public void load(INT8 zeroPageAddress, IndexRegisterX offsetRegisterX) {
-		// Ruft Adressen-ZP-Version auf
-		this.load(new INT8(zeroPageAddress.getValue() + offsetRegisterX.getData().getValue()));
+		// Ruft Adressen-Version auf
+		this.load((zeroPageAddress.getValue() + offsetRegisterX.getData().getValue()) & 0xFF);
+	}
+	
+	/**
+	 * Speichert den aktuellen Wert des Akkumulators in einer Speicherzelle.
+	 * @param address Speicheradresse
+	 */
+	public void store(int address) {
+		this.memory.write(address, this.data.getValue());
 	}
 	
 	/**
@@ -72,7 +98,8 @@ public class Accumulator extends Register8 {
 	 * @param address Speicheradresse
 	 */
 	public void store(INT16 address) {
-		this.memory.cellValueOf(address, this);
+		// Ruft int-Version auf
+		this.store(address.getUnsignedValue());
 	}
 	
 	/**
@@ -82,7 +109,7 @@ public class Accumulator extends Register8 {
 	 */
 	public void store(INT16 address, IndexRegister offsetRegister) {
 		// Ruft Adressen-Version auf
-		this.store(new INT16(address.getValue() + offsetRegister.getData().getUnsignedValue()));
+		this.store(address.getValue() + offsetRegister.getData().getUnsignedValue());
 	}
 	
 	/**
@@ -91,7 +118,7 @@ public class Accumulator extends Register8 {
 	 */
 	public void store(INT8 zeroPageAddress) {
 		// Ruft Adressen-Version auf
-		this.store(new INT16(zeroPageAddress, new INT8(0)));
+		this.store(zeroPageAddress.getUnsignedValue());
 	}
 	
 	/**
@@ -100,8 +127,8 @@ public class Accumulator extends Register8 {
 	 * @param offsetRegisterX Das Index Register X dessen Wert vor dem Laden des Speicherwerts auf die Zero Page Adresse addiert wird
 	 */
 	public void store(INT8 zeroPageAddress, IndexRegisterX offsetRegisterX) {
-		// Ruft Adressen-ZP-Version auf
-		this.store(new INT8(zeroPageAddress.getValue() + offsetRegisterX.getData().getValue()));
+		// Ruft Adressen-Version auf
+		this.store((zeroPageAddress.getValue() + offsetRegisterX.getData().getValue()) & 0xFF);
 	}
 	
 	/**
@@ -118,19 +145,37 @@ public class Accumulator extends Register8 {
 	 * Das bitweise Und vom Wert des Akkumulators und der Konstante wird in den Akkumulator geschrieben.
 	 * @param constant Konstante
 	 */
-	public void logicAndI(INT8 constant) {
-		this.data.setValue(this.data.getValue() & constant.getValue());
+	public void logicAndI(int constant) {
+		this.data.setValue(this.data.getValue() & (byte) constant);
 		
 		this.updateZNFlags();
 	}
 	
+	/**
+	 * Das bitweise Und vom Wert des Akkumulators und der Konstante wird in den Akkumulator geschrieben.
+	 * @param constant Konstante
+	 */
+	public void logicAndI(INT8 constant) {
+		// Ruft int-Version auf
+		this.logicAndI(constant.getValue());
+	}
+	
 	/**
 	 * Das bitweise Und vom Wert des Akkumulators und des Inhalts der Speicherzelle wird in den Akkumulator geschrieben.
 	 * @param address Speicheradresse
 	 */
-	public void logicAnd(INT16 address) {
+	public void logicAnd(int address) {
 		// Ruft Konstanten-Version auf
-		this.logicAndI(this.memory.getCellData(address));
+		this.logicAndI(this.memory.read(address));
+	}
+	
+	/**
+	 * Das bitweise Und vom Wert des Akkumulators und des Inhalts der Speicherzelle wird in den Akkumulator geschrieben.
+	 * @param address Speicheradresse
+	 */
+	public void logicAnd(INT16 address) {
+		// Ruft int-Version auf
+		this.logicAnd(address.getUnsignedValue());
 	}
 	
 	/**
@@ -140,7 +185,7 @@ public class Accumulator extends Register8 {
 	 */
 	public void logicAnd(INT16 address, IndexRegister offsetRegister) {
 		// Ruft Adressen-Version auf
-		this.logicAnd(new INT16(address.getValue() + offsetRegister.getData().getUnsignedValue()));
+		this.logicAnd(address.getValue() + offsetRegister.getData().getUnsignedValue());
 	}
 	
 	/**
@@ -149,7 +194,7 @@ public class Accumulator extends Register8 {
 	 */
 	public void logicAnd(INT8 zeroPageAddress) {
 		// Ruft Adressen-Version auf
-		this.logicAnd(new INT16(zeroPageAddress, new INT8(0)));
+		this.logicAnd(zeroPageAddress.getUnsignedValue());
 	}
 	
 	/**
@@ -158,27 +203,45 @@ public class Accumulator extends Register8 {
 	 * @param offsetRegisterX Das Index Register X dessen Wert vor dem Laden des Speicherwerts auf die Zero Page Adresse addiert wird
 	 */
 	public void logicAnd(INT8 zeroPageAddress, IndexRegisterX offsetRegisterX) {
-		// Ruft Adressen-ZP-Version auf
-		this.logicAnd(new INT8(zeroPageAddress.getValue() + offsetRegisterX.getData().getValue()));
+		// Ruft Adressen-Version auf
+		this.logicAnd((zeroPageAddress.getValue() + offsetRegisterX.getData().getValue()) & 0xFF);
 	}
 
 	/**
 	 * Das bitweise Oder vom Wert des Akkumulators und der Konstante wird in den Akkumulator geschrieben.
 	 * @param constant Konstante
 	 */
-	public void logicOrI(INT8 constant) {
-		this.data.setValue(this.data.getValue() | constant.getValue());
+	public void logicOrI(int constant) {
+		this.data.setValue(this.data.getValue() | (byte) constant);
 		
 		this.updateZNFlags();
 	}
 
+	/**
+	 * Das bitweise Oder vom Wert des Akkumulators und der Konstante wird in den Akkumulator geschrieben.
+	 * @param constant Konstante
+	 */
+	public void logicOrI(INT8 constant) {
+		// Ruft int-Version auf
+		this.logicOrI(constant.getValue());
+	}
+
 	/**
 	 * Das bitweise Oder vom Wert des Akkumulators und des Inhalts der Speicherzelle wird in den Akkumulator geschrieben.
 	 * @param address Speicheradresse
 	 */
-	public void logicOr(INT16 address) {
+	public void logicOr(int address) {
 		// Ruft Konstanten-Version auf
-		this.logicOrI(this.memory.getCellData(address));
+		this.logicOrI(this.memory.read(address));
+	}
+
+	/**
+	 * Das bitweise Oder vom Wert des Akkumulators und des Inhalts der Speicherzelle wird in den Akkumulator geschrieben.
+	 * @param address Speicheradresse
+	 */
+	public void logicOr(INT16 address) {
+		// Ruft int-Version auf
+		this.logicOr(address.getUnsignedValue());
 	}
 
 	/**
@@ -188,7 +251,7 @@ public class Accumulator extends Register8 {
 	 */
 	public void logicOr(INT16 address, IndexRegister offsetRegister) {
 		// Ruft Adressen-Version auf
-		this.logicOr(new INT16(address.getValue() + offsetRegister.getData().getUnsignedValue()));
+		this.logicOr(address.getValue() + offsetRegister.getData().getUnsignedValue());
 	}
 
 	/**
@@ -197,7 +260,7 @@ public class Accumulator extends Register8 {
 	 */
 	public void logicOr(INT8 zeroPageAddress) {
 		// Ruft Adressen-Version auf
-		this.logicOr(new INT16(zeroPageAddress, new INT8(0)));
+		this.logicOr(zeroPageAddress.getUnsignedValue());
 	}
 
 	/**
@@ -206,27 +269,45 @@ public class Accumulator extends Register8 {
 	 * @param offsetRegisterX Das Index Register X dessen Wert vor dem Laden des Speicherwerts auf die Zero Page Adresse addiert wird
 	 */
 	public void logicOr(INT8 zeroPageAddress, IndexRegisterX offsetRegisterX) {
-		// Ruft Adressen-ZP-Version auf
-		this.logicOr(new INT8(zeroPageAddress.getValue() + offsetRegisterX.getData().getValue()));
+		// Ruft Adressen-Version auf
+		this.logicOr((zeroPageAddress.getValue() + offsetRegisterX.getData().getValue()) & 0xFF);
 	}
 
 	/**
 	 * Das bitweise Exklusiv-Oder vom Wert des Akkumulators und der Konstante wird in den Akkumulator geschrieben.
 	 * @param constant Konstante
 	 */
-	public void logicXorI(INT8 constant) {
-		this.data.setValue(this.data.getValue() ^ constant.getValue());
+	public void logicXorI(int constant) {
+		this.data.setValue(this.data.getValue() ^ (byte) constant);
 		
 		this.updateZNFlags();
 	}
 
+	/**
+	 * Das bitweise Exklusiv-Oder vom Wert des Akkumulators und der Konstante wird in den Akkumulator geschrieben.
+	 * @param constant Konstante
+	 */
+	public void logicXorI(INT8 constant) {
+		// Ruft int-Version auf
+		this.logicXorI(constant.getValue());
+	}
+
 	/**
 	 * Das bitweise Exklusiv-Oder vom Wert des Akkumulators und des Inhalts der Speicherzelle wird in den Akkumulator geschrieben.
 	 * @param address Speicheradresse
 	 */
-	public void logicXor(INT16 address) {
+	public void logicXor(int address) {
 		// Ruft Konstanten-Version auf
-		this.logicXorI(this.memory.getCellData(address));
+		this.logicXorI(this.memory.read(address));
+	}
+
+	/**
+	 * Das bitweise Exklusiv-Oder vom Wert des Akkumulators und des Inhalts der Speicherzelle wird in den Akkumulator geschrieben.
+	 * @param address Speicheradresse
+	 */
+	public void logicXor(INT16 address) {
+		// Ruft int-Version auf
+		this.logicXor(address.getUnsignedValue());
 	}
 
 	/**
@@ -236,7 +317,7 @@ public class Accumulator extends Register8 {
 	 */
 	public void logicXor(INT16 address, IndexRegister offsetRegister) {
 		// Ruft Adressen-Version auf
-		this.logicXor(new INT16(address.getValue() + offsetRegister.getData().getUnsignedValue()));
+		this.logicXor(address.getValue() + offsetRegister.getData().getUnsignedValue());
 	}
 
 	/**
@@ -245,7 +326,7 @@ public class Accumulator extends Register8 {
 	 */
 	public void logicXor(INT8 zeroPageAddress) {
 		// Ruft Adressen-Version auf
-		this.logicXor(new INT16(zeroPageAddress, new INT8(0)));
+		this.logicXor(zeroPageAddress.getUnsignedValue());
 	}
 
 	/**
@@ -254,8 +335,18 @@ public class Accumulator extends Register8 {
 	 * @param offsetRegisterX Das Index Register X dessen Wert vor dem Laden des Speicherwerts auf die Zero Page Adresse addiert wird
 	 */
 	public void logicXor(INT8 zeroPageAddress, IndexRegisterX offsetRegisterX) {
-		// Ruft Adressen-ZP-Version auf
-		this.logicXor(new INT8(zeroPageAddress.getValue() + offsetRegisterX.getData().getValue()));
+		// Ruft Adressen-Version auf
+		this.logicXor((zeroPageAddress.getValue() + offsetRegisterX.getData().getValue()) & 0xFF);
+	}
+	
+	/**
+	 * Addiert den Akkumulator, einer Konstante und das Carry Bit und speichert das Ergebnis im Akkumulator.
+	 * @param constant Konstante
+	 */
+	public void addWithCarryI(int constant) {
+		// Ergebnis und Flags aus der vorberechneten Tabelle
+		this.applyArithmetic(ArithmeticTable.lookupAdd(this.data.getValue(), constant,
+				this.statusRegister.getCarry(), this.statusRegister.getDecimal()));
 	}
 	
 	/**
@@ -263,52 +354,26 @@ public class Accumulator extends Register8 {
 	 * @param constant Konstante
 	 */
 	public void addWithCarryI(INT8 constant) {
-		int result = this.data.getValue() + constant.getValue() + (this.statusRegister.getCarry() ? 1 : 0);
-		if(!this.statusRegister.getDecimal()) {
-			// Binär-Modus
-			int resultUnsigned = this.data.getUnsignedValue() + constant.getUnsignedValue() + (this.statusRegister.getCarry() ? 1 : 0);
-			
-			this.data.setValue(result);
-			
-			// Carry Flag
-			this.statusRegister.setCarry(resultUnsigned > 255);
-		} else {
-			// Dezimal-Modus
-			int lowNibble = this.data.getValue() & 15; // Maskiert nur die hinteren 4 Bits
-			int highNibble = (this.data.getValue() >> 4) & 15; // Legt vordere 4 Bits auf hintere 4, Rest auf 0
-			int decimalNumber1 = highNibble * 10 + lowNibble; // Interpretation der Stellen als Dezimalzahl
-			
-			lowNibble = constant.getValue() & 15;
-			highNibble = (constant.getValue() >> 4) & 15;
-			int decimalNumber2 = highNibble * 10 + lowNibble;
-			
-			int decimalResult = decimalNumber1 + decimalNumber2 + (this.statusRegister.getCarry() ? 1 : 0);
-			
-			lowNibble = decimalResult % 10; // Extrahiert Einerstelle
-			highNibble = decimalResult / 10; // Extrahiert Zehnerstelle
-			
-			if(decimalResult > 99)
-				highNibble %= 10; // Carry gebraucht. Setzt highNibble von Hunderter- auf Zehnerstelle
-			
-			this.data.setValue((highNibble << 4) | lowNibble);
-			
-			// Carry Flag
-			this.statusRegister.setCarry(decimalResult > 99); // Carry Flag als Hunderterstelle
-		}
-		
-		// Overflow Flag
-		this.statusRegister.setOverflow(result < -128 || result > 127);
-		
-		this.updateZNFlags();
+		// Ruft int-Version auf
+		this.addWithCarryI(constant.getValue());
 	}
 	
 	/**
 	 * Addiert den Akkumulator, den Inhalt einer Speicherzelle und das Carry Bit und speichert das Ergebnis im Akkumulator.
 	 * @param address Speicheradresse
 	 */
-	public void addWithCarry(INT16 address) {
+	public void addWithCarry(int address) {
 		// Ruft Konstanten-Version auf
-		this.addWithCarryI(this.memory.getCellData(address));
+		this.addWithCarryI(this.memory.read(address));
+	}
+	
+	/**
+	 * Addiert den Akkumulator, den Inhalt einer Speicherzelle und das Carry Bit und speichert das Ergebnis im Akkumulator.
+	 * @param address Speicheradresse
+	 */
+	public void addWithCarry(INT16 address) {
+		// Ruft int-Version auf
+		this.addWithCarry(address.getUnsignedValue());
 	}
 	
 	/**
@@ -318,7 +383,7 @@ public class Accumulator extends Register8 {
 	 */
 	public void addWithCarry(INT16 address, IndexRegister offsetRegister) {
 		// Ruft Adressen-Version auf
-		this.addWithCarry(new INT16(address.getValue() + offsetRegister.getData().getUnsignedValue()));
+		this.addWithCarry(address.getValue() + offsetRegister.getData().getUnsignedValue());
 	}
 	
 	/**
@@ -327,7 +392,7 @@ public class Accumulator extends Register8 {
 	 */
 	public void addWithCarry(INT8 zeroPageAddress) {
 		// Ruft Adressen-Version auf
-		this.addWithCarry(new INT16(zeroPageAddress, new INT8(0)));
+		this.addWithCarry(zeroPageAddress.getUnsignedValue());
 	}
 	
 	/**
@@ -336,61 +401,45 @@ public class Accumulator extends Register8 {
 	 * @param offsetRegisterX Das Index Register X dessen Wert vor dem Laden des Speicherwerts auf die Zero Page Adresse addiert wird
 	 */
 	public void addWithCarry(INT8 zeroPageAddress, IndexRegisterX offsetRegisterX) {
-		// Ruft Adressen-ZP-Version auf
-		this.addWithCarry(new INT8(zeroPageAddress.getValue() + offsetRegisterX.getData().getValue()));
+		// Ruft Adressen-Version auf
+		this.addWithCarry((zeroPageAddress.getValue() + offsetRegisterX.getData().getValue()) & 0xFF);
 	}
 
 	/**
 	 * Subtrahiert eine Konstante und das komplementierte Carry Bit vom Akkumulator und speichert das Ergebnis im Akkumulator.
 	 * @param constant Konstante
 	 */
-	public void subtractWithCarryI(INT8 constant) {
-		int result = this.data.getValue() - constant.getValue() - (this.statusRegister.getCarry() ? 0 : 1);
-		if(!this.statusRegister.getDecimal()) {
-			// Binär-Modus
-			int resultUnsigned = this.data.getUnsignedValue() - constant.getUnsignedValue() - (this.statusRegister.getCarry() ? 0 : 1);
-			
-			this.data.setValue(result);
+	public void subtractWithCarryI(int constant) {
+		// Ergebnis und Flags aus der vorberechneten Tabelle
+		this.applyArithmetic(ArithmeticTable.lookupSubtract(this.data.getValue(), constant,
+				this.statusRegister.getCarry(), this.statusRegister.getDecimal()));
+	}
 
-			// Carry Flag (0 bei Subtrahend > Minuend)
-			this.statusRegister.setCarry(!(resultUnsigned < 0));
-		} else {
-			// Dezimal-Modus
-			int lowNibble = this.data.getValue() & 15; // analog zur Addition
-			int highNibble = (this.data.getValue() >> 4) & 15;
-			int decimalNumber1 = highNibble * 10 + lowNibble;
-			
-			lowNibble = constant.getValue() & 15;
-			highNibble = (constant.getValue() >> 4) & 15;
-			int decimalNumber2 = highNibble * 10 + lowNibble;
-			
-			int decimalResult = decimalNumber1 - decimalNumber2 - (this.statusRegister.getCarry() ? 0 : 1);
-			
-			if(decimalResult < 0)
-				decimalResult += 100; // Overflow im Dezimalbereich. 10 - 20 = 90.
-			
-			lowNibble = decimalResult % 10;
-			highNibble = decimalResult / 10;
-			
-			this.data.setValue((highNibble << 4) | lowNibble);
-			
-			// Carry Flag
-			this.statusRegister.setCarry(!(decimalNumber1 < decimalNumber2)); // Carry Flag als Borge-Hunderter (0 bei Subtrahend > Minuend)
-		}
-		
-		// Overflow Flag
-		this.statusRegister.setOverflow(result < -128 || result > 127);
-		
-		this.updateZNFlags();
+	/**
+	 * Subtrahiert eine Konstante und das komplementierte Carry Bit vom Akkumulator und speichert das Ergebnis im Akkumulator.
+	 * @param constant Konstante
+	 */
+	public void subtractWithCarryI(INT8 constant) {
+		// Ruft int-Version auf
+		this.subtractWithCarryI(constant.getValue());
 	}
 
 	/**
 	 * Subtrahiert eine den Inhalt einer Speicherzelle und das komplementierte Carry Bit vom Akkumulator und speichert das Ergebnis im Akkumulator.
 	 * @param address Speicheradresse
 	 */
-	public void subtractWithCarry(INT16 address) {
+	public void subtractWithCarry(int address) {
 		// Ruft Konstanten-Version auf
-		this.subtractWithCarryI(this.memory.getCellData(address));
+		this.subtractWithCarryI(this.memory.read(address));
+	}
+	
+	/**
+	 * Subtrahiert eine den Inhalt einer Speicherzelle und das komplementierte Carry Bit vom Akkumulator und speichert das Ergebnis im Akkumulator.
+	 * @param address Speicheradresse
+	 */
+	public void subtractWithCarry(INT16 address) {
+		// Ruft int-Version auf
+		this.subtractWithCarry(address.getUnsignedValue());
 	}
 	
 	/**
@@ -400,7 +449,7 @@ public class Accumulator extends Register8 {
 	 */
 	public void subtractWithCarry(INT16 address, IndexRegister offsetRegister) {
 		// Ruft Adressen-Version auf
-		this.subtractWithCarry(new INT16(address.getValue() + offsetRegister.getData().getUnsignedValue()));
+		this.subtractWithCarry(address.getValue() + offsetRegister.getData().getUnsignedValue());
 	}
 	
 	/**
@@ -409,7 +458,7 @@ public class Accumulator extends Register8 {
 	 */
 	public void subtractWithCarry(INT8 zeroPageAddress) {
 		// Ruft Adressen-Version auf
-		this.subtractWithCarry(new INT16(zeroPageAddress, new INT8(0)));
+		this.subtractWithCarry(zeroPageAddress.getUnsignedValue());
 	}
 	
 	/**
@@ -418,8 +467,8 @@ public class Accumulator extends Register8 {
 	 * @param offsetRegisterX Das Index Register X dessen Wert vor dem Laden des Speicherwerts auf die Zero Page Adresse addiert wird
 	 */
 	public void subtractWithCarry(INT8 zeroPageAddress, IndexRegisterX offsetRegisterX) {
-		// Ruft Adressen-ZP-Version auf
-		this.subtractWithCarry(new INT8(zeroPageAddress.getValue() + offsetRegisterX.getData().getValue()));
+		// Ruft Adressen-Version auf
+		this.subtractWithCarry((zeroPageAddress.getValue() + offsetRegisterX.getData().getValue()) & 0xFF);
 	}
 		
 	/**
@@ -474,15 +523,27 @@ public class Accumulator extends Register8 {
 	 * Negative: Akkumulator (signed) ist kleiner als Konstante (signed)
 	 * @param constant Konstante
 	 */
-	public void compareI(INT8 constant) {
-		int difference = this.data.getValue() - constant.getValue();
-		int differenceUnsigned = this.data.getUnsignedValue() - constant.getUnsignedValue();
+	public void compareI(int constant) {
+		int difference = this.data.getValue() - (byte) constant;
+		int differenceUnsigned = this.data.getUnsignedValue() - (constant & 0xFF);
 		
 		this.statusRegister.setCarry(differenceUnsigned >= 0);
 		this.statusRegister.setZero(difference == 0);
 		this.statusRegister.setNegative(difference < 0);
 	}
 
+	/**
+	 * Vergleicht den Akkumulator mit einer Konstante und setzt die Prozessor Flags entsprechend.
+	 * Carry: Akkumulator (unsigned) ist größer gleich Konstante (unsigned),
+	 * Zero: Beide Werte sind gleich,
+	 * Negative: Akkumulator (signed) ist kleiner als Konstante (signed)
+	 * @param constant Konstante
+	 */
+	public void compareI(INT8 constant) {
+		// Ruft int-Version auf
+		this.compareI(constant.getValue());
+	}
+
 	/**
 	 * Vergleicht den Akkumulator mit dem Inhalt einer Speicherzelle und setzt die Prozessor Flags entsprechend.
 	 * Carry: Akkumulator (unsigned) ist größer gleich Inhalt Speicherzelle (unsigned),
@@ -490,9 +551,21 @@ public class Accumulator extends Register8 {
 	 * Negative: Akkumulator (signed) ist kleiner als Inhalt Speicherzelle (signed)
 	 * @param address Speicheradresse
 	 */
-	public void compare(INT16 address) {
+	public void compare(int address) {
 		// Ruft Konstanten-Version auf
-		this.compareI(this.memory.getCellData(address));
+		this.compareI(this.memory.read(address));
+	}
+	
+	/**
+	 * Vergleicht den Akkumulator mit dem Inhalt einer Speicherzelle und setzt die Prozessor Flags entsprechend.
+	 * Carry: Akkumulator (unsigned) ist größer gleich Inhalt Speicherzelle (unsigned),
+	 * Zero: Beide Werte sind gleich,
+	 * Negative: Akkumulator (signed) ist kleiner als Inhalt Speicherzelle (signed)
+	 * @param address Speicheradresse
+	 */
+	public void compare(INT16 address) {
+		// Ruft int-Version auf
+		this.compare(address.getUnsignedValue());
 	}
 	
 	/**
@@ -505,7 +578,7 @@ public class Accumulator extends Register8 {
 	 */
 	public void compare(INT16 address, IndexRegister offsetRegister) {
 		// Ruft Adressen-Version auf
-		this.compare(new INT16(address.getValue() + offsetRegister.getData().getUnsignedValue()));
+		this.compare(address.getValue() + offsetRegister.getData().getUnsignedValue());
 	}
 	
 	/**
@@ -517,7 +590,7 @@ public class Accumulator extends Register8 {
 	 */
 	public void compare(INT8 zeroPageAddress) {
 		// Ruft Adressen-Version auf
-		this.compare(new INT16(zeroPageAddress, new INT8(0)));
+		this.compare(zeroPageAddress.getUnsignedValue());
 	}
 	
 	/**
@@ -529,8 +602,8 @@ public class Accumulator extends Register8 {
 	 * @param offsetRegisterX Das Index Register X dessen Wert vor dem Laden des Speicherwerts auf die Zero Page Adresse addiert wird
 	 */
 	public void compare(INT8 zeroPageAddress, IndexRegisterX offsetRegisterX) {
-		// Ruft Adressen-ZP-Version auf
-		this.compare(new INT8(zeroPageAddress.getValue() + offsetRegisterX.getData().getValue()));
+		// Ruft Adressen-Version auf
+		this.compare((zeroPageAddress.getValue() + offsetRegisterX.getData().getValue()) & 0xFF);
 	}
 	
 	/**
@@ -538,11 +611,22 @@ public class Accumulator extends Register8 {
 	 * Das Zero Flag wird gesetzt falls die bitweise Und Verknüpfung des Inhalts der Speicherzelle und des Akkumulators 0 ist.
 	 * @param address Speicheradresse
 	 */
-	public void bitTest(INT16 address) {
-		this.statusRegister.setNegative(this.memory.getCellData(address).getBit(7));
-		this.statusRegister.setOverflow(this.memory.getCellData(address).getBit(6));
+	public void bitTest(int address) {
+		int value = this.memory.read(address);
+		this.statusRegister.setNegative((value & 0x80) != 0);
+		this.statusRegister.setOverflow((value & 0x40) != 0);
 		
-		this.statusRegister.setZero((this.data.getValue() & this.memory.getCellData(address).getValue()) == 0);
+		this.statusRegister.setZero((this.data.getValue() & value) == 0);
+	}
+
+	/**
+	 * Setzt das Negativ Flag auf das siebte Bit des Inhalts der Speicherzelle und das Overflow Flag auf das sechste Bit des Inhalts der Speicherzelle.
+	 * Das Zero Flag wird gesetzt falls die bitweise Und Verknüpfung des Inhalts der Speicherzelle und des Akkumulators 0 ist.
+	 * @param address Speicheradresse
+	 */
+	public void bitTest(INT16 address) {
+		// Ruft int-Version auf
+		this.bitTest(address.getUnsignedValue());
 	}
 
 	/**
@@ -552,6 +636,17 @@ public class Accumulator extends Register8 {
 	 */
 	public void bitTest(INT8 zeroPageAddress) {
 		// Ruft Adressen-Version auf
-		this.bitTest(new INT16(zeroPageAddress, new INT8(0)));
+		this.bitTest(zeroPageAddress.getUnsignedValue());
+	}
+
+	/**
+	 * Übernimmt Ergebnis und Flags eines Eintrags der ArithmeticTable in den Akkumulator und das Status Register.
+	 * @param entry Ergebnis (Bit 0-7) und Flags N, V, Z, C (Bit 8-15)
+	 */
+	private void applyArithmetic(int entry) {
+		this.data.setValue(entry);
+		
+		INT8 status = this.statusRegister.getData();
+		status.setValue((status.getValue() & ~ArithmeticTable.FLAGS) | (entry >> 8));
 	}
 }
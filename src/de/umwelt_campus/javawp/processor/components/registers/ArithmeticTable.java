@@ -0,0 +1,156 @@
+package de.umwelt_campus.javawp.processor.components.registers;
+
+/**
+ * Vorberechnete Ergebnisse von ADC und SBC für alle Kombinationen aus Akkumulator, Operand, Carry Flag und Modus (binär oder dezimal).
+ * Ein Eintrag enthält im Low Byte das Ergebnis und im High Byte die Flags N, V, Z und C an ihrer Position im Status Register.
+ * @author Mathis Ströhlein
+ */
+final class ArithmeticTable {
+	// Von ADC und SBC gesetzte Flags: Negative, Overflow, Zero, Carry
+	static final int FLAGS = 0b11000011;
+
+	// Index: Dezimal (Bit 18), Subtraktion (Bit 17), Carry (Bit 16), Akkumulator (Bit 8-15), Operand (Bit 0-7)
+	private static final char[] entries = new char[1 << 19];
+
+	static {
+		for(int index = 0; index < entries.length; index++) {
+			boolean decimal = (index & (1 << 18)) != 0;
+			boolean subtract = (index & (1 << 17)) != 0;
+			boolean carry = (index & (1 << 16)) != 0;
+			int accumulator = (index >> 8) & 0xFF;
+			int operand = index & 0xFF;
+
+			entries[index] = (char) (subtract
+					? subtractWithCarry(accumulator, operand, carry, decimal)
+					: addWithCarry(accumulator, operand, carry, decimal));
+		}
+	}
+
+	private ArithmeticTable() {
+	}
+
+	/**
+	 * Gibt den Eintrag für ADC zurück.
+	 * @param accumulator Wert des Akkumulators
+	 * @param operand Operand
+	 * @param carry Carry Flag
+	 * @param decimal Decimal Flag
+	 * @return Ergebnis (Bit 0-7) und Flags (Bit 8-15)
+	 */
+	static int lookupAdd(int accumulator, int operand, boolean carry, boolean decimal) {
+		return entries[(decimal ? 1 << 18 : 0) | (carry ? 1 << 16 : 0) | ((accumulator & 0xFF) << 8) | (operand & 0xFF)];
+	}
+
+	/**
+	 * Gibt den Eintrag für SBC zurück.
+	 * @param accumulator Wert des Akkumulators
+	 * @param operand Operand
+	 * @param carry Carry Flag
+	 * @param decimal Decimal Flag
+	 * @return Ergebnis (Bit 0-7) und Flags (Bit 8-15)
+	 */
+	static int lookupSubtract(int accumulator, int operand, boolean carry, boolean decimal) {
+		return entries[(decimal ? 1 << 18 : 0) | 1 << 17 | (carry ? 1 << 16 : 0) | ((accumulator & 0xFF) << 8) | (operand & 0xFF)];
+	}
+
+	/**
+	 * Berechnet einen Eintrag für ADC.
+	 * @param accumulator Wert des Akkumulators (0 bis 255)
+	 * @param constant Operand (0 bis 255)
+	 * @param carry Carry Flag
+	 * @param decimal Decimal Flag
+	 * @return Ergebnis (Bit 0-7) und Flags (Bit 8-15)
+	 */
+	private static int addWithCarry(int accumulator, int constant, boolean carry, boolean decimal) {
+		int result = (byte) accumulator + (byte) constant + (carry ? 1 : 0);
+		int value;
+		boolean carryOut;
+		if(!decimal) {
+			// Binär-Modus
+			int resultUnsigned = accumulator + constant + (carry ? 1 : 0);
+
+			value = result & 0xFF;
+			carryOut = resultUnsigned > 255;
+		} else {
+			// Dezimal-Modus
+			int lowNibble = accumulator & 15; // Maskiert nur die hinteren 4 Bits
+			int highNibble = (accumulator >> 4) & 15; // Legt vordere 4 Bits auf hintere 4, Rest auf 0
+			int decimalNumber1 = highNibble * 10 + lowNibble; // Interpretation der Stellen als Dezimalzahl
+
+			lowNibble = constant & 15;
+			highNibble = (constant >> 4) & 15;
+			int decimalNumber2 = highNibble * 10 + lowNibble;
+
+			int decimalResult = decimalNumber1 + decimalNumber2 + (carry ? 1 : 0);
+
+			lowNibble = decimalResult % 10; // Extrahiert Einerstelle
+			highNibble = decimalResult / 10; // Extrahiert Zehnerstelle
+
+			if(decimalResult > 99)
+				highNibble %= 10; // Carry gebraucht. Setzt highNibble von Hunderter- auf Zehnerstelle
+
+			value = ((highNibble << 4) | lowNibble) & 0xFF;
+			carryOut = decimalResult > 99; // Carry Flag als Hunderterstelle
+		}
+
+		return entry(value, carryOut, result < -128 || result > 127);
+	}
+
+	/**
+	 * Berechnet einen Eintrag für SBC.
+	 * @param accumulator Wert des Akkumulators (0 bis 255)
+	 * @param constant Operand (0 bis 255)
+	 * @param carry Carry Flag
+	 * @param decimal Decimal Flag
+	 * @return Ergebnis (Bit 0-7) und Flags (Bit 8-15)
+	 */
+	private static int subtractWithCarry(int accumulator, int constant, boolean carry, boolean decimal) {
+		int result = (byte) accumulator - (byte) constant - (carry ? 0 : 1);
+		int value;
+		boolean carryOut;
+		if(!decimal) {
+			// Binär-Modus
+			int resultUnsigned = accumulator - constant - (carry ? 0 : 1);
+
+			value = result & 0xFF;
+			carryOut = !(resultUnsigned < 0); // 0 bei Subtrahend > Minuend
+		} else {
+			// Dezimal-Modus
+			int lowNibble = accumulator & 15; // analog zur Addition
+			int highNibble = (accumulator >> 4) & 15;
+			int decimalNumber1 = highNibble * 10 + lowNibble;
+
+			lowNibble = constant & 15;
+			highNibble = (constant >> 4) & 15;
+			int decimalNumber2 = highNibble * 10 + lowNibble;
+
+			int decimalResult = decimalNumber1 - decimalNumber2 - (carry ? 0 : 1);
+
+			if(decimalResult < 0)
+				decimalResult += 100; // Overflow im Dezimalbereich. 10 - 20 = 90.
+
+			lowNibble = decimalResult % 10;
+			highNibble = decimalResult / 10;
+
+			value = ((highNibble << 4) | lowNibble) & 0xFF;
+			carryOut = !(decimalNumber1 < decimalNumber2); // Carry Flag als Borge-Hunderter (0 bei Subtrahend > Minuend)
+		}
+
+		return entry(value, carryOut, result < -128 || result > 127);
+	}
+
+	/**
+	 * Setzt Ergebnis und Flags zu einem Eintrag zusammen.
+	 * @param value Ergebnis (0 bis 255)
+	 * @param carry Carry Flag
+	 * @param overflow Overflow Flag
+	 * @return Ergebnis (Bit 0-7) und Flags (Bit 8-15)
+	 */
+	private static int entry(int value, boolean carry, boolean overflow) {
+		int flags = (value & 0x80) // Negative Flag
+				| (overflow ? 0x40 : 0)
+				| (value == 0 ? 0x02 : 0) // Zero Flag
+				| (carry ? 0x01 : 0);
+		return (flags << 8) | value;
+	}
+}
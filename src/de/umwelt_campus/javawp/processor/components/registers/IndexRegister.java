@@ -24,19 +24,37 @@ public abstract class IndexRegister extends Register8 {
 	 * Lädt eine Konstante in das Index Register.
 	 * @param constant Konstante
 	 */
-	public void loadI(INT8 constant) {
-		this.valueOf(constant);
+	public void loadI(int constant) {
+		this.data.setValue(constant);
 		
 		this.updateZNFlags();
 	}
 
+	/**
+	 * Lädt eine Konstante in das Index Register.
+	 * @param constant Konstante
+	 */
+	public void loadI(INT8 constant) {
+		// Ruft int-Version auf
+		this.loadI(constant.getValue());
+	}
+
 	/**
 	 * Lädt den Inhalt einer Speicherzelle in das Index Register.
 	 * @param address Speicheradresse
 	 */
-	public void load(INT16 address) {
+	public void load(int address) {
 		// Ruft Konstanten-Version auf
-		this.loadI(this.memory.getCellData(address));		
+		this.loadI(this.memory.read(address));		
+	}
+
+	/**
+	 * Lädt den Inhalt einer Speicherzelle in das Index Register.
+	 * @param address Speicheradresse
+	 */
+	public void load(INT16 address) {
+		// Ruft int-Version auf
+		this.load(address.getUnsignedValue());
 	}
 
 	/**
@@ -45,7 +63,15 @@ public abstract class IndexRegister extends Register8 {
 	 */
 	public void load(INT8 zeroPageAddress) {
 		// Ruft Adressen-Version auf
-		this.load(new INT16(zeroPageAddress, new INT8(0)));
+		this.load(zeroPageAddress.getUnsignedValue());
+	}
+
+	/**
+	 * Speichert den aktuellen Wert des Index Registers in einer Speicherzelle.
+	 * @param address Speicheradresse
+	 */	
+	public void store(int address) {
+		this.memory.write(address, this.data.getValue());
 	}
 
 	/**
@@ -53,7 +79,8 @@ public abstract class IndexRegister extends Register8 {
 	 * @param address Speicheradresse
 	 */	
 	public void store(INT16 address) {
-		this.memory.cellValueOf(address, this);
+		// Ruft int-Version auf
+		this.store(address.getUnsignedValue());
 	}
 
 	/**
@@ -62,7 +89,7 @@ public abstract class IndexRegister extends Register8 {
 	 */
 	public void store(INT8 zeroPageAddress) {
 		// Ruft Adressen-Version auf
-		this.store(new INT16(zeroPageAddress, new INT8(0)));
+		this.store(zeroPageAddress.getUnsignedValue());
 	}
 
 	/**
@@ -100,15 +127,27 @@ public abstract class IndexRegister extends Register8 {
 	 * Negative: Index Register (signed) ist kleiner als Konstante (signed)
 	 * @param constant Konstante
 	 */
-	public void compareI(INT8 constant) {
-		int difference = this.data.getValue() - constant.getValue();
-		int differenceUnsigned = this.data.getUnsignedValue() - constant.getUnsignedValue();
+	public void compareI(int constant) {
+		int difference = this.data.getValue() - (byte) constant;
+		int differenceUnsigned = this.data.getUnsignedValue() - (constant & 0xFF);
 		
 		this.statusRegister.setCarry(differenceUnsigned >= 0);
 		this.statusRegister.setZero(difference == 0);
 		this.statusRegister.setNegative(difference < 0);
 	}
 
+	/**
+	 * Vergleicht das Index Register mit einer Konstante und setzt die Prozessor Flags entsprechend.
+	 * Carry: Index Register (unsigned) ist größer gleich Konstante (unsigned),
+	 * Zero: Beide Werte sind gleich,
+	 * Negative: Index Register (signed) ist kleiner als Konstante (signed)
+	 * @param constant Konstante
+	 */
+	public void compareI(INT8 constant) {
+		// Ruft int-Version auf
+		this.compareI(constant.getValue());
+	}
+
 	/**
 	 * Vergleicht das Index Register mit dem Inhalt einer Speicherzelle und setzt die Prozessor Flags entsprechend.
 	 * Carry: Index Register (unsigned) ist größer gleich Inhalt Speicherzelle (unsigned),
@@ -116,9 +155,21 @@ public abstract class IndexRegister extends Register8 {
 	 * Negative: Index Register (signed) ist kleiner als Inhalt Speicherzelle (signed)
 	 * @param address Speicheradresse
 	 */
-	public void compare(INT16 address) {
+	public void compare(int address) {
 		// Ruft Konstanten-Version auf
-		this.compareI(this.memory.getCellData(address));
+		this.compareI(this.memory.read(address));
+	}
+
+	/**
+	 * Vergleicht das Index Register mit dem Inhalt einer Speicherzelle und setzt die Prozessor Flags entsprechend.
+	 * Carry: Index Register (unsigned) ist größer gleich Inhalt Speicherzelle (unsigned),
+	 * Zero: Beide Werte sind gleich,
+	 * Negative: Index Register (signed) ist kleiner als Inhalt Speicherzelle (signed)
+	 * @param address Speicheradresse
+	 */
+	public void compare(INT16 address) {
+		// Ruft int-Version auf
+		this.compare(address.getUnsignedValue());
 	}
 
 	/**
@@ -130,6 +181,6 @@ public abstract class IndexRegister extends Register8 {
 	 */
 	public void compare(INT8 zeroPageAddress) {
 		// Ruft Adressen-Version auf
-		this.compare(new INT16(zeroPageAddress, new INT8(0)));
+		this.compare(zeroPageAddress.getUnsignedValue());
 	}
 }
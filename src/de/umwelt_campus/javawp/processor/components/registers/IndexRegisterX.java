@@ -26,7 +26,7 @@ public class IndexRegisterX extends IndexRegister {
 	 */
 	public void load(INT16 address, IndexRegisterY offsetRegisterY) {
 		// Ruft Adressen-Version auf
-		this.load(new INT16(address.getValue() + offsetRegisterY.getData().getUnsignedValue()));
+		this.load(address.getValue() + offsetRegisterY.getData().getUnsignedValue());
 	}
 
 	/**
@@ -35,8 +35,8 @@ public class IndexRegisterX extends IndexRegister {
 	 * @param offsetRegisterY Das Index Register Y dessen Wert vor dem Laden des Speicherwerts auf die Zero Page Adresse addiert wird
 	 */
 	public void load(INT8 zeroPageAddress, IndexRegisterY offsetRegisterY) {
-		// Ruft Adressen-ZP-Version auf
-		this.load(new INT8(zeroPageAddress.getValue() + offsetRegisterY.getData().getValue()));
+		// Ruft Adressen-Version auf
+		this.load((zeroPageAddress.getValue() + offsetRegisterY.getData().getValue()) & 0xFF);
 	}
 
 	/**
@@ -45,8 +45,8 @@ public class IndexRegisterX extends IndexRegister {
 	 * @param offsetRegisterY Das Index Register Y dessen Wert vor dem Laden des Speicherwerts auf die Zero Page Adresse addiert wird
 	 */
 	public void store(INT8 zeroPageAddress, IndexRegisterY offsetRegisterY) {
-		// Ruft Adressen-ZP-Version auf
-		this.store(new INT8(zeroPageAddress.getValue() + offsetRegisterY.getData().getValue()));
+		// Ruft Adressen-Version auf
+		this.store((zeroPageAddress.getValue() + offsetRegisterY.getData().getValue()) & 0xFF);
 	}
 
 	/**
@@ -26,7 +26,7 @@ public class IndexRegisterY extends IndexRegister {
 	 */
 	public void load(INT16 address, IndexRegisterX offsetRegisterX) {
 		// Ruft Adressen-Version auf
-		this.load(new INT16(address.getValue() + offsetRegisterX.getData().getUnsignedValue()));
+		this.load(address.getValue() + offsetRegisterX.getData().getUnsignedValue());
 	}
 
 	/**
@@ -35,8 +35,8 @@ public class IndexRegisterY extends IndexRegister {
 	 * @param offsetRegisterX Das Index Register X dessen Wert vor dem Laden des Speicherwerts auf die Zero Page Adresse addiert wird
 	 */
 	public void load(INT8 zeroPageAddress, IndexRegisterX offsetRegisterX) {
-		// Ruft Adressen-ZP-Version auf
-		this.load(new INT8(zeroPageAddress.getValue() + offsetRegisterX.getData().getValue()));
+		// Ruft Adressen-Version auf
+		this.load((zeroPageAddress.getValue() + offsetRegisterX.getData().getValue()) & 0xFF);
 	}
 
 	/**
@@ -45,7 +45,7 @@ public class IndexRegisterY extends IndexRegister {
 	 * @param offsetRegisterX Das Index Register X dessen Wert vor dem Laden des Speicherwerts auf die Zero Page Adresse addiert wird
 	 */
 	public void store(INT8 zeroPageAddress, IndexRegisterX offsetRegisterX) {
-		// Ruft Adressen-ZP-Version auf
-		this.store(new INT8(zeroPageAddress.getValue() + offsetRegisterX.getData().getValue()));
+		// Ruft Adressen-Version auf
+		this.store((zeroPageAddress.getValue() + offsetRegisterX.getData().getValue()) & 0xFF);
 	}
 }
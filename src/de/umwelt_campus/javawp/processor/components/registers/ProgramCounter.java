@@ -31,6 +31,14 @@ public class ProgramCounter extends Register16 {
 		this.data.setValue(this.data.getValue() + 1);
 	}
 	
+	/**
+	 * Kopiert eine Speicheradresse in den Befehlszähler.
+	 * @param address Speicheradresse
+	 */
+	public void jump(int address) {
+		this.data.setValue(address);
+	}
+	
 	/**
 	 * Kopiert eine Speicheradresse in den Befehlszähler.
 	 * @param address Speicheradresse
@@ -39,13 +47,39 @@ public class ProgramCounter extends Register16 {
 		this.valueOf(address);
 	}
 	
+	/**
+	 * Addiert einen Offset auf den Befehlszähler, falls das Carry Bit nicht gesetzt ist.
+	 * @param offset Offset im Zwei Komplement (8 Bit)
+	 * @return Wahrheitswert, ob gesprungen wurde
+	 */
+	public boolean branchOnCarryClear(int offset) {
+		boolean isTaken = !this.statusRegister.getCarry();
+		if(isTaken)
+			this.data.setValue(this.data.getValue() + (byte) offset);
+		
+		return isTaken;
+	}
+
 	/**
 	 * Addiert einen Offset auf den Befehlszähler, falls das Carry Bit nicht gesetzt ist.
 	 * @param offset Offset im Zwei Komplement
 	 */
 	public void branchOnCarryClear(INT8 offset) {
-		if(!this.statusRegister.getCarry())
-			this.data.setValue(this.data.getValue() + offset.getValue());
+		// Ruft int-Version auf
+		this.branchOnCarryClear(offset.getValue());
+	}
+
+	/**
+	 * Addiert einen Offset auf den Befehlszähler, falls das Carry Bit gesetzt ist.
+	 * @param offset Offset im Zwei Komplement (8 Bit)
+	 * @return Wahrheitswert, ob gesprungen wurde
+	 */
+	public boolean branchOnCarrySet(int offset) {
+		boolean isTaken = this.statusRegister.getCarry();
+		if(isTaken)
+			this.data.setValue(this.data.getValue() + (byte) offset);
+		
+		return isTaken;
 	}
 
 	/**
@@ -53,8 +87,21 @@ public class ProgramCounter extends Register16 {
 	 * @param offset Offset im Zwei Komplement
 	 */
 	public void branchOnCarrySet(INT8 offset) {
-		if(this.statusRegister.getCarry())
-			this.data.setValue(this.data.getValue() + offset.getValue());
+		// Ruft int-Version auf
+		this.branchOnCarrySet(offset.getValue());
+	}
+
+	/**
+	 * Addiert einen Offset auf den Befehlszähler, falls das Zero Bit gesetzt ist.
+	 * @param offset Offset im Zwei Komplement (8 Bit)
+	 * @return Wahrheitswert, ob gesprungen wurde
+	 */
+	public boolean branchOnEqual(int offset) {
+		boolean isTaken = this.statusRegister.getZero();
+		if(isTaken)
+			this.data.setValue(this.data.getValue() + (byte) offset);
+		
+		return isTaken;
 	}
 
 	/**
@@ -62,8 +109,21 @@ public class ProgramCounter extends Register16 {
 	 * @param offset Offset im Zwei Komplement
 	 */
 	public void branchOnEqual(INT8 offset) {
-		if(this.statusRegister.getZero())
-			this.data.setValue(this.data.getValue() + offset.getValue());
+		// Ruft int-Version auf
+		this.branchOnEqual(offset.getValue());
+	}
+
+	/**
+	 * Addiert einen Offset auf den Befehlszähler, falls das Zero Bit nicht gesetzt ist.
+	 * @param offset Offset im Zwei Komplement (8 Bit)
+	 * @return Wahrheitswert, ob gesprungen wurde
+	 */
+	public boolean branchOnNotEqual(int offset) {
+		boolean isTaken = !this.statusRegister.getZero();
+		if(isTaken)
+			this.data.setValue(this.data.getValue() + (byte) offset);
+		
+		return isTaken;
 	}
 
 	/**
@@ -71,8 +131,21 @@ public class ProgramCounter extends Register16 {
 	 * @param offset Offset im Zwei Komplement
 	 */
 	public void branchOnNotEqual(INT8 offset) {
-		if(!this.statusRegister.getZero())
-			this.data.setValue(this.data.getValue() + offset.getValue());
+		// Ruft int-Version auf
+		this.branchOnNotEqual(offset.getValue());
+	}
+
+	/**
+	 * Addiert einen Offset auf den Befehlszähler, falls das Negative Bit nicht gesetzt ist.
+	 * @param offset Offset im Zwei Komplement (8 Bit)
+	 * @return Wahrheitswert, ob gesprungen wurde
+	 */
+	public boolean branchOnPlus(int offset) {
+		boolean isTaken = !this.statusRegister.getNegative();
+		if(isTaken)
+			this.data.setValue(this.data.getValue() + (byte) offset);
+		
+		return isTaken;
 	}
 
 	/**
@@ -80,8 +153,21 @@ public class ProgramCounter extends Register16 {
 	 * @param offset Offset im Zwei Komplement
 	 */
 	public void branchOnPlus(INT8 offset) {
-		if(!this.statusRegister.getNegative())
-			this.data.setValue(this.data.getValue() + offset.getValue());
+		// Ruft int-Version auf
+		this.branchOnPlus(offset.getValue());
+	}
+
+	/**
+	 * Addiert einen Offset auf den Befehlszähler, falls das Negative Bit gesetzt ist.
+	 * @param offset Offset im Zwei Komplement (8 Bit)
+	 * @return Wahrheitswert, ob gesprungen wurde
+	 */
+	public boolean branchOnMinus(int offset) {
+		boolean isTaken = this.statusRegister.getNegative();
+		if(isTaken)
+			this.data.setValue(this.data.getValue() + (byte) offset);
+		
+		return isTaken;
 	}
 
 	/**
@@ -89,8 +175,21 @@ public class ProgramCounter extends Register16 {
 	 * @param offset Offset im Zwei Komplement
 	 */
 	public void branchOnMinus(INT8 offset) {
-		if(this.statusRegister.getNegative())
-			this.data.setValue(this.data.getValue() + offset.getValue());
+		// Ruft int-Version auf
+		this.branchOnMinus(offset.getValue());
+	}
+
+	/**
+	 * Addiert einen Offset auf den Befehlszähler, falls das Overflow Bit nicht gesetzt ist.
+	 * @param offset Offset im Zwei Komplement (8 Bit)
+	 * @return Wahrheitswert, ob gesprungen wurde
+	 */
+	public boolean branchOnOverflowClear(int offset) {
+		boolean isTaken = !this.statusRegister.getOverflow();
+		if(isTaken)
+			this.data.setValue(this.data.getValue() + (byte) offset);
+		
+		return isTaken;
 	}
 
 	/**
@@ -98,8 +197,21 @@ public class ProgramCounter extends Register16 {
 	 * @param offset Offset im Zwei Komplement
 	 */
 	public void branchOnOverflowClear(INT8 offset) {
-		if(!this.statusRegister.getOverflow())
-			this.data.setValue(this.data.getValue() + offset.getValue());
+		// Ruft int-Version auf
+		this.branchOnOverflowClear(offset.getValue());
+	}
+
+	/**
+	 * Addiert einen Offset auf den Befehlszähler, falls das Overflow Bit gesetzt ist.
+	 * @param offset Offset im Zwei Komplement (8 Bit)
+	 * @return Wahrheitswert, ob gesprungen wurde
+	 */
+	public boolean branchOnOverflowSet(int offset) {
+		boolean isTaken = this.statusRegister.getOverflow();
+		if(isTaken)
+			this.data.setValue(this.data.getValue() + (byte) offset);
+		
+		return isTaken;
 	}
 
 	/**
@@ -107,27 +219,36 @@ public class ProgramCounter extends Register16 {
 	 * @param offset Offset im Zwei Komplement
 	 */
 	public void branchOnOverflowSet(INT8 offset) {
-		if(this.statusRegister.getOverflow())
-			this.data.setValue(this.data.getValue() + offset.getValue());
+		// Ruft int-Version auf
+		this.branchOnOverflowSet(offset.getValue());
 	}
 
 	/**
 	 * Sprint in Unterprogramm: Schiebt die aktuelle Adresse + 2 (Rücksprungadresse) auf den Stapel und kopiert die angegebene Speicheradresse in den Befehlszähler.
 	 * @param address Speicheradresse
 	 */
-	public void jumpToSubroutine(INT16 address) {
-		INT16 returnAddress = new INT16(this.data.getValue() - 1);
+	public void jumpToSubroutine(int address) {
+		int returnAddress = this.data.getValue() - 1;
 		
 		// setzt Stapel auf das High Byte der Adresse
-		this.memory.cellValueOf(new INT16(this.stackPointer.getData().getUnsignedValue() + 256), returnAddress.getHighByte());
+		this.memory.write(this.stackPointer.getData().getUnsignedValue() + 256, returnAddress >> 8);
 		// verringert Zeiger um 1
 		this.stackPointer.getData().setValue(this.stackPointer.getData().getValue() - 1);
-		// setzt Stapel auf das High Byte der Adresse
-		this.memory.cellValueOf(new INT16(this.stackPointer.getData().getUnsignedValue() + 256), returnAddress.getLowByte());
+		// setzt Stapel auf das Low Byte der Adresse
+		this.memory.write(this.stackPointer.getData().getUnsignedValue() + 256, returnAddress);
 		// verringert Zeiger um 1
 		this.stackPointer.getData().setValue(this.stackPointer.getData().getValue() - 1);
 		
-		this.valueOf(address);
+		this.data.setValue(address);
+	}
+	
+	/**
+	 * Sprint in Unterprogramm: Schiebt die aktuelle Adresse + 2 (Rücksprungadresse) auf den Stapel und kopiert die angegebene Speicheradresse in den Befehlszähler.
+	 * @param address Speicheradresse
+	 */
+	public void jumpToSubroutine(INT16 address) {
+		// Ruft int-Version auf
+		this.jumpToSubroutine(address.getUnsignedValue());
 	}
 	
 	/**
@@ -137,15 +258,12 @@ public class ProgramCounter extends Register16 {
 		// erhöht Zeiger um 1
 		this.stackPointer.getData().setValue(this.stackPointer.getData().getValue() + 1);
 		// holt Low Byte vom Stack
-		INT8 lowByte = this.memory.getCellData(new INT16(this.stackPointer.getData().getUnsignedValue() + 256));
+		int lowByte = this.memory.read(this.stackPointer.getData().getUnsignedValue() + 256);
 		// erhöht Zeiger um 1
 		this.stackPointer.getData().setValue(this.stackPointer.getData().getValue() + 1);
 		// holt High Byte vom Stack
-		INT8 highByte = this.memory.getCellData(new INT16(this.stackPointer.getData().getUnsignedValue() + 256));
-		
-		INT16 returnAddress = new INT16(lowByte, highByte);
-		returnAddress.setValue(returnAddress.getValue() + 1);
+		int highByte = this.memory.read(this.stackPointer.getData().getUnsignedValue() + 256);
 		
-		this.valueOf(returnAddress);
+		this.data.setValue(((highByte << 8) | lowByte) + 1);
 	}
 }
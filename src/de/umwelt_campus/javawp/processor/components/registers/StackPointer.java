@@ -1,6 +1,5 @@
 package de.umwelt_campus.javawp.processor.components.registers;
 
-import de.umwelt_campus.javawp.integers.INT16;
 import de.umwelt_campus.javawp.integers.INT8;
 import de.umwelt_campus.javawp.processor.components.Memory;
 
@@ -25,7 +24,7 @@ public class StackPointer extends Register8 {
 	 */
 	public void push(Accumulator accumulator) {
 		// setzt Stapel auf das was im ACC stand
-		this.memory.cellValueOf(new INT16(this.data.getUnsignedValue() + 256), accumulator);
+		this.memory.write(this.data.getUnsignedValue() + 256, accumulator.getData().getValue());
 		// verringert Zeiger um 1
 		this.data.setValue(this.data.getValue() - 1);
 	}
@@ -36,7 +35,7 @@ public class StackPointer extends Register8 {
 	 */
 	public void push(StatusRegister statusRegister) {
 		// setzt Stapel auf das was im SR stand
-		this.memory.cellValueOf(new INT16(this.data.getUnsignedValue() + 256), statusRegister);
+		this.memory.write(this.data.getUnsignedValue() + 256, statusRegister.getData().getValue());
 		// verringert Zeiger um 1
 		this.data.setValue(this.data.getValue() - 1);
 	}
@@ -49,7 +48,7 @@ public class StackPointer extends Register8 {
 		// erhöht Zeiger um 1
 		this.data.setValue(this.data.getValue() + 1);
 		// setzt ACC auf das was im Stapel stand
-		accumulator.valueOf(this.memory.getCellData(new INT16(this.data.getUnsignedValue() + 256)));
+		accumulator.getData().setValue(this.memory.read(this.data.getUnsignedValue() + 256));
 		
 		accumulator.updateZNFlags();
 	}
@@ -62,7 +61,7 @@ public class StackPointer extends Register8 {
 		// erhöht Zeiger um 1
 		this.data.setValue(this.data.getValue() + 1);
 		// setzt SR auf das was im Stapel stand
-		statusRegister.valueOf(this.memory.getCellData(new INT16(this.data.getUnsignedValue() + 256)));
+		statusRegister.getData().setValue(this.memory.read(this.data.getUnsignedValue() + 256));
 		statusRegister.setExpansion(true); // Expansion Flag auf 1 lassen
 	}
 
@@ -309,4 +309,115 @@ class AccumulatorTest {
 		assertFalse(this.statusRegister.getOverflow());
 		assertTrue(this.statusRegister.getNegative());
 	}
+
+	@Test
+	void additionAllCombinations() {
+		// Alle Kombinationen aus Decimal Flag, Carry Flag, Akkumulator und Operand mit der ursprünglichen Berechnung vergleichen
+		for(int decimal = 0; decimal < 2; decimal++) {
+			for(int carry = 0; carry < 2; carry++) {
+				for(int value = 0; value < 256; value++) {
+					for(int operand = 0; operand < 256; operand++) {
+						this.accumulator.loadI(value);
+						this.statusRegister.setDecimal(decimal == 1);
+						this.statusRegister.setCarry(carry == 1);
+						this.accumulator.addWithCarryI(operand);
+
+						this.assertArithmetic(referenceAddition(value, operand, carry == 1, decimal == 1), decimal == 1);
+					}
+				}
+			}
+		}
+	}
+
+	@Test
+	void subtractionAllCombinations() {
+		// Alle Kombinationen aus Decimal Flag, Carry Flag, Akkumulator und Operand mit der ursprünglichen Berechnung vergleichen
+		for(int decimal = 0; decimal < 2; decimal++) {
+			for(int carry = 0; carry < 2; carry++) {
+				for(int value = 0; value < 256; value++) {
+					for(int operand = 0; operand < 256; operand++) {
+						this.accumulator.loadI(value);
+						this.statusRegister.setDecimal(decimal == 1);
+						this.statusRegister.setCarry(carry == 1);
+						this.accumulator.subtractWithCarryI(operand);
+
+						this.assertArithmetic(referenceSubtraction(value, operand, carry == 1, decimal == 1), decimal == 1);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Vergleicht Akkumulator und Flags mit dem Ergebnis der Referenzberechnung.
+	 * @param expected Ergebnis (Bit 0-7), Carry Flag (Bit 8) und Overflow Flag (Bit 9)
+	 * @param decimal Erwartetes Decimal Flag (bleibt unverändert)
+	 */
+	private void assertArithmetic(int expected, boolean decimal) {
+		int value = expected & 0xFF;
+		if(this.accumulator.getData().getUnsignedValue() != value
+				|| this.statusRegister.getCarry() != ((expected & 0x100) != 0)
+				|| this.statusRegister.getOverflow() != ((expected & 0x200) != 0)
+				|| this.statusRegister.getZero() != (value == 0)
+				|| this.statusRegister.getNegative() != (value >= 0x80)
+				|| this.statusRegister.getDecimal() != decimal) {
+			// Nur bei einer Abweichung einzeln prüfen, damit die Meldung die Abweichung zeigt
+			assertEquals(this.accumulator.getData().getUnsignedValue(), value);
+			assertEquals(this.statusRegister.getCarry(), (expected & 0x100) != 0);
+			assertEquals(this.statusRegister.getOverflow(), (expected & 0x200) != 0);
+			assertEquals(this.statusRegister.getZero(), value == 0);
+			assertEquals(this.statusRegister.getNegative(), value >= 0x80);
+			assertEquals(this.statusRegister.getDecimal(), decimal);
+		}
+	}
+
+	/**
+	 * Berechnet ADC wie Accumulator vor der Umstellung auf vorberechnete Ergebnisse.
+	 * @param accumulator Wert des Akkumulators (0 bis 255)
+	 * @param constant Operand (0 bis 255)
+	 * @param carry Carry Flag
+	 * @param decimal Decimal Flag
+	 * @return Ergebnis (Bit 0-7), Carry Flag (Bit 8) und Overflow Flag (Bit 9)
+	 */
+	private static int referenceAddition(int accumulator, int constant, boolean carry, boolean decimal) {
+		int result = (byte) accumulator + (byte) constant + (carry ? 1 : 0);
+		int value;
+		boolean carryOut;
+		if(!decimal) {
+			value = result & 0xFF;
+			carryOut = accumulator + constant + (carry ? 1 : 0) > 255;
+		} else {
+			int decimalResult = (accumulator >> 4) * 10 + (accumulator & 15) + (constant >> 4) * 10 + (constant & 15) + (carry ? 1 : 0);
+			value = (((decimalResult / 10) % 10) << 4 | decimalResult % 10) & 0xFF;
+			carryOut = decimalResult > 99;
+		}
+		return value | (carryOut ? 0x100 : 0) | (result < -128 || result > 127 ? 0x200 : 0);
+	}
+
+	/**
+	 * Berechnet SBC wie Accumulator vor der Umstellung auf vorberechnete Ergebnisse.
+	 * @param accumulator Wert des Akkumulators (0 bis 255)
+	 * @param constant Operand (0 bis 255)
+	 * @param carry Carry Flag
+	 * @param decimal Decimal Flag
+	 * @return Ergebnis (Bit 0-7), Carry Flag (Bit 8) und Overflow Flag (Bit 9)
+	 */
+	private static int referenceSubtraction(int accumulator, int constant, boolean carry, boolean decimal) {
+		int result = (byte) accumulator - (byte) constant - (carry ? 0 : 1);
+		int value;
+		boolean carryOut;
+		if(!decimal) {
+			value = result & 0xFF;
+			carryOut = accumulator - constant - (carry ? 0 : 1) >= 0;
+		} else {
+			int decimalNumber1 = (accumulator >> 4) * 10 + (accumulator & 15);
+			int decimalNumber2 = (constant >> 4) * 10 + (constant & 15);
+			int decimalResult = decimalNumber1 - decimalNumber2 - (carry ? 0 : 1);
+			if(decimalResult < 0)
+				decimalResult += 100;
+			value = ((decimalResult / 10) << 4 | decimalResult % 10) & 0xFF;
+			carryOut = decimalNumber1 >= decimalNumber2;
+		}
+		return value | (carryOut ? 0x100 : 0) | (result < -128 || result > 127 ? 0x200 : 0);
+	}
 }
@@ -2,13 +2,21 @@ package de.umwelt_campus.javawp.tests;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
 import org.junit.jupiter.api.Test;
 
 import de.umwelt_campus.javawp.exceptions.InvalidOperandException;
 import de.umwelt_campus.javawp.integers.INT16;
 import de.umwelt_campus.javawp.integers.INT8;
+import de.umwelt_campus.javawp.processor.components.AddressingMode;
+import de.umwelt_campus.javawp.processor.components.AssembledImage;
 import de.umwelt_campus.javawp.processor.components.Assembler;
+import de.umwelt_campus.javawp.processor.components.InstructionSet;
 import de.umwelt_campus.javawp.processor.components.Memory;
+import de.umwelt_campus.javawp.processor.components.SourceMap;
 import de.umwelt_campus.javawp.processor.components.registers.Accumulator;
 import de.umwelt_campus.javawp.processor.components.registers.StatusRegister;
 
@@ -61,4 +69,147 @@ class AssemblerTest {
 		assertEquals(this.memory.getCellData(new INT16("$0604")).getValue(), new INT8("$EA").getValue()); // $EA (= -22)
 		assertEquals(this.memory.getCellData(new INT16("$0605")).getValue(), new INT8("$F0").getValue()); // BEQ $nn
 	}
+
+	@Test
+	void addressingModes() {
+		this.assembler.assemble(
+				  "lda ( $20 , x )\n"
+				+ "lda ($20) , y\n"
+				+ "lda $20 ,X\n"
+				+ "lda $0020,y\n"
+				+ "lda # %101\n"
+				+ "ora $20\n"
+				+ "ora $20,x\n"
+				+ "ror $20\n"
+				+ "ror $20,x\n"
+				+ "lsr $1234\n"
+				+ "lsr $1234,x\n"
+				+ "asl a\n"
+				+ "jmp ($1234)"
+				);
+		
+		// Opcodes und Operanden
+		int[] bytes = {
+				0xA1, 0x20, // LDA ($nn,X)
+				0xB1, 0x20, // LDA ($nn),Y
+				0xB5, 0x20, // LDA $nn,X
+				0xB9, 0x20, 0x00, // LDA $hhll,Y
+				0xA9, 0x05, // LDA #$nn
+				0x05, 0x20, // ORA $nn
+				0x15, 0x20, // ORA $nn,X
+				0x66, 0x20, // ROR $nn
+				0x76, 0x20, // ROR $nn,X
+				0x4E, 0x34, 0x12, // LSR $hhll
+				0x5E, 0x34, 0x12, // LSR $hhll,X
+				0x0A, // ASL A
+				0x6C, 0x34, 0x12 // JMP ($hhll)
+		};
+		for(int i = 0; i < bytes.length; i++)
+			assertEquals(this.memory.read(0x0600 + i), bytes[i]);
+		
+		// Operand passt nicht zur Adressierungsart des Befehls
+		assertThrows(InvalidOperandException.class, () -> this.assembler.assemble("cpx $10,x"));
+		assertThrows(InvalidOperandException.class, () -> this.assembler.assemble("tax $10"));
+		assertThrows(InvalidOperandException.class, () -> this.assembler.assemble("jmp ($10,x)"));
+	}
+
+	@Test
+	void opcodeTable() {
+		// Mnemonic und Adressierungsart ergeben wieder den Opcode (Groß- und Kleinschreibung egal)
+		for(int opcode = 0; opcode < 256; opcode++) {
+			if(!InstructionSet.isDefined(opcode))
+				continue;
+			String mnemonic = InstructionSet.getMnemonic(opcode);
+			assertEquals(InstructionSet.getOpcode(mnemonic, InstructionSet.getAddressingMode(opcode)), opcode);
+			assertEquals(InstructionSet.getOpcode(mnemonic.toLowerCase(), InstructionSet.getAddressingMode(opcode)), opcode);
+		}
+		
+		assertEquals(InstructionSet.getOpcode("Lda", AddressingMode.ZERO_PAGE_Y), -1);
+		assertEquals(InstructionSet.getOpcode("XYZ", AddressingMode.IMPLIED), -1);
+		assertFalse(InstructionSet.isMnemonic("LD@"));
+	}
+
+	@Test
+	void assemblePath() throws IOException {
+		// Befehle mit Labels vor ihrer Definition
+		Path path = Files.createTempFile("assembler", ".asm");
+		Files.writeString(path,
+				  "jsr sub\r\n"
+				+ "beq end\r\n"
+				+ "sub: rts\r\n"
+				+ "end: bne sub"
+				);
+		try {
+			assertEquals(this.assembler.assemble(path), 8);
+		} finally {
+			Files.delete(path);
+		}
+		
+		// Memory Einträge
+		int[] bytes = {
+				0x20, 0x05, 0x06, // JSR sub
+				0xF0, 0x01, // BEQ end
+				0x60, // RTS
+				0xD0, 0xFD // BNE sub
+		};
+		for(int i = 0; i < bytes.length; i++)
+			assertEquals(this.memory.read(0x0600 + i), bytes[i]);
+	}
+
+	@Test
+	void assembleImage() {
+		// Befehle
+		AssembledImage image = this.assembler.assembleImage(
+				  "start: lda #1\n"
+				+ "\n"
+				+ "loop: sta $0200\n"
+				+ "jmp loop"
+				);
+		
+		// Speicher bleibt unverändert
+		assertEquals(this.memory.read(0x0600), 0);
+		
+		assertEquals(image.getOrigin(), 0x0600);
+		assertEquals(image.getLength(), 8);
+		assertEquals((int) image.getSymbols().get("start"), 0x0600);
+		assertEquals((int) image.getSymbols().get("loop"), 0x0602);
+		assertEquals(image.getLineNumber(0x0601), 1);
+		assertEquals(image.getLineNumber(0x0604), 3);
+		assertEquals(image.getLineNumber(0x0607), 4);
+		assertEquals(image.getLineNumber(0x0608), 0);
+		
+		// Ein Abbild kann in mehrere Speicher geladen werden
+		Memory otherMemory = new Memory(this.statusRegister);
+		image.load(this.memory);
+		image.load(otherMemory);
+		assertArrayEquals(this.memory.getData(), otherMemory.getData());
+		assertEquals(this.memory.read(0x0605), 0x4C); // JMP $hhll
+		assertEquals(this.memory.read(0x0606), 0x02);
+		assertEquals(this.memory.read(0x0607), 0x06);
+	}
+
+	@Test
+	void sourceMap() {
+		// Befehle
+		SourceMap sourceMap = this.assembler.assembleImage(
+				  "start: lda #1\n"
+				+ "; Kommentar\n"
+				+ "loop: sta $0200\n"
+				+ "jmp loop"
+				).getSourceMap();
+		
+		// Adresse -> Zeile
+		assertEquals(sourceMap.getLine(0x0600), 1);
+		assertEquals(sourceMap.getLine(0x0604), 3);
+		assertEquals(sourceMap.getLine(0x0608), 0);
+		assertTrue(sourceMap.isLineStart(0x0605));
+		assertFalse(sourceMap.isLineStart(0x0606));
+		
+		// Zeile -> Adressbereich
+		assertEquals(sourceMap.getStartAddress(3), 0x0602);
+		assertEquals(sourceMap.getEndAddress(3), 0x0605);
+		assertEquals(sourceMap.getStartAddress(2), -1);
+		assertEquals(sourceMap.getStartAddress(5), -1);
+		assertEquals(sourceMap.getLineCount(), 4);
+	}
 }
\ No newline at end of file
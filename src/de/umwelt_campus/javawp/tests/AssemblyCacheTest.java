@@ -0,0 +1,95 @@
+package de.umwelt_campus.javawp.tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+
+import de.umwelt_campus.javawp.exceptions.UnknownOperatorException;
+import de.umwelt_campus.javawp.processor.Processor;
+import de.umwelt_campus.javawp.processor.components.AssembledImage;
+import de.umwelt_campus.javawp.processor.components.AssemblyCache;
+
+/**
+ * Test für AssemblyCache Klasse.
+ * @author Mathis Ströhlein
+ */
+class AssemblyCacheTest {
+
+	@Test
+	void hitAndMiss() {
+		AssemblyCache cache = new AssemblyCache(2);
+
+		// Befehle
+		AssembledImage image = cache.get("loop: inx\njmp loop", 0x0600);
+		assertSame(cache.get("loop: inx\njmp loop", 0x0600), image);
+		assertEquals(cache.getHitCount(), 1);
+		assertEquals(cache.getMissCount(), 1);
+
+		// Andere Startadresse ist ein anderer Eintrag
+		assertEquals(cache.get("loop: inx\njmp loop", 0x0700).getBytes()[3], (byte) 0x07);
+		assertEquals(cache.getMissCount(), 2);
+
+		// Der am längsten nicht verwendete Eintrag wird entfernt
+		cache.get("nop", 0x0600);
+		assertEquals(cache.size(), 2);
+		assertNotSame(cache.get("loop: inx\njmp loop", 0x0600), image);
+		assertEquals(cache.getMissCount(), 4);
+		cache.get("nop", 0x0600);
+		assertEquals(cache.getHitCount(), 2);
+
+		// Fehler werden nicht gespeichert
+		assertThrows(UnknownOperatorException.class, () -> cache.get("foo", 0x0600));
+		assertThrows(UnknownOperatorException.class, () -> cache.get("foo", 0x0600));
+		assertEquals(cache.getMissCount(), 6);
+	}
+
+	@Test
+	void processorWithError() {
+		AssemblyCache cache = new AssemblyCache(2);
+		Processor processor = new Processor(cache);
+
+		// Bytecode bis zur fehlerhaften Zeile wird geladen, der Befehlscode nur einmal assembliert
+		assertThrows(UnknownOperatorException.class, () -> processor.assemble("lda #$42\nfoo\nldx #1"));
+		assertEquals(processor.getMemory().read(0x0600), 0xA9);
+		assertEquals(processor.getMemory().read(0x0601), 0x42);
+		assertEquals(processor.getMemory().read(0x0602), 0);
+		assertEquals(cache.getMissCount(), 1);
+		assertEquals(cache.size(), 0);
+
+		// Ohne Fehler: zweiter Prozessor mit demselben Cache assembliert nicht erneut
+		processor.assemble("lda #$42");
+		new Processor(cache).assemble("lda #$42");
+		assertEquals(cache.getHitCount(), 1);
+		assertEquals(cache.getMissCount(), 2);
+		assertNull(new Processor().getAssemblyCache());
+	}
+
+	@Test
+	void directory() throws IOException {
+		Path directory = Files.createTempDirectory("assemblyCache");
+		try {
+			// Befehle
+			AssembledImage image = new AssemblyCache(4, directory).get("start: lda #1\nbne start", 0x0600);
+
+			// Ein neuer Cache liest das Abbild aus dem Verzeichnis
+			AssemblyCache cache = new AssemblyCache(4, directory);
+			AssembledImage cachedImage = cache.get("start: lda #1\nbne start", 0x0600);
+			assertEquals(cache.getHitCount(), 1);
+			assertEquals(cache.getMissCount(), 0);
+			assertArrayEquals(cachedImage.getBytes(), image.getBytes());
+			assertEquals(cachedImage.getOrigin(), 0x0600);
+			assertEquals(cachedImage.getLineNumber(0x0602), 2);
+			assertEquals((int) cachedImage.getSymbols().get("start"), 0x0600);
+		} finally {
+			try(var files = Files.list(directory)) {
+				for(Path file : (Iterable<Path>) files::iterator)
+					Files.delete(file);
+			}
+			Files.delete(directory);
+		}
+	}
+}
@@ -0,0 +1,119 @@
+package de.umwelt_campus.javawp.tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+import de.umwelt_campus.javawp.cli.CommandLineRunner;
+
+/**
+ * Test für CommandLineRunner Klasse.
+ * @author Mathis Ströhlein
+ */
+class CommandLineRunnerTest {
+
+	private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+	private final ByteArrayOutputStream err = new ByteArrayOutputStream();
+
+	/**
+	 * Führt den CommandLineRunner mit einem Programm von der Standardeingabe aus.
+	 */
+	private int run(String source, String... args) {
+		return new CommandLineRunner().run(args,
+				new ByteArrayInputStream(source.getBytes(StandardCharsets.UTF_8)),
+				new PrintStream(this.out, true, StandardCharsets.UTF_8),
+				new PrintStream(this.err, true, StandardCharsets.UTF_8));
+	}
+
+	@Test
+	void json() {
+		// Befehle
+		int exitCode = this.run(
+				  "lda #$2a\n"
+				+ "sta $10\n"
+				+ "brk",
+				"--format", "json", "--memory", "$10:$11", "-");
+
+		String json = this.out.toString(StandardCharsets.UTF_8);
+		assertEquals(exitCode, 0);
+		assertTrue(json.startsWith("{\"stopReason\":\"BREAK\",\"instructions\":3,\"cycles\":12,"));
+		assertTrue(json.contains("\"a\":42"));
+		assertTrue(json.contains("\"memory\":{\"start\":16,\"bytes\":[42,0]}"));
+	}
+
+	@Test
+	void text() {
+		// Befehle
+		int exitCode = this.run(
+				  "loop: inx\n"
+				+ "jmp loop",
+				"-n", "10", "-m", "0x0600:0x0603");
+
+		String text = this.out.toString(StandardCharsets.UTF_8);
+		assertEquals(exitCode, 0);
+		assertTrue(text.contains("Abbruchgrund: INSTRUCTION_LIMIT"));
+		assertTrue(text.contains("Befehle: 10"));
+		assertTrue(text.contains("0600: E8 4C 00 06"));
+	}
+
+	@Test
+	void cycleLimit() {
+		// Befehle
+		this.run("loop: jmp loop", "--max-cycles", "30");
+		assertTrue(this.out.toString(StandardCharsets.UTF_8).contains("Taktzyklen: 30"));
+	}
+
+	@Test
+	void engine() {
+		// Befehle
+		this.run(
+				  "loop: inx\n"
+				+ "bne loop\n"
+				+ "iny\n"
+				+ "jmp loop",
+				"--engine", "compiler", "-n", "100000");
+
+		String text = this.out.toString(StandardCharsets.UTF_8);
+		assertTrue(text.contains("Befehle: 100000"));
+		assertTrue(text.contains("Taktzyklen: 249806"));
+		assertTrue(text.contains("X=$8E Y=$C2"));
+	}
+
+	@Test
+	void engineCycleLimit() {
+		// Befehle
+		String program =
+				  "loop: inx\n"
+				+ "bne loop\n"
+				+ "iny\n"
+				+ "jmp loop";
+		this.run(program, "--engine", "interpreter", "--max-cycles", "250000");
+		String interpreted = this.out.toString(StandardCharsets.UTF_8);
+		this.out.reset();
+		this.run(program, "--engine", "compiler", "--max-cycles", "250000");
+		String compiled = this.out.toString(StandardCharsets.UTF_8);
+
+		// Übersetzte Blöcke halten an derselben Stelle wie der Interpreter
+		assertTrue(interpreted.contains("Abbruchgrund: STOP_CONDITION"));
+		assertTrue(interpreted.contains("Befehle: 100078"));
+		assertTrue(interpreted.contains("Taktzyklen: 250001"));
+		assertTrue(interpreted.contains("X=$B5 Y=$C2"));
+		assertTrue(compiled.contains("Abbruchgrund: STOP_CONDITION"));
+		assertTrue(compiled.contains("Befehle: 100078"));
+		assertTrue(compiled.contains("Taktzyklen: 250001"));
+		assertTrue(compiled.contains("X=$B5 Y=$C2"));
+	}
+
+	@Test
+	void errors() {
+		assertEquals(this.run("lda #1", "--format", "xml"), 1);
+		assertEquals(this.run("lda #1", "--engine", "jit"), 1);
+		assertEquals(this.run("foo #1"), 1);
+		assertFalse(this.err.toString(StandardCharsets.UTF_8).isEmpty());
+	}
+}
@@ -0,0 +1,50 @@
+package de.umwelt_campus.javawp.tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.Rectangle;
+
+import org.junit.jupiter.api.Test;
+
+import de.umwelt_campus.javawp.gui.Display;
+import de.umwelt_campus.javawp.processor.Processor;
+
+/**
+ * Test für Display Klasse.
+ * @author Mathis Ströhlein
+ */
+class DisplayTest {
+
+	private final Processor processor = new Processor();
+	private final Display display = new Display(this.processor.getMemory());
+
+	@Test
+	void update() {
+		// Beim ersten Aufruf wird der ganze Bildschirm gelesen
+		assertEquals(this.display.update(), new Rectangle(0, 0, Display.WIDTH, Display.HEIGHT));
+		this.processor.getMemory().clearDirty();
+		assertNull(this.display.update());
+		
+		// Befehle
+		this.processor.assemble(
+				  "lda #1\n"
+				+ "sta $0200\n" // Pixel (0, 0)
+				+ "lda #$12\n" // Nur die unteren 4 Bit wählen die Farbe
+				+ "sta $0263\n" // Pixel (3, 3)
+				+ "sta $0700\n" // Außerhalb des Bildschirms und des Programms
+				+ "brk"
+				);
+		this.processor.getMemory().clearDirty();
+		this.processor.run(100);
+		
+		// Nur der Bereich der veränderten Pixel
+		assertEquals(this.display.update(), new Rectangle(0, 0, 4, 4));
+		assertEquals(this.display.getImage().getRGB(0, 0) & 0xFFFFFF, Display.getColor(1));
+		assertEquals(this.display.getImage().getRGB(3, 3) & 0xFFFFFF, Display.getColor(2));
+		this.processor.getMemory().clearDirty();
+		
+		// Gleicher Wert verändert kein Pixel
+		this.processor.getMemory().write(0x05FF, 0);
+		assertNull(this.display.update());
+	}
+}
@@ -0,0 +1,77 @@
+package de.umwelt_campus.javawp.tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import de.umwelt_campus.javawp.exceptions.InvalidOperandException;
+import de.umwelt_campus.javawp.exceptions.MultipleLabelUsesException;
+import de.umwelt_campus.javawp.integers.INT16;
+import de.umwelt_campus.javawp.processor.components.AssembledImage;
+import de.umwelt_campus.javawp.processor.components.Assembler;
+import de.umwelt_campus.javawp.processor.components.IncrementalAssembler;
+
+/**
+ * Test für IncrementalAssembler Klasse.
+ * @author Mathis Ströhlein
+ */
+class IncrementalAssemblerTest {
+
+	private final IncrementalAssembler assembler = new IncrementalAssembler(new INT16(0x0600));
+
+	@Test
+	void edits() {
+		// Befehle
+		String[] sources = {
+				  "start: ldx #0\n"
+				+ "loop: inx\n"
+				+ "bne loop\n"
+				+ "jmp end\n"
+				+ "end: jsr start",
+				// Größe ändert sich, das Ende wird verschoben
+				  "start: ldx #0\n"
+				+ "loop: inx\n"
+				+ "sta $1234,x\n"
+				+ "bne loop\n"
+				+ "jmp end\n"
+				+ "end: jsr start",
+				// Gleiche Größe, nur ein Operand ändert sich
+				  "start: ldx #5\n"
+				+ "loop: inx\n"
+				+ "sta $1234,x\n"
+				+ "bne loop\n"
+				+ "jmp end\n"
+				+ "end: jsr start",
+				// Label wird verschoben
+				  "start: ldx #5\n"
+				+ "inx\n"
+				+ "loop: sta $1234,x\n"
+				+ "bne loop\n"
+				+ "jmp end\n"
+				+ "end: jsr start"
+		};
+
+		for(String source : sources) {
+			AssembledImage image = this.assembler.assemble(source);
+			AssembledImage expected = new Assembler(new INT16(0x0600)).assembleImage(source);
+			assertArrayEquals(image.getBytes(), expected.getBytes());
+			assertEquals(image.getSymbols(), expected.getSymbols());
+			assertEquals(image.getLineNumber(0x0607), expected.getLineNumber(0x0607));
+		}
+	}
+
+	@Test
+	void errors() {
+		// Befehle
+		this.assembler.assemble("loop: inx\nbne loop");
+
+		// Gleiche Meldungen wie beim Assembler
+		Exception e = assertThrows(InvalidOperandException.class, () -> this.assembler.assemble("lop: inx\nbne loop"));
+		assertEquals(e.getMessage(), "Syntax Fehler in Zeile 2: **bne loop** (Operand \"loop\" ist ungültig).");
+		e = assertThrows(MultipleLabelUsesException.class, () -> this.assembler.assemble("lop: inx\nlop: bne lop"));
+		assertEquals(e.getMessage(), "Syntax Fehler in Zeile 2: **lop: bne lop** (Label \"lop\" existiert bereits).");
+
+		// Nach dem Fehler wird weiter inkrementell assembliert
+		assertArrayEquals(this.assembler.assemble("lop: inx\nbne lop").getBytes(), new byte[] { (byte) 0xE8, (byte) 0xD0, (byte) 0xFD });
+	}
+}
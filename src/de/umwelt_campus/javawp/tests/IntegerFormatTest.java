@@ -0,0 +1,40 @@
+package de.umwelt_campus.javawp.tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import de.umwelt_campus.javawp.integers.INT16;
+import de.umwelt_campus.javawp.integers.INT8;
+
+/**
+ * Test für die Darstellung von INT8 und INT16 als String.
+ * @author Mathis Ströhlein
+ */
+class IntegerFormatTest {
+
+	@Test
+	void int8() {
+		// Alle Werte wie mit String.format
+		for(int i = 0; i < 256; i++) {
+			INT8 value = new INT8(i);
+			assertEquals(value.getHexString(), String.format("%02X", i));
+			assertEquals(value.getBinaryString(), String.format("%8s", Integer.toBinaryString(i)).replace(' ', '0'));
+			assertEquals(value.getDecimalString(), String.valueOf((byte) i));
+			assertEquals(value.getUnsignedDecimalString(), String.valueOf(i));
+			assertEquals(INT8.toHexString(i - 256), value.getHexString());
+		}
+		
+		// Dieselbe Instanz bei jedem Aufruf
+		assertSame(new INT8(0xA5).getHexString(), new INT8("$A5").getHexString());
+		assertSame(new INT8(-1).getBinaryString(), INT8.toBinaryString(255));
+	}
+
+	@Test
+	void int16() {
+		assertEquals(new INT16(0x0600).getHexString(), "0600");
+		assertEquals(new INT16(-1).getHexString(), "FFFF");
+		assertEquals(new INT16(0x8001).getBinaryString(), "1000000000000001");
+		assertEquals(INT16.toHexString(0x1FFFF), "FFFF");
+	}
+}
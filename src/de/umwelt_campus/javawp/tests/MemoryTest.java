@@ -45,4 +45,42 @@ class MemoryTest {
 		// MEM Ergebnis
 		assertNotEquals(this.memory.getLittleEndianAddress(new INT16(255)).getValue(), new INT16("$D76C").getValue());
 	}
+	
+	@Test
+	void readWrite() {
+		// Befehle
+		this.memory.write(0x1234, 200);
+		this.memory.write(0x10000, 7); // Adresse wird auf 16 Bit gekürzt
+		
+		// MEM Ergebnis
+		assertEquals(this.memory.read(0x1234), 200);
+		assertEquals(this.memory.read(0x0000), 7);
+		assertEquals(this.memory.getCellData(new INT16(0x1234)).getValue(), new INT8(200).getValue());
+	}
+
+	@Test
+	void dirtyCells() {
+		// Befehle
+		this.memory.write(0x0010, 1);
+		this.memory.write(0x0700, 2);
+		this.memory.write(0xFFFF, 3);
+		this.memory.load(0x2000, new byte[] {4, 5});
+		
+		// Nur veränderte Zellen werden gefunden
+		assertTrue(this.memory.isDirty(0x0010));
+		assertFalse(this.memory.isDirty(0x0011));
+		assertEquals(this.memory.nextDirty(0), 0x0010);
+		assertEquals(this.memory.nextDirty(0x0011), 0x0700);
+		assertEquals(this.memory.nextDirty(0x0701), 0x2000);
+		assertEquals(this.memory.nextDirty(0x2001), 0x2001);
+		assertEquals(this.memory.nextDirty(0x2002), 0xFFFF);
+		assertEquals(this.memory.nextDirty(0x10000), -1);
+		
+		this.memory.clearDirty();
+		assertEquals(this.memory.nextDirty(0), -1);
+		
+		// clear() verändert alle Zellen
+		this.memory.clear();
+		assertEquals(this.memory.nextDirty(0x1234), 0x1234);
+	}
 }
@@ -0,0 +1,390 @@
+package de.umwelt_campus.javawp.tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.lang.management.ManagementFactory;
+
+import org.junit.jupiter.api.Test;
+
+import com.sun.management.ThreadMXBean;
+
+import de.umwelt_campus.javawp.exceptions.UnknownOpcodeException;
+import de.umwelt_campus.javawp.integers.INT8;
+import de.umwelt_campus.javawp.processor.ExecutionEngine;
+import de.umwelt_campus.javawp.processor.Processor;
+import de.umwelt_campus.javawp.processor.RunResult;
+import de.umwelt_campus.javawp.processor.StopCondition;
+import de.umwelt_campus.javawp.processor.StopReason;
+import de.umwelt_campus.javawp.processor.components.AddressingMode;
+import de.umwelt_campus.javawp.processor.components.Assembler;
+
+/**
+ * Test für Processor Klasse.
+ * @author Mathis Ströhlein
+ */
+class ProcessorTest {
+
+	private final Processor processor = new Processor();
+
+	@Test
+	void undo() {
+		// Befehle
+		this.processor.assemble(
+				  "lda #5\n"
+				+ "sta $10\n"
+				+ "jsr sub\n"
+				+ "brk\n"
+				+ "sub: inc $10\n"
+				+ "rts"
+				);
+		for(int i = 0; i < 5; i++)
+			this.processor.executeNext(); // LDA, STA, JSR, INC, RTS
+
+		// Ergebnis vor dem Zurücksetzen
+		assertEquals(this.processor.getMemory().read(0x10), 6);
+		assertEquals(this.processor.getProgramCounterData().getUnsignedValue(), 0x0607);
+
+		this.processor.undo(); // RTS
+		this.processor.undo(); // INC
+		assertEquals(this.processor.getMemory().read(0x10), 5);
+		assertEquals(this.processor.getStackPointerData().getUnsignedValue(), 253);
+
+		this.processor.undo(); // JSR
+		this.processor.undo(); // STA
+		this.processor.undo(); // LDA
+
+		// Register und Speicher wie vor dem ersten Befehl
+		assertEquals(this.processor.getMemory().read(0x10), 0);
+		assertEquals(this.processor.getMemory().read(0x01FF), 0);
+		assertEquals(this.processor.getMemory().read(0x01FE), 0);
+		assertEquals(this.processor.getProgramCounterData().getUnsignedValue(), 0x0600);
+		assertEquals(this.processor.getAccumulatorData().getValue(), 0);
+		assertEquals(this.processor.getStackPointerData().getUnsignedValue(), 255);
+		assertTrue(this.processor.getUndoJournal().isEmpty());
+	}
+
+	@Test
+	void undoHorizon() {
+		// Befehle
+		this.processor.assemble(
+				  "ldx #0\n"
+				+ "loop: inx\n"
+				+ "stx $10\n"
+				+ "jmp loop"
+				);
+		this.processor.getUndoJournal().setLimits(4, 1024);
+		for(int i = 0; i < 10; i++)
+			this.processor.executeNext();
+
+		// Nur die letzten 4 Schritte sind protokolliert
+		assertEquals(this.processor.getUndoJournal().getStepCount(), 4);
+		for(int i = 0; i < 4; i++)
+			this.processor.undo();
+		assertTrue(this.processor.getUndoJournal().isEmpty());
+		assertEquals(this.processor.getIndexRegisterXData().getUnsignedValue(), 2);
+		assertEquals(this.processor.getMemory().read(0x10), 2);
+
+		// Bytegrenze: 2 Schritte mit je einem Speichereintrag (12 + 4 Bytes)
+		this.processor.getUndoJournal().setLimits(100, 32);
+		for(int i = 0; i < 6; i++)
+			this.processor.executeNext();
+		assertTrue(this.processor.getUndoJournal().getRetainedBytes() <= 32);
+		assertEquals(this.processor.getUndoJournal().getStepCount(), 2);
+
+		// Weniger Bytes als ein Schritt belegt: Protokoll deaktiviert
+		this.processor.getUndoJournal().setLimits(100, 8);
+		this.processor.executeNext();
+		assertTrue(this.processor.getUndoJournal().isEmpty());
+		assertEquals(this.processor.getUndoJournal().getRetainedBytes(), 0L);
+	}
+
+	@Test
+	void unknownOpcode() {
+		// Befehle
+		this.processor.getMemory().write(0x0600, 0xEA); // NOP
+		this.processor.getMemory().write(0x0601, 0x02); // Kein Befehl
+		
+		this.processor.executeNext();
+		assertThrows(UnknownOpcodeException.class, () -> this.processor.executeNext());
+		assertEquals(this.processor.getProgramCounterData().getUnsignedValue(), 0x0602);
+		assertNull(this.processor.getInstruction(0x02).getMnemonic());
+	}
+	
+	@Test
+	void instructionTable() {
+		// Befehlsgröße der Befehlstabelle stimmt mit dem Assembler überein
+		for(int opcode = 0; opcode < 256; opcode++)
+			assertEquals(this.processor.getInstruction(opcode).getByteSize(), Assembler.getCommandByteSize(new INT8(opcode)));
+		
+		assertEquals(this.processor.getInstruction(0xA9).getMnemonic(), "LDA");
+		assertEquals(this.processor.getInstruction(0xA9).getAddressingMode(), AddressingMode.IMMEDIATE);
+		assertEquals(this.processor.getInstruction(0x9D).getCycles(), 5);
+	}
+
+	@Test
+	void executeNextWithoutAllocation() {
+		// Befehle
+		this.processor.assemble(
+				  "lda #$04\n"
+				+ "sta $21\n"
+				+ "loop: lda #1\n"
+				+ "adc $10\n"
+				+ "sta $0500,x\n"
+				+ "inx\n"
+				+ "ldy $0300,x\n"
+				+ "sta ($20),y\n"
+				+ "inc $11\n"
+				+ "jsr sub\n"
+				+ "jmp loop\n"
+				+ "sub: pha\n"
+				+ "pla\n"
+				+ "rts"
+				);
+		this.processor.getUndoJournal().setLimits(16, 1024);
+		
+		// Aufwärmen, bis das Protokoll seine Grenzen erreicht hat
+		for(int i = 0; i < 100000; i++)
+			this.processor.executeNext();
+		
+		ThreadMXBean threadMXBean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+		long allocatedBytes = threadMXBean.getCurrentThreadAllocatedBytes();
+		int steps = 100000;
+		for(int i = 0; i < steps; i++)
+			this.processor.executeNext();
+		allocatedBytes = threadMXBean.getCurrentThreadAllocatedBytes() - allocatedBytes;
+		
+		// 0 Bytes pro Befehl
+		assertEquals(allocatedBytes / steps, 0);
+	}
+
+	@Test
+	void run() {
+		// Befehle
+		this.processor.assemble(
+				  "ldx #0\n"
+				+ "loop: inx\n"
+				+ "cpx #10\n"
+				+ "bne loop\n"
+				+ "brk"
+				);
+		
+		// Maximale Anzahl an Befehlen
+		RunResult result = this.processor.run(5);
+		assertEquals(result.getStopReason(), StopReason.INSTRUCTION_LIMIT);
+		assertEquals(result.getInstructionCount(), 5);
+		
+		// Abbruchbedingung (bis zum BRK)
+		result = this.processor.runUntil(StopCondition.atAddress(0x0607));
+		assertEquals(result.getStopReason(), StopReason.STOP_CONDITION);
+		assertEquals(result.getInstructionCount(), 26);
+		assertEquals(result.getProgramCounter(), 0x0607);
+		
+		// BRK
+		result = this.processor.run(1000);
+		assertEquals(result.getStopReason(), StopReason.BREAK);
+		assertEquals(result.getInstructionCount(), 1);
+		assertEquals(result.getProgramCounter(), 0x0608);
+		assertEquals(this.processor.getIndexRegisterXData().getValue(), 10);
+		assertTrue(this.processor.getUndoJournal().isEmpty());
+		
+		// Opcode ohne Befehl
+		this.processor.getMemory().write(0x0608, 0x02);
+		result = this.processor.run(1000);
+		assertEquals(result.getStopReason(), StopReason.UNKNOWN_OPCODE);
+		assertEquals(result.getInstructionCount(), 0);
+	}
+
+	@Test
+	void cycles() {
+		// Befehle
+		this.processor.assemble(
+				  "ldx #$ff\n" // 2
+				+ "lda $0601,x\n" // 4 + 1 (Seitenwechsel)
+				+ "sta $0601,x\n" // 5
+				+ "ldy #0\n" // 2
+				+ "beq skip\n" // 2 + 1 (gesprungen)
+				+ "nop\n"
+				+ "skip: bne skip\n" // 2
+				+ "brk" // 7
+				);
+		
+		RunResult result = this.processor.run(100);
+		assertEquals(result.getStopReason(), StopReason.BREAK);
+		assertEquals(result.getCycles(), 26);
+		assertEquals(this.processor.getCycles(), 26);
+		
+		// Sprung auf eine andere Page: 2 + 2
+		this.processor.getProgramCounterData().setValue(0x06FD);
+		this.processor.getMemory().write(0x06FD, 0xD0); // BNE
+		this.processor.getMemory().write(0x06FE, 0x10);
+		this.processor.getStatusRegisterData().setValue(0);
+		this.processor.executeNext();
+		assertEquals(this.processor.getProgramCounterData().getUnsignedValue(), 0x070F);
+		assertEquals(this.processor.getCycles(), 30);
+		
+		// undo() setzt auch die Taktzyklen zurück
+		this.processor.undo();
+		assertEquals(this.processor.getCycles(), 26);
+	}
+
+	@Test
+	void selfModifyingCode() {
+		// Befehle
+		this.processor.assemble(
+				  "ldy #0\n"
+				+ "loop: ldx #1\n" // Operand liegt an $0603
+				+ "inc $0603\n"
+				+ "iny\n"
+				+ "cpy #3\n"
+				+ "bne loop\n"
+				+ "brk"
+				);
+		
+		// Der zwischengespeicherte Befehl wird nach dem Schreibzugriff neu eingelesen
+		assertEquals(this.processor.run(100).getStopReason(), StopReason.BREAK);
+		assertEquals(this.processor.getIndexRegisterXData().getValue(), 3);
+		assertEquals(this.processor.getMemory().read(0x0603), 4);
+		
+		// Auch undo() und Schreibzugriffe von außen verwerfen den Befehl
+		this.processor.getProgramCounterData().setValue(0x0602);
+		for(int i = 0; i < 6; i++)
+			this.processor.executeNext(); // LDX #4, INC, INY, CPY, BNE, LDX #5
+		for(int i = 0; i < 6; i++)
+			this.processor.undo();
+		this.processor.executeNext();
+		assertEquals(this.processor.getIndexRegisterXData().getValue(), 4);
+		this.processor.getMemory().write(0x0603, 7);
+		this.processor.getProgramCounterData().setValue(0x0602);
+		this.processor.executeNext();
+		assertEquals(this.processor.getIndexRegisterXData().getValue(), 7);
+	}
+
+	@Test
+	void blockCompiler() {
+		// Befehle: Verschachtelte Schleifen, Unterprogramm und selbstmodifizierender Code in einer heißen Schleife
+		String program =
+				  "ldy #0\n"
+				+ "outer: ldx #0\n"
+				+ "inner: txa\n"
+				+ "clc\n"
+				+ "adc $10\n"
+				+ "sta $10\n"
+				+ "sta $0700,x\n"
+				+ "jsr patch\n"
+				+ "inx\n"
+				+ "bne inner\n"
+				+ "iny\n"
+				+ "cpy #4\n"
+				+ "bne outer\n"
+				+ "brk\n"
+				+ "patch: lda #0\n" // Operand liegt an $061A
+				+ "inc $061a\n"
+				+ "eor $11\n"
+				+ "sta $11\n"
+				+ "rts";
+		
+		Processor compiled = new Processor();
+		compiled.setExecutionEngine(ExecutionEngine.BLOCK_COMPILER);
+		assertEquals(compiled.getExecutionEngine(), ExecutionEngine.BLOCK_COMPILER);
+		this.processor.assemble(program);
+		compiled.assemble(program);
+		
+		// Gleiches Ergebnis auch bei Abbruch mitten in einem Block
+		RunResult expected;
+		RunResult actual;
+		do {
+			expected = this.processor.run(997);
+			actual = compiled.run(997);
+			assertEquals(actual.getStopReason(), expected.getStopReason());
+			assertEquals(actual.getInstructionCount(), expected.getInstructionCount());
+			assertEquals(actual.getCycles(), expected.getCycles());
+			assertEquals(actual.getProgramCounter(), expected.getProgramCounter());
+		} while(expected.getStopReason() == StopReason.INSTRUCTION_LIMIT);
+		assertEquals(actual.getStopReason(), StopReason.BREAK);
+		
+		this.assertSameState(compiled);
+		assertEquals(compiled.getMemory().read(0x061A), 0);
+		
+		// Zurück zum Interpreter
+		compiled.setExecutionEngine(ExecutionEngine.INTERPRETER);
+		assertEquals(compiled.getExecutionEngine(), ExecutionEngine.INTERPRETER);
+	}
+
+	@Test
+	void blockCompilerInstructions() {
+		// Befehle: Indizierte und indirekte Adressierung mit Seitenwechsel, Vergleiche, Shifts, BIT und ADC im Dezimalmodus
+		String program =
+				  "lda #$f0\n"
+				+ "sta $20\n"
+				+ "lda #$07\n"
+				+ "sta $21\n"
+				+ "ldy #0\n"
+				+ "loop: lda $07f0,y\n"
+				+ "clc\n"
+				+ "adc ($20),y\n"
+				+ "sta $0800,y\n"
+				+ "eor #$5a\n"
+				+ "cmp $0700,y\n"
+				+ "bit $20\n"
+				+ "rol a\n"
+				+ "ror a\n"
+				+ "lsr a\n"
+				+ "asl a\n"
+				+ "tax\n"
+				+ "lda ($1e,x)\n"
+				+ "sbc #3\n"
+				+ "cpx #$80\n"
+				+ "cpy $21\n"
+				+ "inc $0900,x\n"
+				+ "dec $30\n"
+				+ "dey\n"
+				+ "bne loop\n"
+				+ "sed\n"
+				+ "lda #$19\n"
+				+ "ldx #0\n"
+				+ "decimal: adc #$27\n"
+				+ "sta $0a00,x\n"
+				+ "inx\n"
+				+ "cpx #100\n"
+				+ "bne decimal\n"
+				+ "cld\n"
+				+ "brk";
+		
+		Processor compiled = new Processor();
+		compiled.setExecutionEngine(ExecutionEngine.BLOCK_COMPILER);
+		this.processor.assemble(program);
+		compiled.assemble(program);
+		
+		// Grenze der Taktzyklen: Übersetzte Blöcke halten an derselben Stelle wie der Interpreter
+		RunResult expected;
+		RunResult actual;
+		long cycleLimit = 0;
+		do {
+			cycleLimit += 1001;
+			expected = this.processor.runUntil(StopCondition.cycleLimit(cycleLimit), 997);
+			actual = compiled.runUntil(StopCondition.cycleLimit(cycleLimit), 997);
+			assertEquals(actual.getStopReason(), expected.getStopReason());
+			assertEquals(actual.getInstructionCount(), expected.getInstructionCount());
+			assertEquals(actual.getCycles(), expected.getCycles());
+			assertEquals(actual.getProgramCounter(), expected.getProgramCounter());
+		} while(expected.getStopReason() != StopReason.BREAK);
+		
+		this.assertSameState(compiled);
+	}
+
+	/**
+	 * Vergleicht Register und Speicher eines Prozessors mit dem Prozessor des Tests.
+	 * @param compiled Prozessor mit übersetzten Blöcken
+	 */
+	private void assertSameState(Processor compiled) {
+		assertEquals(compiled.getCycles(), this.processor.getCycles());
+		assertEquals(compiled.getAccumulatorData().getValue(), this.processor.getAccumulatorData().getValue());
+		assertEquals(compiled.getIndexRegisterXData().getValue(), this.processor.getIndexRegisterXData().getValue());
+		assertEquals(compiled.getIndexRegisterYData().getValue(), this.processor.getIndexRegisterYData().getValue());
+		assertEquals(compiled.getStatusRegisterData().getValue(), this.processor.getStatusRegisterData().getValue());
+		assertEquals(compiled.getStackPointerData().getValue(), this.processor.getStackPointerData().getValue());
+		for(int address = 0; address < 0x10000; address++)
+			assertEquals(compiled.getMemory().read(address), this.processor.getMemory().read(address));
+	}
+
+}